@@ -17,6 +17,7 @@ import java.io.InputStream;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.BooleanSupplier;
 import org.apache.commons.lang3.StringUtils;
 
 /**
@@ -243,4 +244,54 @@ public interface FileAccess {
     // Default implementation returns -1 to indicate not supported
     return -1;
   }
+
+  /**
+   * Gets the size of every file in the module, read from the cheapest source the implementation
+   * has, such as the central directory of an archive or the sizes recorded by a bucket listing,
+   * rather than from each file in turn.
+   *
+   * <p>This method backs {@link dev.jcputney.elearning.parser.util.ModuleSizeWalker}, which
+   * also totals the sizes per directory.
+   *
+   * @return A map of file paths relative to {@link #getRootPath()} to their sizes in bytes, or null
+   * if this implementation does not know the sizes of its files
+   * @throws IOException if there's an error accessing file sizes
+   */
+  default Map<String, Long> getFileSizes() throws IOException {
+    // Default implementation does not know file sizes
+    return null;
+  }
+
+  /**
+   * Gets the size of every file in the module like {@link #getFileSizes()}, giving up once the
+   * sizes are no longer needed.
+   *
+   * <p>Implementations that gather the sizes in many steps, such as walking a directory tree,
+   * check {@code cancelled} between steps and stop with a
+   * {@link java.util.concurrent.CancellationException} once it returns true. The default
+   * implementation answers from {@link #getFileSizes()}.
+   *
+   * @param cancelled Returns true once the sizes are no longer needed
+   * @return A map of file paths relative to {@link #getRootPath()} to their sizes in bytes, or null
+   * if this implementation does not know the sizes of its files
+   * @throws IOException if there's an error accessing file sizes
+   * @throws java.util.concurrent.CancellationException if the sizes were no longer needed
+   */
+  default Map<String, Long> getFileSizes(BooleanSupplier cancelled) throws IOException {
+    return getFileSizes();
+  }
+
+  /**
+   * Gets a token identifying the current version of a file, such as its checksum, entity tag or
+   * modification time together with its size. The token changes whenever the contents of the file
+   * change, and is used to fingerprint packages without reading every file.
+   *
+   * @param path The path of the file (guaranteed to be non-null).
+   * @return The version token of the file, or null if it is unknown to this implementation
+   * @throws IOException if there's an error accessing the file metadata
+   */
+  default String getFileVersion(String path) throws IOException {
+    // Default implementation does not know file versions
+    return null;
+  }
 }
@@ -12,6 +12,7 @@ package dev.jcputney.elearning.parser.api;
 
 import dev.jcputney.elearning.parser.input.lom.LOM;
 import java.io.Serializable;
+import java.util.function.Supplier;
 
 /**
  * Interface representing metadata that can be loaded.
@@ -42,4 +43,22 @@ public interface LoadableMetadata extends Serializable {
    * @param lom the LOM object to set.
    */
   void setLom(LOM lom);
+
+  /**
+   * Defers loading of the external LOM referenced by {@link #getLocation()} until
+   * {@link #getLom()} is first called. The supplier returns the external LOM, or null if the file
+   * does not exist, in which case any inline LOM is kept.
+   * <p>
+   * Implementations that support lazy loading retain the supplier and resolve it on first access.
+   * The default implementation resolves it immediately.
+   * </p>
+   *
+   * @param lomSupplier the supplier of the external LOM
+   */
+  default void setLomSupplier(Supplier<LOM> lomSupplier) {
+    LOM lom = lomSupplier.get();
+    if (lom != null) {
+      setLom(lom);
+    }
+  }
 }
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.api;
+
+import dev.jcputney.elearning.parser.enums.ParsePhase;
+
+/**
+ * Receives timing, allocation and I/O measurements while modules are parsed. A listener is set
+ * with {@link ParserOptions#setParseListener(ParseListener)}.
+ * <p>
+ * Every method has an empty default implementation, so a listener only overrides the events it
+ * needs. {@link #NO_OP} is the default listener; when it is set, parsers are not instrumented at
+ * all. Listeners may be shared by parsers running on several threads and must be thread-safe.
+ * {@link dev.jcputney.elearning.parser.util.ParseMetrics} records the events into histograms.
+ * </p>
+ */
+public interface ParseListener {
+
+  /**
+   * A listener that ignores every event.
+   */
+  ParseListener NO_OP = new ParseListener() {
+  };
+
+  /**
+   * Called when a phase of a parse ends.
+   * <p>
+   * Allocation is measured for the thread running the phase only, so work that a phase hands to
+   * other threads, such as parallel external metadata loading, is not included.
+   * </p>
+   *
+   * @param phase the phase that ended
+   * @param wallTimeNanos the wall time spent in the phase, excluding nested phases
+   * @param allocatedBytes the bytes allocated by the thread during the phase, excluding nested
+   * phases, or -1 if the JVM does not measure thread allocation
+   */
+  default void onPhase(ParsePhase phase, long wallTimeNanos, long allocatedBytes) {
+    // no-op
+  }
+
+  /**
+   * Called when a file of the module that a parser opened is closed. Each call corresponds to one
+   * file being opened.
+   *
+   * @param path the path of the file, relative to the module root
+   * @param bytesRead the number of bytes read from the file
+   */
+  default void onFileRead(String path, long bytesRead) {
+    // no-op
+  }
+
+  /**
+   * Called when a parse ends, if the module is read through a
+   * {@link dev.jcputney.elearning.parser.impl.access.CachedFileAccess}. When several parses share
+   * the cache concurrently, each parse also counts the accesses of the others.
+   *
+   * @param hits the number of cache hits during the parse
+   * @param misses the number of cache misses during the parse
+   */
+  default void onCacheStatistics(long hits, long misses) {
+    // no-op
+  }
+}
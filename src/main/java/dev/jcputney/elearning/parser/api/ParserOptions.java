@@ -11,8 +11,12 @@
 package dev.jcputney.elearning.parser.api;
 
 import dev.jcputney.elearning.parser.config.ModuleSizeCalculator;
+import dev.jcputney.elearning.parser.enums.ProjectionField;
 import dev.jcputney.elearning.parser.util.XmlParsingUtils;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * Configuration options for module parsing behavior. Controls validation strictness and other
@@ -20,9 +24,22 @@ import java.util.Objects;
  */
 public class ParserOptions {
 
+  /**
+   * The default number of external metadata files fetched and parsed concurrently.
+   */
+  public static final int DEFAULT_EXTERNAL_METADATA_PARALLELISM = 4;
+
   private boolean strictMode = true;
   private Boolean calculateModuleSize = null; // null = use system default
   private Long maxManifestSize = null; // null = use system default
+  private boolean streamAiccTables = false;
+  private boolean streamCmi5Structure = false;
+  private int externalMetadataParallelism = DEFAULT_EXTERNAL_METADATA_PARALLELISM;
+  private boolean lazyExternalMetadata = false;
+  private int metadataExtractionParallelism = 1;
+  private boolean prefetchExternalMetadata = false;
+  private ParseListener parseListener = ParseListener.NO_OP;
+  private Set<ProjectionField> projection = Set.of(); // empty = parse everything
 
   /**
    * Creates parser options with default settings (strict mode enabled).
@@ -133,4 +150,242 @@ public class ParserOptions {
   public long getResolvedMaxManifestSize() {
     return Objects.requireNonNullElseGet(maxManifestSize, XmlParsingUtils::getMaxXmlSize);
   }
+
+  /**
+   * Checks if AICC tables are streamed rather than retained.
+   *
+   * @return true if AICC course structure, prerequisites and objectives relation rows are streamed
+   */
+  public boolean isStreamAiccTables() {
+    return streamAiccTables;
+  }
+
+  /**
+   * Sets whether the AICC course structure (.cst), prerequisites (.pre) and objectives relation
+   * (.ort) tables are streamed. When enabled, each row is indexed as it is read and then dropped,
+   * so memory grows with the number of distinct assignable units rather than with the size of the
+   * files. The resulting metadata is the same, but the raw rows are not retained:
+   * {@code getCourseStructures()}, {@code getPrerequisitesTable()} and
+   * {@code getObjectivesRelationTable()} on the manifest return empty lists.
+   *
+   * @param streamAiccTables true to stream AICC tables, false to retain them on the manifest
+   * @return this ParserOptions instance for method chaining
+   */
+  public ParserOptions setStreamAiccTables(boolean streamAiccTables) {
+    this.streamAiccTables = streamAiccTables;
+    return this;
+  }
+
+  /**
+   * Checks if the cmi5 course structure is streamed rather than bound as a whole.
+   *
+   * @return true if the assignable units and blocks of cmi5.xml are streamed
+   */
+  public boolean isStreamCmi5Structure() {
+    return streamCmi5Structure;
+  }
+
+  /**
+   * Sets whether the cmi5 course structure (cmi5.xml) is streamed. When enabled, each assignable
+   * unit is read, added to the metadata and dropped, so memory grows with the nesting depth of the
+   * blocks rather than with the size of the file, and the maximum manifest size does not apply. The
+   * resulting metadata is the same, but the manifest only retains the course, the course-level
+   * objectives, the top-level blocks without their contents, and the assignable units that
+   * determine the launch URL. Bare ampersands, which the regular parser repairs, are rejected.
+   *
+   * @param streamCmi5Structure true to stream the course structure, false to retain it on the
+   * manifest
+   * @return this ParserOptions instance for method chaining
+   */
+  public ParserOptions setStreamCmi5Structure(boolean streamCmi5Structure) {
+    this.streamCmi5Structure = streamCmi5Structure;
+    return this;
+  }
+
+  /**
+   * Gets the number of external metadata files fetched and parsed concurrently.
+   *
+   * @return the external metadata parallelism, at least 1
+   */
+  public int getExternalMetadataParallelism() {
+    return externalMetadataParallelism;
+  }
+
+  /**
+   * Sets how many external LOM metadata files (referenced through {@code adlcp:location}) are
+   * fetched and parsed concurrently while loading a SCORM manifest. A value of 1 loads them one at
+   * a time on the calling thread. Higher values mainly help remote storage such as S3, where each
+   * file is a separate round trip.
+   *
+   * @param externalMetadataParallelism the number of concurrent loads, at least 1
+   * @return this ParserOptions instance for method chaining
+   * @throws IllegalArgumentException if externalMetadataParallelism is less than 1
+   */
+  public ParserOptions setExternalMetadataParallelism(int externalMetadataParallelism) {
+    if (externalMetadataParallelism < 1) {
+      throw new IllegalArgumentException("External metadata parallelism must be at least 1");
+    }
+    this.externalMetadataParallelism = externalMetadataParallelism;
+    return this;
+  }
+
+  /**
+   * Gets the number of threads used to extract item-level metadata from a SCORM 2004 manifest.
+   *
+   * @return the metadata extraction parallelism, at least 1
+   */
+  public int getMetadataExtractionParallelism() {
+    return metadataExtractionParallelism;
+  }
+
+  /**
+   * Sets how many threads extract item-level metadata (delivery controls, completion thresholds,
+   * control modes and similar per-activity settings) from a SCORM 2004 manifest. The default of 1
+   * extracts everything on the calling thread; higher values use threads of the common fork/join
+   * pool rather than starting new ones. They only take effect for organizations with at least
+   * {@code Scorm2004Metadata.PARALLEL_EXTRACTION_THRESHOLD} items, and the resulting metadata is
+   * identical to a sequential extraction, including the order of its entries.
+   *
+   * @param metadataExtractionParallelism the number of extraction threads, at least 1
+   * @return this ParserOptions instance for method chaining
+   * @throws IllegalArgumentException if metadataExtractionParallelism is less than 1
+   */
+  public ParserOptions setMetadataExtractionParallelism(int metadataExtractionParallelism) {
+    if (metadataExtractionParallelism < 1) {
+      throw new IllegalArgumentException("Metadata extraction parallelism must be at least 1");
+    }
+    this.metadataExtractionParallelism = metadataExtractionParallelism;
+    return this;
+  }
+
+  /**
+   * Checks if external metadata files are loaded lazily.
+   *
+   * @return true if external LOM files are loaded on first access rather than during parsing
+   */
+  public boolean isLazyExternalMetadata() {
+    return lazyExternalMetadata;
+  }
+
+  /**
+   * Sets whether external LOM metadata files (referenced through {@code adlcp:location}) are
+   * loaded lazily. When enabled, parsing does not read any metadata files; each file is fetched and
+   * parsed through the parser's module file provider the first time {@code getLom()} is called on
+   * one of its owners. Files that fail to load are reported from {@code getLom()} as an
+   * {@link java.io.UncheckedIOException} instead of failing the parse.
+   * <p>
+   * The module file provider must stay open for as long as the LOMs may be accessed.
+   * </p>
+   *
+   * @param lazyExternalMetadata true to load external metadata on first access
+   * @return this ParserOptions instance for method chaining
+   */
+  public ParserOptions setLazyExternalMetadata(boolean lazyExternalMetadata) {
+    this.lazyExternalMetadata = lazyExternalMetadata;
+    return this;
+  }
+
+  /**
+   * Checks if lazily loaded external metadata files are prefetched in the background.
+   *
+   * @return true if lazy external metadata is prefetched
+   */
+  public boolean isPrefetchExternalMetadata() {
+    return prefetchExternalMetadata;
+  }
+
+  /**
+   * Sets whether lazily loaded external metadata files are prefetched in the background. When
+   * enabled together with {@link #setLazyExternalMetadata(boolean)}, parsing returns without
+   * waiting for the metadata files, which are then loaded on background threads using
+   * {@link #getExternalMetadataParallelism()}. Calling {@code getLom()} before a file has been
+   * prefetched waits for it. Has no effect unless lazy external metadata is enabled.
+   *
+   * @param prefetchExternalMetadata true to prefetch lazy external metadata in the background
+   * @return this ParserOptions instance for method chaining
+   */
+  public ParserOptions setPrefetchExternalMetadata(boolean prefetchExternalMetadata) {
+    this.prefetchExternalMetadata = prefetchExternalMetadata;
+    return this;
+  }
+
+  /**
+   * Gets the listener that receives the phase timings and I/O measurements of parses.
+   *
+   * @return the parse listener, {@link ParseListener#NO_OP} by default
+   */
+  public ParseListener getParseListener() {
+    return parseListener;
+  }
+
+  /**
+   * Sets the listener that receives the phase timings and I/O measurements of parses made with
+   * these options. Parsers are only instrumented when a listener other than
+   * {@link ParseListener#NO_OP} is set.
+   *
+   * @param parseListener the parse listener
+   * @return this ParserOptions instance for method chaining
+   * @throws IllegalArgumentException if parseListener is null
+   */
+  public ParserOptions setParseListener(ParseListener parseListener) {
+    if (parseListener == null) {
+      throw new IllegalArgumentException("Parse listener cannot be null");
+    }
+    this.parseListener = parseListener;
+    return this;
+  }
+
+  /**
+   * Gets the metadata fields requested by the caller.
+   *
+   * @return the requested fields, or an empty set if the whole module is parsed
+   */
+  public Set<ProjectionField> getProjection() {
+    return projection;
+  }
+
+  /**
+   * Sets the metadata fields requested by the caller. When the set is not empty, parsers only bind
+   * the parts of the manifest the requested fields are derived from, skipping LOM metadata,
+   * sequencing, rollup and navigation subtrees and file lists that are not needed, and skip
+   * external metadata files and module size calculation. The requested fields have the same
+   * values as in a full parse; the other fields of the metadata are unspecified.
+   * <p>
+   * Validation performed by {@code parseAndValidate()} only sees the parts of the manifest that
+   * were bound, so projections are meant for {@code parseOnly()}.
+   * </p>
+   *
+   * @param projection the requested fields, or an empty set to parse the whole module
+   * @return this ParserOptions instance for method chaining
+   * @throws IllegalArgumentException if projection is null
+   */
+  public ParserOptions setProjection(Set<ProjectionField> projection) {
+    if (projection == null) {
+      throw new IllegalArgumentException("Projection cannot be null");
+    }
+    this.projection = projection.isEmpty()
+        ? Set.of()
+        : Collections.unmodifiableSet(EnumSet.copyOf(projection));
+    return this;
+  }
+
+  /**
+   * Checks if a projection is set, i.e. if only some metadata fields are requested.
+   *
+   * @return true if a projection is set
+   */
+  public boolean hasProjection() {
+    return !projection.isEmpty();
+  }
+
+  /**
+   * Checks if a metadata field is requested, either because it is part of the projection or
+   * because no projection is set.
+   *
+   * @param field the field to check
+   * @return true if the field must be parsed
+   */
+  public boolean isRequested(ProjectionField field) {
+    return projection.isEmpty() || projection.contains(field);
+  }
 }
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.api;
+
+import java.io.IOException;
+
+/**
+ * Random access to the bytes of a single object, such as a local file or an object in S3, used to
+ * read zip archives without reading them whole.
+ * <p>
+ * Each call to {@link #read(long, int)} stands for one request to the storage, so callers should
+ * read what they need in as few calls as possible. Implementations should be thread-safe.
+ * </p>
+ */
+public interface RangeReader extends AutoCloseable {
+
+  /**
+   * Gets the size of the object.
+   *
+   * @return the size of the object in bytes
+   * @throws IOException if the size can't be determined
+   */
+  long size() throws IOException;
+
+  /**
+   * Reads a range of the object.
+   *
+   * @param position the offset of the first byte to read
+   * @param length the number of bytes to read
+   * @return the bytes of the range, exactly {@code length} of them
+   * @throws IOException if the range can't be read, or extends past the end of the object
+   * @throws IllegalArgumentException if position or length is negative
+   */
+  byte[] read(long position, int length) throws IOException;
+
+  /**
+   * Gets a description of the object read, such as its path or URI, for error messages.
+   *
+   * @return the description of the object
+   */
+  String getName();
+
+  /**
+   * Releases the resources held by the reader. The default implementation does nothing.
+   *
+   * @throws IOException if the resources can't be released
+   */
+  @Override
+  default void close() throws IOException {
+    // Nothing to release by default
+  }
+}
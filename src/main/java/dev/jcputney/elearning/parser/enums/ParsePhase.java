@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.enums;
+
+/**
+ * Enum representing the phases of parsing a module, as reported to a
+ * {@link dev.jcputney.elearning.parser.api.ParseListener}.
+ * <p>
+ * Each phase is reported exclusive of the phases nested in it, so the times of all phases of a
+ * parse add up to the time spent in the parser.
+ * </p>
+ */
+public enum ParsePhase {
+  /**
+   * Detecting the module type of a package.
+   */
+  DETECTION,
+
+  /**
+   * Reading the bytes of the manifest files while they are bound.
+   */
+  MANIFEST_READ,
+
+  /**
+   * Binding the manifest files to the manifest model, excluding the time spent reading them.
+   */
+  XML_BINDING,
+
+  /**
+   * Reading and binding the external metadata files referenced by the manifest.
+   */
+  EXTERNAL_METADATA_LOADING,
+
+  /**
+   * Validating the bound manifest.
+   */
+  VALIDATION,
+
+  /**
+   * Calculating the total size of the module files.
+   */
+  SIZE_CALCULATION,
+
+  /**
+   * Extracting metadata from the bound manifest, excluding size calculation.
+   */
+  METADATA_EXTRACTION,
+}
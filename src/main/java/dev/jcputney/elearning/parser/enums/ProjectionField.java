@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.enums;
+
+/**
+ * Enum representing the metadata fields a caller can request with
+ * {@link dev.jcputney.elearning.parser.api.ParserOptions#setProjection(java.util.Set)}.
+ * <p>
+ * When a projection is set, parsers only bind the parts of the manifest the requested fields are
+ * derived from. The requested fields have the same values as in a full parse; the other fields of
+ * the metadata are unspecified.
+ * </p>
+ */
+public enum ProjectionField {
+  /**
+   * The title of the module.
+   */
+  TITLE,
+
+  /**
+   * The description of the module, read from the course-level LOM metadata.
+   */
+  DESCRIPTION,
+
+  /**
+   * The launch URL of the module.
+   */
+  LAUNCH_URL,
+
+  /**
+   * The identifier of the module.
+   */
+  IDENTIFIER,
+
+  /**
+   * The version of the module.
+   */
+  VERSION,
+
+  /**
+   * The typical learning time of the module, read from the course-level LOM metadata.
+   */
+  DURATION,
+
+  /**
+   * The module type and edition.
+   */
+  EDITION,
+
+  /**
+   * The SCORM 2004 sequencing level, with the sequencing, rollup and navigation data it is derived
+   * from.
+   */
+  SEQUENCING_LEVEL,
+
+  /**
+   * The launchable units of the module, such as its SCOs or AUs.
+   */
+  ASSIGNABLE_UNITS
+}
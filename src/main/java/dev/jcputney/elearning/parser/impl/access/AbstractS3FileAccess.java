@@ -11,11 +11,13 @@
 package dev.jcputney.elearning.parser.impl.access;
 
 import dev.jcputney.elearning.parser.api.FileAccess;
+import dev.jcputney.elearning.parser.jfr.FileReadEvent;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -95,6 +97,12 @@ public abstract class AbstractS3FileAccess implements FileAccess, AutoCloseable
    */
   protected final Map<String, Long> fileSizeCache = new ConcurrentHashMap<>();
 
+  /**
+   * Cache for the entity tags of files, recorded while listing the module so that packages can be
+   * fingerprinted without an extra S3 request per file.
+   */
+  protected final Map<String, String> fileETagCache = new ConcurrentHashMap<>();
+
   /**
    * A thread-safe cache storing the list of all file paths within the module.
    * <p>
@@ -288,7 +296,25 @@ public abstract class AbstractS3FileAccess implements FileAccess, AutoCloseable
    */
   @Override
   public InputStream getFileContentsInternal(String path) throws IOException {
-    return getFileContentsBase(path);
+    return FileReadEvent.record(this, path, getFileContentsBase(path));
+  }
+
+  /**
+   * Gets the version of a file, made of its entity tag and size as recorded when the module was
+   * listed.
+   *
+   * @param path The path of the file.
+   * @return The version token of the file, or null if the file was not listed.
+   * @throws IOException if the module can't be listed.
+   */
+  @Override
+  public String getFileVersion(String path) throws IOException {
+    getAllFiles();
+    String eTag = fileETagCache.get(path);
+    if (eTag == null) {
+      return null;
+    }
+    return eTag + ":" + fileSizeCache.getOrDefault(path, -1L);
   }
 
   /**
@@ -316,6 +342,7 @@ public abstract class AbstractS3FileAccess implements FileAccess, AutoCloseable
     directoryListCache.clear();
     smallFileCache.clear();
     fileSizeCache.clear();
+    fileETagCache.clear();
     allFilesCache.set(null);
     // All caches cleared
   }
@@ -375,51 +402,49 @@ public abstract class AbstractS3FileAccess implements FileAccess, AutoCloseable
   /**
    * Gets the total size of all files in the module.
    *
-   * <p>This method calculates the sum of all file sizes in the module using
-   * the cached file sizes from the S3 bucket.
+   * <p>This method sums the sizes returned by {@link #getFileSizes()}, which come from the
+   * bucket listing.
    *
    * @return Total size of all files in bytes
    * @throws IOException if there's an error accessing file sizes
    */
   @Override
   public long getTotalSize() throws IOException {
-    // First, ensure we have all files cached
-    List<String> allFiles = getAllFiles();
-
-    if (allFiles.isEmpty()) {
-      return 0;
-    }
-
-    // Calculating total size for files
-
-    // If we have all sizes cached already, sum them
-    if (fileSizeCache.size() >= allFiles.size()) {
-      // Total module size calculated from the cache
-      return fileSizeCache
-          .values()
-          .stream()
-          .mapToLong(Long::longValue)
-          .sum();
+    long totalSize = 0;
+    for (long size : getFileSizes().values()) {
+      totalSize += size;
     }
+    return totalSize;
+  }
 
-    // Otherwise, we need to fetch sizes for uncached files
-    long totalSize = 0;
-    List<CompletableFuture<Long>> futures = new ArrayList<>();
+  /**
+   * Gets the size of every file in the module.
+   *
+   * <p>The sizes are taken from the bucket listing made by {@link #getAllFiles()}, so a module is
+   * sized without a request per file. Only files whose size was not recorded by the listing are
+   * looked up, in parallel; files whose size can't be read are left out.
+   *
+   * @return A map of file paths relative to the root path to their sizes in bytes
+   * @throws IOException if there's an error listing the files of the module
+   */
+  @Override
+  public Map<String, Long> getFileSizes() throws IOException {
+    Map<String, Long> fileSizes = new HashMap<>();
+    Map<String, CompletableFuture<Long>> lookups = new HashMap<>();
 
-    for (String file : allFiles) {
+    for (String file : getAllFiles()) {
       // Remove the root path prefix to get the relative path
       String relativePath = file;
       if (file.startsWith(rootPath + "/")) {
         relativePath = file.substring(rootPath.length() + 1);
       }
 
-      final String finalRelativePath = relativePath; // Make it final for lambda
       Long cachedSize = fileSizeCache.get(relativePath);
       if (cachedSize != null) {
-        totalSize += cachedSize;
+        fileSizes.put(relativePath, cachedSize);
       } else {
-        // Fetch size asynchronously
-        futures.add(CompletableFuture.supplyAsync(() -> {
+        String finalRelativePath = relativePath;
+        lookups.put(relativePath, CompletableFuture.supplyAsync(() -> {
           long size = getFileSizeOnS3(finalRelativePath);
           // Only cache non-zero sizes to avoid caching failed lookups
           if (size > 0) {
@@ -430,17 +455,15 @@ public abstract class AbstractS3FileAccess implements FileAccess, AutoCloseable
       }
     }
 
-    // Wait for all size fetches to complete
-    for (CompletableFuture<Long> future : futures) {
+    // Wait for the size lookups to complete
+    lookups.forEach((path, future) -> {
       try {
-        totalSize += future.join();
+        fileSizes.put(path, future.join());
       } catch (Exception e) {
-        // Failed to get file size during total calculation
+        // Failed to get the file size, leave the file out
       }
-    }
-
-    // Total module size calculated
-    return totalSize;
+    });
+    return fileSizes;
   }
 
   /**
@@ -13,6 +13,7 @@ package dev.jcputney.elearning.parser.impl.access;
 import dev.jcputney.elearning.parser.api.FileAccess;
 import dev.jcputney.elearning.parser.exception.FileAccessException;
 import dev.jcputney.elearning.parser.exception.RuntimeFileAccessException;
+import dev.jcputney.elearning.parser.jfr.CacheLookupEvent;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
@@ -23,6 +24,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
 
 /**
  * A decorator implementation of {@link FileAccess} that adds caching capability to any
@@ -174,15 +176,18 @@ public final class CachedFileAccess implements FileAccess {
    */
   @Override
   public boolean fileExistsInternal(String path) {
+    CacheLookupEvent event = CacheLookupEvent.start();
     Boolean cached = fileExistsCache.get(path);
     if (cached != null) {
       cacheHits.incrementAndGet();
+      event.complete(this, path, CacheLookupEvent.EXISTS, true, 0);
       return cached;
     }
 
     cacheMisses.incrementAndGet();
     boolean exists = delegate.fileExists(path);
     fileExistsCache.put(path, exists);
+    event.complete(this, path, CacheLookupEvent.EXISTS, false, 0);
     return exists;
   }
 
@@ -195,15 +200,17 @@ public final class CachedFileAccess implements FileAccess {
    */
   @Override
   public List<String> listFilesInternal(String directoryPath) throws IOException {
+    CacheLookupEvent event = CacheLookupEvent.start();
     try {
       List<String> cached = listFilesCache.get(directoryPath);
       if (cached != null) {
         cacheHits.incrementAndGet();
+        event.complete(this, directoryPath, CacheLookupEvent.LIST, true, 0);
         return cached;
       }
 
       cacheMisses.incrementAndGet();
-      return listFilesCache.computeIfAbsent(directoryPath, p -> {
+      List<String> listing = listFilesCache.computeIfAbsent(directoryPath, p -> {
         try {
           // Get the file listing from the delegate
           List<String> files = delegate.listFiles(p);
@@ -216,6 +223,8 @@ public final class CachedFileAccess implements FileAccess {
                   .getSimpleName()), e));
         }
       });
+      event.complete(this, directoryPath, CacheLookupEvent.LIST, false, 0);
+      return listing;
     } catch (RuntimeFileAccessException e) {
       // For any other exception, wrap it in an IOException with a detailed message
       throw new IOException("Error listing files in directory: %s using %s".formatted(directoryPath,
@@ -236,10 +245,12 @@ public final class CachedFileAccess implements FileAccess {
    */
   @Override
   public InputStream getFileContentsInternal(String path) throws IOException {
+    CacheLookupEvent event = CacheLookupEvent.start();
     try {
       byte[] cached = fileContentsCache.get(path);
       if (cached != null) {
         cacheHits.incrementAndGet();
+        event.complete(this, path, CacheLookupEvent.CONTENTS, true, cached.length);
         return new ByteArrayInputStream(cached);
       }
 
@@ -272,6 +283,7 @@ public final class CachedFileAccess implements FileAccess {
         }
       }
 
+      event.complete(this, path, CacheLookupEvent.CONTENTS, false, contents.length);
       return new ByteArrayInputStream(contents);
     } catch (RuntimeFileAccessException e) {
       // For any other exception, wrap it in an IOException with a detailed message
@@ -322,6 +334,62 @@ public final class CachedFileAccess implements FileAccess {
     return delegate.getTotalSize();
   }
 
+  /**
+   * Gets the size of every file by delegating to the underlying FileAccess implementation. Like
+   * {@link #getTotalSize()}, the sizes are not cached.
+   *
+   * @return A map of file paths to their sizes in bytes, or null if not supported
+   * @throws IOException if there's an error accessing file sizes
+   */
+  @Override
+  public Map<String, Long> getFileSizes() throws IOException {
+    return delegate.getFileSizes();
+  }
+
+  /**
+   * Gets the size of every file by delegating to the underlying FileAccess implementation, which
+   * may stop once {@code cancelled} returns true.
+   *
+   * @param cancelled Returns true once the sizes are no longer needed
+   * @return A map of file paths to their sizes in bytes, or null if not supported
+   * @throws IOException if there's an error accessing file sizes
+   */
+  @Override
+  public Map<String, Long> getFileSizes(BooleanSupplier cancelled) throws IOException {
+    return delegate.getFileSizes(cancelled);
+  }
+
+  /**
+   * Gets the version of a file from the delegate. Versions are not cached, so that changes to the
+   * underlying files are always noticed.
+   *
+   * @param path The path of the file.
+   * @return The version token of the file, or null if the delegate does not know it.
+   * @throws IOException if there's an error accessing the file metadata.
+   */
+  @Override
+  public String getFileVersion(String path) throws IOException {
+    return delegate.getFileVersion(path);
+  }
+
+  /**
+   * Gets the number of cache hits since the cache was created or last cleared.
+   *
+   * @return the number of cache hits
+   */
+  public long getCacheHits() {
+    return cacheHits.get();
+  }
+
+  /**
+   * Gets the number of cache misses since the cache was created or last cleared.
+   *
+   * @return the number of cache misses
+   */
+  public long getCacheMisses() {
+    return cacheMisses.get();
+  }
+
   /**
    * Gets cache statistics for monitoring.
    *
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.impl.access;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Reads the size of every regular file under a local directory, listing one directory per task.
+ * <p>
+ * The walks of all {@link LocalFileAccess} instances share a dedicated pool of daemon threads, so
+ * that the blocking directory listings never occupy the threads of the common pool. Files and
+ * directories that can't be read are skipped; symbolic links to files are counted with the size of
+ * their target, and symbolic links to directories are not followed.
+ * </p>
+ */
+final class DirectorySizeWalk extends RecursiveAction {
+
+  /**
+   * Holds the pool walking local directories, created on first use.
+   */
+  private static final class Pool {
+
+    private static final ForkJoinPool INSTANCE = new ForkJoinPool(Runtime
+        .getRuntime()
+        .availableProcessors(), Pool::newThread, null, false);
+
+    private static ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+      ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+      thread.setName("module-size-walker-" + thread.getPoolIndex());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+
+  private final Path directory;
+
+  private final String relativePath;
+
+  private final Map<String, Long> fileSizes;
+
+  private final BooleanSupplier cancelled;
+
+  private DirectorySizeWalk(Path directory, String relativePath, Map<String, Long> fileSizes,
+      BooleanSupplier cancelled) {
+    this.directory = directory;
+    this.relativePath = relativePath;
+    this.fileSizes = fileSizes;
+    this.cancelled = cancelled;
+  }
+
+  /**
+   * Walks a local directory.
+   *
+   * @param root the directory to walk
+   * @param cancelled checked before each directory is listed; the walk stops once it returns true
+   * @return a map of file paths relative to root, separated with {@code /}, to their sizes in bytes
+   * @throws IOException if root is not a directory
+   * @throws CancellationException if the walk was cancelled
+   */
+  static Map<String, Long> walk(Path root, BooleanSupplier cancelled) throws IOException {
+    if (!Files.isDirectory(root)) {
+      throw new NoSuchFileException(root.toString(), null, "not a directory");
+    }
+    Map<String, Long> fileSizes = new ConcurrentHashMap<>();
+    try {
+      Pool.INSTANCE.invoke(new DirectorySizeWalk(root, "", fileSizes, cancelled));
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+    return fileSizes;
+  }
+
+  @Override
+  protected void compute() {
+    if (cancelled.getAsBoolean()) {
+      throw new CancellationException("Directory walk cancelled");
+    }
+    List<DirectorySizeWalk> subdirectories = new ArrayList<>();
+    try {
+      Files.walkFileTree(directory, Set.of(), 1, new SimpleFileVisitor<>() {
+        @Override
+        public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+          String path = relativePath + file
+              .getFileName()
+              .toString();
+          if (attributes.isDirectory()) {
+            subdirectories.add(new DirectorySizeWalk(file, path + "/", fileSizes, cancelled));
+          } else if (attributes.isRegularFile()) {
+            fileSizes.put(path, attributes.size());
+          } else if (attributes.isSymbolicLink()) {
+            recordLinkTarget(file, path);
+          }
+          return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult visitFileFailed(Path file, IOException exc) {
+          // Unreadable files are skipped, like files removed during the walk
+          return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult postVisitDirectory(Path dir, IOException exc) {
+          // Unreadable directories are skipped
+          return FileVisitResult.CONTINUE;
+        }
+      });
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    invokeAll(subdirectories);
+  }
+
+  private void recordLinkTarget(Path link, String path) {
+    try {
+      BasicFileAttributes target = Files.readAttributes(link, BasicFileAttributes.class);
+      if (target.isRegularFile()) {
+        fileSizes.put(path, target.size());
+      }
+    } catch (IOException ignored) {
+      // Dangling links are skipped
+    }
+  }
+}
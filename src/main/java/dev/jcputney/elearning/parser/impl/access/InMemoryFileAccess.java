@@ -18,8 +18,10 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipException;
@@ -239,6 +241,20 @@ public final class InMemoryFileAccess extends AbstractArchiveFileAccess {
     return totalSize;
   }
 
+  /**
+   * Gets the size of every file stored in the in-memory file system.
+   *
+   * @return A map of file paths relative to the root path to their sizes in bytes.
+   */
+  @Override
+  public Map<String, Long> getFileSizes() {
+    Map<String, Long> fileSizes = new HashMap<>();
+    for (FileEntry entry : fileEntries) {
+      fileSizes.put(stripRootPath(entry.getPath()), entry.getSize());
+    }
+    return fileSizes;
+  }
+
   /**
    * No-op for in-memory implementation since there are no external resources to close. Provided for
    * AutoCloseable compatibility with other FileAccess implementations.
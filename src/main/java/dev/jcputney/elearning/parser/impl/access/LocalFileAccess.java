@@ -12,6 +12,7 @@ package dev.jcputney.elearning.parser.impl.access;
 
 import dev.jcputney.elearning.parser.api.FileAccess;
 import dev.jcputney.elearning.parser.api.StreamingProgressListener;
+import dev.jcputney.elearning.parser.jfr.FileReadEvent;
 import dev.jcputney.elearning.parser.util.StreamingUtils;
 import java.io.IOException;
 import java.io.InputStream;
@@ -20,7 +21,10 @@ import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
 import java.util.stream.Stream;
 
 /**
@@ -68,6 +72,22 @@ public final class LocalFileAccess implements FileAccess {
     return Files.exists(filePath);
   }
 
+  /**
+   * Gets the version of a file, made of its last modification time and its size.
+   *
+   * @param path The path of the file.
+   * @return The version token of the file.
+   * @throws IOException if the file attributes can't be read.
+   */
+  @Override
+  public String getFileVersion(String path) throws IOException {
+    BasicFileAttributes attributes = Files.readAttributes(Paths.get(fullPath(path)),
+        BasicFileAttributes.class);
+    return attributes
+        .lastModifiedTime()
+        .toMillis() + ":" + attributes.size();
+  }
+
   /**
    * Lists all files in the specified directory.
    *
@@ -159,7 +179,7 @@ public final class LocalFileAccess implements FileAccess {
       InputStream enhancedStream =
           StreamingUtils.createEnhancedStream(inputStream, fileSize, progressListener);
       success = true;
-      return enhancedStream;
+      return FileReadEvent.record(this, path, enhancedStream);
     } finally {
       if (!success) {
         inputStream.close();
@@ -170,28 +190,47 @@ public final class LocalFileAccess implements FileAccess {
   /**
    * Gets the total size of all files in the module.
    *
-   * <p>This method recursively walks the directory tree and sums the sizes of all files.
+   * <p>This method walks the directory tree in parallel, reading the size of each file from the
+   * attributes returned with its directory listing. The walk runs on a pool of daemon threads
+   * shared by all instances, not on the common pool.
    *
    * @return Total size of all files in bytes
-   * @throws IOException if there's an error accessing file sizes
+   * @throws IOException if the root directory can't be read
+   * @see #getFileSizes()
    */
   @Override
   public long getTotalSize() throws IOException {
-    Path rootDir = Paths.get(rootPath);
-
-    try (Stream<Path> paths = Files.walk(rootDir)) {
-      return paths
-          .filter(Files::isRegularFile)
-          .mapToLong(path -> {
-            try {
-              return Files.size(path);
-            } catch (IOException e) {
-              // Log error and continue with 0 for this file
-              return 0;
-            }
-          })
-          .sum();
+    long totalSize = 0;
+    for (long size : getFileSizes().values()) {
+      totalSize += size;
     }
+    return totalSize;
+  }
+
+  /**
+   * Gets the size of every file in the module, walking the directory tree in parallel as
+   * {@link #getTotalSize()} does. Files that can't be read are skipped.
+   *
+   * @return A map of file paths relative to the root path to their sizes in bytes
+   * @throws IOException if the root directory can't be read
+   */
+  @Override
+  public Map<String, Long> getFileSizes() throws IOException {
+    return getFileSizes(() -> false);
+  }
+
+  /**
+   * Gets the size of every file in the module like {@link #getFileSizes()}, checking
+   * {@code cancelled} before each directory is listed.
+   *
+   * @param cancelled Returns true once the sizes are no longer needed
+   * @return A map of file paths relative to the root path to their sizes in bytes
+   * @throws IOException if the root directory can't be read
+   * @throws java.util.concurrent.CancellationException if the walk was cancelled
+   */
+  @Override
+  public Map<String, Long> getFileSizes(BooleanSupplier cancelled) throws IOException {
+    return DirectorySizeWalk.walk(Paths.get(rootPath), cancelled);
   }
 
   /**
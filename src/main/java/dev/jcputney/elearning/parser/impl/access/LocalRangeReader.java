@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.impl.access;
+
+import dev.jcputney.elearning.parser.api.RangeReader;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A {@link RangeReader} over a local file, reading ranges with positional reads on a
+ * {@link FileChannel}. Positional reads don't move a shared file pointer, so instances can be used
+ * by several threads at once.
+ */
+public final class LocalRangeReader implements RangeReader {
+
+  private final Path path;
+
+  private final FileChannel channel;
+
+  /**
+   * Opens a reader over a local file.
+   *
+   * @param path the path of the file
+   * @throws IOException if the file can't be opened
+   * @throws IllegalArgumentException if path is null
+   */
+  public LocalRangeReader(Path path) throws IOException {
+    if (path == null) {
+      throw new IllegalArgumentException("Path cannot be null");
+    }
+    this.path = path;
+    this.channel = FileChannel.open(path, StandardOpenOption.READ);
+  }
+
+  @Override
+  public long size() throws IOException {
+    return channel.size();
+  }
+
+  @Override
+  public byte[] read(long position, int length) throws IOException {
+    if (position < 0 || length < 0) {
+      throw new IllegalArgumentException("Position and length cannot be negative");
+    }
+    ByteBuffer buffer = ByteBuffer.allocate(length);
+    while (buffer.hasRemaining()) {
+      int read = channel.read(buffer, position + buffer.position());
+      if (read < 0) {
+        throw new EOFException("Range " + position + "+" + length + " extends past the end of '"
+            + path + "'");
+      }
+    }
+    return buffer.array();
+  }
+
+  @Override
+  public String getName() {
+    return path.toString();
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+}
@@ -0,0 +1,373 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.impl.access;
+
+import dev.jcputney.elearning.parser.api.AbstractArchiveFileAccess;
+import dev.jcputney.elearning.parser.api.RangeReader;
+import dev.jcputney.elearning.parser.impl.access.ZipCentralDirectory.Entry;
+import dev.jcputney.elearning.parser.jfr.FileReadEvent;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An implementation of the {@link dev.jcputney.elearning.parser.api.FileAccess} interface for
+ * accessing files within a ZIP archive through a {@link RangeReader}, without reading the whole
+ * archive.
+ * <p>
+ * The central directory is read once, on construction, and answers file existence checks, listings
+ * and size queries without further reads. The contents of a small file are read with a ranged read
+ * of its entry and inflated in memory, and kept once read, as the manifest of a module is usually
+ * read both to detect the module type and to parse it. Larger files are streamed, fetching and
+ * inflating 1 MiB of compressed data at a time as the stream is consumed.
+ * </p>
+ * <p>
+ * {@link #prefetch(Collection)} reads several small files at once, fetching entries stored close to
+ * each other in the archive with a single read. {@link #prefetchCommonFiles()} prefetches the
+ * module descriptor files at the root of the archive this way.
+ * </p>
+ *
+ * <pre>{@code
+ * try (RangedZipFileAccess zip = new RangedZipFileAccess(new LocalRangeReader(path))) {
+ *   ModuleMetadata<?> metadata = new DefaultModuleParserFactory(zip).parseModule();
+ * }
+ * }</pre>
+ */
+public class RangedZipFileAccess extends AbstractArchiveFileAccess {
+
+  /**
+   * The largest file kept in memory once read.
+   */
+  private static final int MAX_CACHED_FILE_SIZE = 4 * 1024 * 1024;
+
+  /**
+   * The most bytes of files kept in memory.
+   */
+  private static final long MAX_CACHED_BYTES = 32L * 1024 * 1024;
+
+  /**
+   * The number of compressed bytes fetched by each read of a streamed file.
+   */
+  private static final int STREAM_RANGE_SIZE = 1024 * 1024;
+
+  /**
+   * The largest gap between two entries read with a single read by {@link #prefetch(Collection)}.
+   * Reading the gap costs less than another request to remote storage.
+   */
+  private static final long MAX_COALESCED_GAP = 64 * 1024;
+
+  /**
+   * The largest single read made by {@link #prefetch(Collection)}.
+   */
+  private static final long MAX_COALESCED_READ = 8L * 1024 * 1024;
+
+  /**
+   * The names of module descriptor files prefetched by {@link #prefetchCommonFiles()}.
+   */
+  private static final Set<String> DESCRIPTOR_FILES = Set.of("imsmanifest.xml", "cmi5.xml",
+      "tincan.xml");
+
+  /**
+   * The extensions of the AICC course files prefetched by {@link #prefetchCommonFiles()}.
+   */
+  private static final Set<String> AICC_EXTENSIONS = Set.of("crs", "au", "des", "cst", "ort",
+      "pre", "cmp");
+
+  private final RangeReader reader;
+
+  private final ZipCentralDirectory directory;
+
+  private final Map<String, byte[]> fileCache = new ConcurrentHashMap<>();
+
+  private final AtomicLong cachedBytes = new AtomicLong();
+
+  /**
+   * Constructs a new {@link RangedZipFileAccess} reading the central directory of an archive.
+   *
+   * @param reader The reader of the ZIP archive, closed with this instance.
+   * @throws IOException If the central directory can't be read.
+   * @throws IllegalArgumentException if reader is null.
+   */
+  public RangedZipFileAccess(RangeReader reader) throws IOException {
+    this(reader, ZipCentralDirectory.read(reader));
+  }
+
+  /**
+   * Constructs a new {@link RangedZipFileAccess} from a central directory already read, for
+   * example one kept from an earlier visit of the same archive.
+   *
+   * @param reader The reader of the ZIP archive, closed with this instance.
+   * @param directory The central directory of the archive.
+   * @throws IllegalArgumentException if reader or directory is null.
+   */
+  public RangedZipFileAccess(RangeReader reader, ZipCentralDirectory directory) {
+    if (reader == null) {
+      throw new IllegalArgumentException("RangeReader cannot be null");
+    }
+    if (directory == null) {
+      throw new IllegalArgumentException("Central directory cannot be null");
+    }
+    this.reader = reader;
+    this.directory = directory;
+    initializeRootPath();
+  }
+
+  /**
+   * Gets the central directory of the archive.
+   *
+   * @return The central directory.
+   */
+  public ZipCentralDirectory getCentralDirectory() {
+    return directory;
+  }
+
+  /**
+   * Checks if a file exists within the ZIP archive.
+   *
+   * @param path The path to check (guaranteed to be non-null).
+   * @return True if the file exists in the ZIP archive, false otherwise.
+   */
+  @Override
+  public boolean fileExistsInternal(String path) {
+    return directory.getEntry(fullPath(path)) != null;
+  }
+
+  /**
+   * Gets the version of a file within the ZIP archive, made of the CRC-32 and the size recorded in
+   * its entry.
+   *
+   * @param path The path of the file.
+   * @return The version token of the file, or null if the entry does not exist.
+   */
+  @Override
+  public String getFileVersion(String path) {
+    Entry entry = directory.getEntry(fullPath(path));
+    if (entry == null) {
+      return null;
+    }
+    return Long.toHexString(entry.crc()) + ":" + entry.size();
+  }
+
+  /**
+   * Lists all files within a specified directory in the ZIP archive.
+   *
+   * @param directoryPath The directory to list files from (guaranteed to be non-null).
+   * @return A list of file paths within the directory, relative to the root path.
+   */
+  @Override
+  public List<String> listFilesInternal(String directoryPath) {
+    List<String> fileList = new ArrayList<>();
+    String searchPrefix = fullPath(directoryPath);
+    for (Entry entry : directory.getEntries()) {
+      if (entry
+          .name()
+          .startsWith(searchPrefix) && !entry.isDirectory()) {
+        fileList.add(stripRootPath(entry.name()));
+      }
+    }
+    return fileList;
+  }
+
+  /**
+   * Retrieves the contents of a file within the ZIP archive as an InputStream.
+   *
+   * @param path The path to retrieve contents from (guaranteed to be non-null).
+   * @return An InputStream of the file contents.
+   * @throws IOException if the file can't be read.
+   */
+  @Override
+  public InputStream getFileContentsInternal(String path) throws IOException {
+    String storagePath = fullPath(path);
+    byte[] content = fileCache.get(storagePath);
+    if (content == null) {
+      Entry entry = directory.getEntry(storagePath);
+      if (entry == null || entry.isDirectory()) {
+        throw new IOException(
+            "File not found in ZIP archive: '" + path + "' (full path: '" + storagePath
+                + "') in '" + reader.getName() + "'");
+      }
+      if (entry.size() > MAX_CACHED_FILE_SIZE) {
+        return FileReadEvent.record(this, path,
+            directory.openEntry(reader, entry, STREAM_RANGE_SIZE));
+      }
+      content = directory.readEntry(reader, entry);
+      cache(storagePath, content);
+    }
+    return FileReadEvent.record(this, path, new ByteArrayInputStream(content));
+  }
+
+  /**
+   * Reads small files ahead of their use, so that they are served from memory. Entries stored
+   * within 64 KiB of each other in the archive are fetched with a single read. Missing files and
+   * files too large to be kept in memory are ignored.
+   *
+   * @param paths The paths of the files to read.
+   * @throws IOException if the files can't be read.
+   * @throws IllegalArgumentException if paths is null.
+   */
+  public void prefetch(Collection<String> paths) throws IOException {
+    if (paths == null) {
+      throw new IllegalArgumentException("Paths cannot be null");
+    }
+    List<Entry> pending = new ArrayList<>();
+    for (String path : paths) {
+      String storagePath = fullPath(path);
+      Entry entry = directory.getEntry(storagePath);
+      if (entry != null && !entry.isDirectory() && entry.size() <= MAX_CACHED_FILE_SIZE
+          && !fileCache.containsKey(storagePath)) {
+        pending.add(entry);
+      }
+    }
+    pending.sort(Comparator.comparingLong(Entry::localHeaderOffset));
+
+    long archiveSize = reader.size();
+    int first = 0;
+    while (first < pending.size()) {
+      long start = pending
+          .get(first)
+          .localHeaderOffset();
+      long end = spanEnd(pending.get(first), archiveSize);
+      int last = first + 1;
+      while (last < pending.size()) {
+        Entry next = pending.get(last);
+        long nextEnd = spanEnd(next, archiveSize);
+        if (next.localHeaderOffset() - end > MAX_COALESCED_GAP
+            || nextEnd - start > MAX_COALESCED_READ) {
+          break;
+        }
+        end = Math.max(end, nextEnd);
+        last++;
+      }
+
+      byte[] buffer = reader.read(start, (int) (end - start));
+      for (Entry entry : pending.subList(first, last)) {
+        cache(entry.name(), directory.readEntry(reader, entry, buffer,
+            (int) (entry.localHeaderOffset() - start)));
+      }
+      first = last;
+    }
+  }
+
+  /**
+   * Prefetches the module descriptor files at the root of the archive, such as
+   * {@code imsmanifest.xml}, {@code cmi5.xml}, {@code tincan.xml} and the AICC course files, with
+   * as few reads as possible. Failures are ignored; the files are then read when they are used.
+   */
+  @Override
+  public void prefetchCommonFiles() {
+    List<String> descriptors = new ArrayList<>();
+    for (String path : getStorageFilePaths()) {
+      String relativePath = stripRootPath(path);
+      if (relativePath.indexOf('/') < 0 && isDescriptorFile(relativePath)) {
+        descriptors.add(relativePath);
+      }
+    }
+    try {
+      prefetch(descriptors);
+    } catch (IOException ignored) {
+      // Prefetching is best effort, the files are read again when they are used
+    }
+  }
+
+  /**
+   * Gets the total size of all files in the ZIP archive, from the uncompressed sizes recorded in
+   * the central directory.
+   *
+   * @return Total size of all files in bytes (uncompressed)
+   */
+  @Override
+  public long getTotalSize() {
+    long totalSize = 0;
+    for (Entry entry : directory.getEntries()) {
+      if (!entry.isDirectory()) {
+        totalSize += entry.size();
+      }
+    }
+    return totalSize;
+  }
+
+  /**
+   * Gets the size of every file in the ZIP archive, from the uncompressed sizes recorded in the
+   * central directory.
+   *
+   * @return A map of file paths relative to the root path to their uncompressed sizes in bytes
+   */
+  @Override
+  public Map<String, Long> getFileSizes() {
+    Map<String, Long> fileSizes = new HashMap<>();
+    for (Entry entry : directory.getEntries()) {
+      if (!entry.isDirectory()) {
+        fileSizes.put(stripRootPath(entry.name()), entry.size());
+      }
+    }
+    return fileSizes;
+  }
+
+  /**
+   * Closes the reader of the archive.
+   *
+   * @throws IOException if an error occurs while closing the reader.
+   */
+  @Override
+  public void close() throws IOException {
+    fileCache.clear();
+    cachedBytes.set(0);
+    reader.close();
+  }
+
+  /**
+   * Provides all file paths from storage for root path detection.
+   *
+   * @return An iterable of all file paths in storage format
+   */
+  @Override
+  protected Iterable<String> getStorageFilePaths() {
+    List<String> paths = new ArrayList<>();
+    for (Entry entry : directory.getEntries()) {
+      if (!entry.isDirectory()) {
+        paths.add(entry.name());
+      }
+    }
+    return paths;
+  }
+
+  private static boolean isDescriptorFile(String fileName) {
+    String lowerCase = fileName.toLowerCase(Locale.ROOT);
+    int dot = lowerCase.lastIndexOf('.');
+    return DESCRIPTOR_FILES.contains(lowerCase)
+        || (dot > 0 && AICC_EXTENSIONS.contains(lowerCase.substring(dot + 1)));
+  }
+
+  private static long spanEnd(Entry entry, long archiveSize) {
+    return Math.min(archiveSize,
+        entry.localHeaderOffset() + ZipCentralDirectory.spanLength(entry));
+  }
+
+  private void cache(String storagePath, byte[] content) {
+    if (content.length > MAX_CACHED_FILE_SIZE
+        || cachedBytes.get() + content.length > MAX_CACHED_BYTES) {
+      return;
+    }
+    if (fileCache.putIfAbsent(storagePath, content) == null) {
+      cachedBytes.addAndGet(content.length);
+    }
+  }
+}
@@ -125,19 +125,21 @@ public final class S3FileAccessV1 extends AbstractS3FileAccess {
       ObjectListing listing;
       do {
         listing = s3Client.listObjects(request);
-        allKeys.addAll(listing
-            .getObjectSummaries()
-            .stream()
-            .map(S3ObjectSummary::getKey)
-            .filter(key -> !key.endsWith("/")) // Filter out directory markers
-            .map(key -> {
-              // Strip the root path to return relative paths
-              if (rootPath != null && !rootPath.isEmpty() && key.startsWith(rootPath + "/")) {
-                return key.substring(rootPath.length() + 1);
-              }
-              return key;
-            })
-            .toList());
+        for (S3ObjectSummary summary : listing.getObjectSummaries()) {
+          String key = summary.getKey();
+          if (key.endsWith("/")) {
+            continue; // Filter out directory markers
+          }
+          // Strip the root path to return relative paths
+          if (rootPath != null && !rootPath.isEmpty() && key.startsWith(rootPath + "/")) {
+            key = key.substring(rootPath.length() + 1);
+          }
+          fileSizeCache.put(key, summary.getSize());
+          if (summary.getETag() != null) {
+            fileETagCache.put(key, summary.getETag());
+          }
+          allKeys.add(key);
+        }
         request.setMarker(listing.getNextMarker());
       } while (listing.isTruncated());
 
@@ -11,6 +11,7 @@
 package dev.jcputney.elearning.parser.impl.access;
 
 import dev.jcputney.elearning.parser.api.StreamingProgressListener;
+import dev.jcputney.elearning.parser.jfr.FileReadEvent;
 import dev.jcputney.elearning.parser.util.StreamingUtils;
 import java.io.IOException;
 import java.io.InputStream;
@@ -109,7 +110,7 @@ public final class S3FileAccessV2 extends AbstractS3FileAccess {
     this.currentProgressListener.set(progressListener);
     try {
       // Use the base implementation which will call our getInputStreamWrapper
-      return super.getFileContentsBase(path);
+      return FileReadEvent.record(this, path, super.getFileContentsBase(path));
     } finally {
       // Clear the thread-local after use
       this.currentProgressListener.remove();
@@ -229,6 +230,9 @@ public final class S3FileAccessV2 extends AbstractS3FileAccess {
           // Cache the size immediately
           String relativeKey = toRelativeKey(key);
           fileSizeCache.put(relativeKey, s3Object.size());
+          if (s3Object.eTag() != null) {
+            fileETagCache.put(relativeKey, s3Object.eTag());
+          }
           allKeys.add(relativeKey);
         }
 
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.impl.access;
+
+import dev.jcputney.elearning.parser.api.RangeReader;
+import java.io.IOException;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.sync.ResponseTransformer;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+
+/**
+ * A {@link RangeReader} over an S3 object using AWS S3 SDK v2, reading each range with a ranged
+ * GET request.
+ * <p>
+ * The size of the object is fetched with a HEAD request the first time it is needed, unless it was
+ * given to the constructor; when indexing a bucket, pass the sizes from the listing to save a
+ * request per object.
+ * </p>
+ */
+public final class S3RangeReaderV2 implements RangeReader {
+
+  private final S3Client s3Client;
+
+  private final String bucketName;
+
+  private final String key;
+
+  private volatile long size;
+
+  /**
+   * Creates a reader over an S3 object of unknown size.
+   *
+   * @param s3Client The S3 client to use for reading the object.
+   * @param bucketName The name of the S3 bucket holding the object.
+   * @param key The key of the object.
+   * @throws IllegalArgumentException if any argument is null
+   */
+  public S3RangeReaderV2(S3Client s3Client, String bucketName, String key) {
+    this(s3Client, bucketName, key, -1);
+  }
+
+  /**
+   * Creates a reader over an S3 object of known size.
+   *
+   * @param s3Client The S3 client to use for reading the object.
+   * @param bucketName The name of the S3 bucket holding the object.
+   * @param key The key of the object.
+   * @param size The size of the object in bytes, or -1 if unknown.
+   * @throws IllegalArgumentException if any argument is null
+   */
+  public S3RangeReaderV2(S3Client s3Client, String bucketName, String key, long size) {
+    if (s3Client == null || bucketName == null || key == null) {
+      throw new IllegalArgumentException("S3 client, bucket name and key cannot be null");
+    }
+    this.s3Client = s3Client;
+    this.bucketName = bucketName;
+    this.key = key;
+    this.size = size;
+  }
+
+  @Override
+  public long size() throws IOException {
+    if (size < 0) {
+      try {
+        size = s3Client
+            .headObject(HeadObjectRequest
+                .builder()
+                .bucket(bucketName)
+                .key(key)
+                .build())
+            .contentLength();
+      } catch (SdkException e) {
+        throw new IOException("Failed to get the size of S3 object: " + getName(), e);
+      }
+    }
+    return size;
+  }
+
+  @Override
+  public byte[] read(long position, int length) throws IOException {
+    if (position < 0 || length < 0) {
+      throw new IllegalArgumentException("Position and length cannot be negative");
+    }
+    if (length == 0) {
+      return new byte[0];
+    }
+    byte[] bytes;
+    try {
+      bytes = s3Client
+          .getObject(GetObjectRequest
+              .builder()
+              .bucket(bucketName)
+              .key(key)
+              .range("bytes=" + position + "-" + (position + length - 1))
+              .build(), ResponseTransformer.toBytes())
+          .asByteArray();
+    } catch (SdkException e) {
+      throw new IOException("Failed to read range " + position + "+" + length + " of S3 object: "
+          + getName(), e);
+    }
+    if (bytes.length != length) {
+      throw new IOException("Read " + bytes.length + " bytes instead of range " + position + "+"
+          + length + " of S3 object: " + getName());
+    }
+    return bytes;
+  }
+
+  @Override
+  public String getName() {
+    return "s3://" + bucketName + "/" + key;
+  }
+}
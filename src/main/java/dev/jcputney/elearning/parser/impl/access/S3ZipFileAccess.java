@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.impl.access;
+
+import com.amazonaws.services.s3.AmazonS3;
+import dev.jcputney.elearning.parser.api.RangeReader;
+import java.io.IOException;
+import software.amazon.awssdk.services.s3.S3Client;
+
+/**
+ * An implementation of the {@link dev.jcputney.elearning.parser.api.FileAccess} interface for
+ * accessing files within a ZIP archive stored as a single S3 object, without downloading it.
+ * <p>
+ * The central directory is fetched with a ranged GET of the end of the object and kept for the
+ * life of the instance; the root path of the module is detected from it like for any other
+ * archive. Each file is then served with a ranged GET of its entry, inflated in memory for small
+ * files and on the fly for large ones, and {@link #prefetchCommonFiles()} fetches the module
+ * descriptor files stored next to each other with a single GET. A module is typically parsed with
+ * two or three requests, whatever the size of the archive.
+ * </p>
+ * <p>
+ * Instances are created for either AWS SDK; only the SDK used needs to be on the classpath:
+ * </p>
+ * <pre>{@code
+ * try (S3ZipFileAccess zip = S3ZipFileAccess.forV2(s3Client, "bucket", "packages/course.zip")) {
+ *   zip.prefetchCommonFiles();
+ *   ModuleMetadata<?> metadata = new DefaultModuleParserFactory(zip).parseModule();
+ * }
+ * }</pre>
+ * <p>
+ * To skip the central directory request when visiting the same object again, keep the
+ * {@link #getCentralDirectory() central directory} and pass it to
+ * {@link #of(RangeReader, ZipCentralDirectory)} along with a reader of the object.
+ * </p>
+ */
+public final class S3ZipFileAccess extends RangedZipFileAccess {
+
+  private S3ZipFileAccess(RangeReader reader) throws IOException {
+    super(reader);
+  }
+
+  private S3ZipFileAccess(RangeReader reader, ZipCentralDirectory directory) {
+    super(reader, directory);
+  }
+
+  /**
+   * Opens a ZIP archive stored in S3 using AWS S3 SDK v1. The size of the object is fetched with a
+   * HEAD request.
+   *
+   * @param s3Client The S3 client to use for reading the object.
+   * @param bucketName The name of the S3 bucket holding the archive.
+   * @param key The key of the archive.
+   * @return The file access to the archive.
+   * @throws IOException If the central directory can't be read.
+   * @throws IllegalArgumentException if any argument is null.
+   */
+  public static S3ZipFileAccess forV1(AmazonS3 s3Client, String bucketName, String key)
+      throws IOException {
+    return new S3ZipFileAccess(new S3RangeReaderV1(s3Client, bucketName, key));
+  }
+
+  /**
+   * Opens a ZIP archive stored in S3 using AWS S3 SDK v1, for an object of known size, such as a
+   * size taken from a bucket listing.
+   *
+   * @param s3Client The S3 client to use for reading the object.
+   * @param bucketName The name of the S3 bucket holding the archive.
+   * @param key The key of the archive.
+   * @param size The size of the object in bytes.
+   * @return The file access to the archive.
+   * @throws IOException If the central directory can't be read.
+   * @throws IllegalArgumentException if any argument is null.
+   */
+  public static S3ZipFileAccess forV1(AmazonS3 s3Client, String bucketName, String key, long size)
+      throws IOException {
+    return new S3ZipFileAccess(new S3RangeReaderV1(s3Client, bucketName, key, size));
+  }
+
+  /**
+   * Opens a ZIP archive stored in S3 using AWS S3 SDK v2. The size of the object is fetched with a
+   * HEAD request.
+   *
+   * @param s3Client The S3 client to use for reading the object.
+   * @param bucketName The name of the S3 bucket holding the archive.
+   * @param key The key of the archive.
+   * @return The file access to the archive.
+   * @throws IOException If the central directory can't be read.
+   * @throws IllegalArgumentException if any argument is null.
+   */
+  public static S3ZipFileAccess forV2(S3Client s3Client, String bucketName, String key)
+      throws IOException {
+    return new S3ZipFileAccess(new S3RangeReaderV2(s3Client, bucketName, key));
+  }
+
+  /**
+   * Opens a ZIP archive stored in S3 using AWS S3 SDK v2, for an object of known size, such as a
+   * size taken from a bucket listing.
+   *
+   * @param s3Client The S3 client to use for reading the object.
+   * @param bucketName The name of the S3 bucket holding the archive.
+   * @param key The key of the archive.
+   * @param size The size of the object in bytes.
+   * @return The file access to the archive.
+   * @throws IOException If the central directory can't be read.
+   * @throws IllegalArgumentException if any argument is null.
+   */
+  public static S3ZipFileAccess forV2(S3Client s3Client, String bucketName, String key, long size)
+      throws IOException {
+    return new S3ZipFileAccess(new S3RangeReaderV2(s3Client, bucketName, key, size));
+  }
+
+  /**
+   * Opens a ZIP archive stored in S3 from its central directory read earlier, without fetching it
+   * again. The object must not have changed since.
+   *
+   * @param reader The reader of the S3 object, such as an {@link S3RangeReaderV2}.
+   * @param directory The central directory of the archive.
+   * @return The file access to the archive.
+   * @throws IllegalArgumentException if reader or directory is null.
+   */
+  public static S3ZipFileAccess of(RangeReader reader, ZipCentralDirectory directory) {
+    return new S3ZipFileAccess(reader, directory);
+  }
+}
@@ -0,0 +1,647 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.impl.access;
+
+import dev.jcputney.elearning.parser.api.RangeReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
+
+/**
+ * The central directory of a zip archive, read through a {@link RangeReader} with as few reads as
+ * possible.
+ * <p>
+ * The central directory lists every entry of an archive with its sizes, CRC-32 and the offset of
+ * its data, and sits at the end of the archive just before the end of central directory record.
+ * {@link #read(RangeReader)} reads the last 64 KiB of the archive, which holds the whole central
+ * directory of most eLearning packages, and reads the central directory separately only when it
+ * doesn't fit. An entry is then read with a single ranged read covering its local header and data,
+ * and inflated in memory, or streamed with {@link #openEntry(RangeReader, Entry, int)} and
+ * inflated on the fly as it is consumed. ZIP64 archives are supported; encrypted entries and
+ * compression methods other than stored and deflated are not.
+ * </p>
+ * <p>
+ * Instances are immutable and thread-safe.
+ * </p>
+ */
+public final class ZipCentralDirectory {
+
+  /**
+   * The compression method of stored entries.
+   */
+  public static final int STORED = 0;
+
+  /**
+   * The compression method of deflated entries.
+   */
+  public static final int DEFLATED = 8;
+
+  /**
+   * The number of bytes read from the end of the archive to find the central directory.
+   */
+  static final int TAIL_READ_SIZE = 64 * 1024;
+
+  private static final int END_SIGNATURE = 0x06054b50;
+  private static final int ZIP64_LOCATOR_SIGNATURE = 0x07064b50;
+  private static final int ZIP64_END_SIGNATURE = 0x06064b50;
+  private static final int CENTRAL_SIGNATURE = 0x02014b50;
+  private static final int LOCAL_SIGNATURE = 0x04034b50;
+
+  private static final int END_SIZE = 22;
+  private static final int MAX_COMMENT_SIZE = 0xFFFF;
+  private static final int ZIP64_LOCATOR_SIZE = 20;
+  private static final int ZIP64_END_SIZE = 56;
+  private static final int CENTRAL_HEADER_SIZE = 46;
+  private static final int LOCAL_HEADER_SIZE = 30;
+  private static final int ZIP64_EXTRA_ID = 0x0001;
+  private static final long MAX_32 = 0xFFFFFFFFL;
+  private static final int MAX_16 = 0xFFFF;
+
+  /**
+   * The number of bytes read past the name of a local header, so that its extra field, which may
+   * differ from the one in the central directory, is usually caught by the same read.
+   */
+  private static final int LOCAL_EXTRA_ALLOWANCE = 64;
+
+  /**
+   * The largest entry that can be read into a byte array.
+   */
+  private static final long MAX_ENTRY_SIZE = Integer.MAX_VALUE - 8;
+
+  private final List<Entry> entries;
+
+  private final Map<String, Entry> entriesByName;
+
+  private final long offset;
+
+  private final long length;
+
+  private ZipCentralDirectory(List<Entry> entries, long offset, long length) {
+    this.entries = Collections.unmodifiableList(entries);
+    this.entriesByName = new HashMap<>(entries.size() * 2);
+    for (Entry entry : entries) {
+      entriesByName.putIfAbsent(entry.name(), entry);
+    }
+    this.offset = offset;
+    this.length = length;
+  }
+
+  /**
+   * Reads the central directory of a zip archive.
+   *
+   * @param reader the reader of the archive
+   * @return the central directory
+   * @throws ZipException if the archive is not a valid zip archive
+   * @throws IOException if the archive can't be read
+   * @throws IllegalArgumentException if reader is null
+   */
+  public static ZipCentralDirectory read(RangeReader reader) throws IOException {
+    if (reader == null) {
+      throw new IllegalArgumentException("RangeReader cannot be null");
+    }
+    long size = reader.size();
+    if (size < END_SIZE) {
+      throw new ZipException("Not a zip archive: '" + reader.getName() + "'");
+    }
+
+    int tailLength = (int) Math.min(size, TAIL_READ_SIZE);
+    byte[] tail = reader.read(size - tailLength, tailLength);
+    int end = findEndRecord(tail);
+    int longestTail = END_SIZE + MAX_COMMENT_SIZE + ZIP64_LOCATOR_SIZE + ZIP64_END_SIZE;
+    if (end < 0 && tailLength < size && tailLength < longestTail) {
+      // The archive comment is longer than the first read allowed for
+      tailLength = (int) Math.min(size, longestTail);
+      tail = reader.read(size - tailLength, tailLength);
+      end = findEndRecord(tail);
+    }
+    if (end < 0) {
+      throw new ZipException(
+          "End of central directory not found, not a zip archive: '" + reader.getName() + "'");
+    }
+    Tail window = new Tail(reader, tail, size - tailLength);
+
+    long endPosition = window.start() + end;
+    long entryCount = u16(tail, end + 10);
+    long directoryLength = u32(tail, end + 12);
+    long directoryOffset = u32(tail, end + 16);
+    if (entryCount == MAX_16 || directoryLength == MAX_32 || directoryOffset == MAX_32) {
+      long locatorPosition = endPosition - ZIP64_LOCATOR_SIZE;
+      byte[] locator = locatorPosition < 0 ? null
+          : window.bytes(locatorPosition, ZIP64_LOCATOR_SIZE);
+      if (locator != null && s32(locator, 0) == ZIP64_LOCATOR_SIGNATURE) {
+        endPosition = u64(locator, 8);
+        byte[] zip64End = window.bytes(endPosition, ZIP64_END_SIZE);
+        if (s32(zip64End, 0) != ZIP64_END_SIGNATURE) {
+          throw new ZipException(
+              "Invalid ZIP64 end of central directory in '" + reader.getName() + "'");
+        }
+        entryCount = u64(zip64End, 32);
+        directoryLength = u64(zip64End, 40);
+        directoryOffset = u64(zip64End, 48);
+      }
+    }
+    if (directoryLength > MAX_ENTRY_SIZE || directoryLength > endPosition) {
+      throw new ZipException("Invalid central directory size in '" + reader.getName() + "'");
+    }
+
+    // Archives with data prepended, such as self-extracting ones, have offsets relative to the
+    // start of the zip data rather than the start of the file
+    long directoryPosition = endPosition - directoryLength;
+    long shift = directoryPosition - directoryOffset;
+    byte[] directory = window.bytes(directoryPosition, (int) directoryLength);
+    List<Entry> entries = parseEntries(directory, entryCount, shift, reader.getName());
+    return new ZipCentralDirectory(entries, directoryPosition, directoryLength);
+  }
+
+  /**
+   * Gets the entries of the archive, in the order of the central directory.
+   *
+   * @return the unmodifiable list of entries, including directories
+   */
+  public List<Entry> getEntries() {
+    return entries;
+  }
+
+  /**
+   * Gets an entry by name. If the archive holds several entries with the same name, the first is
+   * returned.
+   *
+   * @param name the full name of the entry within the archive
+   * @return the entry, or null if there is no entry with the name
+   */
+  public Entry getEntry(String name) {
+    return entriesByName.get(name);
+  }
+
+  /**
+   * Gets the position of the central directory within the archive.
+   *
+   * @return the offset of the central directory in bytes
+   */
+  public long getOffset() {
+    return offset;
+  }
+
+  /**
+   * Gets the length of the central directory.
+   *
+   * @return the length of the central directory in bytes
+   */
+  public long getLength() {
+    return length;
+  }
+
+  /**
+   * Reads and decompresses the data of an entry, verifying its CRC-32. The local header and the
+   * data of the entry are read with a single read, unless the local header has an unusually long
+   * extra field.
+   *
+   * @param reader the reader of the archive
+   * @param entry the entry to read
+   * @return the uncompressed data of the entry
+   * @throws ZipException if the entry is encrypted, too large, uses an unsupported compression
+   * method or is corrupt
+   * @throws IOException if the archive can't be read
+   * @throws IllegalArgumentException if reader or entry is null
+   */
+  public byte[] readEntry(RangeReader reader, Entry entry) throws IOException {
+    if (reader == null || entry == null) {
+      throw new IllegalArgumentException("RangeReader and entry cannot be null");
+    }
+    checkReadable(entry);
+    if (entry.size() > MAX_ENTRY_SIZE || entry.compressedSize() > MAX_ENTRY_SIZE) {
+      throw new ZipException("Entry is too large to read into memory: '" + entry.name() + "'");
+    }
+    long available = reader.size() - entry.localHeaderOffset();
+    int spanLength = (int) Math.max(Math.min(available, spanLength(entry)), 0);
+    return readEntry(reader, entry, reader.read(entry.localHeaderOffset(), spanLength), 0);
+  }
+
+  /**
+   * Opens a stream over the uncompressed data of an entry, reading and inflating the data in
+   * ranges as the stream is consumed, so that large entries are never held in memory whole. The
+   * CRC-32 of the entry is verified when the end of the stream is reached.
+   *
+   * @param reader the reader of the archive
+   * @param entry the entry to read
+   * @param rangeSize the number of compressed bytes fetched by each read
+   * @return the stream of the uncompressed data of the entry
+   * @throws ZipException if the entry is encrypted or uses an unsupported compression method
+   * @throws IOException if the local header of the entry can't be read
+   * @throws IllegalArgumentException if reader or entry is null, or rangeSize is not positive
+   */
+  public InputStream openEntry(RangeReader reader, Entry entry, int rangeSize)
+      throws IOException {
+    if (reader == null || entry == null) {
+      throw new IllegalArgumentException("RangeReader and entry cannot be null");
+    }
+    if (rangeSize <= 0) {
+      throw new IllegalArgumentException("Range size must be positive");
+    }
+    checkReadable(entry);
+    long available = reader.size() - entry.localHeaderOffset();
+    int headerLength = (int) Math.max(Math.min(available,
+        LOCAL_HEADER_SIZE + nameLength(entry) + LOCAL_EXTRA_ALLOWANCE), 0);
+    byte[] header = reader.read(entry.localHeaderOffset(), headerLength);
+    long dataPosition = entry.localHeaderOffset() + dataStart(entry, header, 0);
+
+    InputStream data = new RangeInputStream(reader, dataPosition, entry.compressedSize(),
+        rangeSize);
+    if (entry.method() == DEFLATED) {
+      Inflater inflater = new Inflater(true);
+      data = new InflaterInputStream(data, inflater, Math.min(rangeSize, 64 * 1024)) {
+        @Override
+        public void close() throws IOException {
+          super.close();
+          inflater.end();
+        }
+      };
+    }
+    return new VerifyingInputStream(data, entry);
+  }
+
+  /**
+   * Reads an entry from a buffer holding its local header at an offset, such as a buffer read for
+   * several adjacent entries at once. The data of the entry is read separately if the buffer ends
+   * before it does.
+   *
+   * @param reader the reader of the archive
+   * @param entry the entry to read
+   * @param buffer the buffer holding the local header of the entry
+   * @param offset the offset of the local header in the buffer
+   * @return the uncompressed data of the entry
+   * @throws IOException if the entry can't be read or is corrupt
+   */
+  byte[] readEntry(RangeReader reader, Entry entry, byte[] buffer, int offset)
+      throws IOException {
+    checkReadable(entry);
+    int dataStart = offset + dataStart(entry, buffer, offset);
+    int compressedSize = (int) entry.compressedSize();
+    byte[] data = buffer;
+    int dataOffset = dataStart;
+    if ((long) dataStart + compressedSize > buffer.length) {
+      data = reader.read(entry.localHeaderOffset() + dataStart - offset, compressedSize);
+      dataOffset = 0;
+    }
+    byte[] content = decode(entry, data, dataOffset, compressedSize);
+
+    CRC32 crc = new CRC32();
+    crc.update(content);
+    if (crc.getValue() != entry.crc()) {
+      throw new ZipException("CRC-32 mismatch in entry: '" + entry.name() + "'");
+    }
+    return content;
+  }
+
+  /**
+   * Gets the number of bytes read for an entry from the start of its local header, which covers
+   * the local header and the data unless the local header has an unusually long extra field.
+   *
+   * @param entry the entry
+   * @return the number of bytes to read for the entry
+   */
+  static long spanLength(Entry entry) {
+    return LOCAL_HEADER_SIZE + nameLength(entry) + LOCAL_EXTRA_ALLOWANCE
+        + entry.compressedSize();
+  }
+
+  private static int nameLength(Entry entry) {
+    return entry
+        .name()
+        .getBytes(StandardCharsets.UTF_8).length;
+  }
+
+  private static void checkReadable(Entry entry) throws ZipException {
+    if ((entry.flags() & 1) != 0) {
+      throw new ZipException("Encrypted entries are not supported: '" + entry.name() + "'");
+    }
+    if (entry.method() != STORED && entry.method() != DEFLATED) {
+      throw new ZipException(
+          "Unsupported compression method " + entry.method() + " of entry: '" + entry.name()
+              + "'");
+    }
+  }
+
+  /**
+   * Gets the offset of the data of an entry from the start of its local header.
+   */
+  private static int dataStart(Entry entry, byte[] buffer, int offset) throws ZipException {
+    if (buffer.length - offset < LOCAL_HEADER_SIZE || s32(buffer, offset) != LOCAL_SIGNATURE) {
+      throw new ZipException("Invalid local header of entry: '" + entry.name() + "'");
+    }
+    return LOCAL_HEADER_SIZE + u16(buffer, offset + 26) + u16(buffer, offset + 28);
+  }
+
+  private static byte[] decode(Entry entry, byte[] data, int offset, int length)
+      throws ZipException {
+    int size = (int) entry.size();
+    if (entry.method() == STORED) {
+      if (length != size) {
+        throw new ZipException("Invalid size of stored entry: '" + entry.name() + "'");
+      }
+      byte[] content = new byte[size];
+      System.arraycopy(data, offset, content, 0, size);
+      return content;
+    }
+    byte[] content = new byte[size];
+    Inflater inflater = new Inflater(true);
+    try {
+      inflater.setInput(data, offset, length);
+      int inflated = 0;
+      while (inflated < size) {
+        int count = inflater.inflate(content, inflated, size - inflated);
+        if (count == 0 && (inflater.finished() || inflater.needsInput()
+            || inflater.needsDictionary())) {
+          break;
+        }
+        inflated += count;
+      }
+      if (inflated != size) {
+        throw new ZipException("Truncated data of entry: '" + entry.name() + "'");
+      }
+    } catch (DataFormatException e) {
+      throw new ZipException("Corrupt data of entry: '" + entry.name() + "' (" + e.getMessage()
+          + ")");
+    } finally {
+      inflater.end();
+    }
+    return content;
+  }
+
+  private static List<Entry> parseEntries(byte[] directory, long entryCount, long shift,
+      String archiveName) throws ZipException {
+    List<Entry> entries = new ArrayList<>(
+        (int) Math.min(entryCount, directory.length / CENTRAL_HEADER_SIZE));
+    int position = 0;
+    while (position < directory.length) {
+      if (position + CENTRAL_HEADER_SIZE > directory.length
+          || s32(directory, position) != CENTRAL_SIGNATURE) {
+        throw new ZipException("Invalid central directory entry in '" + archiveName + "'");
+      }
+      int flags = u16(directory, position + 8);
+      int method = u16(directory, position + 10);
+      long crc = u32(directory, position + 16);
+      long compressedSize = u32(directory, position + 20);
+      long size = u32(directory, position + 24);
+      int nameLength = u16(directory, position + 28);
+      int extraLength = u16(directory, position + 30);
+      int commentLength = u16(directory, position + 32);
+      long localHeaderOffset = u32(directory, position + 42);
+      int next = position + CENTRAL_HEADER_SIZE + nameLength + extraLength + commentLength;
+      if (next > directory.length) {
+        throw new ZipException("Truncated central directory entry in '" + archiveName + "'");
+      }
+
+      int nameStart = position + CENTRAL_HEADER_SIZE;
+      String name = new String(directory, nameStart, nameLength, StandardCharsets.UTF_8);
+      if (size == MAX_32 || compressedSize == MAX_32 || localHeaderOffset == MAX_32) {
+        // The real values are in the ZIP64 extra field, in this order, when they overflow
+        int field = findExtraField(directory, nameStart + nameLength, extraLength);
+        if (field >= 0) {
+          int value = field + 4;
+          if (size == MAX_32) {
+            size = u64(directory, value);
+            value += 8;
+          }
+          if (compressedSize == MAX_32) {
+            compressedSize = u64(directory, value);
+            value += 8;
+          }
+          if (localHeaderOffset == MAX_32) {
+            localHeaderOffset = u64(directory, value);
+          }
+        }
+      }
+      entries.add(new Entry(name, method, crc, compressedSize, size, localHeaderOffset + shift,
+          flags));
+      position = next;
+    }
+    return entries;
+  }
+
+  private static int findExtraField(byte[] bytes, int start, int length) {
+    int position = start;
+    int end = start + length;
+    while (position + 4 <= end) {
+      int id = u16(bytes, position);
+      int size = u16(bytes, position + 2);
+      if (id == ZIP64_EXTRA_ID && position + 4 + size <= end) {
+        return position;
+      }
+      position += 4 + size;
+    }
+    return -1;
+  }
+
+  private static int findEndRecord(byte[] tail) {
+    for (int i = tail.length - END_SIZE; i >= 0; i--) {
+      if (s32(tail, i) == END_SIGNATURE && i + END_SIZE + u16(tail, i + 20) <= tail.length) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private static int u16(byte[] bytes, int offset) {
+    return (bytes[offset] & 0xFF) | (bytes[offset + 1] & 0xFF) << 8;
+  }
+
+  private static int s32(byte[] bytes, int offset) {
+    return u16(bytes, offset) | u16(bytes, offset + 2) << 16;
+  }
+
+  private static long u32(byte[] bytes, int offset) {
+    return s32(bytes, offset) & MAX_32;
+  }
+
+  private static long u64(byte[] bytes, int offset) {
+    return u32(bytes, offset) | u32(bytes, offset + 4) << 32;
+  }
+
+  /**
+   * An entry of the central directory.
+   *
+   * @param name the full name of the entry within the archive
+   * @param method the compression method, such as {@link #STORED} or {@link #DEFLATED}
+   * @param crc the CRC-32 of the uncompressed data
+   * @param compressedSize the size of the compressed data in bytes
+   * @param size the size of the uncompressed data in bytes
+   * @param localHeaderOffset the position of the local header of the entry within the archive
+   * @param flags the general purpose flags of the entry
+   */
+  public record Entry(String name, int method, long crc, long compressedSize, long size,
+                      long localHeaderOffset, int flags) {
+
+    /**
+     * Checks if the entry is a directory.
+     *
+     * @return true if the name of the entry ends with a slash
+     */
+    public boolean isDirectory() {
+      return name.endsWith("/");
+    }
+  }
+
+  /**
+   * A stream over a range of the archive, fetching it in reads of a fixed size as it is consumed.
+   */
+  private static final class RangeInputStream extends InputStream {
+
+    private final RangeReader reader;
+    private final int rangeSize;
+    private long position;
+    private long remaining;
+    private byte[] buffer = new byte[0];
+    private int bufferPosition;
+
+    RangeInputStream(RangeReader reader, long position, long length, int rangeSize) {
+      this.reader = reader;
+      this.position = position;
+      this.remaining = length;
+      this.rangeSize = rangeSize;
+    }
+
+    @Override
+    public int read() throws IOException {
+      if (!fill()) {
+        return -1;
+      }
+      return buffer[bufferPosition++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+      if (length == 0) {
+        return 0;
+      }
+      if (!fill()) {
+        return -1;
+      }
+      int count = Math.min(length, buffer.length - bufferPosition);
+      System.arraycopy(buffer, bufferPosition, bytes, offset, count);
+      bufferPosition += count;
+      return count;
+    }
+
+    @Override
+    public int available() {
+      return buffer.length - bufferPosition;
+    }
+
+    private boolean fill() throws IOException {
+      if (bufferPosition < buffer.length) {
+        return true;
+      }
+      if (remaining == 0) {
+        return false;
+      }
+      int length = (int) Math.min(remaining, rangeSize);
+      buffer = reader.read(position, length);
+      bufferPosition = 0;
+      position += length;
+      remaining -= length;
+      return true;
+    }
+  }
+
+  /**
+   * A stream checking the size and CRC-32 of the data of an entry when its end is reached.
+   */
+  private static final class VerifyingInputStream extends FilterInputStream {
+
+    private final Entry entry;
+    private final CRC32 crc = new CRC32();
+    private long count;
+    private boolean verified;
+
+    VerifyingInputStream(InputStream in, Entry entry) {
+      super(in);
+      this.entry = entry;
+    }
+
+    @Override
+    public int read() throws IOException {
+      int value = in.read();
+      if (value < 0) {
+        verify();
+      } else {
+        crc.update(value);
+        count++;
+      }
+      return value;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+      int read = in.read(bytes, offset, length);
+      if (read < 0) {
+        verify();
+      } else {
+        crc.update(bytes, offset, read);
+        count += read;
+      }
+      return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+      // Skipped bytes must still go through the checksum
+      byte[] skipped = new byte[(int) Math.min(n, 8192)];
+      int read = read(skipped, 0, skipped.length);
+      return Math.max(read, 0);
+    }
+
+    @Override
+    public boolean markSupported() {
+      return false;
+    }
+
+    private void verify() throws ZipException {
+      if (verified) {
+        return;
+      }
+      verified = true;
+      if (count != entry.size()) {
+        throw new ZipException("Invalid size of entry: '" + entry.name() + "'");
+      }
+      if (crc.getValue() != entry.crc()) {
+        throw new ZipException("CRC-32 mismatch in entry: '" + entry.name() + "'");
+      }
+    }
+  }
+
+  /**
+   * The bytes read from the end of the archive, serving ranges that fall within them without
+   * another read.
+   */
+  private record Tail(RangeReader reader, byte[] data, long start) {
+
+    byte[] bytes(long position, int length) throws IOException {
+      if (position >= start && position + length <= start + data.length) {
+        byte[] range = new byte[length];
+        System.arraycopy(data, (int) (position - start), range, 0, length);
+        return range;
+      }
+      return reader.read(position, length);
+    }
+  }
+}
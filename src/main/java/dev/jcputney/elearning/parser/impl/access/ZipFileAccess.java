@@ -12,12 +12,15 @@ package dev.jcputney.elearning.parser.impl.access;
 
 import dev.jcputney.elearning.parser.api.AbstractArchiveFileAccess;
 import dev.jcputney.elearning.parser.api.StreamingProgressListener;
+import dev.jcputney.elearning.parser.jfr.FileReadEvent;
 import dev.jcputney.elearning.parser.util.StreamingUtils;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
@@ -81,6 +84,22 @@ public final class ZipFileAccess extends AbstractArchiveFileAccess {
     return zipFile.getEntry(fullPath(path)) != null;
   }
 
+  /**
+   * Gets the version of a file within the ZIP archive, made of the CRC-32 and the size recorded in
+   * its entry.
+   *
+   * @param path The path of the file.
+   * @return The version token of the file, or null if the entry does not exist.
+   */
+  @Override
+  public String getFileVersion(String path) {
+    ZipEntry entry = zipFile.getEntry(fullPath(path));
+    if (entry == null) {
+      return null;
+    }
+    return Long.toHexString(entry.getCrc()) + ":" + entry.getSize();
+  }
+
   /**
    * Lists all files within a specified directory in the ZIP archive.
    *
@@ -148,7 +167,8 @@ public final class ZipFileAccess extends AbstractArchiveFileAccess {
     long fileSize = entry.getSize();
 
     // Apply streaming enhancements
-    return StreamingUtils.createEnhancedStream(inputStream, fileSize, progressListener);
+    return FileReadEvent.record(this, path,
+        StreamingUtils.createEnhancedStream(inputStream, fileSize, progressListener));
   }
 
   /**
@@ -192,6 +212,25 @@ public final class ZipFileAccess extends AbstractArchiveFileAccess {
     return totalSize;
   }
 
+  /**
+   * Gets the size of every file in the ZIP archive, from the uncompressed sizes recorded in its
+   * entries. Entries of unknown size are left out.
+   *
+   * @return A map of file paths relative to the root path to their uncompressed sizes in bytes
+   */
+  @Override
+  public Map<String, Long> getFileSizes() {
+    Map<String, Long> fileSizes = new HashMap<>();
+    Enumeration<? extends ZipEntry> entries = zipFile.entries();
+    while (entries.hasMoreElements()) {
+      ZipEntry entry = entries.nextElement();
+      if (!entry.isDirectory() && entry.getSize() >= 0) {
+        fileSizes.put(stripRootPath(entry.getName()), entry.getSize());
+      }
+    }
+    return fileSizes;
+  }
+
   /**
    * Provides all file paths from storage for root path detection.
    *
@@ -0,0 +1,328 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.impl.cache;
+
+import dev.jcputney.elearning.parser.api.ParseResult;
+import dev.jcputney.elearning.parser.input.PackageManifest;
+import dev.jcputney.elearning.parser.output.MetadataSnapshotCodec;
+import dev.jcputney.elearning.parser.output.ModuleMetadata;
+import dev.jcputney.elearning.parser.validation.ValidationIssue;
+import dev.jcputney.elearning.parser.validation.ValidationIssue.Severity;
+import dev.jcputney.elearning.parser.validation.ValidationResult;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * A persistent cache of {@link ParseResult}s, stored as one file per entry in a local directory.
+ * <p>
+ * Each entry holds the library version that wrote it, its key, the validation issues and the
+ * metadata encoded with {@link MetadataSnapshotCodec}. An entry written by a different library
+ * version, or that can't be read back, is treated as a miss and deleted, so upgrading the library
+ * invalidates the whole cache. Entries are written to a temporary file and moved into place, so
+ * concurrent readers, including other processes sharing the directory, never see a partial entry.
+ * </p>
+ * <p>
+ * The cache is best effort: failures to write an entry are ignored, and the parse result is simply
+ * not cached. It requires the optional {@code jackson-dataformat-smile} and
+ * {@code jackson-datatype-jsr310} dependencies. Instances are thread-safe.
+ * </p>
+ *
+ * @see dev.jcputney.elearning.parser.impl.factory.CachingModuleParserFactory
+ */
+public final class DiskParseResultCache {
+
+  /**
+   * The version of the library, or "unknown" if it can't be determined.
+   */
+  public static final String LIBRARY_VERSION = readLibraryVersion();
+
+  /**
+   * The magic number at the start of every entry ("EMPC").
+   */
+  private static final int MAGIC = 0x454D5043;
+
+  /**
+   * The version of the entry format.
+   */
+  private static final int FORMAT_VERSION = 1;
+
+  private static final String ENTRY_SUFFIX = ".entry";
+
+  private static final String TEMP_SUFFIX = ".tmp";
+
+  private final Path directory;
+
+  private final String libraryVersion;
+
+  private final MetadataSnapshotCodec codec = new MetadataSnapshotCodec();
+
+  private final LongAdder hits = new LongAdder();
+
+  private final LongAdder misses = new LongAdder();
+
+  /**
+   * Creates a cache storing its entries in a directory, for the current library version.
+   *
+   * @param directory the directory to store entries in, created if it does not exist
+   * @throws IOException if the directory can't be created
+   * @throws IllegalArgumentException if directory is null
+   */
+  public DiskParseResultCache(Path directory) throws IOException {
+    this(directory, LIBRARY_VERSION);
+  }
+
+  /**
+   * Creates a cache storing its entries in a directory, for a given library version. Entries
+   * written for any other version are discarded.
+   *
+   * @param directory the directory to store entries in, created if it does not exist
+   * @param libraryVersion the library version entries are valid for
+   * @throws IOException if the directory can't be created
+   * @throws IllegalArgumentException if directory or libraryVersion is null
+   */
+  public DiskParseResultCache(Path directory, String libraryVersion) throws IOException {
+    if (directory == null) {
+      throw new IllegalArgumentException("Directory cannot be null");
+    }
+    if (libraryVersion == null) {
+      throw new IllegalArgumentException("Library version cannot be null");
+    }
+    this.directory = Files.createDirectories(directory);
+    this.libraryVersion = libraryVersion;
+  }
+
+  /**
+   * Gets the cached result of a key.
+   *
+   * @param key the key of the entry
+   * @return the cached result, or null if there is no valid entry for the key
+   * @throws IllegalArgumentException if key is null
+   */
+  public ParseResult<?> get(String key) {
+    if (key == null) {
+      throw new IllegalArgumentException("Key cannot be null");
+    }
+    Path entry = entryPath(key);
+    try (DataInputStream in = new DataInputStream(
+        new BufferedInputStream(Files.newInputStream(entry)))) {
+      ParseResult<?> result = readEntry(in, key);
+      if (result != null) {
+        hits.increment();
+        return result;
+      }
+    } catch (NoSuchFileException e) {
+      misses.increment();
+      return null;
+    } catch (IOException | RuntimeException e) {
+      // The entry is corrupt, it is discarded below
+    }
+    misses.increment();
+    deleteQuietly(entry);
+    return null;
+  }
+
+  /**
+   * Stores the result of a key, replacing any previous entry. Failures are ignored.
+   *
+   * @param key the key of the entry
+   * @param result the result to store
+   * @throws IllegalArgumentException if key or result is null
+   */
+  public void put(String key, ParseResult<?> result) {
+    if (key == null) {
+      throw new IllegalArgumentException("Key cannot be null");
+    }
+    if (result == null) {
+      throw new IllegalArgumentException("Result cannot be null");
+    }
+    Path entry = entryPath(key);
+    Path temp = null;
+    try {
+      byte[] snapshot = codec.encode(result.metadata());
+      temp = Files.createTempFile(directory, entry
+          .getFileName()
+          .toString(), TEMP_SUFFIX);
+      try (DataOutputStream out = new DataOutputStream(
+          new BufferedOutputStream(Files.newOutputStream(temp)))) {
+        writeEntry(out, key, result.validation(), snapshot);
+      }
+      moveIntoPlace(temp, entry);
+    } catch (Exception ignored) {
+      // Caching is best effort, the result is returned uncached
+      if (temp != null) {
+        deleteQuietly(temp);
+      }
+    }
+  }
+
+  /**
+   * Removes every entry of the cache.
+   *
+   * @throws IOException if the directory can't be listed
+   */
+  public void clear() throws IOException {
+    try (Stream<Path> entries = Files.list(directory)) {
+      entries
+          .filter(path -> {
+            String name = path
+                .getFileName()
+                .toString();
+            return name.endsWith(ENTRY_SUFFIX) || name.endsWith(TEMP_SUFFIX);
+          })
+          .forEach(DiskParseResultCache::deleteQuietly);
+    }
+  }
+
+  /**
+   * Gets the directory entries are stored in.
+   *
+   * @return the cache directory
+   */
+  public Path getDirectory() {
+    return directory;
+  }
+
+  /**
+   * Gets the library version entries are valid for.
+   *
+   * @return the library version
+   */
+  public String getLibraryVersion() {
+    return libraryVersion;
+  }
+
+  /**
+   * Gets the number of lookups that found a valid entry.
+   *
+   * @return the number of hits
+   */
+  public long getHits() {
+    return hits.sum();
+  }
+
+  /**
+   * Gets the number of lookups that found no valid entry.
+   *
+   * @return the number of misses
+   */
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  private Path entryPath(String key) {
+    return directory.resolve(PackageFingerprint.sha256(key) + ENTRY_SUFFIX);
+  }
+
+  private void writeEntry(DataOutputStream out, String key, ValidationResult validation,
+      byte[] snapshot) throws IOException {
+    out.writeInt(MAGIC);
+    out.writeInt(FORMAT_VERSION);
+    out.writeUTF(libraryVersion);
+    out.writeUTF(key);
+
+    List<ValidationIssue> issues = validation.getAllIssues();
+    out.writeInt(issues.size());
+    for (ValidationIssue issue : issues) {
+      out.writeUTF(issue
+          .severity()
+          .name());
+      writeNullableUTF(out, issue.code());
+      writeNullableUTF(out, issue.message());
+      writeNullableUTF(out, issue.location());
+      writeNullableUTF(out, issue.suggestedFix());
+    }
+
+    out.writeInt(snapshot.length);
+    out.write(snapshot);
+  }
+
+  private ParseResult<?> readEntry(DataInputStream in, String key) throws IOException {
+    if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION
+        || !libraryVersion.equals(in.readUTF()) || !key.equals(in.readUTF())) {
+      return null;
+    }
+
+    int issueCount = in.readInt();
+    ValidationIssue[] issues = new ValidationIssue[issueCount];
+    for (int i = 0; i < issueCount; i++) {
+      Severity severity = Severity.valueOf(in.readUTF());
+      issues[i] = new ValidationIssue(severity, readNullableUTF(in), readNullableUTF(in),
+          readNullableUTF(in), readNullableUTF(in));
+    }
+
+    byte[] snapshot = new byte[in.readInt()];
+    in.readFully(snapshot);
+    return toResult(ValidationResult.of(issues), codec.decode(snapshot));
+  }
+
+  private static <M extends PackageManifest> ParseResult<M> toResult(ValidationResult validation,
+      ModuleMetadata<M> metadata) {
+    return new ParseResult<>(validation, metadata);
+  }
+
+  private static void writeNullableUTF(DataOutputStream out, String value) throws IOException {
+    out.writeBoolean(value != null);
+    if (value != null) {
+      out.writeUTF(value);
+    }
+  }
+
+  private static String readNullableUTF(DataInputStream in) throws IOException {
+    return in.readBoolean() ? in.readUTF() : null;
+  }
+
+  private static void moveIntoPlace(Path temp, Path entry) throws IOException {
+    try {
+      Files.move(temp, entry, StandardCopyOption.ATOMIC_MOVE,
+          StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException e) {
+      // The file system can't move atomically, the entry is replaced non-atomically
+      Files.move(temp, entry, StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+
+  private static void deleteQuietly(Path path) {
+    try {
+      Files.deleteIfExists(path);
+    } catch (IOException ignored) {
+      // A stale entry is discarded again on its next lookup
+    }
+  }
+
+  private static String readLibraryVersion() {
+    try (InputStream in = DiskParseResultCache.class.getResourceAsStream(
+        "/dev/jcputney/elearning/parser/version.properties")) {
+      if (in != null) {
+        Properties properties = new Properties();
+        properties.load(in);
+        String version = properties.getProperty("version");
+        if (version != null && !version.isBlank() && !version.startsWith("${")) {
+          return version;
+        }
+      }
+    } catch (IOException ignored) {
+      // The version is reported as unknown
+    }
+    return "unknown";
+  }
+}
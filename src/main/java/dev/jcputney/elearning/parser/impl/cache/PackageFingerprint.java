@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.impl.cache;
+
+import dev.jcputney.elearning.parser.api.FileAccess;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Computes a fingerprint identifying the contents of a module package, used as the key of cached
+ * parse results.
+ * <p>
+ * The fingerprint is a SHA-256 digest of:
+ * </p>
+ * <ul>
+ *   <li>the sorted listing of every file in the package, each with the version token reported by
+ *   {@link FileAccess#getFileVersion(String)} (an S3 entity tag, a zip entry CRC or a file
+ *   modification time, each with the file size)</li>
+ *   <li>the contents of the manifest files at the root of the package ({@code imsmanifest.xml},
+ *   {@code cmi5.xml}, {@code tincan.xml} and the AICC course files)</li>
+ * </ul>
+ * <p>
+ * Any change to a file therefore changes the fingerprint, and a change to a manifest does so even
+ * when the backend does not report file versions. Only the manifests are read, so fingerprinting
+ * a package is much cheaper than parsing it.
+ * </p>
+ */
+public final class PackageFingerprint {
+
+  /**
+   * The names of the root-level manifest files whose contents are digested.
+   */
+  private static final Set<String> MANIFEST_NAMES = Set.of("imsmanifest.xml", "cmi5.xml",
+      "tincan.xml");
+
+  /**
+   * The extensions of the AICC course files whose contents are digested.
+   */
+  private static final Set<String> AICC_EXTENSIONS = Set.of(".crs", ".au", ".des", ".cst", ".ort",
+      ".pre");
+
+  /**
+   * Private constructor to prevent instantiation.
+   */
+  private PackageFingerprint() {
+    throw new AssertionError("Utility class should not be instantiated");
+  }
+
+  /**
+   * Computes the fingerprint of a package.
+   *
+   * @param fileAccess the access to the package
+   * @return the fingerprint, as a lowercase hexadecimal SHA-256 digest
+   * @throws IOException if the package can't be listed or a manifest can't be read
+   * @throws IllegalArgumentException if fileAccess is null
+   */
+  public static String compute(FileAccess fileAccess) throws IOException {
+    if (fileAccess == null) {
+      throw new IllegalArgumentException("FileAccess cannot be null");
+    }
+    MessageDigest digest = newDigest();
+    List<String> files = new ArrayList<>(fileAccess.getAllFiles());
+    files.sort(null);
+
+    List<String> manifests = new ArrayList<>();
+    for (String file : files) {
+      String version = fileAccess.getFileVersion(file);
+      update(digest, file);
+      update(digest, version != null ? version : "?");
+      if (isManifest(file)) {
+        manifests.add(file);
+      }
+    }
+
+    byte[] buffer = new byte[8192];
+    for (String manifest : manifests) {
+      update(digest, manifest);
+      try (InputStream in = fileAccess.getFileContents(manifest)) {
+        int n;
+        while ((n = in.read(buffer)) > 0) {
+          digest.update(buffer, 0, n);
+        }
+      }
+    }
+    return HexFormat
+        .of()
+        .formatHex(digest.digest());
+  }
+
+  /**
+   * Computes the SHA-256 digest of a string.
+   *
+   * @param value the string to digest
+   * @return the digest, as lowercase hexadecimal
+   */
+  static String sha256(String value) {
+    return HexFormat
+        .of()
+        .formatHex(newDigest().digest(value.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  private static boolean isManifest(String path) {
+    if (path.indexOf('/') >= 0) {
+      return false;
+    }
+    String name = path.toLowerCase(Locale.ROOT);
+    if (MANIFEST_NAMES.contains(name)) {
+      return true;
+    }
+    int dot = name.lastIndexOf('.');
+    return dot >= 0 && AICC_EXTENSIONS.contains(name.substring(dot));
+  }
+
+  private static void update(MessageDigest digest, String value) {
+    digest.update(value.getBytes(StandardCharsets.UTF_8));
+    // Separates the values so that their boundaries are part of the digest
+    digest.update((byte) 0);
+  }
+
+  private static MessageDigest newDigest() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      // Every Java platform is required to support SHA-256
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+}
@@ -15,6 +15,7 @@ import dev.jcputney.elearning.parser.api.ModuleTypeDetector;
 import dev.jcputney.elearning.parser.api.ModuleTypeDetectorPlugin;
 import dev.jcputney.elearning.parser.enums.ModuleType;
 import dev.jcputney.elearning.parser.exception.ModuleDetectionException;
+import dev.jcputney.elearning.parser.jfr.DetectionEvent;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
@@ -140,7 +141,9 @@ public final class DefaultModuleTypeDetector implements ModuleTypeDetector {
 
     try {
       for (ModuleTypeDetectorPlugin plugin : plugins) {
+        DetectionEvent event = DetectionEvent.start();
         ModuleType moduleType = plugin.detect(fileAccess);
+        event.complete(plugin.getName(), fileAccess, moduleType);
         if (moduleType != null) {
           return moduleType;
         }
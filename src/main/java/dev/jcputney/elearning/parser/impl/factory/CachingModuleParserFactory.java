@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.impl.factory;
+
+import dev.jcputney.elearning.parser.api.FileAccess;
+import dev.jcputney.elearning.parser.api.ModuleParser;
+import dev.jcputney.elearning.parser.api.ModuleParserFactory;
+import dev.jcputney.elearning.parser.api.ParseResult;
+import dev.jcputney.elearning.parser.api.ParserOptions;
+import dev.jcputney.elearning.parser.exception.ModuleDetectionException;
+import dev.jcputney.elearning.parser.exception.ModuleException;
+import dev.jcputney.elearning.parser.impl.cache.DiskParseResultCache;
+import dev.jcputney.elearning.parser.impl.cache.PackageFingerprint;
+import dev.jcputney.elearning.parser.input.PackageManifest;
+import dev.jcputney.elearning.parser.output.MetadataSnapshotCodec;
+import dev.jcputney.elearning.parser.output.ModuleMetadata;
+import dev.jcputney.elearning.parser.validation.ValidationResult;
+import java.io.IOException;
+
+/**
+ * A ModuleParserFactory serving parse results from a {@link DiskParseResultCache}.
+ *
+ * <p>Before parsing, the package is fingerprinted with {@link PackageFingerprint}, which lists the
+ * package and reads only its manifests. When the cache holds a result for the fingerprint, it is
+ * returned without detecting the module type or parsing anything; otherwise the module is parsed by
+ * a {@link DefaultModuleParserFactory} and the result is cached. Because the cache is persistent, a
+ * restarted application parses only the packages that changed.
+ *
+ * <p>The cache key combines the fingerprint with the parser options that change the result
+ * (strict mode, module size calculation, the maximum manifest size, the projection, streaming of
+ * AICC tables and of the cmi5 course structure, and lazy and prefetched loading of external
+ * metadata), the kind of operation and the snapshot schema version. Options that only change how
+ * fast a result is produced, such as the parallelism settings, are left out. Results of
+ * {@link #parseModule()} and {@link #parseAndValidate()} are cached separately. Failed parses are
+ * not cached. If the package can't be fingerprinted, it is parsed without the cache.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * DiskParseResultCache cache = new DiskParseResultCache(Path.of("/var/cache/modules"));
+ * ModuleMetadata<?> metadata = new CachingModuleParserFactory(fileAccess, cache).parseModule();
+ * }</pre>
+ */
+public final class CachingModuleParserFactory implements ModuleParserFactory {
+
+  private final FileAccess fileAccess;
+  private final ParserOptions options;
+  private final DiskParseResultCache cache;
+  private final ModuleParserFactory delegate;
+
+  /**
+   * Constructs a new CachingModuleParserFactory with the specified FileAccess, ParserOptions and
+   * cache.
+   *
+   * @param fileAccess the FileAccess implementation to use for accessing module files
+   * @param options the parser options to control validation and calculation behavior
+   * @param cache the cache to serve and store parse results
+   * @throws IllegalArgumentException if fileAccess or cache is null
+   */
+  public CachingModuleParserFactory(FileAccess fileAccess, ParserOptions options,
+      DiskParseResultCache cache) {
+    if (fileAccess == null) {
+      throw new IllegalArgumentException("FileAccess cannot be null");
+    }
+    if (cache == null) {
+      throw new IllegalArgumentException("Cache cannot be null");
+    }
+    this.fileAccess = fileAccess;
+    this.options = options != null ? options : new ParserOptions();
+    this.cache = cache;
+    this.delegate = new DefaultModuleParserFactory(fileAccess, this.options);
+  }
+
+  /**
+   * Constructs a new CachingModuleParserFactory with the specified FileAccess and cache, using
+   * default parser options.
+   *
+   * @param fileAccess the FileAccess implementation to use for accessing module files
+   * @param cache the cache to serve and store parse results
+   * @throws IllegalArgumentException if fileAccess or cache is null
+   */
+  public CachingModuleParserFactory(FileAccess fileAccess, DiskParseResultCache cache) {
+    this(fileAccess, null, cache);
+  }
+
+  /**
+   * Returns an appropriate parser for the module type detected. Parsers returned by this method
+   * do not use the cache.
+   *
+   * @return A ModuleParser instance for the detected module type.
+   * @throws ModuleDetectionException if the module type cannot be determined.
+   */
+  @Override
+  public ModuleParser<?> getParser() throws ModuleDetectionException {
+    return delegate.getParser();
+  }
+
+  /**
+   * Parses the module, or returns the cached metadata of an unchanged package.
+   *
+   * @return A ModuleMetadata object containing the extracted metadata.
+   * @throws ModuleException if the module type cannot be determined or an error occurs during
+   * parsing.
+   */
+  @Override
+  public ModuleMetadata<?> parseModule() throws ModuleException {
+    String key = cacheKey("parse");
+    if (key != null) {
+      ParseResult<?> cached = cache.get(key);
+      if (cached != null) {
+        return cached.metadata();
+      }
+    }
+    ModuleMetadata<?> metadata = delegate.parseModule();
+    if (key != null) {
+      cache.put(key, toResult(ValidationResult.valid(), metadata));
+    }
+    return metadata;
+  }
+
+  /**
+   * Parses and validates the module, or returns the cached result of an unchanged package.
+   *
+   * @return ParseResult containing validation results and module metadata
+   * @throws ModuleException if the module type cannot be determined or a fatal error occurs during
+   * parsing.
+   */
+  public ParseResult<?> parseAndValidate() throws ModuleException {
+    String key = cacheKey("validate");
+    if (key != null) {
+      ParseResult<?> cached = cache.get(key);
+      if (cached != null) {
+        return cached;
+      }
+    }
+    ParseResult<?> result = delegate
+        .getParser()
+        .parseAndValidate();
+    if (key != null) {
+      cache.put(key, result);
+    }
+    return result;
+  }
+
+  /**
+   * Builds the cache key of an operation on the current package.
+   *
+   * @param operation the name of the operation
+   * @return the cache key, or null if the package can't be fingerprinted
+   */
+  private String cacheKey(String operation) {
+    try {
+      return String.join("|", PackageFingerprint.compute(fileAccess), operation,
+          "strict=" + options.isStrictMode(),
+          "size=" + options.shouldCalculateModuleSize(),
+          "maxManifest=" + options.getResolvedMaxManifestSize(),
+          "projection=" + options.getProjection(),
+          "streamAicc=" + options.isStreamAiccTables(),
+          "streamCmi5=" + options.isStreamCmi5Structure(),
+          "lazyMetadata=" + options.isLazyExternalMetadata(),
+          "prefetchMetadata=" + options.isPrefetchExternalMetadata(),
+          "schema=" + MetadataSnapshotCodec.SCHEMA_VERSION);
+    } catch (IOException e) {
+      // The package is parsed without the cache
+      return null;
+    }
+  }
+
+  private static <M extends PackageManifest> ParseResult<M> toResult(ValidationResult validation,
+      ModuleMetadata<M> metadata) {
+    return new ParseResult<>(validation, metadata);
+  }
+}
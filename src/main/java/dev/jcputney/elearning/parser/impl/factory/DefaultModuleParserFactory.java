@@ -16,6 +16,7 @@ import dev.jcputney.elearning.parser.api.ModuleParserFactory;
 import dev.jcputney.elearning.parser.api.ModuleTypeDetector;
 import dev.jcputney.elearning.parser.api.ParserOptions;
 import dev.jcputney.elearning.parser.enums.ModuleType;
+import dev.jcputney.elearning.parser.enums.ParsePhase;
 import dev.jcputney.elearning.parser.exception.ModuleDetectionException;
 import dev.jcputney.elearning.parser.exception.ModuleException;
 import dev.jcputney.elearning.parser.exception.ModuleParsingException;
@@ -26,6 +27,8 @@ import dev.jcputney.elearning.parser.parsers.Cmi5Parser;
 import dev.jcputney.elearning.parser.parsers.Scorm12Parser;
 import dev.jcputney.elearning.parser.parsers.Scorm2004Parser;
 import dev.jcputney.elearning.parser.parsers.XapiParser;
+import dev.jcputney.elearning.parser.util.ParseInstrumentation;
+import dev.jcputney.elearning.parser.util.ParseInstrumentation.Span;
 import java.util.EnumMap;
 import java.util.Map;
 import java.util.function.Function;
@@ -145,8 +148,14 @@ public final class DefaultModuleParserFactory implements ModuleParserFactory {
    * @throws ModuleDetectionException if the module type cannot be determined.
    */
   @Override
+  @SuppressWarnings("try") // Spans are opened for their close() only
   public ModuleParser<?> getParser() throws ModuleDetectionException {
-    ModuleType moduleType = moduleTypeDetector.detectModuleType();
+    ModuleType moduleType;
+    try (Span ignored = ParseInstrumentation
+        .of(options.getParseListener(), fileAccess)
+        .phase(ParsePhase.DETECTION)) {
+      moduleType = moduleTypeDetector.detectModuleType();
+    }
 
     Function<FileAccess, ModuleParser<?>> parserFactory = parserRegistry.get(moduleType);
     if (parserFactory == null) {
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.impl.factory;
+
+import dev.jcputney.elearning.parser.api.ParserOptions;
+import dev.jcputney.elearning.parser.api.RangeReader;
+import dev.jcputney.elearning.parser.enums.ProjectionField;
+import dev.jcputney.elearning.parser.exception.ModuleException;
+import dev.jcputney.elearning.parser.impl.access.LocalRangeReader;
+import dev.jcputney.elearning.parser.impl.access.RangedZipFileAccess;
+import dev.jcputney.elearning.parser.output.ModuleMetadata;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Set;
+
+/**
+ * Reads the headline metadata of zipped modules for catalog listings, reading little more than the
+ * central directory and the manifest of each archive.
+ *
+ * <p>Each archive is opened as a {@link RangedZipFileAccess}: its central directory is found with
+ * a read of the end of the archive, the module descriptor files at its root, such as
+ * {@code imsmanifest.xml}, {@code cmi5.xml}, {@code tincan.xml} or the AICC course files, are
+ * fetched together and inflated, and the module type is detected from the entry names the central
+ * directory lists. Other entries are only read if the parser asks for them. The parse runs with a
+ * projection, so SCORM manifests are bound without the subtrees the catalog doesn't need. A typical
+ * SCORM archive is scanned with two or three reads, whatever its size.
+ *
+ * <p>To index a bucket of zipped packages without downloading them, list the bucket and scan each
+ * object through an {@link dev.jcputney.elearning.parser.impl.access.S3RangeReaderV2}, passing it
+ * the size from the listing:
+ * <pre>{@code
+ * ManifestScanner scanner = new ManifestScanner();
+ * for (S3Object object : s3Client.listObjectsV2Paginator(request).contents()) {
+ *   RangeReader reader = new S3RangeReaderV2(s3Client, bucket, object.key(), object.size());
+ *   ModuleMetadata<?> metadata = scanner.scan(reader);
+ * }
+ * }</pre>
+ *
+ * <p>Instances are thread-safe.
+ */
+public final class ManifestScanner {
+
+  /**
+   * The fields read by default: the title, launch URL, identifier and version of each module.
+   */
+  public static final Set<ProjectionField> DEFAULT_PROJECTION = Set.of(ProjectionField.TITLE,
+      ProjectionField.LAUNCH_URL, ProjectionField.IDENTIFIER, ProjectionField.VERSION);
+
+  private final ParserOptions options;
+
+  /**
+   * Constructs a new ManifestScanner reading the {@link #DEFAULT_PROJECTION} in lenient mode.
+   */
+  public ManifestScanner() {
+    this(ParserOptions
+        .lenient()
+        .setProjection(DEFAULT_PROJECTION));
+  }
+
+  /**
+   * Constructs a new ManifestScanner with the specified parser options. Set a projection in the
+   * options to read only the fields needed; without one, SCORM manifests are bound whole and their
+   * external metadata files are read.
+   *
+   * @param options the parser options to use for each archive
+   * @throws IllegalArgumentException if options is null
+   */
+  public ManifestScanner(ParserOptions options) {
+    if (options == null) {
+      throw new IllegalArgumentException("ParserOptions cannot be null");
+    }
+    this.options = options;
+  }
+
+  /**
+   * Scans a zipped module read through a RangeReader. The reader is left open.
+   *
+   * @param reader the reader of the zip archive
+   * @return the metadata of the module, holding the fields of the projection
+   * @throws IOException if the central directory of the archive can't be read
+   * @throws ModuleException if the module type cannot be determined or an error occurs during
+   * parsing
+   * @throws IllegalArgumentException if reader is null
+   */
+  public ModuleMetadata<?> scan(RangeReader reader) throws IOException, ModuleException {
+    // The access is not closed, as closing it would close the caller's reader
+    RangedZipFileAccess fileAccess = new RangedZipFileAccess(reader);
+    fileAccess.prefetchCommonFiles();
+    return new DefaultModuleParserFactory(fileAccess, options).parseModule();
+  }
+
+  /**
+   * Scans a zipped module stored in a local file, reading only the end of the file and the entries
+   * needed.
+   *
+   * @param zipPath the path of the zip archive
+   * @return the metadata of the module, holding the fields of the projection
+   * @throws IOException if the archive can't be opened or its central directory can't be read
+   * @throws ModuleException if the module type cannot be determined or an error occurs during
+   * parsing
+   * @throws IllegalArgumentException if zipPath is null
+   */
+  public ModuleMetadata<?> scan(Path zipPath) throws IOException, ModuleException {
+    try (LocalRangeReader reader = new LocalRangeReader(zipPath)) {
+      return scan(reader);
+    }
+  }
+}
@@ -13,16 +13,21 @@ package dev.jcputney.elearning.parser.input.aicc;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import dev.jcputney.elearning.parser.exception.ModuleParsingException;
 import dev.jcputney.elearning.parser.input.PackageManifest;
+import dev.jcputney.elearning.parser.input.common.prerequisite.PrerequisiteCompiler;
 import dev.jcputney.elearning.parser.input.common.serialization.DurationHHMMSSDeserializer;
 import dev.jcputney.elearning.parser.validation.ValidationIssue;
 import dev.jcputney.elearning.parser.validation.ValidationResult;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Strings;
@@ -100,6 +105,13 @@ public final class AiccManifest implements PackageManifest {
    */
   private String launchUrl;
 
+  /**
+   * The prerequisite compiler for the current assignable units, created on first use and discarded
+   * when the assignable units are replaced.
+   */
+  @JsonIgnore
+  private transient volatile PrerequisiteCompiler prerequisiteCompiler;
+
   /**
    * Default constructor for the AiccManifest class. This constructor is primarily used by
    * frameworks and test methods that require an instance of the AiccManifest class without
@@ -125,10 +137,33 @@ public final class AiccManifest implements PackageManifest {
   public AiccManifest(AiccCourse course, List<AssignableUnit> assignableUnits,
       List<Descriptor> descriptors, List<CourseStructure> courseStructures)
       throws ModuleParsingException {
+    this(course, assignableUnits, descriptors, courseStructures.iterator(), structure -> {
+    });
+    this.courseStructures = courseStructures;
+  }
+
+  /**
+   * Constructs an AiccManifest from course structure rows that are consumed as they are read
+   * instead of being retained, so that very large course structure tables never have to be held in
+   * memory. Each row is applied to the assignable unit it describes, exactly as in
+   * {@link #AiccManifest(AiccCourse, List, List, List)}, and then handed to the given consumer,
+   * which can build any further indexes over the rows. {@link #getCourseStructures()} returns an
+   * empty list for a manifest created this way.
+   *
+   * @param course the AICC course to which the manifest corresponds
+   * @param assignableUnits a list of assignable units associated with the course
+   * @param descriptors a list of descriptors providing metadata for assignable units
+   * @param courseStructures the course structure rows, in file order
+   * @param structureConsumer receives every course structure row after it has been applied
+   * @throws ModuleParsingException if the root assignable unit or its ID cannot be determined
+   */
+  public AiccManifest(AiccCourse course, List<AssignableUnit> assignableUnits,
+      List<Descriptor> descriptors, Iterator<CourseStructure> courseStructures,
+      Consumer<CourseStructure> structureConsumer) throws ModuleParsingException {
     this.course = course;
     this.assignableUnits = assignableUnits;
     this.descriptors = descriptors;
-    this.courseStructures = courseStructures;
+    this.courseStructures = List.of();
 
     Map<String, AssignableUnit> assignableUnitsById = assignableUnits
         .stream()
@@ -151,36 +186,39 @@ public final class AiccManifest implements PackageManifest {
       }
     });
 
-    Map<String, CourseStructure> courseStructureByMember = courseStructures
-        .stream()
-        .filter(Objects::nonNull)
-        .filter(cs -> StringUtils.isNotBlank(cs.getMember()))
-        .collect(Collectors.toMap(cs -> cs
-                .getMember()
-                .trim(), cs -> cs, (existing, replacement) -> existing,
-            LinkedHashMap::new));
-
-    for (Map.Entry<String, CourseStructure> entry : courseStructureByMember.entrySet()) {
-      AssignableUnit unit = assignableUnitsById.get(entry.getKey());
-      if (unit != null) {
-        applyCourseStructureData(unit, entry.getValue());
+    // Only the first course structure row for each member applies to the assignable unit, so the
+    // rows themselves can be dropped once they have been seen.
+    Set<String> appliedMembers = new HashSet<>();
+    CourseStructure first = null;
+    CourseStructure root = null;
+    while (courseStructures.hasNext()) {
+      CourseStructure structure = courseStructures.next();
+      if (structure == null) {
+        continue;
+      }
+      if (first == null) {
+        first = structure;
+      }
+      if (root == null && "ROOT".equalsIgnoreCase(structure.getBlock())) {
+        root = structure;
+      }
+      if (StringUtils.isNotBlank(structure.getMember())) {
+        String member = structure
+            .getMember()
+            .trim();
+        if (appliedMembers.add(member)) {
+          applyCourseStructureData(assignableUnitsById.get(member), structure);
+        }
       }
+      structureConsumer.accept(structure);
     }
 
     normalizeAssignableUnits(assignableUnits, this.course);
 
-    CourseStructure root = courseStructures
-        .stream()
-        .filter(cs -> cs
-            .getBlock()
-            .equalsIgnoreCase("ROOT"))
-        .findFirst()
-        .orElse(null);
-
     if (root == null) {
-      root = courseStructures.get(0);
+      root = first;
     }
-    String rootAssignableUnitId = root.getMember();
+    String rootAssignableUnitId = root == null ? null : root.getMember();
     if (rootAssignableUnitId == null || rootAssignableUnitId.isEmpty()) {
       ValidationResult result = ValidationResult.of(
           ValidationIssue.error("AICC_NO_ROOT_AU", "No root assignable unit found",
@@ -189,20 +227,15 @@ public final class AiccManifest implements PackageManifest {
       throw result.toException("Failed to build AICC manifest");
     }
 
-    AssignableUnit rootAssignableUnit = assignableUnits
-        .stream()
-        .filter(au -> au
-            .getSystemId()
-            .equals(rootAssignableUnitId))
-        .findFirst()
-        .orElseThrow(() -> {
-          ValidationResult result = ValidationResult.of(
-              ValidationIssue.error("AICC_AU_NOT_FOUND",
-                  "No assignable unit found with ID: " + rootAssignableUnitId,
-                  "AssignableUnit list")
-          );
-          return result.toException("Failed to build AICC manifest");
-        });
+    AssignableUnit rootAssignableUnit = assignableUnitsById.get(rootAssignableUnitId);
+    if (rootAssignableUnit == null) {
+      ValidationResult result = ValidationResult.of(
+          ValidationIssue.error("AICC_AU_NOT_FOUND",
+              "No assignable unit found with ID: " + rootAssignableUnitId,
+              "AssignableUnit list")
+      );
+      throw result.toException("Failed to build AICC manifest");
+    }
 
     this.launchUrl = buildLaunchUrl(rootAssignableUnit);
   }
@@ -680,6 +713,28 @@ public final class AiccManifest implements PackageManifest {
     return Duration.ZERO;
   }
 
+  /**
+   * Retrieves the prerequisite compiler of this manifest. The compiler interns the system IDs of
+   * the assignable units in file order, followed by any other identifiers first seen in compiled
+   * expressions, and caches the compiled form of each distinct prerequisite expression, so repeated
+   * prerequisite checks against the same course only parse and compile each expression once.
+   *
+   * @return the prerequisite compiler of this manifest
+   */
+  @JsonIgnore
+  public PrerequisiteCompiler getPrerequisiteCompiler() {
+    PrerequisiteCompiler compiler = prerequisiteCompiler;
+    if (compiler == null) {
+      List<String> systemIds = assignableUnits == null ? List.of() : assignableUnits
+          .stream()
+          .map(AssignableUnit::getSystemId)
+          .toList();
+      compiler = PrerequisiteCompiler.forAicc(systemIds);
+      prerequisiteCompiler = compiler;
+    }
+    return compiler;
+  }
+
   /**
    * Retrieves the course object associated with this instance.
    *
@@ -714,6 +769,7 @@ public final class AiccManifest implements PackageManifest {
    */
   public void setAssignableUnits(List<AssignableUnit> assignableUnits) {
     this.assignableUnits = assignableUnits;
+    this.prerequisiteCompiler = null;
   }
 
   /**
@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.input.cmi5;
+
+import dev.jcputney.elearning.parser.input.cmi5.types.ReferencesObjectives;
+import dev.jcputney.elearning.parser.input.xapi.types.TextType;
+import dev.jcputney.elearning.parser.util.XmlParsingUtils;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Reads a cmi5 course structure ({@code cmi5.xml}) element by element, reporting each assignable
+ * unit and block to a {@link Cmi5StructureListener} as soon as it has been read.
+ * <p>
+ * Unlike binding the whole document to a {@link Cmi5Manifest}, only one assignable unit and the
+ * chain of enclosing blocks are held in memory at a time, so memory depends on the nesting depth
+ * of the course structure rather than on the size of the file. Each assignable unit is still bound
+ * with the same Jackson annotations as the regular parser, so listeners receive the same
+ * {@link AU} values.
+ * </p>
+ * <p>
+ * The returned manifest only retains the course, the course-level objectives, the top-level blocks
+ * without their contents, and the assignable units that determine
+ * {@link Cmi5Manifest#getLaunchUrl()}: the first root-level assignable unit, and the first
+ * assignable unit directly inside the first top-level block.
+ * </p>
+ */
+public final class Cmi5StreamReader {
+
+  private static final String COURSE_ELEMENT = "course";
+
+  private static final String OBJECTIVES_ELEMENT = "objectives";
+
+  private static final String BLOCK_ELEMENT = "block";
+
+  private static final String AU_ELEMENT = "au";
+
+  private static final String TITLE_ELEMENT = "title";
+
+  private static final String DESCRIPTION_ELEMENT = "description";
+
+  private Cmi5StreamReader() {
+    throw new AssertionError("Utility class should not be instantiated");
+  }
+
+  /**
+   * Reads a cmi5 course structure, reporting its elements to the listener in document order.
+   *
+   * @param stream the contents of the cmi5.xml file; it is not closed by this method
+   * @param listener the listener to report the course structure to
+   * @return a manifest retaining the course, objectives, top-level blocks and launch assignable
+   * units
+   * @throws IOException if the stream cannot be read or an element cannot be bound
+   * @throws XMLStreamException if the XML is malformed
+   * @throws IllegalArgumentException if stream or listener is null
+   */
+  public static Cmi5Manifest read(InputStream stream, Cmi5StructureListener listener)
+      throws IOException, XMLStreamException {
+    if (listener == null) {
+      throw new IllegalArgumentException("Cmi5StructureListener cannot be null");
+    }
+    XMLStreamReader reader = XmlParsingUtils.createStreamReader(stream);
+    try {
+      return read(reader, listener);
+    } finally {
+      reader.close();
+    }
+  }
+
+  private static Cmi5Manifest read(XMLStreamReader reader, Cmi5StructureListener listener)
+      throws IOException, XMLStreamException {
+    Cmi5Manifest manifest = new Cmi5Manifest();
+    List<AU> rootUnits = new ArrayList<>();
+    List<Block> topLevelBlocks = new ArrayList<>();
+    Deque<OpenBlock> open = new ArrayDeque<>();
+    boolean inRoot = false;
+
+    while (reader.hasNext()) {
+      int event = reader.next();
+      if (event == XMLStreamConstants.END_ELEMENT) {
+        // Only the root element and blocks are descended into; every other element is bound or
+        // skipped as a whole.
+        if (open.isEmpty()) {
+          break;
+        }
+        OpenBlock closed = open.pop();
+        closed.start(listener);
+        listener.endBlock(closed.block, closed.depth);
+        continue;
+      }
+      if (event != XMLStreamConstants.START_ELEMENT) {
+        continue;
+      }
+      if (!inRoot) {
+        inRoot = true;
+        continue;
+      }
+
+      OpenBlock parent = open.peek();
+      String name = reader.getLocalName();
+      switch (name) {
+        case COURSE_ELEMENT -> {
+          if (parent != null) {
+            skipElement(reader);
+            break;
+          }
+          Course course = XmlParsingUtils.readElement(reader, Course.class);
+          manifest.setCourse(course);
+          listener.course(course);
+        }
+        case OBJECTIVES_ELEMENT -> {
+          if (parent == null) {
+            ObjectivesList objectives = XmlParsingUtils.readElement(reader, ObjectivesList.class);
+            manifest.setObjectives(objectives);
+            listener.objectives(objectives);
+          } else {
+            parent.block.setObjectives(
+                XmlParsingUtils.readElement(reader, ReferencesObjectives.class));
+          }
+        }
+        case TITLE_ELEMENT, DESCRIPTION_ELEMENT -> {
+          if (parent == null || parent.started) {
+            skipElement(reader);
+            break;
+          }
+          TextType text = XmlParsingUtils.readElement(reader, TextType.class);
+          if (TITLE_ELEMENT.equals(name)) {
+            parent.block.setTitle(text);
+          } else {
+            parent.block.setDescription(text);
+          }
+        }
+        case AU_ELEMENT -> {
+          AU au = XmlParsingUtils.readElement(reader, AU.class);
+          if (parent == null) {
+            if (rootUnits.isEmpty()) {
+              rootUnits.add(au);
+            }
+          } else {
+            parent.start(listener);
+            if (parent.depth == 0 && parent.block == topLevelBlocks.get(0)
+                && parent.block.getAssignableUnits() == null) {
+              List<AU> launchUnits = new ArrayList<>();
+              launchUnits.add(au);
+              parent.block.setAssignableUnits(launchUnits);
+            }
+          }
+          listener.assignableUnit(au, open.size());
+        }
+        case BLOCK_ELEMENT -> {
+          if (parent != null) {
+            parent.start(listener);
+          }
+          Block block = new Block();
+          block.setId(reader.getAttributeValue(null, "id"));
+          if (parent == null) {
+            topLevelBlocks.add(block);
+          }
+          open.push(new OpenBlock(block, open.size()));
+        }
+        default -> skipElement(reader);
+      }
+    }
+
+    manifest.setAssignableUnits(rootUnits.isEmpty() ? null : rootUnits);
+    manifest.setBlocks(topLevelBlocks.isEmpty() ? null : topLevelBlocks);
+    return manifest;
+  }
+
+  /**
+   * Advances the reader past the end of the element it is positioned at.
+   */
+  private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+    int level = 1;
+    while (level > 0) {
+      int event = reader.next();
+      if (event == XMLStreamConstants.START_ELEMENT) {
+        level++;
+      } else if (event == XMLStreamConstants.END_ELEMENT) {
+        level--;
+      }
+    }
+  }
+
+  /**
+   * A block whose end element has not been read yet. The block is reported to the listener once
+   * its own title, description and objectives have been read, which is when its first assignable
+   * unit or nested block starts, or when it ends.
+   */
+  private static final class OpenBlock {
+
+    private final Block block;
+
+    private final int depth;
+
+    private boolean started;
+
+    private OpenBlock(Block block, int depth) {
+      this.block = block;
+      this.depth = depth;
+    }
+
+    private void start(Cmi5StructureListener listener) {
+      if (!started) {
+        started = true;
+        listener.startBlock(block, depth);
+      }
+    }
+  }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.input.cmi5;
+
+/**
+ * Receives the elements of a cmi5 course structure as {@link Cmi5StreamReader} reads them.
+ * <p>
+ * Blocks are reported with their title, description, objectives and id only; their assignable
+ * units and nested blocks are reported separately, between {@link #startBlock(Block, int)} and
+ * {@link #endBlock(Block, int)}. Assignable units and blocks at the root of the course structure
+ * have a depth of 0, and elements directly inside a block have the depth of the block plus one.
+ * </p>
+ * <p>
+ * Every method has an empty default implementation, so a listener only overrides the events it
+ * needs.
+ * </p>
+ */
+public interface Cmi5StructureListener {
+
+  /**
+   * Called when the course element has been read.
+   *
+   * @param course the course element
+   */
+  default void course(Course course) {
+    // no-op
+  }
+
+  /**
+   * Called when the course-level objectives element has been read.
+   *
+   * @param objectives the objectives declared for the course structure
+   */
+  default void objectives(ObjectivesList objectives) {
+    // no-op
+  }
+
+  /**
+   * Called when a block starts, before any of its assignable units or nested blocks.
+   *
+   * @param block the block, without its assignable units and nested blocks
+   * @param depth the nesting depth of the block
+   */
+  default void startBlock(Block block, int depth) {
+    // no-op
+  }
+
+  /**
+   * Called when an assignable unit has been read.
+   *
+   * @param au the assignable unit
+   * @param depth the nesting depth of the assignable unit
+   */
+  default void assignableUnit(AU au, int depth) {
+    // no-op
+  }
+
+  /**
+   * Called when a block ends, after all of its assignable units and nested blocks.
+   *
+   * @param block the block passed to {@link #startBlock(Block, int)}
+   * @param depth the nesting depth of the block
+   */
+  default void endBlock(Block block, int depth) {
+    // no-op
+  }
+}
@@ -11,10 +11,9 @@
 package dev.jcputney.elearning.parser.input.common;
 
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import dev.jcputney.elearning.parser.input.lom.types.LangString;
 import java.io.IOException;
 
@@ -22,6 +21,13 @@ import java.io.IOException;
  * Custom deserializer for LangString objects to ensure that they are properly deserialized from
  * XML. This deserializer is used to prevent ClassCastException issues when deserializing LangString
  * objects from XML.
+ * <p>
+ * The value is read token by token from the parser, without building an intermediate
+ * {@code JsonNode} tree. A plain string is taken as the value. For an object, the language is read
+ * from {@code language} or {@code @language}, and the value from {@code value}, {@code #text} or
+ * the empty-named text field that Jackson XML uses for element content, in that order of
+ * preference.
+ * </p>
  */
 public class LangStringDeserializer extends JsonDeserializer<LangString> {
 
@@ -43,40 +49,63 @@ public class LangStringDeserializer extends JsonDeserializer<LangString> {
    */
   @Override
   public LangString deserialize(JsonParser p, DeserializationContext context) throws IOException {
-    ObjectMapper mapper = (ObjectMapper) p.getCodec();
-    JsonNode node = mapper.readTree(p);
+    JsonToken token = p.currentToken();
+    if (token == JsonToken.START_OBJECT) {
+      token = p.nextToken();
+    }
+
+    if (token == JsonToken.VALUE_STRING) {
+      return new LangString(null, p.getText());
+    }
+    if (token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT) {
+      // Arrays and non-textual scalars carry neither a language nor a value
+      p.skipChildren();
+      return new LangString(null, null);
+    }
 
     String language = null;
+    String atLanguage = null;
     String value = null;
-
-    if (node.has("language")) {
-      language = node
-          .get("language")
-          .asText();
-    } else if (node.has("@language")) {
-      language = node
-          .get("@language")
-          .asText();
+    String hashText = null;
+    String text = null;
+    for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+      String name = p.currentName();
+      p.nextToken();
+      switch (name) {
+        case "language" -> language = asText(p);
+        case "@language" -> atLanguage = asText(p);
+        case "value" -> value = asText(p);
+        case "#text" -> hashText = asText(p);
+        // Jackson XML uses an empty name for the text content of an element with attributes
+        case "" -> text = asText(p);
+        default -> p.skipChildren();
+      }
     }
 
-    if (node.has("value")) {
-      value = node
-          .get("value")
-          .asText();
-    } else if (node.has("#text")) {
-      value = node
-          .get("#text")
-          .asText();
-    } else if (node.has("")) {
-      // Jackson XML sometimes uses empty string as key for text content
-      value = node
-          .get("")
-          .asText();
-    } else if (node.isTextual()) {
-      value = node.asText();
+    if (language == null) {
+      language = atLanguage;
+    }
+    if (value == null) {
+      value = hashText != null ? hashText : text;
     }
-
-    // Create a new LangString instance using the builder pattern
     return new LangString(language, value);
   }
+
+  /**
+   * Reads the current value as text, the way {@code JsonNode.asText()} would: scalars as their
+   * textual form, and objects and arrays, which are skipped, as an empty string.
+   *
+   * @param p the parser positioned at a value
+   * @return the text of the value, never null
+   * @throws IOException if the value cannot be read
+   */
+  private static String asText(JsonParser p) throws IOException {
+    if (p
+        .currentToken()
+        .isStructStart()) {
+      p.skipChildren();
+      return "";
+    }
+    return p.getText();
+  }
 }
@@ -11,13 +11,9 @@
 package dev.jcputney.elearning.parser.input.common;
 
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
-import com.fasterxml.jackson.databind.node.ValueNode;
 import dev.jcputney.elearning.parser.input.lom.types.LangString;
 import java.io.IOException;
 import java.util.ArrayList;
@@ -27,9 +23,32 @@ import java.util.List;
  * Custom deserializer for lists of LangString objects to ensure that they are properly deserialized
  * from XML. This deserializer is used to prevent ClassCastException issues when deserializing
  * LangString objects from XML.
+ * <p>
+ * The input is read token by token from the parser, without building an intermediate
+ * {@code JsonNode} tree, and each element is handed straight to the {@link LangString} bean
+ * deserializer. The accepted shapes are:
+ * </p>
+ * <ul>
+ *   <li>a single value, which becomes one LangString with the trimmed text as its value;</li>
+ *   <li>an array, where each element is deserialized as a LangString;</li>
+ *   <li>an object whose first field is {@code string} or {@code langstring}, in which case the
+ *   value of that wrapper field is read using these same rules. Repeated wrapper fields are
+ *   combined, and {@code string} takes precedence over {@code langstring};</li>
+ *   <li>any other object, which is deserialized as a single LangString.</li>
+ * </ul>
  */
 public class LangStringListDeserializer extends JsonDeserializer<List<LangString>> {
 
+  /**
+   * The wrapper element used by IEEE LOM and SCORM 2004.
+   */
+  private static final String STRING = "string";
+
+  /**
+   * The wrapper element used by IMS metadata in SCORM 1.2.
+   */
+  private static final String LANGSTRING = "langstring";
+
   /**
    * Default constructor for the LangStringListDeserializer class.
    */
@@ -50,35 +69,108 @@ public class LangStringListDeserializer extends JsonDeserializer<List<LangString
   @Override
   public List<LangString> deserialize(JsonParser p, DeserializationContext context)
       throws IOException {
-    ObjectMapper mapper = (ObjectMapper) p.getCodec();
-    JsonNode node = mapper.readTree(p);
     List<LangString> result = new ArrayList<>();
+    JsonToken token = p.currentToken();
+    if (token == JsonToken.START_OBJECT) {
+      token = p.nextToken();
+    }
 
-    if (node instanceof ObjectNode objectNode) {
-      if (objectNode.has("string")) {
-        node = objectNode.get("string");
-      } else if (objectNode.has("langstring")) {
-        node = objectNode.get("langstring");
-      }
+    if (token == JsonToken.FIELD_NAME && isWrapper(p.currentName())) {
+      readWrapperFields(p, context, result);
+    } else {
+      readValue(p, context, result, true);
     }
+    return result;
+  }
 
-    if (node instanceof ValueNode valueNode) {
-      LangString langString = new LangString(valueNode
-          .asText()
-          .trim());
-      result.add(langString);
-    } else if (node.isArray()) {
-      ArrayNode arrayNode = (ArrayNode) node;
-      for (JsonNode elementNode : arrayNode) {
-        LangString langString = mapper.treeToValue(elementNode, LangString.class);
-        result.add(langString);
+  /**
+   * Reads the value at the current token into the result.
+   *
+   * @param p the parser, positioned at a scalar, the start of an array, or inside an object
+   * @param context the deserialization context
+   * @param result the list to add to
+   * @param trimScalar whether a scalar is trimmed, as for a single value, or handed to the
+   * LangString deserializer, as for an element of a list
+   * @throws IOException if the value cannot be read
+   */
+  private static void readValue(JsonParser p, DeserializationContext context,
+      List<LangString> result, boolean trimScalar) throws IOException {
+    JsonToken token = p.currentToken();
+    if (token == JsonToken.START_ARRAY) {
+      while (p.nextToken() != JsonToken.END_ARRAY) {
+        result.add(readElement(p, context));
       }
+    } else if (token.isScalarValue() && trimScalar) {
+      result.add(new LangString(p
+          .getText()
+          .trim()));
     } else {
-      // Handle a single element case
-      LangString langString = mapper.treeToValue(node, LangString.class);
-      result.add(langString);
+      result.add(readElement(p, context));
     }
+  }
 
-    return result;
+  /**
+   * Reads one list element as a LangString.
+   *
+   * @param p the parser, positioned at the element
+   * @param context the deserialization context
+   * @return the LangString, or null for a null element
+   * @throws IOException if the element cannot be read
+   */
+  private static LangString readElement(JsonParser p, DeserializationContext context)
+      throws IOException {
+    if (p.currentToken() == JsonToken.VALUE_NULL) {
+      return null;
+    }
+    return context.readValue(p, LangString.class);
+  }
+
+  /**
+   * Reads the fields of a wrapper object, keeping the values of the {@code string} fields, or of
+   * the {@code langstring} fields if there are none. When a wrapper field repeats, its values are
+   * combined as if they were the elements of one array.
+   *
+   * @param p the parser, positioned at the first field name of the object
+   * @param context the deserialization context
+   * @param result the list to add to
+   * @throws IOException if the object cannot be read
+   */
+  private static void readWrapperFields(JsonParser p, DeserializationContext context,
+      List<LangString> result) throws IOException {
+    List<List<LangString>> strings = new ArrayList<>(1);
+    List<List<LangString>> langStrings = new ArrayList<>(1);
+    List<String> stringTexts = new ArrayList<>(1);
+    List<String> langStringTexts = new ArrayList<>(1);
+
+    for (JsonToken token = p.currentToken(); token == JsonToken.FIELD_NAME;
+        token = p.nextToken()) {
+      String name = p.currentName();
+      JsonToken valueToken = p.nextToken();
+      if (STRING.equals(name) || LANGSTRING.equals(name)) {
+        boolean isString = STRING.equals(name);
+        (isString ? stringTexts : langStringTexts).add(
+            valueToken.isScalarValue() ? p.getText() : null);
+        List<LangString> values = new ArrayList<>(1);
+        readValue(p, context, values, false);
+        (isString ? strings : langStrings).add(values);
+      } else {
+        p.skipChildren();
+      }
+    }
+
+    List<List<LangString>> occurrences = strings.isEmpty() ? langStrings : strings;
+    List<String> texts = strings.isEmpty() ? langStringTexts : stringTexts;
+    if (occurrences.size() == 1 && texts.get(0) != null) {
+      // A single scalar wrapper is treated like a single value
+      result.add(new LangString(texts
+          .get(0)
+          .trim()));
+      return;
+    }
+    occurrences.forEach(result::addAll);
+  }
+
+  private static boolean isWrapper(String name) {
+    return STRING.equals(name) || LANGSTRING.equals(name);
   }
-}
\ No newline at end of file
+}
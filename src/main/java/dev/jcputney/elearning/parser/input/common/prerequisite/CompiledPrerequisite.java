@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.input.common.prerequisite;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * A prerequisite expression compiled by a {@link PrerequisiteCompiler} into a flat program that
+ * can be evaluated against a learner's completion state without walking an expression tree.
+ * <p>
+ * Item identifiers are replaced by the dense indexes assigned by the compiler, and the completion
+ * state is a {@link BitSet} in which bit {@code i} is set when the item with index {@code i} is
+ * completed. The program is a sequence of instructions that test one bit, negate the current
+ * result, or jump past the rest of an AND or OR as soon as its outcome is known, so evaluation
+ * short-circuits exactly like the expression it was compiled from. Evaluation does not allocate.
+ * </p>
+ * <p>
+ * Expressions that could not be parsed are compiled to a program that is always satisfied, so a
+ * malformed prerequisite never locks a learner out; {@link #isValid()} reports them so callers can
+ * apply a stricter policy.
+ * </p>
+ * <p>
+ * This class is immutable and thread-safe.
+ * </p>
+ */
+public final class CompiledPrerequisite implements Serializable {
+
+  /**
+   * Sets the result to whether the operand bit is set in the completion state.
+   */
+  static final int OP_TEST = 0;
+
+  /**
+   * Negates the result.
+   */
+  static final int OP_NOT = 1;
+
+  /**
+   * Jumps to the operand instruction if the result is false.
+   */
+  static final int OP_JUMP_IF_FALSE = 2;
+
+  /**
+   * Jumps to the operand instruction if the result is true.
+   */
+  static final int OP_JUMP_IF_TRUE = 3;
+
+  /**
+   * Sets the result to true if the operand is non-zero, or false otherwise.
+   */
+  static final int OP_CONSTANT = 4;
+
+  /**
+   * The number of low bits of an instruction that hold its opcode; the remaining bits hold the
+   * operand.
+   */
+  static final int OPCODE_BITS = 3;
+
+  /**
+   * The mask selecting the opcode of an instruction.
+   */
+  static final int OPCODE_MASK = (1 << OPCODE_BITS) - 1;
+
+  @Serial
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * The compiled form of an absent prerequisite, which is always satisfied.
+   */
+  static final CompiledPrerequisite ALWAYS_SATISFIED = new CompiledPrerequisite(null, new int[0],
+      true);
+
+  /**
+   * The expression this program was compiled from, or null if there was none.
+   */
+  private final String expression;
+
+  /**
+   * The instructions, each holding an opcode in its low {@link #OPCODE_BITS} bits and an operand
+   * in the remaining bits. An empty program is always satisfied.
+   */
+  private final int[] code;
+
+  /**
+   * Whether the expression could be parsed.
+   */
+  private final boolean valid;
+
+  /**
+   * Creates a compiled prerequisite.
+   *
+   * @param expression the expression the program was compiled from, may be null
+   * @param code the instructions of the program
+   * @param valid whether the expression could be parsed
+   */
+  CompiledPrerequisite(String expression, int[] code, boolean valid) {
+    this.expression = expression;
+    this.code = code;
+    this.valid = valid;
+  }
+
+  /**
+   * Evaluates the prerequisite against a learner's completion state.
+   *
+   * @param completed the completion state, where bit {@code i} is set when the item with index
+   * {@code i} in the compiler that produced this program is completed
+   * @return true if the prerequisite is satisfied
+   */
+  public boolean isSatisfied(BitSet completed) {
+    int[] program = code;
+    boolean result = true;
+    int pc = 0;
+    while (pc < program.length) {
+      int instruction = program[pc];
+      int operand = instruction >>> OPCODE_BITS;
+      switch (instruction & OPCODE_MASK) {
+        case OP_TEST -> {
+          result = completed.get(operand);
+          pc++;
+        }
+        case OP_NOT -> {
+          result = !result;
+          pc++;
+        }
+        case OP_JUMP_IF_FALSE -> pc = result ? pc + 1 : operand;
+        case OP_JUMP_IF_TRUE -> pc = result ? operand : pc + 1;
+        default -> {
+          result = operand != 0;
+          pc++;
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Retrieves the expression this program was compiled from.
+   *
+   * @return the trimmed source expression, or null if the prerequisite was absent
+   */
+  public String getExpression() {
+    return this.expression;
+  }
+
+  /**
+   * Determines whether the expression could be parsed. Invalid expressions are always satisfied.
+   *
+   * @return true if the expression was absent or parsed successfully
+   */
+  public boolean isValid() {
+    return this.valid;
+  }
+
+  /**
+   * Retrieves the number of instructions in the compiled program.
+   *
+   * @return the program length
+   */
+  public int size() {
+    return this.code.length;
+  }
+
+  @Override
+  public String toString() {
+    return "CompiledPrerequisite{"
+        + "expression='" + this.expression + '\''
+        + ", valid=" + this.valid
+        + ", code=" + Arrays.toString(this.code)
+        + '}';
+  }
+}
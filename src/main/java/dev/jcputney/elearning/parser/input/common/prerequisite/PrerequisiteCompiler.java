@@ -0,0 +1,466 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.input.common.prerequisite;
+
+import static dev.jcputney.elearning.parser.input.common.prerequisite.CompiledPrerequisite.OPCODE_BITS;
+import static dev.jcputney.elearning.parser.input.common.prerequisite.CompiledPrerequisite.OPCODE_MASK;
+import static dev.jcputney.elearning.parser.input.common.prerequisite.CompiledPrerequisite.OP_CONSTANT;
+import static dev.jcputney.elearning.parser.input.common.prerequisite.CompiledPrerequisite.OP_JUMP_IF_FALSE;
+import static dev.jcputney.elearning.parser.input.common.prerequisite.CompiledPrerequisite.OP_JUMP_IF_TRUE;
+import static dev.jcputney.elearning.parser.input.common.prerequisite.CompiledPrerequisite.OP_NOT;
+import static dev.jcputney.elearning.parser.input.common.prerequisite.CompiledPrerequisite.OP_TEST;
+
+import dev.jcputney.elearning.parser.input.aicc.prereq.AiccPrerequisiteExpression;
+import dev.jcputney.elearning.parser.input.aicc.prereq.AiccPrerequisiteNode;
+import dev.jcputney.elearning.parser.input.aicc.prereq.AiccPrerequisiteNodeType;
+import dev.jcputney.elearning.parser.input.aicc.prereq.AiccPrerequisiteParser;
+import dev.jcputney.elearning.parser.input.scorm12.adl.prerequisite.AndExpression;
+import dev.jcputney.elearning.parser.input.scorm12.adl.prerequisite.ItemReference;
+import dev.jcputney.elearning.parser.input.scorm12.adl.prerequisite.NotExpression;
+import dev.jcputney.elearning.parser.input.scorm12.adl.prerequisite.OrExpression;
+import dev.jcputney.elearning.parser.input.scorm12.adl.prerequisite.PrerequisiteExpression;
+import dev.jcputney.elearning.parser.input.scorm12.adl.prerequisite.PrerequisiteParser;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiles prerequisite expressions into {@link CompiledPrerequisite} programs and caches them by
+ * expression, so that each distinct expression of a manifest is parsed and compiled only once.
+ * <p>
+ * The compiler interns item identifiers to dense indexes. The identifiers passed at construction,
+ * typically every item of a manifest in document order, receive the indexes {@code 0..n-1};
+ * identifiers that are first seen in an expression are appended after them. A learner's
+ * completion state is a {@link BitSet} over these indexes, which can be built once with
+ * {@link #completionState(Collection)} and then updated with {@link BitSet#set(int)} as items are
+ * completed.
+ * </p>
+ * <p>
+ * Each compiler understands a single expression syntax: the SCORM 1.2 {@code adlcp:prerequisites}
+ * script handled by {@link PrerequisiteParser}, or the AICC course structure syntax handled by
+ * {@link AiccPrerequisiteParser}. The AICC optional marker ({@code *}) does not change the result
+ * of an evaluation; it is reported by {@link AiccPrerequisiteExpression#isMandatory()}.
+ * </p>
+ * <p>
+ * This class is thread-safe. Cached programs are shared between callers.
+ * </p>
+ */
+public final class PrerequisiteCompiler {
+
+  /**
+   * The syntax of the expressions passed to {@link #compile(String)}.
+   */
+  private final Syntax syntax;
+
+  /**
+   * The index of each interned identifier. Guarded by {@code this}.
+   */
+  private final Map<String, Integer> indexes = new HashMap<>();
+
+  /**
+   * The interned identifiers, in index order. Guarded by {@code this}.
+   */
+  private final List<String> identifiers = new ArrayList<>();
+
+  /**
+   * The compiled programs, keyed by trimmed expression.
+   */
+  private final ConcurrentHashMap<String, CompiledPrerequisite> cache = new ConcurrentHashMap<>();
+
+  /**
+   * Creates a compiler.
+   *
+   * @param syntax the syntax of the expressions to compile
+   * @param identifiers the identifiers to intern first, may be null
+   */
+  private PrerequisiteCompiler(Syntax syntax, Collection<String> identifiers) {
+    this.syntax = syntax;
+    if (identifiers != null) {
+      for (String identifier : identifiers) {
+        if (identifier != null && !identifier.isEmpty()) {
+          intern(identifier);
+        }
+      }
+    }
+  }
+
+  /**
+   * Creates a compiler for SCORM 1.2 {@code adlcp:prerequisites} expressions.
+   *
+   * @param identifiers the item identifiers to intern first, in the order their indexes should be
+   * assigned; may be null
+   * @return a new compiler
+   */
+  public static PrerequisiteCompiler forScorm12(Collection<String> identifiers) {
+    return new PrerequisiteCompiler(Syntax.SCORM12, identifiers);
+  }
+
+  /**
+   * Creates a compiler for AICC course structure prerequisite expressions.
+   *
+   * @param identifiers the assignable unit and block identifiers to intern first, in the order
+   * their indexes should be assigned; may be null
+   * @return a new compiler
+   */
+  public static PrerequisiteCompiler forAicc(Collection<String> identifiers) {
+    return new PrerequisiteCompiler(Syntax.AICC, identifiers);
+  }
+
+  /**
+   * Compiles an expression, or returns the cached program if the same expression was compiled
+   * before. Null and blank expressions are always satisfied.
+   *
+   * @param expression the raw expression, may be null
+   * @return the compiled program
+   */
+  public CompiledPrerequisite compile(String expression) {
+    if (expression == null || expression.isBlank()) {
+      return CompiledPrerequisite.ALWAYS_SATISFIED;
+    }
+    String key = expression.trim();
+    CompiledPrerequisite cached = cache.get(key);
+    if (cached != null) {
+      return cached;
+    }
+    return cache.computeIfAbsent(key, this::compileUncached);
+  }
+
+  /**
+   * Compiles an already parsed AICC expression, or returns the cached program for its raw
+   * expression.
+   *
+   * @param expression the parsed expression, may be null
+   * @return the compiled program
+   * @throws IllegalStateException if this compiler does not compile AICC expressions
+   */
+  public CompiledPrerequisite compile(AiccPrerequisiteExpression expression) {
+    if (syntax != Syntax.AICC) {
+      throw new IllegalStateException("This compiler does not compile AICC expressions");
+    }
+    if (expression == null || expression.getRawExpression() == null
+        || expression.getRawExpression().isBlank()) {
+      return CompiledPrerequisite.ALWAYS_SATISFIED;
+    }
+    return cache.computeIfAbsent(expression
+        .getRawExpression()
+        .trim(), key -> compileAicc(key, expression.getAst()));
+  }
+
+  /**
+   * Retrieves the index of an identifier.
+   *
+   * @param identifier the identifier to look up
+   * @return the index of the identifier, or -1 if it has not been interned
+   */
+  public synchronized int indexOf(String identifier) {
+    Integer index = indexes.get(identifier);
+    return index == null ? -1 : index;
+  }
+
+  /**
+   * Retrieves the identifier with the given index.
+   *
+   * @param index the index of the identifier
+   * @return the identifier
+   * @throws IndexOutOfBoundsException if no identifier has the index
+   */
+  public synchronized String identifierAt(int index) {
+    return identifiers.get(index);
+  }
+
+  /**
+   * Retrieves the number of interned identifiers, including those first seen in expressions.
+   *
+   * @return the number of interned identifiers
+   */
+  public synchronized int size() {
+    return identifiers.size();
+  }
+
+  /**
+   * Builds a completion state in which the given identifiers are completed. Identifiers that have
+   * not been interned are ignored, since no compiled program can refer to them.
+   *
+   * @param completed the identifiers of the completed items, may be null
+   * @return a new completion state
+   */
+  public synchronized BitSet completionState(Collection<String> completed) {
+    BitSet state = new BitSet(identifiers.size());
+    if (completed != null) {
+      for (String identifier : completed) {
+        Integer index = indexes.get(identifier);
+        if (index != null) {
+          state.set(index);
+        }
+      }
+    }
+    return state;
+  }
+
+  /**
+   * Interns an identifier, assigning it the next index if it is new.
+   *
+   * @param identifier the identifier to intern
+   * @return the index of the identifier
+   */
+  private synchronized int intern(String identifier) {
+    Integer index = indexes.get(identifier);
+    if (index == null) {
+      index = identifiers.size();
+      indexes.put(identifier, index);
+      identifiers.add(identifier);
+    }
+    return index;
+  }
+
+  /**
+   * Parses and compiles an expression in this compiler's syntax.
+   *
+   * @param expression the trimmed expression
+   * @return the compiled program
+   */
+  private CompiledPrerequisite compileUncached(String expression) {
+    return switch (syntax) {
+      case SCORM12 -> compileScorm12(expression, PrerequisiteParser.parse(expression));
+      case AICC -> compileAicc(expression, AiccPrerequisiteParser
+          .parse(expression)
+          .map(AiccPrerequisiteExpression::getAst)
+          .orElse(null));
+    };
+  }
+
+  /**
+   * Compiles a parsed SCORM 1.2 expression.
+   *
+   * @param source the trimmed source expression
+   * @param expression the parsed expression
+   * @return the compiled program, always satisfied if the expression could not be parsed
+   */
+  private CompiledPrerequisite compileScorm12(String source, PrerequisiteExpression expression) {
+    Emitter emitter = new Emitter();
+    if (!emitter.emitScorm12(expression)) {
+      return new CompiledPrerequisite(source, new int[0], false);
+    }
+    return new CompiledPrerequisite(source, emitter.finish(), true);
+  }
+
+  /**
+   * Compiles a parsed AICC expression tree.
+   *
+   * @param source the trimmed source expression
+   * @param ast the root of the expression tree, or null if it could not be parsed
+   * @return the compiled program, always satisfied if the expression could not be parsed
+   */
+  private CompiledPrerequisite compileAicc(String source, AiccPrerequisiteNode ast) {
+    Emitter emitter = new Emitter();
+    if (ast == null || !emitter.emitAicc(ast)) {
+      return new CompiledPrerequisite(source, new int[0], false);
+    }
+    return new CompiledPrerequisite(source, emitter.finish(), true);
+  }
+
+  /**
+   * The expression syntaxes a compiler can parse.
+   */
+  private enum Syntax {
+    /**
+     * SCORM 1.2 {@code adlcp:prerequisites} script.
+     */
+    SCORM12,
+    /**
+     * AICC course structure prerequisites.
+     */
+    AICC
+  }
+
+  /**
+   * Emits the instructions of one program. Each emitted expression leaves its value in the
+   * program's single result register; an AND or OR jumps to its end as soon as an operand decides
+   * it, and the jumps are retargeted once the program is complete.
+   */
+  private final class Emitter {
+
+    private int[] code = new int[16];
+    private int size;
+
+    /**
+     * Emits a SCORM 1.2 expression.
+     *
+     * @param expression the expression to emit
+     * @return false if the expression contains a parse error
+     */
+    boolean emitScorm12(PrerequisiteExpression expression) {
+      if (expression instanceof ItemReference reference) {
+        emit(OP_TEST, intern(reference.identifier()));
+        return true;
+      }
+      if (expression instanceof NotExpression not) {
+        if (!emitScorm12(not.operand())) {
+          return false;
+        }
+        emit(OP_NOT, 0);
+        return true;
+      }
+      List<PrerequisiteExpression> operands;
+      int jump;
+      if (expression instanceof AndExpression and) {
+        operands = and.operands();
+        jump = OP_JUMP_IF_FALSE;
+      } else if (expression instanceof OrExpression or) {
+        operands = or.operands();
+        jump = OP_JUMP_IF_TRUE;
+      } else {
+        return false;
+      }
+      if (operands.isEmpty()) {
+        emit(OP_CONSTANT, jump == OP_JUMP_IF_FALSE ? 1 : 0);
+        return true;
+      }
+      int[] exits = new int[operands.size() - 1];
+      for (int i = 0; i < operands.size(); i++) {
+        if (!emitScorm12(operands.get(i))) {
+          return false;
+        }
+        if (i < exits.length) {
+          exits[i] = emit(jump, 0);
+        }
+      }
+      patch(exits);
+      return true;
+    }
+
+    /**
+     * Emits an AICC expression tree. Nested ANDs and ORs of the same type are flattened so that a
+     * decided operand exits the whole chain at once.
+     *
+     * @param node the node to emit
+     * @return false if the tree is malformed
+     */
+    boolean emitAicc(AiccPrerequisiteNode node) {
+      AiccPrerequisiteNodeType type = node.getType();
+      if (type == AiccPrerequisiteNodeType.IDENTIFIER) {
+        if (node.getValue() == null || node
+            .getValue()
+            .isEmpty()) {
+          return false;
+        }
+        emit(OP_TEST, intern(node.getValue()));
+        return true;
+      }
+      if (type == AiccPrerequisiteNodeType.NOT) {
+        if (node
+            .getChildren()
+            .size() != 1 || !emitAicc(node
+            .getChildren()
+            .get(0))) {
+          return false;
+        }
+        emit(OP_NOT, 0);
+        return true;
+      }
+      List<AiccPrerequisiteNode> operands = new ArrayList<>();
+      flatten(node, type, operands);
+      if (operands.isEmpty()) {
+        return false;
+      }
+      int jump = type == AiccPrerequisiteNodeType.AND ? OP_JUMP_IF_FALSE : OP_JUMP_IF_TRUE;
+      int[] exits = new int[operands.size() - 1];
+      for (int i = 0; i < operands.size(); i++) {
+        if (!emitAicc(operands.get(i))) {
+          return false;
+        }
+        if (i < exits.length) {
+          exits[i] = emit(jump, 0);
+        }
+      }
+      patch(exits);
+      return true;
+    }
+
+    /**
+     * Collects the operands of a chain of AND or OR nodes of the same type, left to right.
+     *
+     * @param node the node to collect from
+     * @param type the type of the chain
+     * @param operands receives the operands
+     */
+    private void flatten(AiccPrerequisiteNode node, AiccPrerequisiteNodeType type,
+        List<AiccPrerequisiteNode> operands) {
+      for (AiccPrerequisiteNode child : node.getChildren()) {
+        if (child.getType() == type) {
+          flatten(child, type, operands);
+        } else {
+          operands.add(child);
+        }
+      }
+    }
+
+    /**
+     * Appends an instruction.
+     *
+     * @param opcode the opcode
+     * @param operand the operand
+     * @return the position of the instruction
+     */
+    private int emit(int opcode, int operand) {
+      if (size == code.length) {
+        code = Arrays.copyOf(code, size * 2);
+      }
+      code[size] = operand << OPCODE_BITS | opcode;
+      return size++;
+    }
+
+    /**
+     * Points the given jumps at the next instruction to be emitted.
+     *
+     * @param jumps the positions of the jumps
+     */
+    private void patch(int[] jumps) {
+      for (int jump : jumps) {
+        code[jump] = size << OPCODE_BITS | code[jump] & OPCODE_MASK;
+      }
+    }
+
+    /**
+     * Retargets jumps that land on another jump, then returns the finished program. A jump that
+     * lands on a jump of the same kind takes that jump's target, since the result has not changed;
+     * one that lands on a jump of the opposite kind skips it, since it will not be taken.
+     *
+     * @return the instructions of the program
+     */
+    int[] finish() {
+      for (int i = 0; i < size; i++) {
+        int opcode = code[i] & OPCODE_MASK;
+        if (opcode != OP_JUMP_IF_FALSE && opcode != OP_JUMP_IF_TRUE) {
+          continue;
+        }
+        int target = code[i] >>> OPCODE_BITS;
+        while (target < size) {
+          int landing = code[target] & OPCODE_MASK;
+          if (landing == opcode) {
+            target = code[target] >>> OPCODE_BITS;
+          } else if (landing == OP_JUMP_IF_FALSE || landing == OP_JUMP_IF_TRUE) {
+            target++;
+          } else {
+            break;
+          }
+        }
+        code[i] = target << OPCODE_BITS | opcode;
+      }
+      return Arrays.copyOf(code, size);
+    }
+  }
+}
@@ -0,0 +1,727 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.input.common.prerequisite;
+
+import dev.jcputney.elearning.parser.validation.ValidationIssue;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * An immutable graph of the prerequisite relations between the items of a package, built once
+ * during metadata extraction.
+ * <p>
+ * Each identifier is assigned a dense index, in the order the identifiers were added to the
+ * {@link Builder}. An edge points from a prerequisite to the item that depends on it, so following
+ * the edges answers "what does completing this item unlock". Edges are stored in compressed
+ * adjacency arrays in both directions.
+ * </p>
+ * <p>
+ * The strongly connected components of the graph are computed when it is built. Each component
+ * with more than one item, or with an item that requires itself, is a prerequisite cycle; the
+ * cycles are reported by {@link #getCycles()} and as {@link ValidationIssue}s by
+ * {@link #getCycleIssues()}. {@link #getTopologicalOrder()} orders every item after its
+ * prerequisites, keeping the items of a cycle together, and otherwise preserves the order in which
+ * the items were added.
+ * </p>
+ * <p>
+ * Transitive closures are computed on the first transitive query, once per direction, and shared
+ * by all later queries.
+ * </p>
+ * <p>
+ * This class is thread-safe.
+ * </p>
+ */
+public final class PrerequisiteGraph implements Serializable {
+
+  @Serial
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * The identifiers, in index order.
+   */
+  private final String[] identifiers;
+
+  /**
+   * The index of each identifier.
+   */
+  private final Map<String, Integer> indexes;
+
+  /**
+   * The dependents of item {@code i} are {@code dependents[dependentOffsets[i]]} up to, but
+   * excluding, {@code dependents[dependentOffsets[i + 1]]}.
+   */
+  private final int[] dependentOffsets;
+
+  /**
+   * The dependents of all items, grouped by prerequisite.
+   */
+  private final int[] dependents;
+
+  /**
+   * The prerequisites of item {@code i} are {@code prerequisites[prerequisiteOffsets[i]]} up to,
+   * but excluding, {@code prerequisites[prerequisiteOffsets[i + 1]]}.
+   */
+  private final int[] prerequisiteOffsets;
+
+  /**
+   * The prerequisites of all items, grouped by dependent.
+   */
+  private final int[] prerequisites;
+
+  /**
+   * The strongly connected component of each item. Components are numbered in topological order.
+   */
+  private final int[] componentOf;
+
+  /**
+   * The item indexes in topological order.
+   */
+  private final int[] topologicalOrder;
+
+  /**
+   * The items of component {@code c} are {@code topologicalOrder[componentStarts[c]]} up to, but
+   * excluding, {@code topologicalOrder[componentStarts[c + 1]]}.
+   */
+  private final int[] componentStarts;
+
+  /**
+   * The items of each cycle, in index order.
+   */
+  private final List<List<String>> cycles;
+
+  /**
+   * The validation code used for cycle reports.
+   */
+  private final String cycleCode;
+
+  /**
+   * The items reachable by following the edges from the items of each component.
+   */
+  private transient volatile BitSet[] dependentClosure;
+
+  /**
+   * The items reachable by following the edges backwards from the items of each component.
+   */
+  private transient volatile BitSet[] prerequisiteClosure;
+
+  /**
+   * Creates a graph from the collected identifiers and edges.
+   *
+   * @param builder the builder holding the identifiers and edges
+   */
+  private PrerequisiteGraph(Builder builder) {
+    int size = builder.identifiers.size();
+    this.identifiers = builder.identifiers.toArray(new String[0]);
+    this.indexes = new HashMap<>(builder.indexes);
+    this.cycleCode = builder.cycleCode;
+
+    int[] from = builder.edgeFrom.stream().mapToInt(Integer::intValue).toArray();
+    int[] to = builder.edgeTo.stream().mapToInt(Integer::intValue).toArray();
+    this.dependentOffsets = new int[size + 1];
+    this.dependents = new int[from.length];
+    compress(from, to, dependentOffsets, dependents);
+    this.prerequisiteOffsets = new int[size + 1];
+    this.prerequisites = new int[from.length];
+    compress(to, from, prerequisiteOffsets, prerequisites);
+
+    int[] tarjanComponents = new int[size];
+    int componentCount = stronglyConnectedComponents(tarjanComponents);
+    this.componentOf = new int[size];
+    this.topologicalOrder = orderComponents(tarjanComponents, componentCount, componentOf);
+    this.componentStarts = new int[componentCount + 1];
+    for (int item = 0; item < size; item++) {
+      componentStarts[componentOf[item] + 1]++;
+    }
+    for (int component = 0; component < componentCount; component++) {
+      componentStarts[component + 1] += componentStarts[component];
+    }
+    this.cycles = findCycles();
+  }
+
+  /**
+   * Creates a builder.
+   *
+   * @param cycleCode the validation code to use when reporting prerequisite cycles
+   * @return a new builder
+   */
+  public static Builder builder(String cycleCode) {
+    return new Builder(cycleCode);
+  }
+
+  /**
+   * Retrieves the number of items in the graph.
+   *
+   * @return the number of items
+   */
+  public int size() {
+    return identifiers.length;
+  }
+
+  /**
+   * Retrieves the index of an item.
+   *
+   * @param identifier the identifier of the item
+   * @return the index of the item, or -1 if it is not in the graph
+   */
+  public int indexOf(String identifier) {
+    Integer index = indexes.get(identifier);
+    return index == null ? -1 : index;
+  }
+
+  /**
+   * Retrieves the identifier of the item with the given index.
+   *
+   * @param index the index of the item
+   * @return the identifier of the item
+   * @throws ArrayIndexOutOfBoundsException if no item has the index
+   */
+  public String identifierAt(int index) {
+    return identifiers[index];
+  }
+
+  /**
+   * Retrieves the indexes of the items that directly depend on an item.
+   *
+   * @param index the index of the item
+   * @return a new array of dependent indexes, in the order their edges were added
+   */
+  public int[] getDependentIndexes(int index) {
+    return Arrays.copyOfRange(dependents, dependentOffsets[index], dependentOffsets[index + 1]);
+  }
+
+  /**
+   * Retrieves the indexes of the direct prerequisites of an item.
+   *
+   * @param index the index of the item
+   * @return a new array of prerequisite indexes, in the order their edges were added
+   */
+  public int[] getPrerequisiteIndexes(int index) {
+    return Arrays.copyOfRange(prerequisites, prerequisiteOffsets[index],
+        prerequisiteOffsets[index + 1]);
+  }
+
+  /**
+   * Retrieves the items that directly depend on an item.
+   *
+   * @param identifier the identifier of the item
+   * @return the identifiers of the dependent items, or an empty list if the item is unknown
+   */
+  public List<String> getDependents(String identifier) {
+    int index = indexOf(identifier);
+    return index < 0 ? List.of() : toIdentifiers(getDependentIndexes(index));
+  }
+
+  /**
+   * Retrieves the direct prerequisites of an item.
+   *
+   * @param identifier the identifier of the item
+   * @return the identifiers of the prerequisites, or an empty list if the item is unknown
+   */
+  public List<String> getPrerequisites(String identifier) {
+    int index = indexOf(identifier);
+    return index < 0 ? List.of() : toIdentifiers(getPrerequisiteIndexes(index));
+  }
+
+  /**
+   * Retrieves all items in an order where every item comes after its prerequisites. Items of a
+   * cycle are kept together in index order; otherwise the order of the builder is preserved as far
+   * as the prerequisites allow.
+   *
+   * @return the identifiers in topological order
+   */
+  public List<String> getTopologicalOrder() {
+    return toIdentifiers(topologicalOrder);
+  }
+
+  /**
+   * Determines whether the prerequisites are free of cycles.
+   *
+   * @return true if no item requires itself, directly or transitively
+   */
+  public boolean isAcyclic() {
+    return cycles.isEmpty();
+  }
+
+  /**
+   * Retrieves the prerequisite cycles, one list of identifiers per strongly connected component
+   * that contains a cycle, in topological order.
+   *
+   * @return the cycles, or an empty list if the graph is acyclic
+   */
+  public List<List<String>> getCycles() {
+    return cycles;
+  }
+
+  /**
+   * Reports each prerequisite cycle as a warning. Whether a cycle can be satisfied depends on the
+   * operators of the expressions involved, so cycles are not reported as errors.
+   *
+   * @return one validation issue per cycle
+   */
+  public List<ValidationIssue> getCycleIssues() {
+    List<ValidationIssue> issues = new ArrayList<>(cycles.size());
+    for (List<String> cycle : cycles) {
+      issues.add(ValidationIssue.warning(cycleCode,
+          "Prerequisites form a cycle between: " + String.join(", ", cycle),
+          "prerequisites of " + cycle.get(0),
+          "Remove one of the prerequisite references between these items so that they can be"
+              + " completed in order"));
+    }
+    return List.copyOf(issues);
+  }
+
+  /**
+   * Determines whether an item depends on another, directly or transitively.
+   *
+   * @param dependent the identifier of the dependent item
+   * @param prerequisite the identifier of the potential prerequisite
+   * @return true if the prerequisite must be considered before the dependent item
+   */
+  public boolean requires(String dependent, String prerequisite) {
+    int from = indexOf(prerequisite);
+    int to = indexOf(dependent);
+    return from >= 0 && to >= 0 && dependentClosure()[componentOf[from]].get(to);
+  }
+
+  /**
+   * Retrieves every item that depends on an item, directly or transitively. The item itself is
+   * only included if it is part of a cycle.
+   *
+   * @param identifier the identifier of the item
+   * @return the identifiers of the dependent items in topological order, or an empty list if the
+   * item is unknown
+   */
+  public List<String> getTransitiveDependents(String identifier) {
+    int index = indexOf(identifier);
+    return index < 0 ? List.of() : inTopologicalOrder(dependentClosure()[componentOf[index]]);
+  }
+
+  /**
+   * Retrieves every prerequisite of an item, directly or transitively. The item itself is only
+   * included if it is part of a cycle.
+   *
+   * @param identifier the identifier of the item
+   * @return the identifiers of the prerequisites in topological order, or an empty list if the
+   * item is unknown
+   */
+  public List<String> getTransitivePrerequisites(String identifier) {
+    int index = indexOf(identifier);
+    return index < 0 ? List.of() : inTopologicalOrder(prerequisiteClosure()[componentOf[index]]);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+
+    if (!(o instanceof PrerequisiteGraph that)) {
+      return false;
+    }
+
+    return Arrays.equals(identifiers, that.identifiers)
+        && Arrays.equals(dependentOffsets, that.dependentOffsets)
+        && Arrays.equals(dependents, that.dependents);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * (31 * Arrays.hashCode(identifiers) + Arrays.hashCode(dependentOffsets))
+        + Arrays.hashCode(dependents);
+  }
+
+  @Override
+  public String toString() {
+    return "PrerequisiteGraph{"
+        + "items=" + identifiers.length
+        + ", edges=" + dependents.length
+        + ", cycles=" + cycles
+        + '}';
+  }
+
+  /**
+   * Groups edges by source into compressed adjacency arrays, preserving the order of the edges.
+   *
+   * @param sources the source of each edge
+   * @param targets the target of each edge
+   * @param offsets receives the start of each source's targets, with one extra trailing entry
+   * @param adjacency receives the targets grouped by source
+   */
+  private static void compress(int[] sources, int[] targets, int[] offsets, int[] adjacency) {
+    for (int source : sources) {
+      offsets[source + 1]++;
+    }
+    for (int i = 1; i < offsets.length; i++) {
+      offsets[i] += offsets[i - 1];
+    }
+    int[] next = Arrays.copyOf(offsets, offsets.length - 1);
+    for (int i = 0; i < sources.length; i++) {
+      adjacency[next[sources[i]]++] = targets[i];
+    }
+  }
+
+  /**
+   * Finds the strongly connected components with an iterative version of Tarjan's algorithm, so
+   * long prerequisite chains cannot overflow the stack.
+   *
+   * @param components receives the component of each item, numbered in reverse topological order
+   * @return the number of components
+   */
+  private int stronglyConnectedComponents(int[] components) {
+    int size = identifiers.length;
+    int[] order = new int[size];
+    int[] low = new int[size];
+    int[] edge = new int[size];
+    int[] stack = new int[size];
+    int[] calls = new int[size];
+    boolean[] onStack = new boolean[size];
+    Arrays.fill(order, -1);
+    int counter = 0;
+    int stackSize = 0;
+    int componentCount = 0;
+
+    for (int root = 0; root < size; root++) {
+      if (order[root] >= 0) {
+        continue;
+      }
+      int callDepth = 0;
+      order[root] = low[root] = counter++;
+      edge[root] = dependentOffsets[root];
+      stack[stackSize++] = root;
+      onStack[root] = true;
+      calls[callDepth++] = root;
+
+      while (callDepth > 0) {
+        int v = calls[callDepth - 1];
+        if (edge[v] < dependentOffsets[v + 1]) {
+          int w = dependents[edge[v]++];
+          if (order[w] < 0) {
+            order[w] = low[w] = counter++;
+            edge[w] = dependentOffsets[w];
+            stack[stackSize++] = w;
+            onStack[w] = true;
+            calls[callDepth++] = w;
+          } else if (onStack[w]) {
+            low[v] = Math.min(low[v], order[w]);
+          }
+          continue;
+        }
+        callDepth--;
+        if (low[v] == order[v]) {
+          int w;
+          do {
+            w = stack[--stackSize];
+            onStack[w] = false;
+            components[w] = componentCount;
+          } while (w != v);
+          componentCount++;
+        }
+        if (callDepth > 0) {
+          int parent = calls[callDepth - 1];
+          low[parent] = Math.min(low[parent], low[v]);
+        }
+      }
+    }
+    return componentCount;
+  }
+
+  /**
+   * Orders the components topologically with Kahn's algorithm, preferring the component whose
+   * first item has the lowest index whenever several are ready, and renumbers them in that order.
+   *
+   * @param components the component of each item, as found by Tarjan's algorithm
+   * @param componentCount the number of components
+   * @param renumbered receives the topological component number of each item
+   * @return the item indexes in topological order
+   */
+  private int[] orderComponents(int[] components, int componentCount, int[] renumbered) {
+    int size = identifiers.length;
+    int[] firstItem = new int[componentCount];
+    int[] itemCount = new int[componentCount];
+    int[] inDegree = new int[componentCount];
+    Arrays.fill(firstItem, Integer.MAX_VALUE);
+    for (int item = 0; item < size; item++) {
+      int component = components[item];
+      firstItem[component] = Math.min(firstItem[component], item);
+      itemCount[component]++;
+      for (int e = dependentOffsets[item]; e < dependentOffsets[item + 1]; e++) {
+        if (components[dependents[e]] != component) {
+          inDegree[components[dependents[e]]]++;
+        }
+      }
+    }
+
+    // Group the items of each component so a component's outgoing edges can be visited directly
+    int[] memberOffsets = new int[componentCount + 1];
+    for (int component = 0; component < componentCount; component++) {
+      memberOffsets[component + 1] = memberOffsets[component] + itemCount[component];
+    }
+    int[] members = new int[size];
+    int[] next = Arrays.copyOf(memberOffsets, componentCount);
+    for (int item = 0; item < size; item++) {
+      members[next[components[item]]++] = item;
+    }
+
+    PriorityQueue<Integer> ready = new PriorityQueue<>(
+        (a, b) -> Integer.compare(firstItem[a], firstItem[b]));
+    for (int component = 0; component < componentCount; component++) {
+      if (inDegree[component] == 0) {
+        ready.add(component);
+      }
+    }
+    int[] order = new int[size];
+    int position = 0;
+    int number = 0;
+    while (!ready.isEmpty()) {
+      int component = ready.poll();
+      for (int m = memberOffsets[component]; m < memberOffsets[component + 1]; m++) {
+        int item = members[m];
+        renumbered[item] = number;
+        order[position++] = item;
+        for (int e = dependentOffsets[item]; e < dependentOffsets[item + 1]; e++) {
+          int target = components[dependents[e]];
+          if (target != component && --inDegree[target] == 0) {
+            ready.add(target);
+          }
+        }
+      }
+      number++;
+    }
+    return order;
+  }
+
+  /**
+   * Collects the components that contain a cycle.
+   *
+   * @return the items of each cycle, in topological order of the cycles
+   */
+  private List<List<String>> findCycles() {
+    List<List<String>> found = new ArrayList<>();
+    for (int component = 0; component < componentStarts.length - 1; component++) {
+      int start = componentStarts[component];
+      int end = componentStarts[component + 1];
+      if (end - start > 1 || hasSelfLoop(topologicalOrder[start])) {
+        found.add(toIdentifiers(Arrays.copyOfRange(topologicalOrder, start, end)));
+      }
+    }
+    return List.copyOf(found);
+  }
+
+  /**
+   * Determines whether an item lists itself as a prerequisite.
+   *
+   * @param item the index of the item
+   * @return true if the item has an edge to itself
+   */
+  private boolean hasSelfLoop(int item) {
+    for (int e = dependentOffsets[item]; e < dependentOffsets[item + 1]; e++) {
+      if (dependents[e] == item) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Retrieves the items reachable from each component along the edges, computing them on first
+   * use.
+   *
+   * @return the closure per topological component number
+   */
+  private BitSet[] dependentClosure() {
+    BitSet[] closure = dependentClosure;
+    if (closure == null) {
+      closure = computeClosure(dependentOffsets, dependents, true);
+      dependentClosure = closure;
+    }
+    return closure;
+  }
+
+  /**
+   * Retrieves the items reachable from each component against the edges, computing them on first
+   * use.
+   *
+   * @return the closure per topological component number
+   */
+  private BitSet[] prerequisiteClosure() {
+    BitSet[] closure = prerequisiteClosure;
+    if (closure == null) {
+      closure = computeClosure(prerequisiteOffsets, prerequisites, false);
+      prerequisiteClosure = closure;
+    }
+    return closure;
+  }
+
+  /**
+   * Computes the transitive closure of every component in one pass over the condensation. Every
+   * edge between components points the same way in topological order, so visiting the components
+   * from the far end means each neighbour's closure is complete before it is merged.
+   *
+   * @param offsets the adjacency offsets of the direction to follow
+   * @param adjacency the adjacency of the direction to follow
+   * @param forward true if the edges point forward in topological order
+   * @return the closure per topological component number
+   */
+  private BitSet[] computeClosure(int[] offsets, int[] adjacency, boolean forward) {
+    int componentCount = componentStarts.length - 1;
+    BitSet[] closure = new BitSet[componentCount];
+    for (int step = 0; step < componentCount; step++) {
+      int component = forward ? componentCount - 1 - step : step;
+      int start = componentStarts[component];
+      int end = componentStarts[component + 1];
+      BitSet reachable = new BitSet(identifiers.length);
+      closure[component] = reachable;
+      boolean cyclic = end - start > 1;
+      for (int position = start; position < end; position++) {
+        int item = topologicalOrder[position];
+        for (int e = offsets[item]; e < offsets[item + 1]; e++) {
+          int target = adjacency[e];
+          reachable.set(target);
+          if (componentOf[target] != component) {
+            reachable.or(closure[componentOf[target]]);
+          }
+        }
+      }
+      if (cyclic) {
+        // Every item of a cycle reaches every other item of it
+        for (int position = start; position < end; position++) {
+          reachable.set(topologicalOrder[position]);
+        }
+      }
+    }
+    return closure;
+  }
+
+  /**
+   * Lists the items of a set in topological order.
+   *
+   * @param items the item indexes to list
+   * @return the identifiers of the items
+   */
+  private List<String> inTopologicalOrder(BitSet items) {
+    List<String> result = new ArrayList<>(items.cardinality());
+    for (int item : topologicalOrder) {
+      if (items.get(item)) {
+        result.add(identifiers[item]);
+      }
+    }
+    return List.copyOf(result);
+  }
+
+  /**
+   * Maps item indexes to their identifiers.
+   *
+   * @param items the item indexes
+   * @return the identifiers, in the same order
+   */
+  private List<String> toIdentifiers(int[] items) {
+    List<String> result = new ArrayList<>(items.length);
+    for (int item : items) {
+      result.add(identifiers[item]);
+    }
+    return List.copyOf(result);
+  }
+
+  /**
+   * Collects the items and prerequisite edges of a {@link PrerequisiteGraph}.
+   */
+  public static final class Builder {
+
+    private final String cycleCode;
+    private final List<String> identifiers = new ArrayList<>();
+    private final Map<String, Integer> indexes = new HashMap<>();
+    private final List<Integer> edgeFrom = new ArrayList<>();
+    private final List<Integer> edgeTo = new ArrayList<>();
+    private final Set<Long> edges = new HashSet<>();
+
+    private Builder(String cycleCode) {
+      this.cycleCode = cycleCode;
+    }
+
+    /**
+     * Adds an item, assigning it the next index if it is new. Null and empty identifiers are
+     * ignored.
+     *
+     * @param identifier the identifier of the item
+     * @return this builder
+     */
+    public Builder addItem(String identifier) {
+      if (identifier != null && !identifier.isEmpty()) {
+        index(identifier);
+      }
+      return this;
+    }
+
+    /**
+     * Adds several items in order.
+     *
+     * @param identifiers the identifiers of the items, may be null
+     * @return this builder
+     */
+    public Builder addItems(Collection<String> identifiers) {
+      if (identifiers != null) {
+        identifiers.forEach(this::addItem);
+      }
+      return this;
+    }
+
+    /**
+     * Adds a prerequisite relation, adding either item if it is new. Duplicate relations and
+     * relations with a null or empty identifier are ignored.
+     *
+     * @param prerequisite the identifier of the prerequisite
+     * @param dependent the identifier of the item that requires it
+     * @return this builder
+     */
+    public Builder addPrerequisite(String prerequisite, String dependent) {
+      if (prerequisite == null || prerequisite.isEmpty() || dependent == null
+          || dependent.isEmpty()) {
+        return this;
+      }
+      int from = index(prerequisite);
+      int to = index(dependent);
+      if (edges.add((long) from << 32 | to)) {
+        edgeFrom.add(from);
+        edgeTo.add(to);
+      }
+      return this;
+    }
+
+    /**
+     * Builds the graph.
+     *
+     * @return the immutable graph
+     */
+    public PrerequisiteGraph build() {
+      return new PrerequisiteGraph(this);
+    }
+
+    private int index(String identifier) {
+      Integer index = indexes.get(identifier);
+      if (index == null) {
+        index = identifiers.size();
+        indexes.put(identifier, index);
+        identifiers.add(identifier);
+      }
+      return index;
+    }
+  }
+}
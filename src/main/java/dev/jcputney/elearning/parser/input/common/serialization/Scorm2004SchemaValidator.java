@@ -10,6 +10,7 @@
  */
 package dev.jcputney.elearning.parser.input.common.serialization;
 
+import dev.jcputney.elearning.parser.jfr.SchemaValidationEvent;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -135,6 +136,21 @@ public final class Scorm2004SchemaValidator {
    * @throws IOException when reading schema resources fails
    */
   public static void validate(byte[] manifestXml) throws SAXException, IOException {
+    SchemaValidationEvent event = SchemaValidationEvent.start();
+    boolean valid = false;
+    try {
+      validateAgainstSchemas(manifestXml);
+      valid = true;
+    } finally {
+      event.complete(manifestXml == null ? 0 : manifestXml.length, valid);
+    }
+  }
+
+  /**
+   * Assembles the bundled SCORM 2004 XSDs and validates the manifest against them for
+   * {@link #validate(byte[])}.
+   */
+  private static void validateAgainstSchemas(byte[] manifestXml) throws SAXException, IOException {
     SchemaFactory factory = SchemaFactory
         .newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
 
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.input.lom;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.function.Supplier;
+
+/**
+ * Holds the LOM of a {@link dev.jcputney.elearning.parser.api.LoadableMetadata} element. The LOM
+ * is either set directly, when it is inline or loaded eagerly, or supplied on first access, when
+ * external metadata is loaded lazily.
+ * <p>
+ * A deferred LOM is resolved by the first call to {@link #get()}. If the supplier returns null,
+ * the LOM held before is kept. The supplier is not serialized; it is resolved before this object
+ * is written.
+ * </p>
+ */
+public final class DeferredLom implements Serializable {
+
+  @Serial
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * The LOM set directly or resolved from the supplier.
+   */
+  private LOM lom;
+
+  /**
+   * Supplies the external LOM on first access, or null if there is no pending load.
+   */
+  private transient volatile Supplier<LOM> supplier;
+
+  /**
+   * Constructs an empty DeferredLom.
+   */
+  public DeferredLom() {
+    // no-op
+  }
+
+  /**
+   * Retrieves the LOM, resolving a deferred LOM first.
+   *
+   * @return the LOM, or null if there is none
+   * @throws java.io.UncheckedIOException if a deferred external LOM cannot be read or parsed
+   */
+  public LOM get() {
+    Supplier<LOM> pending = this.supplier;
+    if (pending != null) {
+      LOM external = pending.get();
+      if (external != null) {
+        this.lom = external;
+      }
+      this.supplier = null;
+    }
+    return this.lom;
+  }
+
+  /**
+   * Retrieves the LOM held now, without resolving a deferred LOM. Used where reading a file is not
+   * acceptable, such as in {@code equals} and {@code hashCode}.
+   *
+   * @return the LOM set directly or already resolved, or null if there is none
+   */
+  public LOM peek() {
+    return this.lom;
+  }
+
+  /**
+   * Sets the LOM, discarding any deferred LOM.
+   *
+   * @param lom the LOM to hold
+   */
+  public void set(LOM lom) {
+    this.lom = lom;
+    this.supplier = null;
+  }
+
+  /**
+   * Defers loading of the LOM until {@link #get()} is first called.
+   *
+   * @param supplier the supplier of the external LOM, which returns null to keep the LOM held now
+   */
+  public void defer(Supplier<LOM> supplier) {
+    this.supplier = supplier;
+  }
+
+  @Serial
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    get();
+    out.defaultWriteObject();
+  }
+}
@@ -19,6 +19,7 @@ import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlElementWrapper;
 import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlProperty;
 import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlRootElement;
 import dev.jcputney.elearning.parser.input.PackageManifest;
+import dev.jcputney.elearning.parser.input.common.prerequisite.PrerequisiteCompiler;
 import dev.jcputney.elearning.parser.input.lom.LOM;
 import dev.jcputney.elearning.parser.input.scorm12.ims.cp.Scorm12Item;
 import dev.jcputney.elearning.parser.input.scorm12.ims.cp.Scorm12Metadata;
@@ -26,6 +27,7 @@ import dev.jcputney.elearning.parser.input.scorm12.ims.cp.Scorm12Organization;
 import dev.jcputney.elearning.parser.input.scorm12.ims.cp.Scorm12Organizations;
 import dev.jcputney.elearning.parser.input.scorm12.ims.cp.Scorm12Resource;
 import dev.jcputney.elearning.parser.input.scorm12.ims.cp.Scorm12Resources;
+import dev.jcputney.elearning.parser.util.DerivedViewCache;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
@@ -45,6 +47,13 @@ import org.apache.commons.lang3.builder.HashCodeBuilder;
  * <p>The IMSCP namespace is specified by {@link #NAMESPACE_URI}, and this class
  * is designed to align with the SCORM 1.2 specification.</p>
  *
+ * <p>Derived views, such as the title, description, launch URL, duration and prerequisite
+ * compiler, are computed once and memoized. The setters of this class discard them, but nested
+ * elements don't reference their manifest, so editing one in place, for example with
+ * {@code Scorm12Organization.setTitle} or {@code Scorm12Item.setIdentifierRef}, is not detected:
+ * call {@link #invalidateDerivedViews()} after such edits, or the memoized views keep returning
+ * the values computed before them.</p>
+ *
  * The following schema snippet shows the structure of a "manifest" element:
  * <pre>{@code
  * <?xml version="1.0"?>
@@ -363,6 +372,13 @@ public final class Scorm12Manifest implements PackageManifest {
   @JacksonXmlProperty(localName = "manifest", namespace = NAMESPACE_URI)
   private List<Scorm12Manifest> subManifests;
 
+  /**
+   * Caches views derived from this manifest, such as its title and launch URL. The cache is cleared
+   * by every setter and by {@link #invalidateDerivedViews()}.
+   */
+  @JsonIgnore
+  private transient DerivedViewCache derivedViews;
+
   /**
    * Default constructor for the Scorm12Manifest class. This constructor initializes an instance of
    * the Scorm12Manifest class without performing any operations. Designed primarily for scenarios
@@ -377,48 +393,43 @@ public final class Scorm12Manifest implements PackageManifest {
    * logic: 1. If the default organization's title is available and non-empty, it is returned. 2.
    * Otherwise, the title from the metadata (LOM structure) is returned if present. 3. If neither is
    * available, the method returns null.
+   * <p>
+   * The title is memoized; call {@link #invalidateDerivedViews()} after editing the organizations
+   * or metadata in place.
+   * </p>
    *
    * @return The title of the SCORM 1.2 manifest, or null if no title is found.
    */
   @Override
   @JsonIgnore
   public String getTitle() {
-    //noinspection DuplicatedCode
-    String organizationTitle = Optional
-        .ofNullable(organizations)
-        .map(Scorm12Organizations::getDefault)
-        .map(Scorm12Organization::getTitle)
-        .orElse(null);
-    if (organizationTitle != null && !organizationTitle.isEmpty()) {
-      return organizationTitle;
-    }
-    return Optional
-        .ofNullable(metadata)
-        .map(Scorm12Metadata::getLom)
-        .map(LOM::getTitle)
-        .orElse(null);
+    return derivedViews().get("title", this::computeTitle);
   }
 
   /**
    * Retrieves the description from the SCORM 1.2 metadata LOM structure if available. If the
    * metadata or the LOM description is not present, returns null.
+   * <p>
+   * The description is memoized; call {@link #invalidateDerivedViews()} after editing the metadata
+   * in place.
+   * </p>
    *
    * @return The description text from the SCORM 1.2 metadata, or null if no description is found.
    */
   @Override
   @JsonIgnore
   public String getDescription() {
-    return Optional
-        .ofNullable(metadata)
-        .map(Scorm12Metadata::getLom)
-        .map(LOM::getDescription)
-        .orElse(null);
+    return derivedViews().get("description", this::computeDescription);
   }
 
   /**
    * Retrieves the launch URL of the SCORM 1.2 resource. The method attempts to identify the first
    * non-empty launchable resource by finding items with a non-null `identifierRef` in the
    * organization hierarchy, then resolving it to a resource URL using the resource collection.
+   * <p>
+   * The launch URL is memoized; call {@link #invalidateDerivedViews()} after editing the
+   * organizations or resources in place.
+   * </p>
    *
    * @return The launch URL as a string if a valid resource is found, or null if no launchable
    * resource exists.
@@ -426,35 +437,17 @@ public final class Scorm12Manifest implements PackageManifest {
   @Override
   @JsonIgnore
   public String getLaunchUrl() {
-    // Find all items with non-null identifierRef at any level
-    //noinspection DuplicatedCode
-    List<String> resourceIds = Optional
-        .ofNullable(organizations)
-        .map(Scorm12Organizations::getDefault)
-        .map(Scorm12Organization::getItems)
-        .map(this::findAllItemsWithIdentifierRef)
-        .orElse(List.of());
-
-    // Find the first resource that exists
-    for (String resourceId : resourceIds) {
-      String href = Optional
-          .ofNullable(resources)
-          .flatMap(r -> r.getResourceById(resourceId))
-          .map(Scorm12Resource::getHref)
-          .orElse(null);
-
-      if (href != null && !href.isEmpty()) {
-        return href;
-      }
-    }
-
-    return null;
+    return derivedViews().get("launchUrl", this::computeLaunchUrl);
   }
 
   /**
    * Retrieves the duration of the SCORM 1.2 resource. The method resolves the duration by
    * navigating through the metadata hierarchy. If the metadata, LOM, technical details, or duration
    * fields are not present, it defaults to {@link Duration#ZERO}.
+   * <p>
+   * The duration is memoized; call {@link #invalidateDerivedViews()} after editing the metadata in
+   * place.
+   * </p>
    *
    * @return A {@link Duration} object representing the duration of the resource, or
    * {@link Duration#ZERO} if not available.
@@ -462,20 +455,24 @@ public final class Scorm12Manifest implements PackageManifest {
   @Override
   @JsonIgnore
   public Duration getDuration() {
-    return Optional
-        .ofNullable(metadata)
-        .filter(m -> m.getLom() != null && m
-            .getLom()
-            .getTechnical() != null && m
-            .getLom()
-            .getTechnical()
-            .getDuration() != null)
-        .map(Scorm12Metadata::getLom)
-        .map(lom -> lom
-            .getTechnical()
-            .getDuration()
-            .getDuration())
-        .orElse(Duration.ZERO);
+    return derivedViews().get("duration", this::computeDuration);
+  }
+
+  /**
+   * Retrieves the prerequisite compiler of this manifest. The compiler interns the identifiers of
+   * all items in all organizations, in document order, and caches the compiled form of each
+   * distinct {@code adlcp:prerequisites} expression, so repeated prerequisite checks against the
+   * same manifest only parse and compile each expression once.
+   * <p>
+   * The compiler is memoized; call {@link #invalidateDerivedViews()} after adding, removing or
+   * renaming items, or editing their prerequisites, in place.
+   * </p>
+   *
+   * @return the prerequisite compiler of this manifest
+   */
+  @JsonIgnore
+  public PrerequisiteCompiler getPrerequisiteCompiler() {
+    return derivedViews().get("prerequisiteCompiler", this::computePrerequisiteCompiler);
   }
 
   /**
@@ -497,6 +494,7 @@ public final class Scorm12Manifest implements PackageManifest {
    */
   public void setIdentifier(String identifier) {
     this.identifier = identifier;
+    invalidateDerivedViews();
   }
 
   /**
@@ -518,6 +516,7 @@ public final class Scorm12Manifest implements PackageManifest {
    */
   public void setVersion(String version) {
     this.version = version;
+    invalidateDerivedViews();
   }
 
   /**
@@ -538,6 +537,7 @@ public final class Scorm12Manifest implements PackageManifest {
    */
   public void setBase(String base) {
     this.base = base;
+    invalidateDerivedViews();
   }
 
   /**
@@ -559,6 +559,7 @@ public final class Scorm12Manifest implements PackageManifest {
    */
   public void setMetadata(Scorm12Metadata metadata) {
     this.metadata = metadata;
+    invalidateDerivedViews();
   }
 
   /**
@@ -583,6 +584,7 @@ public final class Scorm12Manifest implements PackageManifest {
    */
   public void setOrganizations(Scorm12Organizations organizations) {
     this.organizations = organizations;
+    invalidateDerivedViews();
   }
 
   /**
@@ -607,6 +609,7 @@ public final class Scorm12Manifest implements PackageManifest {
    */
   public void setResources(Scorm12Resources resources) {
     this.resources = resources;
+    invalidateDerivedViews();
   }
 
   /**
@@ -625,6 +628,107 @@ public final class Scorm12Manifest implements PackageManifest {
    */
   public void setSubManifests(List<Scorm12Manifest> subManifests) {
     this.subManifests = subManifests;
+    invalidateDerivedViews();
+  }
+
+  /**
+   * Discards the cached derived views of this manifest, such as its title and launch URL. Derived
+   * views are computed once per manifest instance and are cleared automatically by the setters of
+   * this class. Edits made in place to nested elements, such as an organization's title or an
+   * item's identifierref, are not detected; call this method after making them.
+   */
+  public void invalidateDerivedViews() {
+    DerivedViewCache views = derivedViews;
+    if (views != null) {
+      views.clear();
+    }
+  }
+
+  private DerivedViewCache derivedViews() {
+    DerivedViewCache views = derivedViews;
+    if (views == null) {
+      views = new DerivedViewCache();
+      derivedViews = views;
+    }
+    return views;
+  }
+
+  private String computeTitle() {
+    //noinspection DuplicatedCode
+    String organizationTitle = Optional
+        .ofNullable(organizations)
+        .map(Scorm12Organizations::getDefault)
+        .map(Scorm12Organization::getTitle)
+        .orElse(null);
+    if (organizationTitle != null && !organizationTitle.isEmpty()) {
+      return organizationTitle;
+    }
+    return Optional
+        .ofNullable(metadata)
+        .map(Scorm12Metadata::getLom)
+        .map(LOM::getTitle)
+        .orElse(null);
+  }
+
+  private String computeDescription() {
+    return Optional
+        .ofNullable(metadata)
+        .map(Scorm12Metadata::getLom)
+        .map(LOM::getDescription)
+        .orElse(null);
+  }
+
+  private String computeLaunchUrl() {
+    // Find all items with non-null identifierRef at any level
+    //noinspection DuplicatedCode
+    List<String> resourceIds = Optional
+        .ofNullable(organizations)
+        .map(Scorm12Organizations::getDefault)
+        .map(Scorm12Organization::getItems)
+        .map(this::findAllItemsWithIdentifierRef)
+        .orElse(List.of());
+
+    // Find the first resource that exists
+    for (String resourceId : resourceIds) {
+      String href = Optional
+          .ofNullable(resources)
+          .flatMap(r -> r.getResourceById(resourceId))
+          .map(Scorm12Resource::getHref)
+          .orElse(null);
+
+      if (href != null && !href.isEmpty()) {
+        return href;
+      }
+    }
+
+    return null;
+  }
+
+  private PrerequisiteCompiler computePrerequisiteCompiler() {
+    List<String> itemIdentifiers = new ArrayList<>();
+    if (organizations != null && organizations.getOrganizationList() != null) {
+      for (Scorm12Organization organization : organizations.getOrganizationList()) {
+        collectItemIdentifiers(organization.getItems(), itemIdentifiers);
+      }
+    }
+    return PrerequisiteCompiler.forScorm12(itemIdentifiers);
+  }
+
+  private Duration computeDuration() {
+    return Optional
+        .ofNullable(metadata)
+        .filter(m -> m.getLom() != null && m
+            .getLom()
+            .getTechnical() != null && m
+            .getLom()
+            .getTechnical()
+            .getDuration() != null)
+        .map(Scorm12Metadata::getLom)
+        .map(lom -> lom
+            .getTechnical()
+            .getDuration()
+            .getDuration())
+        .orElse(Duration.ZERO);
   }
 
   @Override
@@ -695,4 +799,20 @@ public final class Scorm12Manifest implements PackageManifest {
 
     return result;
   }
+
+  /**
+   * Recursively collects the identifiers of the given items and their children in document order.
+   *
+   * @param items The list of items to collect from, may be null.
+   * @param result The list receiving the identifiers.
+   */
+  private void collectItemIdentifiers(List<Scorm12Item> items, List<String> result) {
+    if (items == null) {
+      return;
+    }
+    for (Scorm12Item item : items) {
+      result.add(item.getIdentifier());
+      collectItemIdentifiers(item.getItems(), result);
+    }
+  }
 }
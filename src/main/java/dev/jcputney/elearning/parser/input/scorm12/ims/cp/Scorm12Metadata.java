@@ -11,11 +11,14 @@
 package dev.jcputney.elearning.parser.input.scorm12.ims.cp;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlProperty;
 import dev.jcputney.elearning.parser.api.LoadableMetadata;
+import dev.jcputney.elearning.parser.input.lom.DeferredLom;
 import dev.jcputney.elearning.parser.input.lom.LOM;
 import dev.jcputney.elearning.parser.input.scorm12.Scorm12ADLCP;
 import dev.jcputney.elearning.parser.input.scorm12.Scorm12Manifest;
+import java.util.function.Supplier;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 
@@ -73,9 +76,11 @@ public final class Scorm12Metadata implements LoadableMetadata {
   /**
    * Inline metadata in the form of a Learning Object Metadata (LOM) element. This element is
    * optional.
+   * <p>
+   * When external metadata is loaded lazily, the external LOM is resolved on first access.
+   * </p>
    */
-  @JacksonXmlProperty(localName = "lom", namespace = LOM.NAMESPACE_URI)
-  private LOM lom;
+  private final DeferredLom lom = new DeferredLom();
 
   /**
    * A reference to an external metadata file, provided as a URI. This element is optional.
@@ -133,11 +138,16 @@ public final class Scorm12Metadata implements LoadableMetadata {
 
   /**
    * Retrieves the LOM (Learning Object Metadata) associated with the SCORM 1.2 metadata.
+   * <p>
+   * When external metadata is loaded lazily, the first call fetches and parses the file referenced
+   * by the location, which may throw an {@link java.io.UncheckedIOException} if it cannot be read.
+   * </p>
    *
    * @return The LOM object representing the learning object metadata.
    */
+  @JacksonXmlProperty(localName = "lom", namespace = LOM.NAMESPACE_URI)
   public LOM getLom() {
-    return this.lom;
+    return this.lom.get();
   }
 
   /**
@@ -148,7 +158,19 @@ public final class Scorm12Metadata implements LoadableMetadata {
    */
   @JacksonXmlProperty(localName = "lom", namespace = LOM.NAMESPACE_URI)
   public void setLom(LOM lom) {
-    this.lom = lom;
+    this.lom.set(lom);
+  }
+
+  /**
+   * Defers loading of the external LOM until {@link #getLom()} is first called. If the supplier
+   * returns null, the inline LOM is kept.
+   *
+   * @param lomSupplier the supplier of the external LOM
+   */
+  @Override
+  @JsonIgnore
+  public void setLomSupplier(Supplier<LOM> lomSupplier) {
+    this.lom.defer(lomSupplier);
   }
 
   /**
@@ -180,10 +202,11 @@ public final class Scorm12Metadata implements LoadableMetadata {
       return false;
     }
 
+    // A deferred LOM is compared as it is held now, so that equality never reads a file
     return new EqualsBuilder()
         .append(getSchema(), that.getSchema())
         .append(getSchemaVersion(), that.getSchemaVersion())
-        .append(getLom(), that.getLom())
+        .append(lom.peek(), that.lom.peek())
         .append(getLocation(), that.getLocation())
         .isEquals();
   }
@@ -193,7 +216,7 @@ public final class Scorm12Metadata implements LoadableMetadata {
     return new HashCodeBuilder(17, 37)
         .append(getSchema())
         .append(getSchemaVersion())
-        .append(getLom())
+        .append(lom.peek())
         .append(getLocation())
         .toHashCode();
   }
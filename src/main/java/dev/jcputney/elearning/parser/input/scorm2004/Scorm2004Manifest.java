@@ -20,28 +20,21 @@ import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlProperty;
 import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlRootElement;
 import dev.jcputney.elearning.parser.input.PackageManifest;
 import dev.jcputney.elearning.parser.input.lom.LOM;
-import dev.jcputney.elearning.parser.input.scorm2004.adl.sequencing.ADLObjective;
-import dev.jcputney.elearning.parser.input.scorm2004.adl.sequencing.MapInfo;
-import dev.jcputney.elearning.parser.input.scorm2004.adl.types.ScormType;
 import dev.jcputney.elearning.parser.input.scorm2004.ims.cp.Scorm2004CourseMetadata;
 import dev.jcputney.elearning.parser.input.scorm2004.ims.cp.Scorm2004Item;
 import dev.jcputney.elearning.parser.input.scorm2004.ims.cp.Scorm2004Organization;
 import dev.jcputney.elearning.parser.input.scorm2004.ims.cp.Scorm2004Organizations;
 import dev.jcputney.elearning.parser.input.scorm2004.ims.cp.Scorm2004Resource;
 import dev.jcputney.elearning.parser.input.scorm2004.ims.cp.Scorm2004Resources;
-import dev.jcputney.elearning.parser.input.scorm2004.ims.ss.objective.Scorm2004Objective;
-import dev.jcputney.elearning.parser.input.scorm2004.ims.ss.objective.Scorm2004ObjectiveMapping;
 import dev.jcputney.elearning.parser.input.scorm2004.ims.ss.sequencing.SequencingCollection;
 import dev.jcputney.elearning.parser.input.scorm2004.sequencing.ActivityTree;
+import dev.jcputney.elearning.parser.input.scorm2004.sequencing.FlatActivityTree;
+import dev.jcputney.elearning.parser.util.DerivedViewCache;
 import java.time.Duration;
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 
@@ -55,6 +48,13 @@ import org.apache.commons.lang3.builder.HashCodeBuilder;
  *
  * <p>The IMSCP namespace is specified by {@link #NAMESPACE_URI}, and this class
  * is designed to align with the SCORM 2004 standards.</p>
+ *
+ * <p>Derived views, such as the title, description, launch URL, duration, SCO IDs, global
+ * objective IDs, flat activity tree and analysis, are computed once and memoized. The setters of
+ * this class discard them, but nested elements don't reference their manifest, so editing one in
+ * place, for example with {@code Scorm2004Organization.setTitle} or
+ * {@code Scorm2004Item.setIdentifierRef}, is not detected: call {@link #invalidateDerivedViews()}
+ * after such edits, or the memoized views keep returning the values computed before them.</p>
  * <p>
  * The following schema shows the structure of a "manifest" element:
  * <pre>{@code
@@ -348,6 +348,13 @@ public final class Scorm2004Manifest implements PackageManifest {
   @JacksonXmlProperty(localName = "manifest", namespace = NAMESPACE_URI)
   private List<Scorm2004Manifest> subManifests;
 
+  /**
+   * Caches views derived from this manifest, such as its title, launch URL and sequencing usage.
+   * The cache is cleared by every setter and by {@link #invalidateDerivedViews()}.
+   */
+  @JsonIgnore
+  private transient DerivedViewCache derivedViews;
+
   /**
    * Default constructor for the Scorm2004Manifest class. This constructor initializes an instance
    * of the Scorm2004Manifest without any additional setup or parameters.
@@ -358,75 +365,49 @@ public final class Scorm2004Manifest implements PackageManifest {
 
   /**
    * Returns the title of the content package, which is typically the name or title of the course.
+   * <p>
+   * The title is memoized; call {@link #invalidateDerivedViews()} after editing the organizations
+   * or metadata in place.
+   * </p>
    *
    * @return the title of the content package
    */
   @Override
   @JsonIgnore
   public String getTitle() {
-    //noinspection DuplicatedCode
-    String organizationTitle = Optional
-        .ofNullable(organizations)
-        .map(Scorm2004Organizations::getDefault)
-        .map(Scorm2004Organization::getTitle)
-        .orElse(null);
-    if (organizationTitle != null && !organizationTitle.isEmpty()) {
-      return organizationTitle;
-    }
-
-    return Optional
-        .ofNullable(metadata)
-        .map(Scorm2004CourseMetadata::getLom)
-        .map(LOM::getTitle)
-        .orElse(null);
+    return derivedViews().get("title", this::computeTitle);
   }
 
   /**
    * Returns the description of the content package, which is typically a summary or overview of the
    * content.
+   * <p>
+   * The description is memoized; call {@link #invalidateDerivedViews()} after editing the metadata
+   * in place.
+   * </p>
    *
    * @return the description of the content package
    */
   @Override
   @JsonIgnore
   public String getDescription() {
-    return Optional
-        .ofNullable(metadata)
-        .map(Scorm2004CourseMetadata::getLom)
-        .map(LOM::getDescription)
-        .orElse(null);
+    return derivedViews().get("description", this::computeDescription);
   }
 
   /**
    * Returns the launch URL for the content package, which is typically the URL of the first
    * resource in the package.
+   * <p>
+   * The launch URL is memoized; call {@link #invalidateDerivedViews()} after editing the
+   * organizations or resources in place.
+   * </p>
    *
    * @return the launch URL for the content package
    */
   @Override
   @JsonIgnore
   public String getLaunchUrl() {
-    // Resolve launch URL by walking the default organization items and using identifierref → resource href
-    //noinspection DuplicatedCode
-    List<String> resourceIds = Optional
-        .ofNullable(organizations)
-        .map(Scorm2004Organizations::getDefault)
-        .map(Scorm2004Organization::getItems)
-        .map(this::findAllItemsWithIdentifierRef)
-        .orElse(List.of());
-
-    for (String resourceId : resourceIds) {
-      String href = Optional
-          .ofNullable(resources)
-          .flatMap(r -> r.getResourceById(resourceId))
-          .map(Scorm2004Resource::getHref)
-          .orElse(null);
-      if (href != null && !href.isEmpty()) {
-        return href;
-      }
-    }
-
-    return null;
+    return derivedViews().get("launchUrl", this::computeLaunchUrl);
   }
 
   /**
@@ -450,14 +431,7 @@ public final class Scorm2004Manifest implements PackageManifest {
     Scorm2004Item resourceItem = resourceItemOpt.get();
 
     // Resolve the resource referenced by this item via identifierref
-    String identifierRef = resourceItem.getIdentifierRef();
-    if (identifierRef == null || identifierRef.isEmpty()) {
-      return null;
-    }
-
-    String href = Optional
-        .ofNullable(resources)
-        .flatMap(r -> r.getResourceById(identifierRef))
+    String href = getResourceForItem(resourceItem)
         .map(Scorm2004Resource::getHref)
         .filter(x -> !x.isEmpty())
         .orElse(null);
@@ -475,29 +449,71 @@ public final class Scorm2004Manifest implements PackageManifest {
     return href;
   }
 
+  /**
+   * Retrieves the resource referenced by an item's identifierref. The item is looked up at any
+   * depth of any organization, and both lookups use the indexes kept by
+   * {@link Scorm2004Organizations} and {@link Scorm2004Resources}.
+   *
+   * @param itemId the unique identifier of the item
+   * @return an Optional containing the referenced resource, or empty if the item does not exist or
+   * does not reference an existing resource
+   */
+  @JsonIgnore
+  public Optional<Scorm2004Resource> getResourceForItem(String itemId) {
+    return Optional
+        .ofNullable(organizations)
+        .map(orgs -> orgs.getItemById(itemId))
+        .flatMap(this::getResourceForItem);
+  }
+
+  /**
+   * Discards the cached derived views of this manifest, such as its title, launch URL, global
+   * objective IDs and sequencing usage, together with the identifier indexes of its organizations
+   * and resources.
+   * <p>
+   * Derived views are computed once per manifest instance and are cleared automatically by the
+   * setters of this class. Edits made in place to nested elements, for example an item's
+   * identifierref or a resource's href, are not detected; call this method after making them so
+   * that the next access observes the change.
+   * </p>
+   */
+  public void invalidateDerivedViews() {
+    DerivedViewCache views = derivedViews;
+    if (views != null) {
+      views.clear();
+    }
+    invalidateIndexes();
+  }
+
+  /**
+   * Discards the identifier indexes of the organizations and resources so that they are rebuilt on
+   * the next lookup. This is needed after removing items or replacing organizations or resources in
+   * place, which lookups would otherwise keep returning. Elements added or renamed in place are
+   * found without it.
+   */
+  public void invalidateIndexes() {
+    if (organizations != null) {
+      organizations.invalidateIndexes();
+    }
+    if (resources != null) {
+      resources.invalidateIndex();
+    }
+  }
+
   /**
    * Retrieves the duration of the content package in a null-safe manner. If no duration is
    * available, a default value of Duration.ZERO is returned.
+   * <p>
+   * The duration is memoized; call {@link #invalidateDerivedViews()} after editing the metadata in
+   * place.
+   * </p>
    *
    * @return the duration of the content package, or Duration.ZERO if unavailable
    */
   @Override
   @JsonIgnore
   public Duration getDuration() {
-    return Optional
-        .ofNullable(metadata)
-        .filter(m -> m.getLom() != null && m
-            .getLom()
-            .getTechnical() != null && m
-            .getLom()
-            .getTechnical()
-            .getDuration() != null)
-        .map(Scorm2004CourseMetadata::getLom)
-        .map(lom -> lom
-            .getTechnical()
-            .getDuration()
-            .getDuration())
-        .orElse(Duration.ZERO);
+    return derivedViews().get("duration", this::computeDuration);
   }
 
   /**
@@ -506,24 +522,16 @@ public final class Scorm2004Manifest implements PackageManifest {
    * A global objective ID is defined by the presence of a targetObjectiveID in a mapInfo element.
    * Global objectives are used to share data between different SCOs.
    * </p>
+   * <p>
+   * The set is part of the memoized {@link #getAnalysis() analysis}; call
+   * {@link #invalidateDerivedViews()} after editing the sequencing of items in place.
+   * </p>
    *
-   * @return A set of global objective IDs, or an empty set if none are found
+   * @return an unmodifiable set of global objective IDs, or an empty set if none are found
    */
   @JsonProperty(access = JsonProperty.Access.READ_ONLY)
   public Set<String> getGlobalObjectiveIds() {
-    if (organizations == null) {
-      return Collections.emptySet();
-    }
-
-    return organizations
-        .getOrganizationList()
-        .stream()
-        .flatMap(org -> safeStream(org.getItems())) // Null-safe stream for items
-        .flatMap(item -> Stream.concat(
-            getObjectiveMappings(item).map(Scorm2004ObjectiveMapping::getTargetObjectiveID),
-            getAdlObjectiveMappings(item).map(MapInfo::getTargetObjectiveID)))
-        .filter(id -> id != null && !id.isEmpty()) // Filter non-null and non-empty IDs
-        .collect(Collectors.toSet());
+    return getAnalysis().getGlobalObjectiveIds();
   }
 
   /**
@@ -537,21 +545,16 @@ public final class Scorm2004Manifest implements PackageManifest {
    * marked as read-only to prevent Jackson from attempting to populate it during deserialization
    * (which could cause UnsupportedOperationException due to immutable Sets).
    * </p>
+   * <p>
+   * The set is part of the memoized {@link #getAnalysis() analysis}; call
+   * {@link #invalidateDerivedViews()} after editing resources in place.
+   * </p>
    *
-   * @return A set of SCO IDs, or an empty set if none are found
+   * @return an unmodifiable set of SCO IDs, or an empty set if none are found
    */
   @JsonProperty(value = "scoids", access = JsonProperty.Access.READ_ONLY)
   public Set<String> getSCOIds() {
-    if (resources == null || resources.getResourceList() == null) {
-      return Collections.emptySet();
-    }
-
-    return resources
-        .getResourceList()
-        .stream()
-        .filter(resource -> resource.getScormType() == ScormType.SCO)
-        .map(Scorm2004Resource::getIdentifier)
-        .collect(Collectors.toSet());
+    return getAnalysis().getScoIds();
   }
 
   /**
@@ -568,6 +571,21 @@ public final class Scorm2004Manifest implements PackageManifest {
     return ActivityTree.buildFromManifest(this);
   }
 
+  /**
+   * Retrieves the flattened, array-backed activity tree for the default organization.
+   * <p>
+   * Unlike {@link #buildActivityTree()}, the flat tree is immutable, so it is built once and
+   * cached until the manifest changes. Sequencing engines that walk the tree repeatedly should
+   * prefer it.
+   * </p>
+   *
+   * @return the flat activity tree, or null if no default organization is found
+   */
+  @JsonIgnore
+  public FlatActivityTree getFlatActivityTree() {
+    return derivedViews().get("flatActivityTree", () -> FlatActivityTree.buildFromManifest(this));
+  }
+
   /**
    * Checks if this manifest uses sequencing.
    * <p>
@@ -578,9 +596,32 @@ public final class Scorm2004Manifest implements PackageManifest {
    * @return true if this manifest uses sequencing, false otherwise
    */
   public boolean usesSequencing() {
-    return SequencingUsageDetector
-        .detect(this)
-        .hasSequencing();
+    return getSequencingUsage().hasSequencing();
+  }
+
+  /**
+   * Returns the result of running the {@link SequencingUsageDetector} over this manifest. The
+   * result is part of the cached {@link #getAnalysis() analysis} and is shared by
+   * {@link #usesSequencing()}, {@link #getSequencingLevel()} and
+   * {@link #getSequencingIndicators()}.
+   *
+   * @return the sequencing usage detected in this manifest
+   */
+  @JsonIgnore
+  public SequencingUsageDetector.Result getSequencingUsage() {
+    return getAnalysis().getSequencingUsage();
+  }
+
+  /**
+   * Returns the post-parse analysis of this manifest, which derives the sequencing usage, global
+   * objective IDs, SCO IDs, delivery-control overrides and completion thresholds in a single walk.
+   * The analysis is computed on first access and cached until the manifest changes.
+   *
+   * @return the analysis of this manifest
+   */
+  @JsonIgnore
+  public Scorm2004ManifestAnalysis getAnalysis() {
+    return derivedViews().get("analysis", () -> Scorm2004ManifestAnalysis.analyze(this));
   }
 
   /**
@@ -590,9 +631,7 @@ public final class Scorm2004Manifest implements PackageManifest {
    */
   @JsonIgnore
   public SequencingUsageDetector.SequencingLevel getSequencingLevel() {
-    return SequencingUsageDetector
-        .detect(this)
-        .getLevel();
+    return getSequencingUsage().getLevel();
   }
 
   /**
@@ -602,9 +641,7 @@ public final class Scorm2004Manifest implements PackageManifest {
    */
   @JsonIgnore
   public Set<SequencingUsageDetector.SequencingIndicator> getSequencingIndicators() {
-    return SequencingUsageDetector
-        .detect(this)
-        .getIndicators();
+    return getSequencingUsage().getIndicators();
   }
 
   /**
@@ -624,6 +661,7 @@ public final class Scorm2004Manifest implements PackageManifest {
    */
   public void setIdentifier(String identifier) {
     this.identifier = identifier;
+    invalidateDerivedViews();
   }
 
   /**
@@ -643,6 +681,7 @@ public final class Scorm2004Manifest implements PackageManifest {
    */
   public void setVersion(String version) {
     this.version = version;
+    invalidateDerivedViews();
   }
 
   /**
@@ -661,6 +700,7 @@ public final class Scorm2004Manifest implements PackageManifest {
    */
   public void setMetadata(Scorm2004CourseMetadata metadata) {
     this.metadata = metadata;
+    invalidateDerivedViews();
   }
 
   /**
@@ -680,6 +720,7 @@ public final class Scorm2004Manifest implements PackageManifest {
    */
   public void setOrganizations(Scorm2004Organizations organizations) {
     this.organizations = organizations;
+    invalidateDerivedViews();
   }
 
   /**
@@ -698,6 +739,7 @@ public final class Scorm2004Manifest implements PackageManifest {
    */
   public void setResources(Scorm2004Resources resources) {
     this.resources = resources;
+    invalidateDerivedViews();
   }
 
   /**
@@ -716,6 +758,7 @@ public final class Scorm2004Manifest implements PackageManifest {
    */
   public void setSequencingCollection(SequencingCollection sequencingCollection) {
     this.sequencingCollection = sequencingCollection;
+    invalidateDerivedViews();
   }
 
   /**
@@ -735,6 +778,7 @@ public final class Scorm2004Manifest implements PackageManifest {
    */
   public void setSubManifests(List<Scorm2004Manifest> subManifests) {
     this.subManifests = subManifests;
+    invalidateDerivedViews();
   }
 
   /**
@@ -753,6 +797,7 @@ public final class Scorm2004Manifest implements PackageManifest {
    */
   public void setAdlcpNamespaceUri(String adlcpNamespaceUri) {
     this.adlcpNamespaceUri = adlcpNamespaceUri;
+    invalidateDerivedViews();
   }
 
   /**
@@ -771,6 +816,7 @@ public final class Scorm2004Manifest implements PackageManifest {
    */
   public void setImsssNamespaceUri(String imsssNamespaceUri) {
     this.imsssNamespaceUri = imsssNamespaceUri;
+    invalidateDerivedViews();
   }
 
   /**
@@ -789,6 +835,7 @@ public final class Scorm2004Manifest implements PackageManifest {
    */
   public void setAdlseqNamespaceUri(String adlseqNamespaceUri) {
     this.adlseqNamespaceUri = adlseqNamespaceUri;
+    invalidateDerivedViews();
   }
 
   /**
@@ -807,6 +854,7 @@ public final class Scorm2004Manifest implements PackageManifest {
    */
   public void setAdlnavNamespaceUri(String adlnavNamespaceUri) {
     this.adlnavNamespaceUri = adlnavNamespaceUri;
+    invalidateDerivedViews();
   }
 
   /**
@@ -826,6 +874,7 @@ public final class Scorm2004Manifest implements PackageManifest {
    */
   public void setSchemaLocation(String schemaLocation) {
     this.schemaLocation = schemaLocation;
+    invalidateDerivedViews();
   }
 
   @Override
@@ -862,55 +911,94 @@ public final class Scorm2004Manifest implements PackageManifest {
         .toHashCode();
   }
 
-  /**
-   * Retrieves the list of objectives from a given item in a null-safe manner.
-   *
-   * @param item The SCORM item to retrieve objectives from.
-   * @return A list of objectives, or an empty list if null.
-   */
-  private Stream<Scorm2004ObjectiveMapping> getObjectiveMappings(Scorm2004Item item) {
-    if (item.getSequencing() != null && item
-        .getSequencing()
-        .getObjectives() != null) {
-      var objectives = item
-          .getSequencing()
-          .getObjectives();
-      return Stream
-          .concat(Stream.ofNullable(objectives.getPrimaryObjective()),
-              safeStream(objectives.getObjectiveList()))
-          .flatMap(objective -> safeStream(objective.getMapInfo()));
+  private DerivedViewCache derivedViews() {
+    DerivedViewCache views = derivedViews;
+    if (views == null) {
+      views = new DerivedViewCache();
+      derivedViews = views;
     }
-    return Stream.empty();
+    return views;
   }
 
-  /**
-   * Retrieves ADL mapInfo entries from a given item in a null-safe manner.
-   *
-   * @param item The SCORM item to retrieve ADL objective mappings from.
-   * @return A stream of ADL mapInfo entries, or an empty stream if none exist.
-   */
-  private Stream<MapInfo> getAdlObjectiveMappings(Scorm2004Item item) {
-    if (item.getSequencing() != null && item
-        .getSequencing()
-        .getAdlObjectives() != null) {
-      return safeStream(item
-          .getSequencing()
-          .getAdlObjectives()
-          .getObjectiveList())
-          .flatMap((ADLObjective objective) -> safeStream(objective.getMapInfoList()));
+  private String computeTitle() {
+    //noinspection DuplicatedCode
+    String organizationTitle = Optional
+        .ofNullable(organizations)
+        .map(Scorm2004Organizations::getDefault)
+        .map(Scorm2004Organization::getTitle)
+        .orElse(null);
+    if (organizationTitle != null && !organizationTitle.isEmpty()) {
+      return organizationTitle;
+    }
+
+    return Optional
+        .ofNullable(metadata)
+        .map(Scorm2004CourseMetadata::getLom)
+        .map(LOM::getTitle)
+        .orElse(null);
+  }
+
+  private String computeDescription() {
+    return Optional
+        .ofNullable(metadata)
+        .map(Scorm2004CourseMetadata::getLom)
+        .map(LOM::getDescription)
+        .orElse(null);
+  }
+
+  private String computeLaunchUrl() {
+    // Resolve launch URL by walking the default organization items and using identifierref → resource href
+    //noinspection DuplicatedCode
+    List<String> resourceIds = Optional
+        .ofNullable(organizations)
+        .map(Scorm2004Organizations::getDefault)
+        .map(Scorm2004Organization::getItems)
+        .map(this::findAllItemsWithIdentifierRef)
+        .orElse(List.of());
+
+    for (String resourceId : resourceIds) {
+      String href = Optional
+          .ofNullable(resources)
+          .flatMap(r -> r.getResourceById(resourceId))
+          .map(Scorm2004Resource::getHref)
+          .orElse(null);
+      if (href != null && !href.isEmpty()) {
+        return href;
+      }
     }
-    return Stream.empty();
+
+    return null;
+  }
+
+  private Duration computeDuration() {
+    return Optional
+        .ofNullable(metadata)
+        .filter(m -> m.getLom() != null && m
+            .getLom()
+            .getTechnical() != null && m
+            .getLom()
+            .getTechnical()
+            .getDuration() != null)
+        .map(Scorm2004CourseMetadata::getLom)
+        .map(lom -> lom
+            .getTechnical()
+            .getDuration()
+            .getDuration())
+        .orElse(Duration.ZERO);
   }
 
   /**
-   * Wraps a potentially null collection in a stream.
+   * Resolves the resource referenced by the given item's identifierref.
    *
-   * @param collection The collection to wrap.
-   * @param <T> The type of elements in the collection.
-   * @return A stream of elements, or an empty stream if the collection is null.
+   * @param item the item whose resource to resolve
+   * @return an Optional containing the referenced resource, or empty if there is none
    */
-  private <T> Stream<T> safeStream(Collection<T> collection) {
-    return collection != null ? collection.stream() : Stream.empty();
+  private Optional<Scorm2004Resource> getResourceForItem(Scorm2004Item item) {
+    String identifierRef = item.getIdentifierRef();
+    if (identifierRef == null || identifierRef.isEmpty() || resources == null) {
+      return Optional.empty();
+    }
+    return resources.getResourceById(identifierRef);
   }
 
   /**
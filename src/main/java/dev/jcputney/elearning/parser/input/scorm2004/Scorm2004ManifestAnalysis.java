@@ -0,0 +1,309 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.input.scorm2004;
+
+import dev.jcputney.elearning.parser.input.scorm2004.adl.cp.CompletionThreshold;
+import dev.jcputney.elearning.parser.input.scorm2004.adl.sequencing.ADLObjective;
+import dev.jcputney.elearning.parser.input.scorm2004.adl.sequencing.MapInfo;
+import dev.jcputney.elearning.parser.input.scorm2004.adl.types.ScormType;
+import dev.jcputney.elearning.parser.input.scorm2004.ims.cp.Scorm2004Item;
+import dev.jcputney.elearning.parser.input.scorm2004.ims.cp.Scorm2004Organization;
+import dev.jcputney.elearning.parser.input.scorm2004.ims.cp.Scorm2004Organizations;
+import dev.jcputney.elearning.parser.input.scorm2004.ims.cp.Scorm2004Resource;
+import dev.jcputney.elearning.parser.input.scorm2004.ims.ss.objective.Scorm2004Objective;
+import dev.jcputney.elearning.parser.input.scorm2004.ims.ss.objective.Scorm2004ObjectiveMapping;
+import dev.jcputney.elearning.parser.input.scorm2004.ims.ss.objective.Scorm2004Objectives;
+import dev.jcputney.elearning.parser.input.scorm2004.ims.ss.sequencing.DeliveryControls;
+import dev.jcputney.elearning.parser.input.scorm2004.ims.ss.sequencing.Sequencing;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The manifest-wide facts derived from a SCORM 2004 manifest after it is parsed, computed together
+ * in a single walk over its organizations, items and resources.
+ * <p>
+ * The analysis combines the {@link SequencingUsageDetector} result with the global objective IDs,
+ * SCO IDs, delivery-control overrides and completion thresholds that would otherwise each need
+ * their own traversal. {@link Scorm2004Manifest#getAnalysis()} computes it once and caches it until
+ * the manifest changes, and the manifest and its metadata read their derived values from it.
+ * </p>
+ * <p>
+ * This class is immutable and thread-safe.
+ * </p>
+ */
+public final class Scorm2004ManifestAnalysis {
+
+  /**
+   * The sequencing level and indicators detected in the manifest.
+   */
+  private final SequencingUsageDetector.Result sequencingUsage;
+
+  /**
+   * The targetObjectiveIDs mapped by the top-level items of every organization, in document order.
+   */
+  private final Set<String> globalObjectiveIds;
+
+  /**
+   * The identifiers of the resources whose SCORM type is SCO, in document order.
+   */
+  private final Set<String> scoIds;
+
+  /**
+   * The delivery controls that items of the default organization define or reference through the
+   * sequencing collection, keyed by item identifier in document order.
+   */
+  private final Map<String, DeliveryControls> deliveryControlOverrides;
+
+  /**
+   * The completion thresholds of items of the default organization, keyed by item identifier in
+   * document order.
+   */
+  private final Map<String, CompletionThreshold> completionThresholds;
+
+  private Scorm2004ManifestAnalysis(SequencingUsageDetector.Result sequencingUsage,
+      Set<String> globalObjectiveIds, Set<String> scoIds,
+      Map<String, DeliveryControls> deliveryControlOverrides,
+      Map<String, CompletionThreshold> completionThresholds) {
+    this.sequencingUsage = sequencingUsage;
+    this.globalObjectiveIds = Collections.unmodifiableSet(globalObjectiveIds);
+    this.scoIds = Collections.unmodifiableSet(scoIds);
+    this.deliveryControlOverrides = Collections.unmodifiableMap(deliveryControlOverrides);
+    this.completionThresholds = Collections.unmodifiableMap(completionThresholds);
+  }
+
+  /**
+   * Analyzes a SCORM 2004 manifest. The sequencing collection is inspected first so that
+   * sequencing elements referencing it by {@code IDRef} are resolved during the item walk; items
+   * are then visited in document order with an explicit stack, and resources last.
+   *
+   * @param manifest the manifest to analyze
+   * @return the analysis of the manifest
+   */
+  public static Scorm2004ManifestAnalysis analyze(Scorm2004Manifest manifest) {
+    SequencingUsageDetector.Detection detection = SequencingUsageDetector.start(manifest);
+    Set<String> globalObjectiveIds = new LinkedHashSet<>();
+    Set<String> scoIds = new LinkedHashSet<>();
+    Map<String, DeliveryControls> deliveryControlOverrides = new LinkedHashMap<>();
+    Map<String, CompletionThreshold> completionThresholds = new LinkedHashMap<>();
+
+    Scorm2004Organizations organizations = manifest.getOrganizations();
+    if (organizations != null && organizations.getOrganizationList() != null) {
+      Scorm2004Organization defaultOrg = organizations.getDefault();
+      Deque<Scorm2004Item> pending = new ArrayDeque<>();
+      for (Scorm2004Organization organization : organizations.getOrganizationList()) {
+        if (organization == null) {
+          continue;
+        }
+        detection.organization(organization);
+        boolean isDefault = organization == defaultOrg;
+
+        if (organization.getItems() == null) {
+          continue;
+        }
+        for (Scorm2004Item topLevel : organization.getItems()) {
+          if (topLevel == null) {
+            continue;
+          }
+          collectGlobalObjectiveIds(topLevel.getSequencing(), globalObjectiveIds);
+          pending.push(topLevel);
+          while (!pending.isEmpty()) {
+            Scorm2004Item item = pending.pop();
+            detection.item(item);
+            if (isDefault) {
+              recordItem(manifest, item, deliveryControlOverrides, completionThresholds);
+            }
+            pushReversed(item.getItems(), pending);
+          }
+        }
+      }
+    }
+
+    if (manifest.getResources() != null && manifest
+        .getResources()
+        .getResourceList() != null) {
+      for (Scorm2004Resource resource : manifest
+          .getResources()
+          .getResourceList()) {
+        if (resource != null && resource.getScormType() == ScormType.SCO) {
+          detection.scoResource();
+          if (resource.getIdentifier() != null) {
+            scoIds.add(resource.getIdentifier());
+          }
+        }
+      }
+    }
+
+    return new Scorm2004ManifestAnalysis(detection.finish(), globalObjectiveIds, scoIds,
+        deliveryControlOverrides, completionThresholds);
+  }
+
+  /**
+   * Retrieves the sequencing level and indicators detected in the manifest.
+   *
+   * @return the sequencing usage
+   */
+  public SequencingUsageDetector.Result getSequencingUsage() {
+    return this.sequencingUsage;
+  }
+
+  /**
+   * Retrieves the global objective IDs of the manifest, which are the targetObjectiveIDs of the
+   * IMSSS and ADL objective maps of the top-level items of every organization.
+   *
+   * @return an unmodifiable set of global objective IDs, in document order
+   */
+  public Set<String> getGlobalObjectiveIds() {
+    return this.globalObjectiveIds;
+  }
+
+  /**
+   * Retrieves the identifiers of the resources whose SCORM type is SCO.
+   *
+   * @return an unmodifiable set of SCO IDs, in document order
+   */
+  public Set<String> getScoIds() {
+    return this.scoIds;
+  }
+
+  /**
+   * Retrieves the delivery controls that override the defaults for items of the default
+   * organization. Controls defined on an item take precedence over controls its sequencing
+   * references in the sequencing collection.
+   *
+   * @return an unmodifiable map from item identifier to the delivery controls it resolves to
+   */
+  public Map<String, DeliveryControls> getDeliveryControlOverrides() {
+    return this.deliveryControlOverrides;
+  }
+
+  /**
+   * Retrieves the completion thresholds defined by items of the default organization.
+   *
+   * @return an unmodifiable map from item identifier to completion threshold
+   */
+  public Map<String, CompletionThreshold> getCompletionThresholds() {
+    return this.completionThresholds;
+  }
+
+  @Override
+  public String toString() {
+    return "Scorm2004ManifestAnalysis{"
+        + "sequencingLevel=" + this.sequencingUsage.getLevel()
+        + ", globalObjectiveIds=" + this.globalObjectiveIds
+        + ", scoIds=" + this.scoIds
+        + ", deliveryControlOverrides=" + this.deliveryControlOverrides.keySet()
+        + ", completionThresholds=" + this.completionThresholds.keySet()
+        + '}';
+  }
+
+  /**
+   * Records the delivery controls and completion threshold of an item of the default organization.
+   */
+  private static void recordItem(Scorm2004Manifest manifest, Scorm2004Item item,
+      Map<String, DeliveryControls> deliveryControlOverrides,
+      Map<String, CompletionThreshold> completionThresholds) {
+    String itemId = item.getIdentifier();
+    if (itemId == null || itemId.isEmpty()) {
+      return;
+    }
+    DeliveryControls deliveryControls = resolveDeliveryControls(manifest, item.getSequencing());
+    if (deliveryControls != null) {
+      deliveryControlOverrides.put(itemId, deliveryControls);
+    }
+    if (item.getCompletionThreshold() != null) {
+      completionThresholds.put(itemId, item.getCompletionThreshold());
+    }
+  }
+
+  /**
+   * Resolves the delivery controls of a sequencing element, falling back to the sequencing
+   * collection entry it references when it defines none itself.
+   */
+  private static DeliveryControls resolveDeliveryControls(Scorm2004Manifest manifest,
+      Sequencing sequencing) {
+    if (sequencing == null) {
+      return null;
+    }
+    DeliveryControls deliveryControls = sequencing.getDeliveryControls();
+    if (deliveryControls == null && sequencing.getIdRef() != null
+        && manifest.getSequencingCollection() != null) {
+      deliveryControls = manifest
+          .getSequencingCollection()
+          .resolveDeliveryControlsById(sequencing.getIdRef());
+    }
+    return deliveryControls;
+  }
+
+  /**
+   * Adds the non-empty targetObjectiveIDs mapped by the IMSSS and ADL objectives of a sequencing
+   * element.
+   */
+  private static void collectGlobalObjectiveIds(Sequencing sequencing, Set<String> target) {
+    if (sequencing == null) {
+      return;
+    }
+    Scorm2004Objectives objectives = sequencing.getObjectives();
+    if (objectives != null) {
+      addMappedTargets(objectives.getPrimaryObjective(), target);
+      if (objectives.getObjectiveList() != null) {
+        for (Scorm2004Objective objective : objectives.getObjectiveList()) {
+          addMappedTargets(objective, target);
+        }
+      }
+    }
+    if (sequencing.getAdlObjectives() != null && sequencing
+        .getAdlObjectives()
+        .getObjectiveList() != null) {
+      for (ADLObjective objective : sequencing
+          .getAdlObjectives()
+          .getObjectiveList()) {
+        if (objective != null && objective.getMapInfoList() != null) {
+          for (MapInfo mapInfo : objective.getMapInfoList()) {
+            addIfPresent(mapInfo == null ? null : mapInfo.getTargetObjectiveID(), target);
+          }
+        }
+      }
+    }
+  }
+
+  private static void addMappedTargets(Scorm2004Objective objective, Set<String> target) {
+    if (objective == null || objective.getMapInfo() == null) {
+      return;
+    }
+    for (Scorm2004ObjectiveMapping mapping : objective.getMapInfo()) {
+      addIfPresent(mapping == null ? null : mapping.getTargetObjectiveID(), target);
+    }
+  }
+
+  private static void addIfPresent(String id, Set<String> target) {
+    if (id != null && !id.isEmpty()) {
+      target.add(id);
+    }
+  }
+
+  private static void pushReversed(List<Scorm2004Item> items, Deque<Scorm2004Item> pending) {
+    if (items == null) {
+      return;
+    }
+    for (int i = items.size() - 1; i >= 0; i--) {
+      Scorm2004Item item = items.get(i);
+      if (item != null) {
+        pending.push(item);
+      }
+    }
+  }
+}
@@ -0,0 +1,386 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.input.scorm2004;
+
+import dev.jcputney.elearning.parser.input.scorm2004.ims.cp.Scorm2004Item;
+import dev.jcputney.elearning.parser.input.scorm2004.ims.cp.Scorm2004Organization;
+import dev.jcputney.elearning.parser.input.scorm2004.ims.cp.Scorm2004Organizations;
+import dev.jcputney.elearning.parser.input.scorm2004.ims.cp.Scorm2004Resource;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Describes which parts of a SCORM 2004 manifest changed between two parses of the same package.
+ * <p>
+ * Organizations, items and resources are matched by identifier and compared by a content hash of
+ * their own state. An item's own state includes the identifiers of its direct children but not the
+ * children themselves, so editing a leaf item marks only that item as changed while moving or
+ * adding an item marks its parent as changed. Added and removed identifiers are reported as
+ * changed.
+ * </p>
+ * <p>
+ * Hash matches are confirmed with an equality check, so a hash collision can never cause a changed
+ * subtree to be reported as unchanged.
+ * </p>
+ */
+public final class Scorm2004ManifestDiff {
+
+  private final boolean headerChanged;
+  private final boolean sequencingCollectionChanged;
+  private final boolean organizationsChanged;
+  private final boolean organizationIdsChanged;
+  private final boolean resourceIdsChanged;
+  private final Set<String> changedOrganizations;
+  private final Set<String> changedItems;
+  private final Set<String> changedResources;
+
+  private Scorm2004ManifestDiff(boolean headerChanged, boolean sequencingCollectionChanged,
+      boolean organizationsChanged, boolean organizationIdsChanged, boolean resourceIdsChanged,
+      Set<String> changedOrganizations, Set<String> changedItems, Set<String> changedResources) {
+    this.headerChanged = headerChanged;
+    this.sequencingCollectionChanged = sequencingCollectionChanged;
+    this.organizationsChanged = organizationsChanged;
+    this.organizationIdsChanged = organizationIdsChanged;
+    this.resourceIdsChanged = resourceIdsChanged;
+    this.changedOrganizations = Collections.unmodifiableSet(changedOrganizations);
+    this.changedItems = Collections.unmodifiableSet(changedItems);
+    this.changedResources = Collections.unmodifiableSet(changedResources);
+  }
+
+  /**
+   * Computes the differences between a previously parsed manifest and a newly parsed one.
+   *
+   * @param previous the manifest from the previous parse
+   * @param current the newly parsed manifest
+   * @return the differences between the two manifests
+   * @throws IllegalArgumentException if either manifest is null
+   */
+  public static Scorm2004ManifestDiff compute(Scorm2004Manifest previous,
+      Scorm2004Manifest current) {
+    if (previous == null || current == null) {
+      throw new IllegalArgumentException("Manifests to compare cannot be null");
+    }
+
+    boolean headerChanged = !Objects.equals(previous.getIdentifier(), current.getIdentifier())
+        || !Objects.equals(previous.getVersion(), current.getVersion())
+        || !Objects.equals(previous.getMetadata(), current.getMetadata())
+        || !Objects.equals(previous.getAdlcpNamespaceUri(), current.getAdlcpNamespaceUri())
+        || !Objects.equals(previous.getImsssNamespaceUri(), current.getImsssNamespaceUri())
+        || !Objects.equals(previous.getAdlseqNamespaceUri(), current.getAdlseqNamespaceUri())
+        || !Objects.equals(previous.getAdlnavNamespaceUri(), current.getAdlnavNamespaceUri())
+        || !Objects.equals(previous.getSchemaLocation(), current.getSchemaLocation())
+        || !Objects.equals(previous.getSubManifests(), current.getSubManifests());
+    boolean sequencingCollectionChanged = !Objects.equals(previous.getSequencingCollection(),
+        current.getSequencingCollection());
+
+    List<Scorm2004Organization> previousOrganizations = organizationList(previous);
+    List<Scorm2004Organization> currentOrganizations = organizationList(current);
+    List<String> previousOrganizationIds = previousOrganizations
+        .stream()
+        .map(Scorm2004Organization::getIdentifier)
+        .toList();
+    List<String> currentOrganizationIds = currentOrganizations
+        .stream()
+        .map(Scorm2004Organization::getIdentifier)
+        .toList();
+    boolean organizationIdsChanged = !previousOrganizationIds.equals(currentOrganizationIds);
+
+    Set<String> changedOrganizations = diffStates(
+        organizationStates(previousOrganizations), organizationStates(currentOrganizations));
+    Set<String> changedItems = diffStates(itemStates(previousOrganizations),
+        itemStates(currentOrganizations));
+
+    boolean organizationsChanged = organizationIdsChanged || !changedOrganizations.isEmpty()
+        || (previous.getOrganizations() == null) != (current.getOrganizations() == null)
+        || !Objects.equals(defaultOrganization(previous), defaultOrganization(current));
+
+    List<Scorm2004Resource> previousResources = resourceList(previous);
+    List<Scorm2004Resource> currentResources = resourceList(current);
+    boolean resourceIdsChanged = !previousResources
+        .stream()
+        .map(Scorm2004Resource::getIdentifier)
+        .toList()
+        .equals(currentResources
+            .stream()
+            .map(Scorm2004Resource::getIdentifier)
+            .toList());
+    Set<String> changedResources = diffStates(resourceStates(previousResources),
+        resourceStates(currentResources));
+    if (!Objects.equals(resourcesBase(previous), resourcesBase(current))) {
+      currentResources.forEach(resource -> changedResources.add(resource.getIdentifier()));
+    }
+
+    return new Scorm2004ManifestDiff(headerChanged, sequencingCollectionChanged,
+        organizationsChanged, organizationIdsChanged, resourceIdsChanged, changedOrganizations,
+        changedItems, changedResources);
+  }
+
+  /**
+   * Checks whether the two manifests are equivalent.
+   *
+   * @return true if nothing changed between the two manifests
+   */
+  public boolean isEmpty() {
+    return !headerChanged && !sequencingCollectionChanged && !organizationsChanged
+        && !resourceIdsChanged && changedItems.isEmpty() && changedResources.isEmpty();
+  }
+
+  /**
+   * Checks whether manifest-level attributes, course metadata, namespace declarations or
+   * sub-manifests changed.
+   *
+   * @return true if the manifest header changed
+   */
+  public boolean isHeaderChanged() {
+    return headerChanged;
+  }
+
+  /**
+   * Checks whether the shared sequencing collection changed.
+   *
+   * @return true if the sequencing collection changed
+   */
+  public boolean isSequencingCollectionChanged() {
+    return sequencingCollectionChanged;
+  }
+
+  /**
+   * Checks whether the organizations element changed, including its default organization, the
+   * order or set of organizations, or the own state of any organization.
+   *
+   * @return true if the organizations element changed
+   */
+  public boolean isOrganizationsChanged() {
+    return organizationsChanged;
+  }
+
+  /**
+   * Checks whether the ordered list of organization identifiers changed.
+   *
+   * @return true if organizations were added, removed, renamed or reordered
+   */
+  public boolean isOrganizationIdsChanged() {
+    return organizationIdsChanged;
+  }
+
+  /**
+   * Checks whether the ordered list of resource identifiers changed.
+   *
+   * @return true if resources were added, removed, renamed or reordered
+   */
+  public boolean isResourceIdsChanged() {
+    return resourceIdsChanged;
+  }
+
+  /**
+   * Checks whether any item in any organization changed.
+   *
+   * @return true if at least one item was added, removed or modified
+   */
+  public boolean isItemsChanged() {
+    return !changedItems.isEmpty();
+  }
+
+  /**
+   * Checks whether any resource changed.
+   *
+   * @return true if at least one resource was added, removed or modified
+   */
+  public boolean isResourcesChanged() {
+    return resourceIdsChanged || !changedResources.isEmpty();
+  }
+
+  /**
+   * Retrieves the identifiers of organizations whose own state changed.
+   *
+   * @return an unmodifiable set of changed, added or removed organization identifiers
+   */
+  public Set<String> getChangedOrganizations() {
+    return changedOrganizations;
+  }
+
+  /**
+   * Retrieves the identifiers of items whose own state changed.
+   *
+   * @return an unmodifiable set of changed, added or removed item identifiers
+   */
+  public Set<String> getChangedItems() {
+    return changedItems;
+  }
+
+  /**
+   * Retrieves the identifiers of resources that changed.
+   *
+   * @return an unmodifiable set of changed, added or removed resource identifiers
+   */
+  public Set<String> getChangedResources() {
+    return changedResources;
+  }
+
+  private static Set<String> diffStates(Map<String, Object[]> previous,
+      Map<String, Object[]> current) {
+    Set<String> changed = new LinkedHashSet<>();
+    for (Map.Entry<String, Object[]> entry : current.entrySet()) {
+      Object[] previousState = previous.get(entry.getKey());
+      Object[] currentState = entry.getValue();
+      if (previousState == null
+          || Arrays.hashCode(previousState) != Arrays.hashCode(currentState)
+          || !Arrays.equals(previousState, currentState)) {
+        changed.add(entry.getKey());
+      }
+    }
+    for (String id : previous.keySet()) {
+      if (!current.containsKey(id)) {
+        changed.add(id);
+      }
+    }
+    return changed;
+  }
+
+  private static Map<String, Object[]> organizationStates(
+      List<Scorm2004Organization> organizations) {
+    Map<String, Object[]> states = new LinkedHashMap<>();
+    for (Scorm2004Organization organization : organizations) {
+      putState(states, organization.getIdentifier(), new Object[]{
+          organization.getIdentifier(),
+          organization.getStructure(),
+          organization.getTitle(),
+          childIds(organization.getItems()),
+          organization.isObjectivesGlobalToSystemSpecified()
+              ? organization.isObjectivesGlobalToSystem() : null,
+          organization.isSharedDataGlobalToSystem(),
+          organization.getMetadata(),
+          organization.getSequencing()
+      });
+    }
+    return states;
+  }
+
+  private static Map<String, Object[]> itemStates(List<Scorm2004Organization> organizations) {
+    Map<String, Object[]> states = new LinkedHashMap<>();
+    ArrayDeque<Scorm2004Item> stack = new ArrayDeque<>();
+    for (Scorm2004Organization organization : organizations) {
+      if (organization.getItems() != null) {
+        organization
+            .getItems()
+            .forEach(stack::addLast);
+      }
+    }
+    while (!stack.isEmpty()) {
+      Scorm2004Item item = stack.pollFirst();
+      if (item == null) {
+        continue;
+      }
+      putState(states, item.getIdentifier(), new Object[]{
+          item.getIdentifier(),
+          item.getIdentifierRef(),
+          item.isVisible(),
+          item.getParameters(),
+          item.getTitle(),
+          childIds(item.getItems()),
+          item.getData(),
+          item.getCompletionThreshold(),
+          item.getSequencing(),
+          item.getMetadata(),
+          item.getPresentation(),
+          item.getMasteryScore(),
+          item.getPrerequisites(),
+          item.getTimeLimitAction(),
+          item.getDataFromLMS()
+      });
+      if (item.getItems() != null) {
+        item
+            .getItems()
+            .forEach(stack::addLast);
+      }
+    }
+    return states;
+  }
+
+  private static Map<String, Object[]> resourceStates(List<Scorm2004Resource> resources) {
+    Map<String, Object[]> states = new LinkedHashMap<>();
+    for (Scorm2004Resource resource : resources) {
+      putState(states, resource.getIdentifier(), new Object[]{resource});
+    }
+    return states;
+  }
+
+  /**
+   * Records the state of an identified element. Elements sharing an identifier are folded into a
+   * single combined state so that any edit to one of them is still detected.
+   */
+  private static void putState(Map<String, Object[]> states, String id, Object[] state) {
+    states.merge(String.valueOf(id), state, (existing, added) -> {
+      Object[] combined = Arrays.copyOf(existing, existing.length + added.length);
+      System.arraycopy(added, 0, combined, existing.length, added.length);
+      return combined;
+    });
+  }
+
+  private static List<String> childIds(List<Scorm2004Item> items) {
+    if (items == null || items.isEmpty()) {
+      return List.of();
+    }
+    List<String> ids = new ArrayList<>(items.size());
+    for (Scorm2004Item item : items) {
+      ids.add(item != null ? item.getIdentifier() : null);
+    }
+    return ids;
+  }
+
+  private static List<Scorm2004Organization> organizationList(Scorm2004Manifest manifest) {
+    if (manifest.getOrganizations() == null
+        || manifest
+        .getOrganizations()
+        .getOrganizationList() == null) {
+      return List.of();
+    }
+    return manifest
+        .getOrganizations()
+        .getOrganizationList()
+        .stream()
+        .filter(Objects::nonNull)
+        .toList();
+  }
+
+  private static List<Scorm2004Resource> resourceList(Scorm2004Manifest manifest) {
+    if (manifest.getResources() == null || manifest
+        .getResources()
+        .getResourceList() == null) {
+      return List.of();
+    }
+    return manifest
+        .getResources()
+        .getResourceList()
+        .stream()
+        .filter(Objects::nonNull)
+        .toList();
+  }
+
+  private static String defaultOrganization(Scorm2004Manifest manifest) {
+    Scorm2004Organizations organizations = manifest.getOrganizations();
+    return organizations != null ? organizations.getDefaultOrganization() : null;
+  }
+
+  private static String resourcesBase(Scorm2004Manifest manifest) {
+    return manifest.getResources() != null ? manifest
+        .getResources()
+        .getBase() : null;
+  }
+}
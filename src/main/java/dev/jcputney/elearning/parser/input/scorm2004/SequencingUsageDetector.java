@@ -17,12 +17,8 @@ import dev.jcputney.elearning.parser.input.scorm2004.adl.navigation.Presentation
 import dev.jcputney.elearning.parser.input.scorm2004.adl.sequencing.ADLObjectives;
 import dev.jcputney.elearning.parser.input.scorm2004.adl.sequencing.ConstrainChoiceConsiderations;
 import dev.jcputney.elearning.parser.input.scorm2004.adl.sequencing.RollupConsiderations;
-import dev.jcputney.elearning.parser.input.scorm2004.adl.types.ScormType;
 import dev.jcputney.elearning.parser.input.scorm2004.ims.cp.Scorm2004Item;
 import dev.jcputney.elearning.parser.input.scorm2004.ims.cp.Scorm2004Organization;
-import dev.jcputney.elearning.parser.input.scorm2004.ims.cp.Scorm2004Organizations;
-import dev.jcputney.elearning.parser.input.scorm2004.ims.cp.Scorm2004Resource;
-import dev.jcputney.elearning.parser.input.scorm2004.ims.cp.Scorm2004Resources;
 import dev.jcputney.elearning.parser.input.scorm2004.ims.ss.objective.Scorm2004Objectives;
 import dev.jcputney.elearning.parser.input.scorm2004.ims.ss.random.RandomizationControls;
 import dev.jcputney.elearning.parser.input.scorm2004.ims.ss.rollup.RollupRules;
@@ -37,7 +33,6 @@ import dev.jcputney.elearning.parser.input.scorm2004.ims.ss.sequencing.Sequencin
 import dev.jcputney.elearning.parser.input.scorm2004.ims.ss.types.RandomizationTiming;
 import java.time.Duration;
 import java.time.Instant;
-import java.util.Collection;
 import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.List;
@@ -75,28 +70,39 @@ public final class SequencingUsageDetector {
    * <p>
    * This method analyzes the manifest and its components to determine various sequencing indicators
    * and assigns an appropriate sequencing level based on the presence of sequencing content or
-   * structures in the manifest.
+   * structures in the manifest. The manifest is walked by {@link Scorm2004ManifestAnalysis}, which
+   * derives the other manifest-wide facts in the same pass; callers holding a manifest should
+   * prefer {@link Scorm2004Manifest#getSequencingUsage()}, which reuses the cached analysis.
    *
    * @param manifest the SCORM 2004 manifest to be analyzed; can be null
    * @return a {@code Result} object containing the determined sequencing level and the set of
    * detected sequencing indicators
    */
   public static Result detect(Scorm2004Manifest manifest) {
-    EnumSet<SequencingIndicator> indicators = EnumSet.noneOf(SequencingIndicator.class);
     if (manifest == null) {
-      return new Result(SequencingLevel.NONE, indicators);
+      return new Result(SequencingLevel.NONE, EnumSet.noneOf(SequencingIndicator.class));
     }
+    return Scorm2004ManifestAnalysis
+        .analyze(manifest)
+        .getSequencingUsage();
+  }
 
-    DetectionState state = new DetectionState();
-
-    detectNamespaceIndicators(manifest, indicators);
-    detectSchemaLocationIndicators(manifest.getSchemaLocation(), indicators);
-    inspectSequencingCollection(manifest.getSequencingCollection(), indicators, state);
-    inspectOrganizations(manifest.getOrganizations(), indicators, state);
-    inspectResources(manifest.getResources(), indicators, state);
-
-    SequencingLevel level = determineLevel(state);
-    return new Result(level, indicators);
+  /**
+   * Starts an incremental detection over a manifest. The namespace, schema location and sequencing
+   * collection of the manifest are inspected immediately; the caller then reports every
+   * organization, item and SCO resource while walking the manifest, and calls
+   * {@link Detection#finish()} to obtain the result.
+   *
+   * @param manifest the SCORM 2004 manifest being walked
+   * @return the detection in progress
+   */
+  static Detection start(Scorm2004Manifest manifest) {
+    Detection detection = new Detection();
+    detectNamespaceIndicators(manifest, detection.indicators);
+    detectSchemaLocationIndicators(manifest.getSchemaLocation(), detection.indicators);
+    inspectSequencingCollection(manifest.getSequencingCollection(), detection.indicators,
+        detection.state);
+    return detection;
   }
 
   /**
@@ -162,68 +168,6 @@ public final class SequencingUsageDetector {
         .forEach(seq -> inspectSequencing(seq, state, indicators, false, true));
   }
 
-  /**
-   * Inspects the provided SCORM 2004 organizations object to evaluate sequencing and objectives
-   * information, updating the specified indicators and detection state.
-   *
-   * @param organizations the SCORM 2004 organizations object to inspect; can contain a list of
-   * organizations.
-   * @param indicators an EnumSet to collect sequencing indicators; updated during inspection.
-   * @param state the current state of detection operations, used and updated during the process.
-   */
-  private static void inspectOrganizations(Scorm2004Organizations organizations,
-      EnumSet<SequencingIndicator> indicators,
-      DetectionState state) {
-    if (organizations == null || !isNotEmpty(organizations.getOrganizationList())) {
-      return;
-    }
-    for (Scorm2004Organization organization : organizations.getOrganizationList()) {
-      if (organization == null) {
-        continue;
-      }
-      if (organization.getSequencing() != null) {
-        indicators.add(SequencingIndicator.ORGANIZATION_SEQUENCING);
-        inspectSequencing(organization.getSequencing(), state, indicators, true, false);
-      }
-      if (organization.isObjectivesGlobalToSystemSpecified()
-          && organization.isObjectivesGlobalToSystem()) {
-        indicators.add(SequencingIndicator.ORGANIZATION_OBJECTIVES_GLOBAL);
-        state.organizationObjectivesGlobal = true;
-      }
-      inspectItems(organization.getItems(), indicators, state);
-    }
-  }
-
-  /**
-   * Inspects the provided Scorm2004Resources to detect specific conditions based on the sequencing
-   * indicators and the state of the detection process.
-   *
-   * @param resources The Scorm2004Resources object containing the list of resources to inspect.
-   * @param indicators A set of sequencing indicators to update based on the inspection of the
-   * resources.
-   * @param state The DetectionState object to update with specific findings during resource
-   * inspection.
-   */
-  private static void inspectResources(Scorm2004Resources resources,
-      EnumSet<SequencingIndicator> indicators,
-      DetectionState state) {
-    if (resources == null || !isNotEmpty(resources.getResourceList())) {
-      return;
-    }
-    int scoCount = 0;
-    for (Scorm2004Resource resource : resources.getResourceList()) {
-      if (resource != null && resource.getScormType() == ScormType.SCO) {
-        scoCount++;
-      }
-    }
-    if (scoCount > 0) {
-      indicators.add(SequencingIndicator.RESOURCE_SCO);
-    }
-    if (scoCount > 1) {
-      state.hasMultipleSCOs = true;
-    }
-  }
-
   /**
    * Determines the sequencing level based on the provided DetectionState.
    *
@@ -244,32 +188,6 @@ public final class SequencingUsageDetector {
     return SequencingLevel.NONE;
   }
 
-  /**
-   * Inspects a collection of SCORM 2004 items and processes each item based on the specified
-   * sequencing indicators and detection state. Applies recursive inspection for child items.
-   *
-   * @param scormItems the collection of SCORM 2004 items to inspect; must not be null or empty
-   * @param indicators the set of sequencing indicators used during the inspection process; must not
-   * be null
-   * @param state the current detection state to be applied during the inspection process; must not
-   * be null
-   */
-  private static void inspectItems(Collection<? extends Scorm2004Item> scormItems,
-      EnumSet<SequencingIndicator> indicators, DetectionState state) {
-    if (scormItems == null || scormItems.isEmpty()) {
-      return;
-    }
-
-    for (Scorm2004Item item : scormItems) {
-      if (item == null) {
-        continue;
-      }
-      inspectSingleItem(item, indicators, state);
-      // Recurse into children
-      inspectItems(Objects.requireNonNullElse(item.getItems(), List.of()), indicators, state);
-    }
-  }
-
   /**
    * Inspect a single SCORM 2004 item and add relevant indicators.
    */
@@ -1228,6 +1146,84 @@ public final class SequencingUsageDetector {
     FULL
   }
 
+  /**
+   * A sequencing detection in progress, fed by the single walk over a manifest performed by
+   * {@link Scorm2004ManifestAnalysis}.
+   * <p>
+   * The sequencing collection is inspected when the detection starts, so sequencing elements that
+   * reference collection entries by {@code IDRef} can be resolved as they are reported.
+   */
+  static final class Detection {
+
+    /**
+     * The indicators detected so far.
+     */
+    private final EnumSet<SequencingIndicator> indicators = EnumSet.noneOf(
+        SequencingIndicator.class);
+
+    /**
+     * The detection state accumulated so far.
+     */
+    private final DetectionState state = new DetectionState();
+
+    /**
+     * The number of SCO resources reported so far.
+     */
+    private int scoCount;
+
+    private Detection() {
+    }
+
+    /**
+     * Inspects the organization-level sequencing and objectives settings of an organization. Its
+     * items are reported separately through {@link #item(Scorm2004Item)}.
+     *
+     * @param organization the organization to inspect
+     */
+    void organization(Scorm2004Organization organization) {
+      if (organization.getSequencing() != null) {
+        indicators.add(SequencingIndicator.ORGANIZATION_SEQUENCING);
+        inspectSequencing(organization.getSequencing(), state, indicators, true, false);
+      }
+      if (organization.isObjectivesGlobalToSystemSpecified()
+          && organization.isObjectivesGlobalToSystem()) {
+        indicators.add(SequencingIndicator.ORGANIZATION_OBJECTIVES_GLOBAL);
+        state.organizationObjectivesGlobal = true;
+      }
+    }
+
+    /**
+     * Inspects a single item of any organization.
+     *
+     * @param item the item to inspect
+     */
+    void item(Scorm2004Item item) {
+      inspectSingleItem(item, indicators, state);
+    }
+
+    /**
+     * Records a resource whose SCORM type is SCO.
+     */
+    void scoResource() {
+      scoCount++;
+    }
+
+    /**
+     * Completes the detection.
+     *
+     * @return the detected sequencing level and indicators
+     */
+    Result finish() {
+      if (scoCount > 0) {
+        indicators.add(SequencingIndicator.RESOURCE_SCO);
+      }
+      if (scoCount > 1) {
+        state.hasMultipleSCOs = true;
+      }
+      return new Result(determineLevel(state), indicators);
+    }
+  }
+
   /**
    * Represents the internal state used for tracking sequencing-related properties during the
    * detection process in a SCORM 2004 manifest.
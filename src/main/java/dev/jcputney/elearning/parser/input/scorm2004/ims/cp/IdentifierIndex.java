@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.input.scorm2004.ims.cp;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * A lazily built index from identifiers to elements of the content package model.
+ * <p>
+ * The index is built on the first lookup and rebuilt when the list it was built from is replaced or
+ * changes size. Hits are verified against the element's current identifier, and an element renamed
+ * since the index was built rebuilds it. A miss is confirmed by scanning the elements without
+ * building anything, as a linear search would; if the scan finds the identifier, the index was
+ * stale, for example because an element was added to a nested list or renamed, and it is rebuilt.
+ * Elements removed from nested lists in place are still returned until {@link #invalidate()} is
+ * called.
+ * </p>
+ * <p>
+ * When several elements share an identifier, the first one in document order is returned, matching
+ * a linear search. The index is safe to use from multiple threads: each build publishes an
+ * immutable snapshot, and concurrent builds only duplicate work.
+ * </p>
+ *
+ * @param <T> the type of the indexed elements
+ */
+final class IdentifierIndex<T> {
+
+  /**
+   * Extracts the identifier of an element.
+   */
+  private final Function<T, String> identifierOf;
+
+  /**
+   * Supplies the indexed elements in document order.
+   */
+  private final Supplier<Stream<T>> elements;
+
+  /**
+   * The most recently built snapshot, or null if the index must be rebuilt on the next lookup.
+   */
+  private volatile Snapshot<T> snapshot;
+
+  /**
+   * Creates an index over the given elements.
+   *
+   * @param identifierOf extracts the identifier of an element
+   * @param elements supplies the indexed elements in document order
+   */
+  IdentifierIndex(Function<T, String> identifierOf, Supplier<Stream<T>> elements) {
+    this.identifierOf = identifierOf;
+    this.elements = elements;
+  }
+
+  /**
+   * Finds the first element with the given identifier.
+   *
+   * @param id the identifier to look up
+   * @param source the list the elements are read from, used to detect replaced or resized lists
+   * @return the first element with the identifier, or null if there is none
+   */
+  T get(String id, List<?> source) {
+    if (id == null || source == null) {
+      return null;
+    }
+    Snapshot<T> current = snapshot;
+    if (current == null || current.source != source || current.size != source.size()) {
+      current = rebuild(source);
+    }
+    T hit = current.byId.get(id);
+    if (hit != null && id.equals(identifierOf.apply(hit))) {
+      return hit;
+    }
+    if (hit == null && elements
+        .get()
+        .noneMatch(element -> id.equals(identifierOf.apply(element)))) {
+      return null;
+    }
+    // The element was renamed, or another element added or renamed, after the snapshot was built
+    return rebuild(source).byId.get(id);
+  }
+
+  /**
+   * Discards the current snapshot so the index is rebuilt on the next lookup.
+   */
+  void invalidate() {
+    snapshot = null;
+  }
+
+  private Snapshot<T> rebuild(List<?> source) {
+    Map<String, T> byId = new HashMap<>();
+    elements
+        .get()
+        .forEach(element -> {
+          String id = identifierOf.apply(element);
+          if (id != null) {
+            byId.putIfAbsent(id, element);
+          }
+        });
+    Snapshot<T> built = new Snapshot<>(source, source.size(), byId);
+    snapshot = built;
+    return built;
+  }
+
+  /**
+   * An immutable view of the index for one version of the source list.
+   */
+  private record Snapshot<T>(List<?> source, int size, Map<String, T> byId) {
+
+  }
+}
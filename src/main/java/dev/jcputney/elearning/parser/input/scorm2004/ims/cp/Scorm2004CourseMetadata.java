@@ -11,12 +11,15 @@
 package dev.jcputney.elearning.parser.input.scorm2004.ims.cp;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlProperty;
 import dev.jcputney.elearning.parser.api.LoadableMetadata;
+import dev.jcputney.elearning.parser.input.lom.DeferredLom;
 import dev.jcputney.elearning.parser.input.lom.LOM;
 import dev.jcputney.elearning.parser.input.scorm2004.ADLCP;
 import dev.jcputney.elearning.parser.input.scorm2004.Scorm2004Manifest;
+import java.util.function.Supplier;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 
@@ -72,9 +75,11 @@ public final class Scorm2004CourseMetadata implements LoadableMetadata {
   /**
    * Inline metadata represented as a LOM element. This provides detailed information about the
    * course, such as the title, description, and other relevant details.
+   * <p>
+   * When external metadata is loaded lazily, the external LOM is resolved on first access.
+   * </p>
    */
-  @JacksonXmlProperty(localName = "lom", namespace = LOM.NAMESPACE_URI)
-  private LOM lom;
+  private final DeferredLom lom = new DeferredLom();
 
   /**
    * Constructs an instance of the {@code Scorm2004CourseMetadata} class.
@@ -142,11 +147,16 @@ public final class Scorm2004CourseMetadata implements LoadableMetadata {
 
   /**
    * Retrieves the LOM (Learning Object Metadata) associated with the SCORM 2004 course metadata.
+   * <p>
+   * When external metadata is loaded lazily, the first call fetches and parses the file referenced
+   * by the location, which may throw an {@link java.io.UncheckedIOException} if it cannot be read.
+   * </p>
    *
    * @return the LOM object related to the course metadata
    */
+  @JacksonXmlProperty(localName = "lom", namespace = LOM.NAMESPACE_URI)
   public LOM getLom() {
-    return this.lom;
+    return this.lom.get();
   }
 
   /**
@@ -156,7 +166,19 @@ public final class Scorm2004CourseMetadata implements LoadableMetadata {
    */
   @JacksonXmlProperty(localName = "lom", namespace = LOM.NAMESPACE_URI)
   public void setLom(LOM lom) {
-    this.lom = lom;
+    this.lom.set(lom);
+  }
+
+  /**
+   * Defers loading of the external LOM until {@link #getLom()} is first called. If the supplier
+   * returns null, the inline LOM is kept.
+   *
+   * @param lomSupplier the supplier of the external LOM
+   */
+  @Override
+  @JsonIgnore
+  public void setLomSupplier(Supplier<LOM> lomSupplier) {
+    this.lom.defer(lomSupplier);
   }
 
   @Override
@@ -169,11 +191,12 @@ public final class Scorm2004CourseMetadata implements LoadableMetadata {
       return false;
     }
 
+    // A deferred LOM is compared as it is held now, so that equality never reads a file
     return new EqualsBuilder()
         .append(getSchema(), that.getSchema())
         .append(getSchemaVersion(), that.getSchemaVersion())
         .append(getLocation(), that.getLocation())
-        .append(getLom(), that.getLom())
+        .append(lom.peek(), that.lom.peek())
         .isEquals();
   }
 
@@ -183,7 +206,7 @@ public final class Scorm2004CourseMetadata implements LoadableMetadata {
         .append(getSchema())
         .append(getSchemaVersion())
         .append(getLocation())
-        .append(getLom())
+        .append(lom.peek())
         .toHashCode();
   }
 }
\ No newline at end of file
@@ -20,7 +20,11 @@ import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlProperty;
 import dev.jcputney.elearning.parser.input.common.serialization.NormalizedIdDeserializer;
 import dev.jcputney.elearning.parser.input.scorm2004.Scorm2004Manifest;
 import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 
@@ -49,6 +53,18 @@ public final class Scorm2004Organizations implements Serializable {
   @JacksonXmlProperty(localName = "organization", namespace = Scorm2004Manifest.NAMESPACE_URI)
   private List<Scorm2004Organization> organizationList;
 
+  /**
+   * A lazily built index of organizations by identifier.
+   */
+  @JsonIgnore
+  private transient IdentifierIndex<Scorm2004Organization> organizationIndex;
+
+  /**
+   * A lazily built index of items at every depth of every organization by identifier.
+   */
+  @JsonIgnore
+  private transient IdentifierIndex<Scorm2004Item> itemIndex;
+
   /**
    * Default constructor for the Scorm2004Organizations class. This constructor initializes an
    * instance of the Scorm2004Organizations class without any initial parameters or configurations.
@@ -69,13 +85,7 @@ public final class Scorm2004Organizations implements Serializable {
       return null;
     }
 
-    return organizationList
-        .stream()
-        .filter(org -> org
-            .getIdentifier()
-            .equals(id))
-        .findFirst()
-        .orElse(null);
+    return organizationIndex().get(id, organizationList);
   }
 
   /**
@@ -98,42 +108,96 @@ public final class Scorm2004Organizations implements Serializable {
   }
 
   /**
-   * Retrieves an item by its unique identifier.
+   * Retrieves an item by its unique identifier, searching nested items of every organization. When
+   * several items share the identifier, the first one in document order is returned.
+   * <p>
+   * Lookups of present identifiers use an index that is built on first use, so they do not walk the
+   * item trees. A lookup that misses the index walks them once to pick up items added or renamed in
+   * place since it was built. Call {@link #invalidateIndexes()} after removing nested items in
+   * place.
+   * </p>
    *
    * @param itemId The unique identifier for the item.
    * @return The item with the specified identifier, or null if not found.
    */
   @JsonIgnore
   public Scorm2004Item getItemById(String itemId) {
-    Scorm2004Item result = organizationList
-        .stream()
-        .map(Scorm2004Organization::getItems)
-        .flatMap(List::stream)
-        .filter(item -> item
-            .getIdentifier()
-            .equals(itemId))
-        .findFirst()
-        .orElse(null);
-
-    if (result == null) {
-      // search child items
-      for (Scorm2004Organization org : organizationList) {
-        result = org
-            .getItems()
-            .stream()
-            .filter(item -> item
-                .getIdentifier()
-                .equals(itemId))
-            .findFirst()
-            .orElse(null);
-
-        if (result != null) {
-          break;
-        }
+    if (organizationList == null || itemId == null) {
+      return null;
+    }
+
+    return itemIndex().get(itemId, organizationList);
+  }
+
+  /**
+   * Discards the organization and item indexes so that they are rebuilt on the next lookup. This is
+   * needed after removing items in place, and after replacing an organization in the list; added
+   * and renamed items, replacing the organization list and adding or removing organizations are
+   * detected automatically.
+   */
+  public void invalidateIndexes() {
+    IdentifierIndex<Scorm2004Organization> organizations = organizationIndex;
+    if (organizations != null) {
+      organizations.invalidate();
+    }
+    IdentifierIndex<Scorm2004Item> items = itemIndex;
+    if (items != null) {
+      items.invalidate();
+    }
+  }
+
+  private IdentifierIndex<Scorm2004Organization> organizationIndex() {
+    IdentifierIndex<Scorm2004Organization> index = organizationIndex;
+    if (index == null) {
+      index = new IdentifierIndex<>(Scorm2004Organization::getIdentifier, () -> organizationList
+          .stream()
+          .filter(Objects::nonNull));
+      organizationIndex = index;
+    }
+    return index;
+  }
+
+  private IdentifierIndex<Scorm2004Item> itemIndex() {
+    IdentifierIndex<Scorm2004Item> index = itemIndex;
+    if (index == null) {
+      index = new IdentifierIndex<>(Scorm2004Item::getIdentifier, this::allItems);
+      itemIndex = index;
+    }
+    return index;
+  }
+
+  /**
+   * Streams the items of all organizations in document order (pre-order, organization by
+   * organization).
+   *
+   * @return a stream of every non-null item
+   */
+  private Stream<Scorm2004Item> allItems() {
+    Stream.Builder<Scorm2004Item> builder = Stream.builder();
+    Deque<Scorm2004Item> stack = new ArrayDeque<>();
+    for (Scorm2004Organization organization : organizationList) {
+      if (organization == null) {
+        continue;
+      }
+      pushChildren(stack, organization.getItems());
+      while (!stack.isEmpty()) {
+        Scorm2004Item item = stack.pop();
+        builder.add(item);
+        pushChildren(stack, item.getItems());
       }
     }
+    return builder.build();
+  }
 
-    return result;
+  private static void pushChildren(Deque<Scorm2004Item> stack, List<Scorm2004Item> items) {
+    if (items == null) {
+      return;
+    }
+    for (int i = items.size() - 1; i >= 0; i--) {
+      if (items.get(i) != null) {
+        stack.push(items.get(i));
+      }
+    }
   }
 
   /**
@@ -172,6 +236,7 @@ public final class Scorm2004Organizations implements Serializable {
    */
   public void setOrganizationList(List<Scorm2004Organization> organizationList) {
     this.organizationList = organizationList;
+    invalidateIndexes();
   }
 
   @Override
@@ -19,6 +19,7 @@ import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlProperty;
 import dev.jcputney.elearning.parser.input.scorm2004.Scorm2004Manifest;
 import java.io.Serializable;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
@@ -47,6 +48,12 @@ public final class Scorm2004Resources implements Serializable {
   @JacksonXmlProperty(localName = "resource", namespace = Scorm2004Manifest.NAMESPACE_URI)
   private List<Scorm2004Resource> resourceList;
 
+  /**
+   * A lazily built index of resources by identifier, used by {@link #getResourceById(String)}.
+   */
+  @JsonIgnore
+  private transient IdentifierIndex<Scorm2004Resource> resourceIndex;
+
   /**
    * Default constructor for the Scorm2004Resources class. This constructor creates an instance of
    * the Scorm2004Resources class with no initial parameters.
@@ -92,10 +99,13 @@ public final class Scorm2004Resources implements Serializable {
    */
   public void setResourceList(List<Scorm2004Resource> resourceList) {
     this.resourceList = resourceList;
+    invalidateIndex();
   }
 
   /**
-   * Retrieves a resource by its identifier.
+   * Retrieves a resource by its identifier. Lookups of present identifiers use an index that is
+   * built on first use, so they do not scan the resource list; a lookup that misses the index scans
+   * it once to pick up resources renamed in place since the index was built.
    *
    * @param id The identifier of the resource to retrieve.
    * @return An Optional containing the resource if found, or an empty Optional if not found.
@@ -105,10 +115,31 @@ public final class Scorm2004Resources implements Serializable {
     if (id == null || resourceList == null) {
       return Optional.empty();
     }
-    return resourceList
-        .stream()
-        .filter(r -> id.equals(r.getIdentifier()))
-        .findFirst();
+    return Optional.ofNullable(resourceIndex().get(id, resourceList));
+  }
+
+  /**
+   * Discards the resource index so that it is rebuilt on the next lookup. This is needed after
+   * replacing a resource in the list returned by {@link #getResourceList()}, so that the replaced
+   * resource is no longer returned. Replacing the list, adding, removing and renaming resources are
+   * detected automatically.
+   */
+  public void invalidateIndex() {
+    IdentifierIndex<Scorm2004Resource> index = resourceIndex;
+    if (index != null) {
+      index.invalidate();
+    }
+  }
+
+  private IdentifierIndex<Scorm2004Resource> resourceIndex() {
+    IdentifierIndex<Scorm2004Resource> index = resourceIndex;
+    if (index == null) {
+      index = new IdentifierIndex<>(Scorm2004Resource::getIdentifier, () -> resourceList
+          .stream()
+          .filter(Objects::nonNull));
+      resourceIndex = index;
+    }
+    return index;
   }
 
   @Override
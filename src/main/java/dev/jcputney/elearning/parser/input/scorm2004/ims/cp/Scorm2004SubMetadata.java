@@ -11,11 +11,14 @@
 package dev.jcputney.elearning.parser.input.scorm2004.ims.cp;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlProperty;
 import dev.jcputney.elearning.parser.api.LoadableMetadata;
+import dev.jcputney.elearning.parser.input.lom.DeferredLom;
 import dev.jcputney.elearning.parser.input.lom.LOM;
 import dev.jcputney.elearning.parser.input.scorm2004.ADLCP;
+import java.util.function.Supplier;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 
@@ -54,9 +57,11 @@ public final class Scorm2004SubMetadata implements LoadableMetadata {
 
   /**
    * Inline metadata represented as a LOM element.
+   * <p>
+   * When external metadata is loaded lazily, the external LOM is resolved on first access.
+   * </p>
    */
-  @JacksonXmlProperty(localName = "lom", namespace = LOM.NAMESPACE_URI)
-  private LOM lom;
+  private final DeferredLom lom = new DeferredLom();
 
   /**
    * Default constructor for the Scorm2004SubMetadata class. Creates an instance of
@@ -89,11 +94,16 @@ public final class Scorm2004SubMetadata implements LoadableMetadata {
 
   /**
    * Retrieves the inline metadata represented as a LOM (Learning Object Metadata) element.
+   * <p>
+   * When external metadata is loaded lazily, the first call fetches and parses the file referenced
+   * by the location, which may throw an {@link java.io.UncheckedIOException} if it cannot be read.
+   * </p>
    *
    * @return the LOM instance containing inline metadata
    */
+  @JacksonXmlProperty(localName = "lom", namespace = LOM.NAMESPACE_URI)
   public LOM getLom() {
-    return this.lom;
+    return this.lom.get();
   }
 
   /**
@@ -103,7 +113,19 @@ public final class Scorm2004SubMetadata implements LoadableMetadata {
    */
   @JacksonXmlProperty(localName = "lom", namespace = LOM.NAMESPACE_URI)
   public void setLom(LOM lom) {
-    this.lom = lom;
+    this.lom.set(lom);
+  }
+
+  /**
+   * Defers loading of the external LOM until {@link #getLom()} is first called. If the supplier
+   * returns null, the inline LOM is kept.
+   *
+   * @param lomSupplier the supplier of the external LOM
+   */
+  @Override
+  @JsonIgnore
+  public void setLomSupplier(Supplier<LOM> lomSupplier) {
+    this.lom.defer(lomSupplier);
   }
 
   @Override
@@ -116,9 +138,10 @@ public final class Scorm2004SubMetadata implements LoadableMetadata {
       return false;
     }
 
+    // A deferred LOM is compared as it is held now, so that equality never reads a file
     return new EqualsBuilder()
         .append(getLocation(), that.getLocation())
-        .append(getLom(), that.getLom())
+        .append(lom.peek(), that.lom.peek())
         .isEquals();
   }
 
@@ -126,7 +149,7 @@ public final class Scorm2004SubMetadata implements LoadableMetadata {
   public int hashCode() {
     return new HashCodeBuilder(17, 37)
         .append(getLocation())
-        .append(getLom())
+        .append(lom.peek())
         .toHashCode();
   }
 }
\ No newline at end of file
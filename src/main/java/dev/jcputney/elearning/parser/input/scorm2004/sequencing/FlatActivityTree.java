@@ -0,0 +1,489 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.input.scorm2004.sequencing;
+
+import dev.jcputney.elearning.parser.input.scorm2004.Scorm2004Manifest;
+import dev.jcputney.elearning.parser.input.scorm2004.ims.cp.Scorm2004Item;
+import dev.jcputney.elearning.parser.input.scorm2004.ims.cp.Scorm2004Organization;
+import dev.jcputney.elearning.parser.input.scorm2004.ims.cp.Scorm2004Organizations;
+import dev.jcputney.elearning.parser.input.scorm2004.ims.ss.sequencing.Sequencing;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable, array-backed form of the SCORM 2004 activity tree, intended for sequencing
+ * engines that walk the tree many times per learner session.
+ * <p>
+ * Activities are numbered in preorder (document order), so the organization is always activity
+ * {@link #ROOT} and the subtree of activity {@code i} is exactly the contiguous index range
+ * {@code [i, subtreeEnd(i))}. Parent, first-child and next-sibling links are stored as int arrays,
+ * which makes ancestor tests and subtree scans O(1) per step without touching any node objects.
+ * Leaves are listed once when the tree is built, in preorder.
+ * </p>
+ * <p>
+ * Unlike {@link ActivityTree}, whose nodes compare their parents and children recursively, this
+ * class uses identity-based equality: two flat trees are equal only if they are the same instance.
+ * Trees are cheap to share because they cannot change, and {@link Scorm2004Manifest} caches the one
+ * built from its default organization.
+ * </p>
+ * <p>
+ * This class is immutable and thread-safe.
+ * </p>
+ */
+public final class FlatActivityTree implements Serializable {
+
+  /**
+   * The index of the root activity, which represents the organization.
+   */
+  public static final int ROOT = 0;
+
+  /**
+   * The value returned by index lookups when there is no such activity.
+   */
+  public static final int NONE = -1;
+
+  @Serial
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * The activity identifiers, in preorder.
+   */
+  private final String[] identifiers;
+
+  /**
+   * The activity titles, in preorder.
+   */
+  private final String[] titles;
+
+  /**
+   * The identifiers of the resources referenced by the activities, in preorder.
+   */
+  private final String[] resourceIdentifiers;
+
+  /**
+   * The sequencing information of the activities, in preorder.
+   */
+  private final Sequencing[] sequencing;
+
+  /**
+   * Whether each activity is visible, in preorder.
+   */
+  private final boolean[] visible;
+
+  /**
+   * The index of each activity's parent, or {@link #NONE} for the root.
+   */
+  private final int[] parents;
+
+  /**
+   * The index of each activity's first child, or {@link #NONE} if it has no children.
+   */
+  private final int[] firstChildren;
+
+  /**
+   * The index of each activity's next sibling, or {@link #NONE} if it is the last child.
+   */
+  private final int[] nextSiblings;
+
+  /**
+   * The number of children of each activity.
+   */
+  private final int[] childCounts;
+
+  /**
+   * The exclusive end of each activity's subtree range.
+   */
+  private final int[] subtreeEnds;
+
+  /**
+   * The depth of each activity, where the root has depth zero.
+   */
+  private final int[] depths;
+
+  /**
+   * The indexes of the leaf activities, in preorder.
+   */
+  private final int[] leaves;
+
+  /**
+   * The identifiers of the leaf activities, in preorder.
+   */
+  private final List<String> leafIdentifiers;
+
+  /**
+   * The index of each activity, keyed by identifier. When identifiers repeat, the first activity in
+   * preorder wins.
+   */
+  private final Map<String, Integer> indexes;
+
+  /**
+   * Creates a flat activity tree from the preorder arrays. The parent array is the only structure
+   * supplied; every other link is derived from it.
+   */
+  private FlatActivityTree(String[] identifiers, String[] titles, String[] resourceIdentifiers,
+      Sequencing[] sequencing, boolean[] visible, int[] parents) {
+    int size = identifiers.length;
+    this.identifiers = identifiers;
+    this.titles = titles;
+    this.resourceIdentifiers = resourceIdentifiers;
+    this.sequencing = sequencing;
+    this.visible = visible;
+    this.parents = parents;
+    this.firstChildren = new int[size];
+    this.nextSiblings = new int[size];
+    this.childCounts = new int[size];
+    this.subtreeEnds = new int[size];
+    this.depths = new int[size];
+    Arrays.fill(this.firstChildren, NONE);
+    Arrays.fill(this.nextSiblings, NONE);
+
+    int[] lastChildren = new int[size];
+    Arrays.fill(lastChildren, NONE);
+    for (int i = 1; i < size; i++) {
+      int parent = parents[i];
+      if (lastChildren[parent] == NONE) {
+        this.firstChildren[parent] = i;
+      } else {
+        this.nextSiblings[lastChildren[parent]] = i;
+      }
+      lastChildren[parent] = i;
+      this.childCounts[parent]++;
+      this.depths[i] = this.depths[parent] + 1;
+    }
+
+    for (int i = size - 1; i >= 0; i--) {
+      this.subtreeEnds[i] = Math.max(this.subtreeEnds[i], i + 1);
+      if (i > ROOT) {
+        this.subtreeEnds[parents[i]] = Math.max(this.subtreeEnds[parents[i]], this.subtreeEnds[i]);
+      }
+    }
+
+    int leafCount = 0;
+    int[] leafIndexes = new int[size];
+    List<String> leafIds = new ArrayList<>();
+    Map<String, Integer> byIdentifier = new HashMap<>(size * 2);
+    for (int i = 0; i < size; i++) {
+      if (i != ROOT && this.firstChildren[i] == NONE) {
+        leafIndexes[leafCount++] = i;
+        leafIds.add(identifiers[i]);
+      }
+      if (identifiers[i] != null) {
+        byIdentifier.putIfAbsent(identifiers[i], i);
+      }
+    }
+    this.leaves = Arrays.copyOf(leafIndexes, leafCount);
+    this.leafIdentifiers = Collections.unmodifiableList(leafIds);
+    this.indexes = byIdentifier;
+  }
+
+  /**
+   * Builds a flat activity tree from the default organization of a SCORM 2004 manifest.
+   *
+   * @param manifest the manifest to build the tree from
+   * @return the flat activity tree, or null if the manifest has no default organization
+   */
+  public static FlatActivityTree buildFromManifest(Scorm2004Manifest manifest) {
+    Scorm2004Organizations organizations = manifest.getOrganizations();
+    if (organizations == null) {
+      return null;
+    }
+    Scorm2004Organization defaultOrg = organizations.getDefault();
+    if (defaultOrg == null) {
+      return null;
+    }
+    return buildFromOrganization(defaultOrg);
+  }
+
+  /**
+   * Builds a flat activity tree from a SCORM 2004 organization. The tree is walked with an
+   * explicit stack, so arbitrarily deep item nesting is supported.
+   *
+   * @param organization the organization to build the tree from
+   * @return the flat activity tree
+   */
+  public static FlatActivityTree buildFromOrganization(Scorm2004Organization organization) {
+    List<String> identifiers = new ArrayList<>();
+    List<String> titles = new ArrayList<>();
+    List<String> resourceIdentifiers = new ArrayList<>();
+    List<Sequencing> sequencing = new ArrayList<>();
+    List<Boolean> visible = new ArrayList<>();
+    List<Integer> parents = new ArrayList<>();
+
+    identifiers.add(organization.getIdentifier());
+    titles.add(organization.getTitle());
+    resourceIdentifiers.add(null);
+    sequencing.add(organization.getSequencing());
+    visible.add(Boolean.TRUE);
+    parents.add(NONE);
+
+    Deque<Scorm2004Item> pendingItems = new ArrayDeque<>();
+    Deque<Integer> pendingParents = new ArrayDeque<>();
+    pushChildren(organization.getItems(), ROOT, pendingItems, pendingParents);
+    while (!pendingItems.isEmpty()) {
+      Scorm2004Item item = pendingItems.pop();
+      int parent = pendingParents.pop();
+      int index = identifiers.size();
+      identifiers.add(item.getIdentifier());
+      titles.add(item.getTitle());
+      resourceIdentifiers.add(item.getIdentifierRef());
+      sequencing.add(item.getSequencing());
+      visible.add(item.isVisible());
+      parents.add(parent);
+      pushChildren(item.getItems(), index, pendingItems, pendingParents);
+    }
+
+    int size = identifiers.size();
+    boolean[] visibleArray = new boolean[size];
+    int[] parentArray = new int[size];
+    for (int i = 0; i < size; i++) {
+      visibleArray[i] = visible.get(i);
+      parentArray[i] = parents.get(i);
+    }
+    return new FlatActivityTree(
+        identifiers.toArray(new String[0]),
+        titles.toArray(new String[0]),
+        resourceIdentifiers.toArray(new String[0]),
+        sequencing.toArray(new Sequencing[0]),
+        visibleArray,
+        parentArray);
+  }
+
+  /**
+   * Retrieves the number of activities in the tree, including the root.
+   *
+   * @return the number of activities
+   */
+  public int size() {
+    return this.identifiers.length;
+  }
+
+  /**
+   * Looks up the index of an activity by identifier.
+   *
+   * @param identifier the activity identifier
+   * @return the index of the activity, or {@link #NONE} if there is no such activity
+   */
+  public int indexOf(String identifier) {
+    Integer index = identifier == null ? null : this.indexes.get(identifier);
+    return index == null ? NONE : index;
+  }
+
+  /**
+   * Retrieves the identifier of an activity.
+   *
+   * @param index the activity index
+   * @return the activity identifier
+   */
+  public String identifierAt(int index) {
+    return this.identifiers[index];
+  }
+
+  /**
+   * Retrieves the title of an activity.
+   *
+   * @param index the activity index
+   * @return the activity title, or null if it has none
+   */
+  public String titleAt(int index) {
+    return this.titles[index];
+  }
+
+  /**
+   * Retrieves the identifier of the resource an activity launches.
+   *
+   * @param index the activity index
+   * @return the resource identifier, or null if the activity references no resource
+   */
+  public String resourceIdentifierAt(int index) {
+    return this.resourceIdentifiers[index];
+  }
+
+  /**
+   * Retrieves the sequencing information of an activity.
+   *
+   * @param index the activity index
+   * @return the sequencing information, or null if the activity defines none
+   */
+  public Sequencing sequencingAt(int index) {
+    return this.sequencing[index];
+  }
+
+  /**
+   * Determines whether an activity is visible.
+   *
+   * @param index the activity index
+   * @return true if the activity is visible
+   */
+  public boolean isVisible(int index) {
+    return this.visible[index];
+  }
+
+  /**
+   * Determines whether an activity is a leaf. The root is never a leaf.
+   *
+   * @param index the activity index
+   * @return true if the activity is not the root and has no children
+   */
+  public boolean isLeaf(int index) {
+    return index != ROOT && this.firstChildren[index] == NONE;
+  }
+
+  /**
+   * Retrieves the parent of an activity.
+   *
+   * @param index the activity index
+   * @return the index of the parent, or {@link #NONE} for the root
+   */
+  public int parentOf(int index) {
+    return this.parents[index];
+  }
+
+  /**
+   * Retrieves the first child of an activity.
+   *
+   * @param index the activity index
+   * @return the index of the first child, or {@link #NONE} if the activity has no children
+   */
+  public int firstChildOf(int index) {
+    return this.firstChildren[index];
+  }
+
+  /**
+   * Retrieves the next sibling of an activity.
+   *
+   * @param index the activity index
+   * @return the index of the next sibling, or {@link #NONE} if the activity is the last child
+   */
+  public int nextSiblingOf(int index) {
+    return this.nextSiblings[index];
+  }
+
+  /**
+   * Retrieves the number of children of an activity.
+   *
+   * @param index the activity index
+   * @return the number of children
+   */
+  public int childCountOf(int index) {
+    return this.childCounts[index];
+  }
+
+  /**
+   * Retrieves the depth of an activity.
+   *
+   * @param index the activity index
+   * @return the depth, where the root has depth zero
+   */
+  public int depthOf(int index) {
+    return this.depths[index];
+  }
+
+  /**
+   * Retrieves the exclusive end of an activity's subtree. The subtree of activity {@code i}, which
+   * includes {@code i} itself, is the index range {@code [i, subtreeEnd(i))}.
+   *
+   * @param index the activity index
+   * @return the index one past the last descendant of the activity
+   */
+  public int subtreeEnd(int index) {
+    return this.subtreeEnds[index];
+  }
+
+  /**
+   * Determines whether one activity is an ancestor of, or the same as, another.
+   *
+   * @param ancestor the index of the candidate ancestor
+   * @param descendant the index of the candidate descendant
+   * @return true if {@code descendant} is in the subtree of {@code ancestor}
+   */
+  public boolean isInSubtree(int ancestor, int descendant) {
+    return descendant >= ancestor && descendant < this.subtreeEnds[ancestor];
+  }
+
+  /**
+   * Finds the closest activity whose subtree contains both activities.
+   *
+   * @param first the index of the first activity
+   * @param second the index of the second activity
+   * @return the index of the common ancestor, which is one of the activities if it contains the
+   * other
+   */
+  public int commonAncestorOf(int first, int second) {
+    int ancestor = first;
+    while (!isInSubtree(ancestor, second)) {
+      ancestor = this.parents[ancestor];
+    }
+    return ancestor;
+  }
+
+  /**
+   * Retrieves the number of leaf activities.
+   *
+   * @return the number of leaves
+   */
+  public int leafCount() {
+    return this.leaves.length;
+  }
+
+  /**
+   * Retrieves a leaf activity by its position among the leaves.
+   *
+   * @param position the position of the leaf, in preorder
+   * @return the index of the leaf activity
+   */
+  public int leafAt(int position) {
+    return this.leaves[position];
+  }
+
+  /**
+   * Retrieves the identifiers of the leaf activities.
+   *
+   * @return an unmodifiable list of leaf identifiers, in preorder
+   */
+  public List<String> getLeafIdentifiers() {
+    return this.leafIdentifiers;
+  }
+
+  @Override
+  public String toString() {
+    return "FlatActivityTree{"
+        + "root='" + this.identifiers[ROOT] + '\''
+        + ", size=" + this.identifiers.length
+        + ", leaves=" + this.leaves.length
+        + '}';
+  }
+
+  /**
+   * Pushes the children of an item onto the pending stacks in reverse, so they are popped in
+   * document order.
+   */
+  private static void pushChildren(List<Scorm2004Item> children, int parent,
+      Deque<Scorm2004Item> pendingItems, Deque<Integer> pendingParents) {
+    if (children == null) {
+      return;
+    }
+    for (int i = children.size() - 1; i >= 0; i--) {
+      Scorm2004Item child = children.get(i);
+      if (child != null) {
+        pendingItems.push(child);
+        pendingParents.push(parent);
+      }
+    }
+  }
+}
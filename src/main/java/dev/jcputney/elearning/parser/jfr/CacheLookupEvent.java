@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.jfr;
+
+import dev.jcputney.elearning.parser.api.FileAccess;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for a lookup in the cache of a
+ * {@link dev.jcputney.elearning.parser.impl.access.CachedFileAccess}. On a miss, the event
+ * includes the time spent loading the entry from the underlying file access.
+ */
+@Name(CacheLookupEvent.NAME)
+@Label("Module File Cache Lookup")
+@Description("A lookup in the file cache of a module package")
+@Category({"eLearning Module Parser", "File Access"})
+@StackTrace(false)
+public final class CacheLookupEvent extends Event {
+
+  /**
+   * The name of the event type.
+   */
+  public static final String NAME = "dev.jcputney.elearning.CacheLookup";
+
+  /**
+   * The operation of a lookup of file contents.
+   */
+  public static final String CONTENTS = "contents";
+
+  /**
+   * The operation of a lookup of whether a file exists.
+   */
+  public static final String EXISTS = "exists";
+
+  /**
+   * The operation of a lookup of a directory listing.
+   */
+  public static final String LIST = "list";
+
+  @Label("Module Root")
+  String moduleRoot;
+
+  @Label("Path")
+  String path;
+
+  @Label("Operation")
+  @Description("The cached operation: contents, exists or list")
+  String operation;
+
+  @Label("Hit")
+  boolean hit;
+
+  @Label("Bytes")
+  @Description("The size of the cached contents, or 0 for other operations")
+  @DataAmount
+  long bytes;
+
+  /**
+   * Creates an event and starts timing it.
+   *
+   * @return the started event
+   */
+  public static CacheLookupEvent start() {
+    CacheLookupEvent event = new CacheLookupEvent();
+    event.begin();
+    return event;
+  }
+
+  /**
+   * Ends the event and commits it if it is enabled and exceeds its threshold.
+   *
+   * @param fileAccess the cached file access
+   * @param path the path looked up
+   * @param operation the operation looked up, one of {@link #CONTENTS}, {@link #EXISTS} and
+   * {@link #LIST}
+   * @param hit whether the lookup was a hit
+   * @param bytes the size of the cached contents, or 0
+   */
+  public void complete(FileAccess fileAccess, String path, String operation, boolean hit,
+      long bytes) {
+    end();
+    if (shouldCommit()) {
+      this.moduleRoot = fileAccess.getRootPath();
+      this.path = path;
+      this.operation = operation;
+      this.hit = hit;
+      this.bytes = bytes;
+      commit();
+    }
+  }
+}
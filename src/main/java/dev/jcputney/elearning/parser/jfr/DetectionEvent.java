@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.jfr;
+
+import dev.jcputney.elearning.parser.api.FileAccess;
+import dev.jcputney.elearning.parser.enums.ModuleType;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for a detector plugin inspecting a module package.
+ */
+@Name(DetectionEvent.NAME)
+@Label("Module Type Detection")
+@Description("A detector plugin inspecting a module package")
+@Category({"eLearning Module Parser", "Detection"})
+@StackTrace(false)
+public final class DetectionEvent extends Event {
+
+  /**
+   * The name of the event type.
+   */
+  public static final String NAME = "dev.jcputney.elearning.Detection";
+
+  @Label("Detector")
+  String detector;
+
+  @Label("Module Root")
+  String moduleRoot;
+
+  @Label("Module Type")
+  @Description("The detected module type, or empty if the detector did not recognize the package")
+  String moduleType;
+
+  /**
+   * Creates an event and starts timing it.
+   *
+   * @return the started event
+   */
+  public static DetectionEvent start() {
+    DetectionEvent event = new DetectionEvent();
+    event.begin();
+    return event;
+  }
+
+  /**
+   * Ends the event and commits it if it is enabled and exceeds its threshold.
+   *
+   * @param detector the name of the detector
+   * @param fileAccess the file access of the inspected package
+   * @param moduleType the detected module type, or null
+   */
+  public void complete(String detector, FileAccess fileAccess, ModuleType moduleType) {
+    end();
+    if (shouldCommit()) {
+      this.detector = detector;
+      this.moduleRoot = fileAccess.getRootPath();
+      this.moduleType = moduleType == null ? "" : moduleType.name();
+      commit();
+    }
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.jfr;
+
+import dev.jcputney.elearning.parser.api.FileAccess;
+import java.io.IOException;
+import java.io.InputStream;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for a file of a module package read through a {@link FileAccess}. The
+ * event lasts from the moment the file is opened until its stream is closed.
+ */
+@Name(FileReadEvent.NAME)
+@Label("Module File Read")
+@Description("A file of a module package read from open to close")
+@Category({"eLearning Module Parser", "File Access"})
+@StackTrace(false)
+public final class FileReadEvent extends Event {
+
+  /**
+   * The name of the event type.
+   */
+  public static final String NAME = "dev.jcputney.elearning.FileRead";
+
+  @Label("Access Type")
+  @Description("The FileAccess implementation the file was read through")
+  String accessType;
+
+  @Label("Module Root")
+  String moduleRoot;
+
+  @Label("Path")
+  String path;
+
+  @Label("Bytes Read")
+  @DataAmount
+  long bytesRead;
+
+  /**
+   * Starts recording the read of a file. When the event is disabled, the stream is returned as is
+   * and nothing else is done.
+   *
+   * @param fileAccess the file access the file was opened through
+   * @param path the path of the file, relative to the module root
+   * @param stream the opened stream of the file
+   * @return a stream that commits the event when it is closed, or the given stream if the event is
+   * disabled
+   */
+  public static InputStream record(FileAccess fileAccess, String path, InputStream stream) {
+    FileReadEvent event = new FileReadEvent();
+    if (!event.isEnabled()) {
+      return stream;
+    }
+    event.begin();
+    return new RecordingInputStream(event, fileAccess, path, stream);
+  }
+
+  /**
+   * A stream committing its event when it is closed.
+   */
+  private static final class RecordingInputStream extends CountingInputStream {
+
+    private final FileReadEvent event;
+
+    private final FileAccess fileAccess;
+
+    private final String path;
+
+    private boolean closed;
+
+    private RecordingInputStream(FileReadEvent event, FileAccess fileAccess, String path,
+        InputStream in) {
+      super(in);
+      this.event = event;
+      this.fileAccess = fileAccess;
+      this.path = path;
+    }
+
+    @Override
+    public void close() throws IOException {
+      try {
+        super.close();
+      } finally {
+        if (!closed) {
+          closed = true;
+          event.end();
+          if (event.shouldCommit()) {
+            event.accessType = fileAccess
+                .getClass()
+                .getSimpleName();
+            event.moduleRoot = fileAccess.getRootPath();
+            event.path = path;
+            event.bytesRead = getCount();
+            event.commit();
+          }
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for the XSD validation of a SCORM 2004 manifest by
+ * {@link dev.jcputney.elearning.parser.input.common.serialization.Scorm2004SchemaValidator}.
+ */
+@Name(SchemaValidationEvent.NAME)
+@Label("Schema Validation")
+@Description("A SCORM 2004 manifest validated against the bundled XSDs")
+@Category({"eLearning Module Parser", "Parsing"})
+@StackTrace(false)
+public final class SchemaValidationEvent extends Event {
+
+  /**
+   * The name of the event type.
+   */
+  public static final String NAME = "dev.jcputney.elearning.SchemaValidation";
+
+  @Label("Manifest Size")
+  @DataAmount
+  long bytes;
+
+  @Label("Valid")
+  boolean valid;
+
+  /**
+   * Creates an event and starts timing it.
+   *
+   * @return the started event
+   */
+  public static SchemaValidationEvent start() {
+    SchemaValidationEvent event = new SchemaValidationEvent();
+    event.begin();
+    return event;
+  }
+
+  /**
+   * Ends the event and commits it if it is enabled and exceeds its threshold.
+   *
+   * @param bytes the size of the validated manifest
+   * @param valid whether the manifest is valid
+   */
+  public void complete(long bytes, boolean valid) {
+    end();
+    if (shouldCommit()) {
+      this.bytes = bytes;
+      this.valid = valid;
+      commit();
+    }
+  }
+}
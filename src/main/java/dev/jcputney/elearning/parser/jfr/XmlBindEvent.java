@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.jfr;
+
+import java.io.InputStream;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for an XML file bound to an object by
+ * {@link dev.jcputney.elearning.parser.util.XmlParsingUtils}, including reading and decoding the
+ * file.
+ */
+@Name(XmlBindEvent.NAME)
+@Label("XML Binding")
+@Description("An XML file of a module package bound to an object")
+@Category({"eLearning Module Parser", "Parsing"})
+@StackTrace(false)
+public final class XmlBindEvent extends Event {
+
+  /**
+   * The name of the event type.
+   */
+  public static final String NAME = "dev.jcputney.elearning.XmlBind";
+
+  @Label("Path")
+  String path;
+
+  @Label("Target Type")
+  @Description("The class the XML was bound to")
+  Class<?> targetType;
+
+  @Label("Bytes Read")
+  @DataAmount
+  long bytesRead;
+
+  @Label("Succeeded")
+  boolean succeeded;
+
+  private transient CountingInputStream counter;
+
+  /**
+   * Creates an event and starts timing it.
+   *
+   * @return the started event
+   */
+  public static XmlBindEvent start() {
+    XmlBindEvent event = new XmlBindEvent();
+    event.begin();
+    return event;
+  }
+
+  /**
+   * Counts the bytes read from the stream being bound, if the event is enabled.
+   *
+   * @param stream the stream being bound
+   * @return the stream to read instead, or the given stream if the event is disabled
+   */
+  public InputStream track(InputStream stream) {
+    if (!isEnabled()) {
+      return stream;
+    }
+    counter = new CountingInputStream(stream);
+    return counter;
+  }
+
+  /**
+   * Ends the event and commits it if it is enabled and exceeds its threshold.
+   *
+   * @param path the path of the file, for context
+   * @param targetType the class the XML was bound to
+   * @param succeeded whether the binding succeeded
+   */
+  public void complete(String path, Class<?> targetType, boolean succeeded) {
+    end();
+    if (shouldCommit()) {
+      this.path = path;
+      this.targetType = targetType;
+      this.bytesRead = counter == null ? 0 : counter.getCount();
+      this.succeeded = succeeded;
+      commit();
+    }
+  }
+}
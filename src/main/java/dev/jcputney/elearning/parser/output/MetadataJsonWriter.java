@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.output;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+
+/**
+ * Writes {@link ModuleMetadata} as JSON, streaming the properties of metadata classes that
+ * implement {@link StreamingJsonWritable} straight to the {@link JsonGenerator}.
+ * <p>
+ * Serializing metadata with {@code ObjectMapper.writeValue} calls the getters of every property,
+ * and several getters of {@code Scorm2004Metadata} and {@code AiccMetadata} return fresh copies
+ * of their maps and lists on each call. This writer reads the internal structures instead, so a
+ * request serializing metadata allocates little more than the output buffer. The manifest and
+ * other nested beans are still written by the mapper, with serializers it caches.
+ * </p>
+ * <p>
+ * For a mapper with the default property inclusion and enum settings, the JSON written is the same
+ * bytes the mapper would write, including the order of properties and of map keys. Metadata of
+ * other classes is written by the mapper. Instances are thread-safe.
+ * </p>
+ *
+ * <pre>{@code
+ * MetadataJsonWriter writer = new MetadataJsonWriter(objectMapper);
+ * writer.write(metadata, response.getOutputStream());
+ * }</pre>
+ */
+public final class MetadataJsonWriter {
+
+  private final ObjectMapper mapper;
+
+  private final ObjectWriter values;
+
+  /**
+   * Creates a writer using a mapper with the modules found on the classpath registered, such as
+   * the Java time module.
+   */
+  public MetadataJsonWriter() {
+    this(new ObjectMapper().findAndRegisterModules());
+  }
+
+  /**
+   * Creates a writer using a mapper to create generators and to write nested values.
+   *
+   * @param mapper the mapper to use
+   * @throws IllegalArgumentException if mapper is null
+   */
+  public MetadataJsonWriter(ObjectMapper mapper) {
+    if (mapper == null) {
+      throw new IllegalArgumentException("ObjectMapper cannot be null");
+    }
+    this.mapper = mapper;
+    // Nested values are written in the middle of the document, flushing after each is wasted
+    this.values = mapper
+        .writer()
+        .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+  }
+
+  /**
+   * Writes metadata as a JSON object to a generator. The generator is neither flushed nor closed.
+   *
+   * @param metadata the metadata to write
+   * @param generator the generator to write to
+   * @throws IOException if the metadata can't be written
+   * @throws IllegalArgumentException if metadata or generator is null
+   */
+  public void write(ModuleMetadata<?> metadata, JsonGenerator generator) throws IOException {
+    if (metadata == null) {
+      throw new IllegalArgumentException("Metadata cannot be null");
+    }
+    if (generator == null) {
+      throw new IllegalArgumentException("JsonGenerator cannot be null");
+    }
+    if (metadata instanceof StreamingJsonWritable streaming) {
+      generator.writeStartObject(metadata);
+      streaming.writeJsonFields(generator, values);
+      generator.writeEndObject();
+    } else {
+      values.writeValue(generator, metadata);
+    }
+  }
+
+  /**
+   * Writes metadata as a JSON document to a stream. The stream is flushed but not closed.
+   *
+   * @param metadata the metadata to write
+   * @param out the stream to write to
+   * @throws IOException if the metadata can't be written
+   * @throws IllegalArgumentException if metadata or out is null
+   */
+  public void write(ModuleMetadata<?> metadata, OutputStream out) throws IOException {
+    if (out == null) {
+      throw new IllegalArgumentException("OutputStream cannot be null");
+    }
+    try (JsonGenerator generator = mapper
+        .createGenerator(out)
+        .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+      write(metadata, generator);
+    }
+  }
+
+  /**
+   * Writes metadata as a JSON string.
+   *
+   * @param metadata the metadata to write
+   * @return the JSON document
+   * @throws IOException if the metadata can't be written
+   * @throws IllegalArgumentException if metadata is null
+   */
+  public String writeValueAsString(ModuleMetadata<?> metadata) throws IOException {
+    StringWriter out = new StringWriter();
+    try (JsonGenerator generator = mapper.createGenerator(out)) {
+      write(metadata, generator);
+    }
+    return out.toString();
+  }
+}
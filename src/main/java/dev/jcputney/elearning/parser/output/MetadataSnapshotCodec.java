@@ -0,0 +1,288 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.output;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import dev.jcputney.elearning.parser.enums.ModuleType;
+import dev.jcputney.elearning.parser.output.metadata.aicc.AiccMetadata;
+import dev.jcputney.elearning.parser.output.metadata.cmi5.Cmi5Metadata;
+import dev.jcputney.elearning.parser.output.metadata.scorm12.Scorm12Metadata;
+import dev.jcputney.elearning.parser.output.metadata.scorm2004.Scorm2004Metadata;
+import dev.jcputney.elearning.parser.output.metadata.xapi.XapiMetadata;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Encodes {@link ModuleMetadata} as binary snapshots in the Jackson Smile format, which are
+ * smaller than JSON and several times faster to read back.
+ * <p>
+ * Each snapshot is a Smile object holding a type tag, the schema version it was written with and
+ * the metadata as Jackson serializes it to JSON:
+ * </p>
+ * <pre>{@code
+ * { "type": "SCORM_2004", "version": 1, "metadata": { ... } }
+ * }</pre>
+ * <p>
+ * The type tag selects the metadata class when reading, so snapshots of different module types
+ * can be mixed in one stream. Snapshots written with a newer schema version than
+ * {@link #SCHEMA_VERSION} are rejected. Many snapshots can be written to and read from a single
+ * stream with {@link #newWriter(OutputStream)} and {@link #newReader(InputStream)}; property names
+ * are then shared between the records, which keeps bulk snapshots compact.
+ * </p>
+ * <p>
+ * The codec requires the optional {@code jackson-dataformat-smile} and
+ * {@code jackson-datatype-jsr310} dependencies. Instances are thread-safe; writers and readers are
+ * not.
+ * </p>
+ */
+public final class MetadataSnapshotCodec {
+
+  /**
+   * The schema version written into every snapshot.
+   */
+  public static final int SCHEMA_VERSION = 1;
+
+  private static final SerializedString TYPE_FIELD = new SerializedString("type");
+
+  private static final SerializedString VERSION_FIELD = new SerializedString("version");
+
+  private static final SerializedString METADATA_FIELD = new SerializedString("metadata");
+
+  private static final Map<ModuleType, Class<? extends ModuleMetadata<?>>> METADATA_CLASSES =
+      new EnumMap<>(ModuleType.class);
+
+  static {
+    METADATA_CLASSES.put(ModuleType.SCORM_12, Scorm12Metadata.class);
+    METADATA_CLASSES.put(ModuleType.SCORM_2004, Scorm2004Metadata.class);
+    METADATA_CLASSES.put(ModuleType.AICC, AiccMetadata.class);
+    METADATA_CLASSES.put(ModuleType.CMI5, Cmi5Metadata.class);
+    METADATA_CLASSES.put(ModuleType.XAPI, XapiMetadata.class);
+  }
+
+  private final ObjectMapper mapper;
+
+  /**
+   * Creates a codec.
+   */
+  public MetadataSnapshotCodec() {
+    SmileFactory factory = SmileFactory
+        .builder()
+        .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+        .build();
+    this.mapper = new ObjectMapper(factory);
+    this.mapper.registerModule(new JavaTimeModule());
+  }
+
+  /**
+   * Encodes the metadata as a single snapshot.
+   *
+   * @param metadata the metadata to encode
+   * @return the snapshot bytes
+   * @throws IOException if the metadata cannot be serialized
+   * @throws IllegalArgumentException if metadata is null or of an unsupported module type
+   */
+  public byte[] encode(ModuleMetadata<?> metadata) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (SnapshotWriter writer = newWriter(out)) {
+      writer.write(metadata);
+    }
+    return out.toByteArray();
+  }
+
+  /**
+   * Decodes a single snapshot.
+   *
+   * @param snapshot the snapshot bytes
+   * @return the decoded metadata, of the class matching its type tag
+   * @throws IOException if the snapshot is malformed, of an unknown type or of a newer schema
+   * version
+   * @throws IllegalArgumentException if snapshot is null
+   */
+  public ModuleMetadata<?> decode(byte[] snapshot) throws IOException {
+    if (snapshot == null) {
+      throw new IllegalArgumentException("Snapshot cannot be null");
+    }
+    try (SnapshotReader reader = newReader(new ByteArrayInputStream(snapshot))) {
+      ModuleMetadata<?> metadata = reader.read();
+      if (metadata == null) {
+        throw new IOException("Snapshot is empty");
+      }
+      return metadata;
+    }
+  }
+
+  /**
+   * Opens a writer appending snapshots to a stream. Closing the writer closes the stream.
+   *
+   * @param out the stream to write to
+   * @return the writer
+   * @throws IOException if the stream header cannot be written
+   * @throws IllegalArgumentException if out is null
+   */
+  public SnapshotWriter newWriter(OutputStream out) throws IOException {
+    if (out == null) {
+      throw new IllegalArgumentException("OutputStream cannot be null");
+    }
+    return new SnapshotWriter(mapper.createGenerator(out));
+  }
+
+  /**
+   * Opens a reader for the snapshots of a stream written by a {@link SnapshotWriter}. Closing the
+   * reader closes the stream.
+   *
+   * @param in the stream to read from
+   * @return the reader
+   * @throws IOException if the stream header cannot be read
+   * @throws IllegalArgumentException if in is null
+   */
+  public SnapshotReader newReader(InputStream in) throws IOException {
+    if (in == null) {
+      throw new IllegalArgumentException("InputStream cannot be null");
+    }
+    return new SnapshotReader(mapper.createParser(in));
+  }
+
+  /**
+   * Writes snapshots one after another to a single stream.
+   */
+  public final class SnapshotWriter implements Closeable, Flushable {
+
+    private final JsonGenerator generator;
+
+    private SnapshotWriter(JsonGenerator generator) {
+      this.generator = generator;
+    }
+
+    /**
+     * Writes the snapshot of a metadata object.
+     *
+     * @param metadata the metadata to write
+     * @throws IOException if the metadata cannot be serialized or written
+     * @throws IllegalArgumentException if metadata is null or of an unsupported module type
+     */
+    public void write(ModuleMetadata<?> metadata) throws IOException {
+      if (metadata == null) {
+        throw new IllegalArgumentException("Metadata cannot be null");
+      }
+      ModuleType type = metadata.getModuleType();
+      if (type == null || !METADATA_CLASSES.containsKey(type)) {
+        throw new IllegalArgumentException("Unsupported module type for snapshot: " + type);
+      }
+      generator.writeStartObject();
+      generator.writeFieldName(TYPE_FIELD);
+      generator.writeString(type.name());
+      generator.writeFieldName(VERSION_FIELD);
+      generator.writeNumber(SCHEMA_VERSION);
+      generator.writeFieldName(METADATA_FIELD);
+      mapper.writeValue(generator, metadata);
+      generator.writeEndObject();
+    }
+
+    @Override
+    public void flush() throws IOException {
+      generator.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+      generator.close();
+    }
+  }
+
+  /**
+   * Reads snapshots one after another from a single stream.
+   */
+  public final class SnapshotReader implements Closeable {
+
+    private final JsonParser parser;
+
+    private SnapshotReader(JsonParser parser) {
+      this.parser = parser;
+    }
+
+    /**
+     * Reads the next snapshot.
+     *
+     * @return the decoded metadata, of the class matching its type tag, or null at the end of the
+     * stream
+     * @throws IOException if the snapshot is malformed, of an unknown type or of a newer schema
+     * version
+     */
+    public ModuleMetadata<?> read() throws IOException {
+      JsonToken token = parser.nextToken();
+      if (token == null) {
+        return null;
+      }
+      if (token != JsonToken.START_OBJECT) {
+        throw new IOException("Expected the start of a snapshot but found " + token);
+      }
+
+      expectField(TYPE_FIELD);
+      String typeName = parser.nextTextValue();
+      Class<? extends ModuleMetadata<?>> metadataClass = metadataClass(typeName);
+
+      expectField(VERSION_FIELD);
+      int version = parser.nextIntValue(-1);
+      if (version < 1 || version > SCHEMA_VERSION) {
+        throw new IOException(String.format(
+            "Unsupported snapshot schema version %d (supported: 1 to %d)", version,
+            SCHEMA_VERSION));
+      }
+
+      expectField(METADATA_FIELD);
+      parser.nextToken();
+      ModuleMetadata<?> metadata = mapper.readValue(parser, metadataClass);
+      if (parser.nextToken() != JsonToken.END_OBJECT) {
+        throw new IOException("Expected the end of a " + typeName + " snapshot");
+      }
+      return metadata;
+    }
+
+    @Override
+    public void close() throws IOException {
+      parser.close();
+    }
+
+    private void expectField(SerializedString name) throws IOException {
+      if (!parser.nextFieldName(name)) {
+        throw new IOException(
+            "Expected snapshot field '" + name + "' but found " + parser.currentToken());
+      }
+    }
+
+    private Class<? extends ModuleMetadata<?>> metadataClass(String typeName) throws IOException {
+      if (typeName != null) {
+        for (ModuleType type : METADATA_CLASSES.keySet()) {
+          if (type
+              .name()
+              .equals(typeName)) {
+            return METADATA_CLASSES.get(type);
+          }
+        }
+      }
+      throw new IOException("Unknown snapshot type: " + typeName);
+    }
+  }
+}
@@ -11,10 +11,19 @@
 package dev.jcputney.elearning.parser.output;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import dev.jcputney.elearning.parser.enums.ModuleEditionType;
 import dev.jcputney.elearning.parser.enums.ModuleType;
 import dev.jcputney.elearning.parser.input.PackageManifest;
+import java.io.IOException;
+import java.math.BigDecimal;
 import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 
@@ -29,6 +38,17 @@ import org.apache.commons.lang3.builder.HashCodeBuilder;
  */
 public abstract class ModuleMetadata<M extends PackageManifest> implements PackageManifest {
 
+  private static final SerializedString MANIFEST_FIELD = new SerializedString("manifest");
+
+  private static final SerializedString MODULE_TYPE_FIELD = new SerializedString("moduleType");
+
+  private static final SerializedString MODULE_EDITION_TYPE_FIELD = new SerializedString(
+      "moduleEditionType");
+
+  private static final SerializedString XAPI_ENABLED_FIELD = new SerializedString("xapiEnabled");
+
+  private static final SerializedString SIZE_ON_DISK_FIELD = new SerializedString("sizeOnDisk");
+
   /**
    * The package manifest for the module.
    */
@@ -280,4 +300,158 @@ public abstract class ModuleMetadata<M extends PackageManifest> implements Packa
   public boolean isXapiEnabled() {
     return this.xapiEnabled;
   }
+
+  /**
+   * Writes the JSON properties shared by all module types, in the order Jackson writes them. Used
+   * by the implementations of {@link StreamingJsonWritable}.
+   *
+   * @param generator the generator to write to
+   * @param values the writer of the manifest
+   * @throws IOException if the properties can't be written
+   */
+  protected void writeCommonJsonFields(JsonGenerator generator, ObjectWriter values)
+      throws IOException {
+    generator.writeFieldName(MANIFEST_FIELD);
+    values.writeValue(generator, getManifest());
+    generator.writeFieldName(MODULE_TYPE_FIELD);
+    writeEnum(generator, getModuleType());
+    generator.writeFieldName(MODULE_EDITION_TYPE_FIELD);
+    writeEnum(generator, getModuleEditionType());
+    generator.writeFieldName(XAPI_ENABLED_FIELD);
+    generator.writeBoolean(isXapiEnabled());
+    generator.writeFieldName(SIZE_ON_DISK_FIELD);
+    generator.writeNumber(getSizeOnDisk());
+  }
+
+  /**
+   * Writes an enum constant by name, or null.
+   *
+   * @param generator the generator to write to
+   * @param value the constant to write
+   * @throws IOException if the value can't be written
+   */
+  protected static void writeEnum(JsonGenerator generator, Enum<?> value) throws IOException {
+    if (value == null) {
+      generator.writeNull();
+    } else {
+      generator.writeString(value.name());
+    }
+  }
+
+  /**
+   * Writes a property holding an array of strings.
+   *
+   * @param generator the generator to write to
+   * @param name the name of the property
+   * @param values the strings to write
+   * @throws IOException if the property can't be written
+   */
+  protected static void writeStringArrayField(JsonGenerator generator, SerializableString name,
+      Collection<String> values) throws IOException {
+    generator.writeFieldName(name);
+    writeStringArray(generator, values);
+  }
+
+  /**
+   * Writes a property holding an object of strings.
+   *
+   * @param generator the generator to write to
+   * @param name the name of the property
+   * @param values the strings to write, by key
+   * @throws IOException if the property can't be written
+   */
+  protected static void writeStringMapField(JsonGenerator generator, SerializableString name,
+      Map<String, String> values) throws IOException {
+    generator.writeFieldName(name);
+    generator.writeStartObject();
+    for (Map.Entry<String, String> entry : values.entrySet()) {
+      generator.writeStringField(entry.getKey(), entry.getValue());
+    }
+    generator.writeEndObject();
+  }
+
+  /**
+   * Writes a property holding an object of arrays of strings.
+   *
+   * @param generator the generator to write to
+   * @param name the name of the property
+   * @param values the arrays of strings to write, by key
+   * @throws IOException if the property can't be written
+   */
+  protected static void writeStringListMapField(JsonGenerator generator, SerializableString name,
+      Map<String, List<String>> values) throws IOException {
+    generator.writeFieldName(name);
+    generator.writeStartObject();
+    for (Map.Entry<String, List<String>> entry : values.entrySet()) {
+      generator.writeFieldName(entry.getKey());
+      writeStringArray(generator, entry.getValue());
+    }
+    generator.writeEndObject();
+  }
+
+  /**
+   * Writes a property holding an object of objects of scalar values. Values other than strings,
+   * booleans and numbers are written with the given writer.
+   *
+   * @param generator the generator to write to
+   * @param name the name of the property
+   * @param values the objects to write, by key
+   * @param writer the writer of values that are not scalars
+   * @throws IOException if the property can't be written
+   */
+  protected static void writeNestedMapField(JsonGenerator generator, SerializableString name,
+      Map<String, ? extends Map<String, ?>> values, ObjectWriter writer) throws IOException {
+    generator.writeFieldName(name);
+    generator.writeStartObject();
+    for (Map.Entry<String, ? extends Map<String, ?>> entry : values.entrySet()) {
+      generator.writeFieldName(entry.getKey());
+      if (entry.getValue() == null) {
+        generator.writeNull();
+        continue;
+      }
+      generator.writeStartObject();
+      for (Map.Entry<String, ?> value : entry
+          .getValue()
+          .entrySet()) {
+        generator.writeFieldName(value.getKey());
+        writeScalar(generator, value.getValue(), writer);
+      }
+      generator.writeEndObject();
+    }
+    generator.writeEndObject();
+  }
+
+  private static void writeStringArray(JsonGenerator generator, Collection<String> values)
+      throws IOException {
+    if (values == null) {
+      generator.writeNull();
+      return;
+    }
+    generator.writeStartArray();
+    for (String value : values) {
+      generator.writeString(value);
+    }
+    generator.writeEndArray();
+  }
+
+  private static void writeScalar(JsonGenerator generator, Object value, ObjectWriter writer)
+      throws IOException {
+    if (value == null) {
+      generator.writeNull();
+    } else if (value instanceof String string) {
+      generator.writeString(string);
+    } else if (value instanceof Boolean bool) {
+      generator.writeBoolean(bool);
+    } else if (value instanceof Integer number) {
+      generator.writeNumber(number);
+    } else if (value instanceof Long number) {
+      generator.writeNumber(number);
+    } else if (value instanceof Double number) {
+      generator.writeNumber(number);
+    } else if (value instanceof BigDecimal number) {
+      generator.writeNumber(number);
+    } else {
+      writer.writeValue(generator, value);
+    }
+  }
 }
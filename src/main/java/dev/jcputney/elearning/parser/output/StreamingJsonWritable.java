@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.output;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.io.IOException;
+
+/**
+ * Implemented by metadata classes that can write their JSON properties straight to a
+ * {@link JsonGenerator}, from their internal structures and without calling the getters that
+ * Jackson would use.
+ * <p>
+ * The properties written must be exactly those Jackson writes for the class with a default
+ * configuration, so that {@link MetadataJsonWriter} produces the same JSON as
+ * {@code ObjectMapper.writeValueAsString}.
+ * </p>
+ */
+public interface StreamingJsonWritable {
+
+  /**
+   * Writes the JSON properties of this object. The enclosing start and end of the object are
+   * written by the caller.
+   *
+   * @param generator the generator to write to
+   * @param values the writer of nested values that are not written by hand, such as the manifest
+   * @throws IOException if the properties can't be written
+   */
+  void writeJsonFields(JsonGenerator generator, ObjectWriter values) throws IOException;
+}
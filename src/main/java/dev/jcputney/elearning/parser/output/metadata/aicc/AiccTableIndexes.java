@@ -0,0 +1,811 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.output.metadata.aicc;
+
+import static dev.jcputney.elearning.parser.input.aicc.AiccManifest.normalizeMasteryScore;
+
+import dev.jcputney.elearning.parser.input.aicc.AiccManifest;
+import dev.jcputney.elearning.parser.input.aicc.CourseStructure;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Indexes derived from the AICC course structure (.cst), prerequisites (.pre) and objectives
+ * relation (.ort) tables, built one row at a time.
+ * <p>
+ * Rows can be added straight from a streaming CSV reader, so the raw tables never have to be held
+ * in memory: the indexes grow with the number of distinct blocks, assignable units and objectives
+ * rather than with the number of rows. {@link AiccMetadata} reads the assignable unit children,
+ * prerequisites graph, objectives by assignable unit and objective metadata from these indexes.
+ * </p>
+ * <p>
+ * The column names of the prerequisites and objectives relation tables are resolved from the first
+ * row added to each table. Instances are not thread-safe.
+ * </p>
+ */
+public final class AiccTableIndexes {
+
+  /**
+   * A constant representing the delimiter character used in legacy systems. This character is
+   * utilized as a separator to parse or format data in older formats or applications where
+   * compatibility with historical data structures is required. The chosen delimiter is the pipe
+   * character ('|').
+   */
+  private static final char LEGACY_DELIMITER = '|';
+
+  /**
+   * A constant that defines the standard delimiter character used for separating values or elements
+   * within a data structure or format. The delimiter is defined as a semicolon (';') in this
+   * context. It is typically used to ensure a consistent and predictable way of parsing or
+   * formatting data across various operations.
+   */
+  private static final char STANDARD_DELIMITER = ';';
+
+  /**
+   * Constant representing the character used to separate keys and values in a key-value pair.
+   * Typically used in parsing or generating strings that represent key-value mappings.
+   */
+  private static final char KEY_VALUE_SEPARATOR = '=';
+
+  /**
+   * A regular expression pattern representing the delimiter used for splitting strings. The
+   * delimiter defined is a semicolon (";").
+   */
+  private static final String DELIMITER_REGEX = ";"; // used in split
+
+  /**
+   * Child members for each parent block, from both the block/member columns and the UR/RT
+   * attributes of the course structure table.
+   */
+  private final Map<String, LinkedHashSet<String>> children = new LinkedHashMap<>();
+
+  /**
+   * Prerequisite targets for each prerequisite source.
+   */
+  private final Map<String, LinkedHashSet<String>> prerequisitesGraph = new LinkedHashMap<>();
+
+  /**
+   * Unique objective identifiers in first-seen order.
+   */
+  private final Set<String> objectiveIds = new LinkedHashSet<>();
+
+  /**
+   * Objective identifiers for each assignable unit.
+   */
+  private final Map<String, LinkedHashSet<String>> objectivesByAu = new LinkedHashMap<>();
+
+  /**
+   * Accumulated objective details, keyed by objective identifier.
+   */
+  private final Map<String, ObjectiveAccumulator> objectives = new LinkedHashMap<>();
+
+  /**
+   * The number of prerequisites rows added.
+   */
+  private int prerequisiteRows;
+
+  /**
+   * The columns holding the source and target of a prerequisite, or null if the table has none.
+   */
+  private String prerequisiteFromKey;
+  private String prerequisiteToKey;
+
+  /**
+   * The number of objectives relation rows added.
+   */
+  private int objectiveRelationRows;
+
+  /**
+   * The columns of the objectives relation table, resolved from its first row.
+   */
+  private String objectiveKey;
+  private String relationAuKey;
+  private String descriptionKey;
+  private String objectiveAuKey;
+  private String satisfiedKey;
+  private String minMeasureKey;
+  private String weightKey;
+  private String statusKey;
+
+  /**
+   * Creates empty indexes.
+   */
+  public AiccTableIndexes() {
+    // no-op
+  }
+
+  /**
+   * Builds the indexes from the tables held by a manifest.
+   *
+   * @param manifest the AICC manifest whose tables are indexed
+   * @return the indexes over the manifest's course structure, prerequisites and objectives
+   * relation tables
+   */
+  public static AiccTableIndexes of(AiccManifest manifest) {
+    AiccTableIndexes indexes = new AiccTableIndexes();
+    forEach(manifest.getCourseStructures(), indexes::addCourseStructure);
+    forEach(manifest.getPrerequisitesTable(), indexes::addPrerequisiteRow);
+    forEach(manifest.getObjectivesRelationTable(), indexes::addObjectiveRelationRow);
+    return indexes;
+  }
+
+  /**
+   * Adds a row of the course structure table.
+   *
+   * @param structure the course structure row; null rows are ignored
+   */
+  public void addCourseStructure(CourseStructure structure) {
+    if (structure == null) {
+      return;
+    }
+    String parent = structure.getBlock();
+    String member = structure.getMember();
+    if (StringUtils.isNotBlank(parent) && StringUtils.isNotBlank(member)
+        && !"ROOT".equalsIgnoreCase(parent)) {
+      children
+          .computeIfAbsent(parent.trim(), k -> new LinkedHashSet<>())
+          .add(member.trim());
+    }
+    addChildrenFromAttributes(children, structure);
+  }
+
+  /**
+   * Adds a row of the prerequisites table. The source and target columns are resolved from the
+   * first row, trying common column names.
+   *
+   * @param row the prerequisites row, keyed by column name
+   */
+  public void addPrerequisiteRow(Map<String, String> row) {
+    if (prerequisiteRows++ == 0) {
+      prerequisiteFromKey = firstNonNullKey(row,
+          "source", "from", "pre_from", "pre_source", "pre_member", "preid", "pre_id");
+      prerequisiteToKey = firstNonNullKey(row,
+          "target", "to", "post_to", "post_member", "postid", "post_id", "target_member");
+    }
+    if (prerequisiteFromKey != null && prerequisiteToKey != null) {
+      addRelation(prerequisitesGraph, value(row, prerequisiteFromKey),
+          value(row, prerequisiteToKey));
+    }
+  }
+
+  /**
+   * Adds a row of the objectives relation table. The objective, assignable unit and measure
+   * columns are resolved from the first row, trying common column names.
+   *
+   * @param row the objectives relation row, keyed by column name
+   */
+  public void addObjectiveRelationRow(Map<String, String> row) {
+    if (objectiveRelationRows++ == 0) {
+      objectiveKey = findKeyContaining(row, "objective");
+      relationAuKey = firstNonNullKey(row, "au_system_id", "system_id", "au_id", "au",
+          "systemid");
+      descriptionKey = findKeyContaining(row, "description");
+      objectiveAuKey = firstNonNullKey(row, "au_system_id", "system_id", "au_id", "au",
+          "member");
+      satisfiedKey = firstNonNullKey(row, "satisfied_by_measure", "satisfied",
+          "measure_satisfied");
+      minMeasureKey = firstNonNullKey(row, "min_normalized_measure", "min_measure",
+          "minimum_measure", "objective_minimum");
+      weightKey = firstNonNullKey(row, "progress_measure_weight", "weight", "measure_weight");
+      statusKey = firstNonNullKey(row, "status_map", "statusmap", "status");
+    }
+    if (objectiveKey == null) {
+      return;
+    }
+    String objective = value(row, objectiveKey);
+    if (objective != null && !objective.isBlank()) {
+      objectiveIds.add(objective);
+    }
+    if (relationAuKey != null) {
+      addRelation(objectivesByAu, value(row, relationAuKey), objective);
+    }
+    processObjectiveRow(row, objectiveKey, descriptionKey, objectiveAuKey, satisfiedKey,
+        minMeasureKey, weightKey, statusKey, objectives);
+  }
+
+  /**
+   * Returns the child members of each parent block.
+   *
+   * @return the child members of each parent block, in first-seen order
+   */
+  Map<String, List<String>> getAssignableUnitChildren() {
+    return toLists(children);
+  }
+
+  /**
+   * Returns the number of prerequisites rows added.
+   *
+   * @return the number of prerequisites rows, or null if no rows were added
+   */
+  Integer getPrerequisitesEdgeCount() {
+    return prerequisiteRows == 0 ? null : prerequisiteRows;
+  }
+
+  /**
+   * Returns the prerequisite targets of each prerequisite source.
+   *
+   * @return the prerequisites graph, in first-seen order
+   */
+  Map<String, List<String>> getPrerequisitesGraph() {
+    return toLists(prerequisitesGraph);
+  }
+
+  /**
+   * Returns the number of objectives relation rows added.
+   *
+   * @return the number of objectives relation rows, or null if no rows were added
+   */
+  Integer getObjectivesRelationCount() {
+    return objectiveRelationRows == 0 ? null : objectiveRelationRows;
+  }
+
+  /**
+   * Returns the unique objective identifiers.
+   *
+   * @return the objective identifiers, in first-seen order
+   */
+  List<String> getObjectiveIds() {
+    return new ArrayList<>(objectiveIds);
+  }
+
+  /**
+   * Returns the objective identifiers of each assignable unit.
+   *
+   * @return the objectives of each assignable unit, in first-seen order
+   */
+  Map<String, List<String>> getObjectivesByAu() {
+    return toLists(objectivesByAu);
+  }
+
+  /**
+   * Returns the accumulated details of each objective.
+   *
+   * @return the objective metadata, in first-seen order
+   */
+  List<AiccObjectiveMetadata> getObjectiveMetadata() {
+    List<AiccObjectiveMetadata> results = new ArrayList<>(objectives.size());
+    for (ObjectiveAccumulator accumulator : objectives.values()) {
+      results.add(accumulator.toMetadata());
+    }
+    return results;
+  }
+
+  /**
+   * Adds a relation between two non-blank values to a relation map, ignoring duplicates.
+   *
+   * @param relations the relation map to add to
+   * @param key the key of the relation
+   * @param related the related value
+   */
+  private static void addRelation(Map<String, LinkedHashSet<String>> relations, String key,
+      String related) {
+    if (key == null || key.isBlank() || related == null || related.isBlank()) {
+      return;
+    }
+    relations
+        .computeIfAbsent(key, k -> new LinkedHashSet<>())
+        .add(related);
+  }
+
+  private static Map<String, List<String>> toLists(Map<String, LinkedHashSet<String>> relations) {
+    Map<String, List<String>> lists = new LinkedHashMap<>();
+    relations.forEach((key, values) -> lists.put(key, new ArrayList<>(values)));
+    return lists;
+  }
+
+  private static <T> void forEach(List<T> rows, Consumer<T> consumer) {
+    if (rows != null) {
+      rows.forEach(consumer);
+    }
+  }
+
+  /**
+   * Finds the first key in the provided map whose name contains the specified needle string,
+   * ignoring case sensitivity. If no match is found, or if either input is null or empty, the
+   * method will return null.
+   *
+   * @param row the map to search for a key containing the specified needle; may be null or empty
+   * @param needle the string to search for within the keys of the map; may be null
+   * @return the first key in the map containing the needle string (case-insensitive), or null if no
+   * match is found or input is invalid
+   */
+  private static String findKeyContaining(Map<String, String> row, String needle) {
+    if (row == null || row.isEmpty() || needle == null) {
+      return null;
+    }
+    final String target = needle.toLowerCase(Locale.ROOT);
+    return row
+        .keySet()
+        .stream()
+        .filter(Objects::nonNull)
+        .filter(k -> k
+            .toLowerCase(Locale.ROOT)
+            .contains(target))
+        .findFirst()
+        .orElse(null);
+  }
+
+  /**
+   * Retrieves the first key from the provided map that matches any of the specified candidate keys.
+   * Returns null if the map or candidates are null, or if no match is found.
+   *
+   * @param row the map from which to retrieve a key; may be null
+   * @param candidates a list of candidate keys to search for in the map; may be null
+   * @return the first key from the map matching the candidates, or null if no match is found
+   */
+  private static String firstNonNullKey(Map<String, String> row, String... candidates) {
+    if (row == null || candidates == null) {
+      return null;
+    }
+    for (String candidate : candidates) {
+      if (candidate == null) {
+        continue;
+      }
+      String key = findKey(row, candidate);
+      if (key != null) {
+        return key;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Searches for a key in the provided map that matches the specified name, ignoring case
+   * sensitivity.
+   *
+   * @param row the map containing the keys to search through
+   * @param name the name to search for in the map's keys
+   * @return the matching key if found, or null if no match exists
+   */
+  private static String findKey(Map<String, String> row, String name) {
+    String target = name.toLowerCase(Locale.ROOT);
+    for (String k : row.keySet()) {
+      if (k != null && k
+          .toLowerCase(Locale.ROOT)
+          .equals(target)) {
+        return k;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Retrieves the value associated with the specified key from the provided map, trims it, and
+   * returns the result. If the map or key is null, or if the key does not exist in the map, null is
+   * returned.
+   *
+   * @param row the map from which the value is to be retrieved
+   * @param key the key whose associated value is to be retrieved and trimmed
+   * @return the trimmed value associated with the key, or null if none exists or if the map/key is
+   * null
+   */
+  private static String value(Map<String, String> row, String key) {
+    if (row == null || key == null) {
+      return null;
+    }
+    String v = row.get(key);
+    return v != null ? v.trim() : null;
+  }
+
+  /**
+   * Processes the attributes of the given {@code CourseStructure} and adds children entries to the
+   * provided map based on specific attribute keys.
+   *
+   * @param map a map where the key is a parent element and the value is a set of child elements to
+   * be updated
+   * @param structure the {@code CourseStructure} object containing attributes and hierarchical
+   * relationship data
+   */
+  private static void addChildrenFromAttributes(Map<String, LinkedHashSet<String>> map,
+      CourseStructure structure) {
+    if (structure == null) {
+      return;
+    }
+    Map<String, String> attributes = structure.getAttributes();
+    if (attributes.isEmpty()) {
+      return;
+    }
+    String parent = StringUtils.isNotBlank(structure.getMember())
+        ? structure
+        .getMember()
+        .trim()
+        : structure.getBlock();
+    addChildren(map, parent, attributes.get("UR"));
+    addChildren(map, parent, attributes.get("RT"));
+  }
+
+  /**
+   * Adds children elements to the specified parent in the given map. The children are parsed from
+   * the rawChildren input and added to the LinkedHashSet associated with the parent key in the map.
+   * If the parent or rawChildren is blank, the method will not perform any operation.
+   *
+   * @param map the map where the parent-child relationships will be stored. The key is the parent,
+   * and the value is a LinkedHashSet containing the children.
+   * @param parent the parent element to which the children will be associated. This value is
+   * trimmed before use.
+   * @param rawChildren a comma-separated string of children to be added under the parent. Each
+   * child is processed and trimmed before being added.
+   */
+  private static void addChildren(Map<String, LinkedHashSet<String>> map, String parent,
+      String rawChildren) {
+    if (StringUtils.isBlank(parent) || StringUtils.isBlank(rawChildren)) {
+      return;
+    }
+    List<String> children = splitList(rawChildren);
+    if (children.isEmpty()) {
+      return;
+    }
+    LinkedHashSet<String> set = map.computeIfAbsent(parent.trim(), k -> new LinkedHashSet<>());
+    for (String child : children) {
+      if (StringUtils.isNotBlank(child)) {
+        set.add(child.trim());
+      }
+    }
+  }
+
+  /**
+   * Splits the input string into a list of trimmed, non-empty substrings based on specified
+   * delimiters. The delimiters used for splitting are pipe (|), semicolon (;), and comma (,). If
+   * the input string is null, empty, or contains only whitespace, an empty list is returned.
+   *
+   * @param raw the input string to be split; may contain delimiters (|, ;, ,) separating values
+   * @return a list of trimmed, non-empty substrings obtained after splitting the input string
+   */
+  private static List<String> splitList(String raw) {
+    if (StringUtils.isBlank(raw)) {
+      return List.of();
+    }
+    String[] parts = raw.split("[|;,]");
+    List<String> values = new ArrayList<>();
+    for (String part : parts) {
+      String trimmed = part.trim();
+      if (!trimmed.isEmpty()) {
+        values.add(trimmed);
+      }
+    }
+    return values;
+  }
+
+  /**
+   * Processes a single objective row, extracting relevant fields and populating objective
+   * accumulators.
+   *
+   * @param row the map representing a single row of objective data; typically key-value pairs where
+   * keys correspond to column names
+   * @param objectiveIdKey the key to identify the "objective ID" field in the row
+   * @param descriptionKey the key to identify the "description" field in the row
+   * @param auKey the key to identify the "assignable units (AUs)" field in the row
+   * @param satisfiedKey the key to identify the "satisfied by measure" field in the row
+   * @param minMeasureKey the key to identify the "minimum measure" field in the row
+   * @param weightKey the key to identify the "progress measure weight" field in the row
+   * @param statusKey the key to identify the "status" field in the row
+   * @param accumulators the data structure used to accumulate all processed objective data, where
+   * results are added
+   */
+  private static void processObjectiveRow(
+      Map<String, String> row,
+      String objectiveIdKey,
+      String descriptionKey,
+      String auKey,
+      String satisfiedKey,
+      String minMeasureKey,
+      String weightKey,
+      String statusKey,
+      Map<String, ObjectiveAccumulator> accumulators
+  ) {
+    if (row == null || row.isEmpty()) {
+      return;
+    }
+
+    String id = trimOrNull(value(row, objectiveIdKey));
+    if (StringUtils.isBlank(id)) {
+      return;
+    }
+
+    ObjectiveAccumulator accumulator =
+        accumulators.computeIfAbsent(id, ObjectiveAccumulator::new);
+
+    applyIfPresent(row, descriptionKey, accumulator::updateDescription);
+
+    applyIfPresent(row, auKey, aus -> accumulator.addAssociatedAus(splitList(aus)));
+
+    applyIfPresent(row, satisfiedKey,
+        s -> accumulator.updateSatisfiedByMeasure(parseBooleanValue(s)));
+
+    applyIfPresent(row, minMeasureKey, m -> {
+      Double normalized = normalizeMasteryScore(m);
+      if (normalized != null) {
+        accumulator.updateMinNormalizedMeasure(normalized);
+      }
+    });
+
+    applyIfPresent(row, weightKey, w -> {
+      Double weightValue = firstNonNull(normalizeMasteryScore(w), parseDouble(w));
+      if (weightValue != null) {
+        accumulator.updateProgressMeasureWeight(weightValue);
+      }
+    });
+
+    applyIfPresent(row, statusKey, raw -> {
+      Map<String, String> parsed = parseStatusMap(raw);
+      if (!parsed.isEmpty()) {
+        accumulator.mergeStatus(parsed);
+      }
+    });
+  }
+
+  /**
+   * Trims the input string, removing any leading or trailing whitespace. If the input string is
+   * null, returns null.
+   *
+   * @param s the string to be trimmed, may be null
+   * @return the trimmed string, or null if the input string is null
+   */
+  private static String trimOrNull(String s) {
+    return s == null ? null : s.trim();
+  }
+
+  /**
+   * Returns the first non-null value among the two provided parameters. If the first parameter is
+   * non-null, it is returned; otherwise, the second parameter is returned.
+   *
+   * @param <T> the type of the parameters
+   * @param a the first parameter to check for nullity
+   * @param b the second parameter to return if the first is null
+   * @return the first non-null parameter, or null if both parameters are null
+   */
+  private static <T> T firstNonNull(T a, T b) {
+    return a != null ? a : b;
+  }
+
+  /**
+   * Processes a value from the provided map associated with the given key using the specified
+   * consumer only if the key is not null and the corresponding value is not blank.
+   *
+   * @param row the map containing the key-value pairs to process
+   * @param key the key to search for in the map
+   * @param consumer the consumer to apply to the value if it is present and not blank
+   */
+  private static void applyIfPresent(Map<String, String> row, String key,
+      Consumer<String> consumer) {
+    if (key == null) {
+      return;
+    }
+    String val = value(row, key);
+    if (StringUtils.isNotBlank(val)) {
+      consumer.accept(val);
+    }
+  }
+
+  /**
+   * Parses the provided string into a Double. If the string is null, blank, or cannot be converted
+   * to a valid Double, the method returns null.
+   *
+   * @param raw the string to be parsed into a Double
+   * @return the parsed Double value, or null if the string is null, blank, or not a valid
+   * representation of a Double
+   */
+  private static Double parseDouble(String raw) {
+    if (StringUtils.isBlank(raw)) {
+      return null;
+    }
+    try {
+      return Double.parseDouble(raw.trim());
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Parses a raw string value to determine its boolean representation.
+   * <p>
+   * The method normalizes the input string by trimming whitespace and converting it to lowercase.
+   * Based on predefined mappings, it returns a Boolean value or null if the input does not match
+   * recognized Boolean representations.
+   *
+   * @param rawValue the raw string value to be parsed. Can be null or empty; such values will
+   * result in a null return.
+   * @return a Boolean value (true/false) based on the input string, or null if the input cannot be
+   * mapped to a recognized Boolean representation.
+   */
+  private static Boolean parseBooleanValue(String rawValue) {
+    if (StringUtils.isBlank(rawValue)) {
+      return null;
+    }
+    String normalized = rawValue
+        .trim()
+        .toLowerCase(Locale.ROOT);
+    return switch (normalized) {
+      case "y", "yes", "true", "t", "1", "on" -> Boolean.TRUE;
+      case "n", "no", "false", "f", "0", "off" -> Boolean.FALSE;
+      default -> null;
+    };
+  }
+
+  /**
+   * Parses the given raw input string into a map of status key-value pairs. The input string is
+   * processed to normalize delimiters and split into individual key-value pair entries. Each entry
+   * is validated and then added to the resulting map.
+   *
+   * @param rawInput the raw input string containing delimited key-value pairs to be parsed. It may
+   * include legacy delimiters which will be normalized.
+   * @return a map of key-value pairs parsed from the input string. If the input is blank or
+   * contains no valid pairs, an empty map is returned.
+   */
+  private static Map<String, String> parseStatusMap(String rawInput) {
+    Map<String, String> statusMap = new LinkedHashMap<>();
+    if (StringUtils.isBlank(rawInput)) {
+      return statusMap;
+    }
+
+    String normalized = rawInput.replace(LEGACY_DELIMITER, STANDARD_DELIMITER);
+    // limit = 0 drops trailing empty strings, keeping behavior consistent for trailing delimiters
+    String[] entries = normalized.split(DELIMITER_REGEX, 0);
+
+    for (String entry : entries) {
+      putIfValidPair(statusMap, entry);
+    }
+
+    return statusMap;
+  }
+
+  /**
+   * Adds a key-value pair to the target map if the given entry is valid. The entry must be
+   * non-null, non-empty, and contain a valid key-value pair separated by the defined separator.
+   * Both the key and value must be non-empty after trimming.
+   *
+   * @param target the map where the valid key-value pair will be added
+   * @param entry a string containing the key-value pair separated by a specific character
+   */
+  private static void putIfValidPair(Map<String, String> target, String entry) {
+    if (entry == null) {
+      return;
+    }
+    String trimmed = entry.trim();
+    if (trimmed.isEmpty()) {
+      return;
+    }
+
+    int sepIndex = trimmed.indexOf(KEY_VALUE_SEPARATOR);
+    if (sepIndex < 0) {
+      return;
+    }
+
+    String key = trimmed
+        .substring(0, sepIndex)
+        .trim();
+    String value = trimmed
+        .substring(sepIndex + 1)
+        .trim();
+
+    if (!key.isEmpty() && !value.isEmpty()) {
+      target.put(key, value);
+    }
+  }
+
+  /**
+   * The ObjectiveAccumulator class is a helper utility designed to accumulate and manage data
+   * related to objectives, such as associated attributes, metadata, and measures of progress or
+   * satisfaction.
+   * <p>
+   * This class is intended for internal use and offers methods for updating and transforming
+   * objective-related data into a structured format.
+   */
+  private static final class ObjectiveAccumulator {
+
+    private final String id;
+    private final LinkedHashSet<String> associatedAus = new LinkedHashSet<>();
+    private final LinkedHashMap<String, String> statusMap = new LinkedHashMap<>();
+    private String description;
+    private Boolean satisfiedByMeasure;
+    private Double minNormalizedMeasure;
+    private Double progressMeasureWeight;
+
+    private ObjectiveAccumulator(String id) {
+      this.id = id;
+    }
+
+    /**
+     * Updates the description of the objective after trimming the input value. If the provided
+     * value is null, the description will be set to null.
+     *
+     * @param value the new description of the objective, may be null
+     */
+    void updateDescription(String value) {
+      this.description = trimOrNull(value);
+    }
+
+    /**
+     * Adds a list of associated assignable units (AUs) to the current set of associated AUs. If the
+     * provided list is null or empty, no changes will be made.
+     *
+     * @param aus the list of associated assignable units to add, may be null or empty
+     */
+    void addAssociatedAus(List<String> aus) {
+      if (aus == null || aus.isEmpty()) {
+        return;
+      }
+      associatedAus.addAll(aus);
+    }
+
+    /**
+     * Updates the satisfaction state of the objective based on the given measure. If the provided
+     * value is null, satisfaction will be set to null.
+     *
+     * @param value the new satisfaction state of the objective, may be null
+     */
+    void updateSatisfiedByMeasure(Boolean value) {
+      this.satisfiedByMeasure = value;
+    }
+
+    /**
+     * Updates the minimum normalized measure of the objective. If the provided value is null, the
+     * minimum normalized measure will be set to null.
+     *
+     * @param value the new minimum normalized measure, may be null
+     */
+    void updateMinNormalizedMeasure(Double value) {
+      this.minNormalizedMeasure = value;
+    }
+
+    /**
+     * Updates the progress measure weight for the objective. If the provided value is null, the
+     * progress measure weight will be set to null.
+     *
+     * @param value the new progress measure weight, may be null
+     */
+    void updateProgressMeasureWeight(Double value) {
+      this.progressMeasureWeight = value;
+    }
+
+    /**
+     * Merges the provided status mappings into the existing status map of the objective
+     * accumulator. If the input map is null or empty, no operation is performed.
+     *
+     * @param statuses a map containing status keys and their corresponding values to be merged with
+     * the existing status map; may be null or empty
+     */
+    void mergeStatus(Map<String, String> statuses) {
+      if (statuses != null && !statuses.isEmpty()) {
+        statusMap.putAll(statuses);
+      }
+    }
+
+    /**
+     * Converts the accumulated objective data into an instance of {@code AiccObjectiveMetadata}.
+     * The method creates immutable copies of the associated AUs and status map to ensure that the
+     * returned metadata object is self-contained and independent of the
+     * {@code ObjectiveAccumulator}'s internal state.
+     *
+     * @return an {@code AiccObjectiveMetadata} object that holds the converted representation of
+     * the accumulated objective data, including its ID, description, associated assignable units,
+     * satisfaction criteria, progress measure weight, and objective statuses.
+     */
+    AiccObjectiveMetadata toMetadata() {
+      List<String> aus = associatedAus.isEmpty()
+          ? List.of()
+          : new ArrayList<>(associatedAus);
+      Map<String, String> statuses = statusMap.isEmpty()
+          ? Map.of()
+          : new LinkedHashMap<>(statusMap);
+      return new AiccObjectiveMetadata(id, description, aus, satisfiedByMeasure,
+          minNormalizedMeasure, progressMeasureWeight, statuses);
+    }
+  }
+}
@@ -0,0 +1,420 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.output.metadata.cmi5;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Serial;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable, pre-compiled cmi5 context template that can be written into many statements
+ * without building a new tree for each of them.
+ * <p>
+ * A template is compiled once from a {@link JsonNode}: object member names are pre-encoded and
+ * indexed, and the serialized JSON form is kept alongside. {@link #writeMerged(JsonNode,
+ * JsonGenerator)} then streams a statement context merged with the template straight to a
+ * {@link JsonGenerator}, and {@link #writeTo(JsonGenerator)} streams the template alone.
+ * </p>
+ * <p>
+ * Merging follows one rule throughout, with the template acting as the override: objects are
+ * merged member by member, arrays are concatenated with the base elements first, and any other
+ * value is taken from the override. {@link #mergedWith(Cmi5ContextTemplate)} applies the same rule
+ * to combine a course-scoped template with an AU-scoped one.
+ * </p>
+ * <p>
+ * Instances are immutable and thread-safe. Equality is based on the serialized form.
+ * </p>
+ */
+public final class Cmi5ContextTemplate implements Serializable {
+
+  @Serial
+  private static final long serialVersionUID = 1L;
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  /**
+   * The UTF-8 encoded JSON form of the template.
+   */
+  private final byte[] json;
+
+  /**
+   * The compiled template, rebuilt from {@link #json} when an instance is deserialized.
+   */
+  private final transient Value root;
+
+  private Cmi5ContextTemplate(Value root) {
+    this.root = root;
+    this.json = serialize(root);
+  }
+
+  /**
+   * Compiles a context template.
+   *
+   * @param template the context template
+   * @return the compiled template
+   * @throws IllegalArgumentException if template is null
+   */
+  public static Cmi5ContextTemplate of(JsonNode template) {
+    if (template == null) {
+      throw new IllegalArgumentException("Context template cannot be null");
+    }
+    return new Cmi5ContextTemplate(compile(template));
+  }
+
+  /**
+   * Compiles a context template from its serialized JSON form.
+   *
+   * @param json the UTF-8 encoded JSON form of the template
+   * @return the compiled template
+   * @throws IOException if the JSON cannot be parsed
+   * @throws IllegalArgumentException if json is null
+   */
+  public static Cmi5ContextTemplate parse(byte[] json) throws IOException {
+    if (json == null) {
+      throw new IllegalArgumentException("Context template JSON cannot be null");
+    }
+    return of(OBJECT_MAPPER.readTree(json));
+  }
+
+  /**
+   * Retrieves the serialized form of the template.
+   *
+   * @return a copy of the UTF-8 encoded JSON form of the template
+   */
+  public byte[] toByteArray() {
+    return json.clone();
+  }
+
+  /**
+   * Builds a new, mutable tree holding the template.
+   *
+   * @return a tree that the caller may modify freely
+   */
+  public JsonNode toJsonNode() {
+    try {
+      return OBJECT_MAPPER.readTree(json);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Writes the template as the next value of a generator.
+   *
+   * @param generator the generator to write to
+   * @throws IOException if the generator fails
+   */
+  public void writeTo(JsonGenerator generator) throws IOException {
+    root.write(generator);
+  }
+
+  /**
+   * Writes a statement context merged with the template as the next value of a generator. Members
+   * of the context that the template does not define are copied as they are, in their original
+   * order, followed by the remaining members of the template.
+   *
+   * @param context the context of the statement, or null if the statement has none
+   * @param generator the generator to write to
+   * @throws IOException if the generator fails
+   */
+  public void writeMerged(JsonNode context, JsonGenerator generator) throws IOException {
+    if (context == null || context.isMissingNode()) {
+      root.write(generator);
+    } else {
+      root.writeOver(context, generator);
+    }
+  }
+
+  /**
+   * Combines this template with a template that overrides it, such as an AU-scoped template
+   * overriding the course-scoped one.
+   *
+   * @param override the overriding template, or null to keep this template
+   * @return the combined template
+   */
+  public Cmi5ContextTemplate mergedWith(Cmi5ContextTemplate override) {
+    if (override == null) {
+      return this;
+    }
+    return new Cmi5ContextTemplate(merge(root, override.root));
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    return o instanceof Cmi5ContextTemplate that && Arrays.equals(json, that.json);
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(json);
+  }
+
+  @Override
+  public String toString() {
+    return new String(json, StandardCharsets.UTF_8);
+  }
+
+  @Serial
+  private Object readResolve() throws IOException {
+    return parse(json);
+  }
+
+  private static byte[] serialize(Value value) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (JsonGenerator generator = OBJECT_MAPPER.createGenerator(out)) {
+      value.write(generator);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return out.toByteArray();
+  }
+
+  private static Value compile(JsonNode node) {
+    if (node.isObject()) {
+      List<String> names = new ArrayList<>(node.size());
+      List<Value> values = new ArrayList<>(node.size());
+      for (Map.Entry<String, JsonNode> field : node.properties()) {
+        names.add(field.getKey());
+        values.add(compile(field.getValue()));
+      }
+      return new ObjectValue(names, values);
+    }
+    if (node.isArray()) {
+      Value[] elements = new Value[node.size()];
+      for (int i = 0; i < elements.length; i++) {
+        elements[i] = compile(node.get(i));
+      }
+      return new ArrayValue(elements);
+    }
+    return new ScalarValue(node.deepCopy());
+  }
+
+  private static Value merge(Value base, Value override) {
+    if (base instanceof ObjectValue baseObject && override instanceof ObjectValue overrideObject) {
+      List<String> names = new ArrayList<>();
+      List<Value> values = new ArrayList<>();
+      for (int i = 0; i < baseObject.names.length; i++) {
+        String name = baseObject.names[i].getValue();
+        Integer index = overrideObject.index.get(name);
+        names.add(name);
+        values.add(index == null ? baseObject.values[i]
+            : merge(baseObject.values[i], overrideObject.values[index]));
+      }
+      for (int i = 0; i < overrideObject.names.length; i++) {
+        String name = overrideObject.names[i].getValue();
+        if (!baseObject.index.containsKey(name)) {
+          names.add(name);
+          values.add(overrideObject.values[i]);
+        }
+      }
+      return new ObjectValue(names, values);
+    }
+    if (base instanceof ArrayValue baseArray && override instanceof ArrayValue overrideArray) {
+      Value[] elements = Arrays.copyOf(baseArray.elements,
+          baseArray.elements.length + overrideArray.elements.length);
+      System.arraycopy(overrideArray.elements, 0, elements, baseArray.elements.length,
+          overrideArray.elements.length);
+      return new ArrayValue(elements);
+    }
+    return override;
+  }
+
+  /**
+   * Writes a value of a statement that the template does not override.
+   */
+  private static void writeNode(JsonNode node, JsonGenerator generator) throws IOException {
+    if (node.isObject()) {
+      generator.writeStartObject();
+      for (Map.Entry<String, JsonNode> field : node.properties()) {
+        generator.writeFieldName(field.getKey());
+        writeNode(field.getValue(), generator);
+      }
+      generator.writeEndObject();
+    } else if (node.isArray()) {
+      generator.writeStartArray();
+      for (JsonNode element : node) {
+        writeNode(element, generator);
+      }
+      generator.writeEndArray();
+    } else {
+      writeScalar(node, generator);
+    }
+  }
+
+  private static void writeScalar(JsonNode node, JsonGenerator generator) throws IOException {
+    switch (node.getNodeType()) {
+      case STRING -> generator.writeString(node.textValue());
+      case BOOLEAN -> generator.writeBoolean(node.booleanValue());
+      case NUMBER -> {
+        switch (node.numberType()) {
+          case INT -> generator.writeNumber(node.intValue());
+          case LONG -> generator.writeNumber(node.longValue());
+          case BIG_INTEGER -> generator.writeNumber(node.bigIntegerValue());
+          case FLOAT -> generator.writeNumber(node.floatValue());
+          case DOUBLE -> generator.writeNumber(node.doubleValue());
+          default -> generator.writeNumber(node.decimalValue());
+        }
+      }
+      case BINARY -> generator.writeBinary(node.binaryValue());
+      case NULL, MISSING -> generator.writeNull();
+      default -> generator.writeString(node.asText());
+    }
+  }
+
+  /**
+   * A compiled template value.
+   */
+  private sealed interface Value permits ObjectValue, ArrayValue, ScalarValue {
+
+    /**
+     * Writes the value.
+     */
+    void write(JsonGenerator generator) throws IOException;
+
+    /**
+     * Writes a statement value merged with this value, which acts as the override.
+     */
+    default void writeOver(JsonNode base, JsonGenerator generator) throws IOException {
+      write(generator);
+    }
+  }
+
+  /**
+   * A compiled object, with pre-encoded member names and an index from name to position.
+   */
+  private static final class ObjectValue implements Value {
+
+    private final SerializableString[] names;
+
+    private final Value[] values;
+
+    private final Map<String, Integer> index;
+
+    private ObjectValue(List<String> names, List<Value> values) {
+      this.names = new SerializableString[names.size()];
+      this.values = values.toArray(new Value[0]);
+      Map<String, Integer> positions = new HashMap<>();
+      for (int i = 0; i < this.names.length; i++) {
+        this.names[i] = new SerializedString(names.get(i));
+        positions.put(names.get(i), i);
+      }
+      this.index = Map.copyOf(positions);
+    }
+
+    @Override
+    public void write(JsonGenerator generator) throws IOException {
+      generator.writeStartObject();
+      for (int i = 0; i < names.length; i++) {
+        generator.writeFieldName(names[i]);
+        values[i].write(generator);
+      }
+      generator.writeEndObject();
+    }
+
+    @Override
+    public void writeOver(JsonNode base, JsonGenerator generator) throws IOException {
+      if (!base.isObject()) {
+        write(generator);
+        return;
+      }
+      boolean[] written = new boolean[names.length];
+      generator.writeStartObject();
+      for (Map.Entry<String, JsonNode> field : base.properties()) {
+        Integer position = index.get(field.getKey());
+        if (position == null) {
+          generator.writeFieldName(field.getKey());
+          writeNode(field.getValue(), generator);
+        } else {
+          written[position] = true;
+          generator.writeFieldName(names[position]);
+          values[position].writeOver(field.getValue(), generator);
+        }
+      }
+      for (int i = 0; i < names.length; i++) {
+        if (!written[i]) {
+          generator.writeFieldName(names[i]);
+          values[i].write(generator);
+        }
+      }
+      generator.writeEndObject();
+    }
+  }
+
+  /**
+   * A compiled array.
+   */
+  private static final class ArrayValue implements Value {
+
+    private final Value[] elements;
+
+    private ArrayValue(Value[] elements) {
+      this.elements = elements;
+    }
+
+    @Override
+    public void write(JsonGenerator generator) throws IOException {
+      generator.writeStartArray();
+      for (Value element : elements) {
+        element.write(generator);
+      }
+      generator.writeEndArray();
+    }
+
+    @Override
+    public void writeOver(JsonNode base, JsonGenerator generator) throws IOException {
+      if (!base.isArray()) {
+        write(generator);
+        return;
+      }
+      generator.writeStartArray();
+      for (JsonNode element : base) {
+        writeNode(element, generator);
+      }
+      for (Value element : elements) {
+        element.write(generator);
+      }
+      generator.writeEndArray();
+    }
+  }
+
+  /**
+   * A compiled string, number, boolean or null, held as an immutable value node.
+   */
+  private static final class ScalarValue implements Value {
+
+    private final JsonNode node;
+
+    private ScalarValue(JsonNode node) {
+      this.node = node;
+    }
+
+    @Override
+    public void write(JsonGenerator generator) throws IOException {
+      writeScalar(node, generator);
+    }
+  }
+}
@@ -10,11 +10,10 @@
  */
 package dev.jcputney.elearning.parser.output.metadata.cmi5;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.databind.JsonNode;
 import dev.jcputney.elearning.parser.enums.ModuleEditionType;
 import dev.jcputney.elearning.parser.enums.ModuleType;
-import dev.jcputney.elearning.parser.input.cmi5.AU;
-import dev.jcputney.elearning.parser.input.cmi5.Block;
 import dev.jcputney.elearning.parser.input.cmi5.Cmi5Manifest;
 import dev.jcputney.elearning.parser.input.cmi5.ObjectivesList;
 import dev.jcputney.elearning.parser.input.cmi5.types.Objective;
@@ -149,6 +148,13 @@ public class Cmi5Metadata extends BaseModuleMetadata<Cmi5Manifest> {
    */
   private final Map<String, JsonNode> assignableUnitContextTemplates = new HashMap<>();
 
+  /**
+   * The context templates compiled for the course and for every AU that declares one, built on
+   * first access and discarded whenever either context template setter is called.
+   */
+  @JsonIgnore
+  private transient volatile CompiledContextTemplates compiledContextTemplates;
+
   /**
    * AU entitlement keys keyed by AU id.
    */
@@ -182,6 +188,21 @@ public class Cmi5Metadata extends BaseModuleMetadata<Cmi5Manifest> {
    * @return A new Cmi5Metadata instance.
    */
   public static Cmi5Metadata create(Cmi5Manifest manifest, boolean xapiEnabled) {
+    return create(manifest, Cmi5MetadataCollector.of(manifest), xapiEnabled);
+  }
+
+  /**
+   * Creates a new Cmi5Metadata instance from assignable unit metadata that has already been
+   * collected, for example while streaming the course structure. The course context template and
+   * objective IDs are still read from the manifest.
+   *
+   * @param manifest The cmi5 manifest.
+   * @param collector The assignable unit metadata collected from the course structure.
+   * @param xapiEnabled Whether xAPI is enabled.
+   * @return A new Cmi5Metadata instance.
+   */
+  public static Cmi5Metadata create(Cmi5Manifest manifest, Cmi5MetadataCollector collector,
+      boolean xapiEnabled) {
     Cmi5Metadata metadata = new Cmi5Metadata();
     metadata.manifest = manifest;
     metadata.moduleType = ModuleType.CMI5;
@@ -192,33 +213,18 @@ public class Cmi5Metadata extends BaseModuleMetadata<Cmi5Manifest> {
         .map(course -> copyJsonNode(course.getContextTemplate()))
         .orElse(null);
 
-    // Extract all AUs (from root level and blocks)
-    List<AU> allAssignableUnits = getAllAssignableUnits(manifest);
-    if (!allAssignableUnits.isEmpty()) {
-      for (AU au : allAssignableUnits) {
-        addAssignableUnitMetadata(metadata, au);
-      }
-      List<String> auIds = allAssignableUnits
-          .stream()
-          .map(AU::getId)
-          .toList();
-      List<String> auUrls = allAssignableUnits
-          .stream()
-          .map(AU::getUrl)
-          .toList();
-      metadata.assignableUnitIds.addAll(auIds);
-      metadata.assignableUnitUrls.addAll(auUrls);
-    }
-
-    // Add blocks if available
-    List<Block> blocks = manifest.getBlocks();
-    if (blocks != null && !blocks.isEmpty()) {
-      List<String> blockIds = blocks
-          .stream()
-          .map(Block::getId)
-          .toList();
-      metadata.blockIds.addAll(blockIds);
-    }
+    // Assignable units from the root level and from blocks
+    metadata.assignableUnitIds.addAll(collector.getAssignableUnitIds());
+    metadata.assignableUnitUrls.addAll(collector.getAssignableUnitUrls());
+    metadata.auDetails.putAll(collector.getAuDetails());
+    metadata.masteryScores.putAll(collector.getMasteryScores());
+    metadata.moveOnCriteria.putAll(collector.getMoveOnCriteria());
+    metadata.launchMethods.putAll(collector.getLaunchMethods());
+    metadata.activityTypes.putAll(collector.getActivityTypes());
+    metadata.launchParameters.putAll(collector.getLaunchParameters());
+    metadata.assignableUnitContextTemplates.putAll(collector.getContextTemplates());
+    metadata.entitlementKeys.putAll(collector.getEntitlementKeys());
+    metadata.blockIds.addAll(collector.getBlockIds());
 
     // Add objectives if available
     Optional
@@ -237,47 +243,23 @@ public class Cmi5Metadata extends BaseModuleMetadata<Cmi5Manifest> {
     return metadata;
   }
 
-  /**
-   * Adds metadata for a specific activity unit (AU) to the provided Cmi5Metadata object. This
-   * includes details such as activity unit metadata, mastery score, move-on criteria, launch
-   * method, activity type, and launch parameters, if available.
-   *
-   * @param metadata The Cmi5Metadata object where the activity unit metadata should be added.
-   * @param au The activity unit (AU) containing metadata to be extracted and stored in the
-   * Cmi5Metadata object.
-   */
-  private static void addAssignableUnitMetadata(Cmi5Metadata metadata, AU au) {
-    String auId = au.getId();
-    metadata.auDetails.put(auId, getActivityUnitMetadata(au));
-
-    if (au.getMasteryScore() != null) {
-      metadata.masteryScores.put(auId, au
-          .getMasteryScore()
-          .value()
-          .doubleValue());
-    }
-    if (au.getMoveOn() != null) {
-      metadata.moveOnCriteria.put(auId, au
-          .getMoveOn()
-          .name());
-    }
-    if (au.getLaunchMethod() != null) {
-      metadata.launchMethods.put(auId, au
-          .getLaunchMethod()
-          .name());
-    }
-    if (au.getActivityType() != null) {
-      metadata.activityTypes.put(auId, au.getActivityType());
-    }
-    if (au.getLaunchParameters() != null) {
-      metadata.launchParameters.put(auId, au.getLaunchParameters());
-    }
-    if (au.getContextTemplate() != null) {
-      metadata.assignableUnitContextTemplates.put(auId, copyJsonNode(au.getContextTemplate()));
-    }
-    if (au.getEntitlementKey() != null) {
-      metadata.entitlementKeys.put(auId, au.getEntitlementKey());
+  private CompiledContextTemplates compiledContextTemplates() {
+    CompiledContextTemplates compiled = compiledContextTemplates;
+    if (compiled == null) {
+      synchronized (this) {
+        compiled = compiledContextTemplates;
+        if (compiled == null) {
+          compiled = CompiledContextTemplates.compile(courseContextTemplate,
+              assignableUnitContextTemplates);
+          compiledContextTemplates = compiled;
+        }
+      }
     }
+    return compiled;
+  }
+
+  private synchronized void invalidateCompiledContextTemplates() {
+    compiledContextTemplates = null;
   }
 
   private static JsonNode copyJsonNode(JsonNode node) {
@@ -294,94 +276,6 @@ public class Cmi5Metadata extends BaseModuleMetadata<Cmi5Manifest> {
     return Map.copyOf(copy);
   }
 
-  /**
-   * Extracts metadata for a given activity unit (AU). The metadata includes details such as the
-   * activity unit's URL, title, and description if they are available.
-   *
-   * @param au The activity unit (AU) to extract metadata from. It contains the details of the
-   * activity unit that need to be processed and retrieved.
-   * @return A map containing the metadata of the provided activity unit. The map could include
-   * key-value pairs for "url", "title", and "description" if these attributes exist in the activity
-   * unit.
-   */
-  private static Map<String, Object> getActivityUnitMetadata(AU au) {
-    Map<String, Object> auInfo = new HashMap<>();
-    auInfo.put("url", au.getUrl());
-    if (au.getTitle() != null && au
-        .getTitle()
-        .getStrings() != null && !au
-        .getTitle()
-        .getStrings()
-        .isEmpty()) {
-      auInfo.put("title", au
-          .getTitle()
-          .getStrings()
-          .get(0)
-          .getValue());
-    }
-    if (au.getDescription() != null && au
-        .getDescription()
-        .getStrings() != null && !au
-        .getDescription()
-        .getStrings()
-        .isEmpty()) {
-      auInfo.put("description", au
-          .getDescription()
-          .getStrings()
-          .get(0)
-          .getValue());
-    }
-    return auInfo;
-  }
-
-  /**
-   * Recursively extracts all assignable units from the manifest, including those nested in blocks.
-   *
-   * @param manifest The CMI5 manifest
-   * @return A list of all assignable units
-   */
-  private static List<AU> getAllAssignableUnits(Cmi5Manifest manifest) {
-    List<AU> allAUs = new ArrayList<>();
-
-    // Add root-level AUs
-    if (manifest.getAssignableUnits() != null) {
-      allAUs.addAll(manifest.getAssignableUnits());
-    }
-
-    // Add AUs from blocks
-    if (manifest.getBlocks() != null) {
-      for (Block block : manifest.getBlocks()) {
-        allAUs.addAll(getAUsFromBlock(block));
-      }
-    }
-
-    return allAUs;
-  }
-
-  /**
-   * Recursively extracts assignable units from a block and its nested blocks.
-   *
-   * @param block The block to extract AUs from
-   * @return A list of assignable units from the block
-   */
-  private static List<AU> getAUsFromBlock(Block block) {
-    List<AU> aus = new ArrayList<>();
-
-    // Add AUs from this block
-    if (block.getAssignableUnits() != null) {
-      aus.addAll(block.getAssignableUnits());
-    }
-
-    // Recursively add AUs from nested blocks
-    if (block.getNestedBlocks() != null) {
-      for (Block nestedBlock : block.getNestedBlocks()) {
-        aus.addAll(getAUsFromBlock(nestedBlock));
-      }
-    }
-
-    return aus;
-  }
-
   @Override
   public boolean equals(Object o) {
     if (this == o) {
@@ -537,6 +431,39 @@ public class Cmi5Metadata extends BaseModuleMetadata<Cmi5Manifest> {
    */
   public void setCourseContextTemplate(JsonNode courseContextTemplate) {
     this.courseContextTemplate = copyJsonNode(courseContextTemplate);
+    invalidateCompiledContextTemplates();
+  }
+
+  /**
+   * Retrieves the course-scoped context template compiled for merging into statements. The
+   * template is compiled once and the same instance is returned until the context templates
+   * change.
+   *
+   * @return the compiled course context template, or {@code null} if absent
+   */
+  @JsonIgnore
+  public Cmi5ContextTemplate getCompiledCourseContextTemplate() {
+    return compiledContextTemplates().course();
+  }
+
+  /**
+   * Retrieves the effective context template of an AU, compiled for merging into statements: the
+   * course-scoped template overridden by the AU-scoped template, as described by
+   * {@link Cmi5ContextTemplate#mergedWith(Cmi5ContextTemplate)}. The templates of every AU are
+   * compiled together on first access, and the same instance is returned until the context
+   * templates change. AUs without a template of their own share the course template.
+   *
+   * @param auId the id of the AU
+   * @return the compiled context template of the AU, or {@code null} if neither the course nor the
+   * AU declares one
+   */
+  @JsonIgnore
+  public Cmi5ContextTemplate getCompiledContextTemplate(String auId) {
+    CompiledContextTemplates compiled = compiledContextTemplates();
+    Cmi5ContextTemplate au = auId == null ? null : compiled
+        .assignableUnits()
+        .get(auId);
+    return au == null ? compiled.course() : au;
   }
 
   /**
@@ -563,6 +490,7 @@ public class Cmi5Metadata extends BaseModuleMetadata<Cmi5Manifest> {
         }
       });
     }
+    invalidateCompiledContextTemplates();
   }
 
   /**
@@ -618,4 +546,27 @@ public class Cmi5Metadata extends BaseModuleMetadata<Cmi5Manifest> {
   public String getManifestFile() {
     return "cmi5.xml";
   }
+
+  /**
+   * The compiled context templates of a metadata instance, built in one pass so that the number of
+   * compiled templates is bounded by the number of AUs that declare one.
+   *
+   * @param course the compiled course template, or null if the course declares none
+   * @param assignableUnits the effective template of each AU that declares one, keyed by AU id
+   */
+  private record CompiledContextTemplates(Cmi5ContextTemplate course,
+                                          Map<String, Cmi5ContextTemplate> assignableUnits) {
+
+    private static CompiledContextTemplates compile(JsonNode courseTemplate,
+        Map<String, JsonNode> assignableUnitTemplates) {
+      Cmi5ContextTemplate course =
+          courseTemplate == null ? null : Cmi5ContextTemplate.of(courseTemplate);
+      Map<String, Cmi5ContextTemplate> assignableUnits = new HashMap<>();
+      assignableUnitTemplates.forEach((auId, template) -> {
+        Cmi5ContextTemplate compiled = Cmi5ContextTemplate.of(template);
+        assignableUnits.put(auId, course == null ? compiled : course.mergedWith(compiled));
+      });
+      return new CompiledContextTemplates(course, Map.copyOf(assignableUnits));
+    }
+  }
 }
@@ -0,0 +1,326 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.output.metadata.cmi5;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import dev.jcputney.elearning.parser.input.cmi5.AU;
+import dev.jcputney.elearning.parser.input.cmi5.Block;
+import dev.jcputney.elearning.parser.input.cmi5.Cmi5Manifest;
+import dev.jcputney.elearning.parser.input.cmi5.Cmi5StructureListener;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects the assignable unit metadata of a cmi5 course structure one assignable unit at a time.
+ * <p>
+ * The collector is a {@link Cmi5StructureListener}, so it can be fed straight from
+ * {@link dev.jcputney.elearning.parser.input.cmi5.Cmi5StreamReader} without ever holding the
+ * assignable units of the course in memory; only the values surfaced in {@link Cmi5Metadata} are
+ * kept. {@link #of(Cmi5Manifest)} replays a fully bound manifest instead.
+ * </p>
+ * <p>
+ * Assignable unit IDs and URLs are ordered as {@link Cmi5Metadata} has always listed them: the
+ * root-level assignable units first, then those of each top-level block, where the assignable
+ * units directly inside a block come before those of its nested blocks. Instances are not
+ * thread-safe.
+ * </p>
+ */
+public final class Cmi5MetadataCollector implements Cmi5StructureListener {
+
+  /**
+   * The IDs and URLs of the root-level assignable units.
+   */
+  private final UnitList rootUnits = new UnitList();
+
+  /**
+   * The IDs and URLs of the assignable units of the top-level blocks that have ended.
+   */
+  private final UnitList blockUnits = new UnitList();
+
+  /**
+   * The blocks that have started but not ended yet, innermost first.
+   */
+  private final Deque<BlockUnits> openBlocks = new ArrayDeque<>();
+
+  /**
+   * The IDs of the top-level blocks, in document order.
+   */
+  private final List<String> blockIds = new ArrayList<>();
+
+  private final Map<String, Map<String, Object>> auDetails = new HashMap<>();
+
+  private final Map<String, Double> masteryScores = new HashMap<>();
+
+  private final Map<String, String> moveOnCriteria = new HashMap<>();
+
+  private final Map<String, String> launchMethods = new HashMap<>();
+
+  private final Map<String, String> activityTypes = new HashMap<>();
+
+  private final Map<String, String> launchParameters = new HashMap<>();
+
+  private final Map<String, JsonNode> contextTemplates = new HashMap<>();
+
+  private final Map<String, String> entitlementKeys = new HashMap<>();
+
+  /**
+   * Creates an empty collector.
+   */
+  public Cmi5MetadataCollector() {
+    // no-op
+  }
+
+  /**
+   * Builds a collector from a fully bound manifest by replaying its root-level assignable units and
+   * blocks.
+   *
+   * @param manifest the manifest to collect the assignable unit metadata of
+   * @return a collector holding the metadata of every assignable unit in the manifest
+   */
+  public static Cmi5MetadataCollector of(Cmi5Manifest manifest) {
+    Cmi5MetadataCollector collector = new Cmi5MetadataCollector();
+    if (manifest.getAssignableUnits() != null) {
+      for (AU au : manifest.getAssignableUnits()) {
+        collector.assignableUnit(au, 0);
+      }
+    }
+    if (manifest.getBlocks() != null) {
+      for (Block block : manifest.getBlocks()) {
+        collector.replay(block, 0);
+      }
+    }
+    return collector;
+  }
+
+  @Override
+  public void startBlock(Block block, int depth) {
+    if (depth == 0) {
+      blockIds.add(block.getId());
+    }
+    openBlocks.push(new BlockUnits());
+  }
+
+  @Override
+  public void assignableUnit(AU au, int depth) {
+    if (openBlocks.isEmpty()) {
+      rootUnits.add(au);
+    } else {
+      openBlocks
+          .peek()
+          .own
+          .add(au);
+    }
+    collect(au);
+  }
+
+  @Override
+  public void endBlock(Block block, int depth) {
+    BlockUnits ended = openBlocks.pop();
+    UnitList target = openBlocks.isEmpty() ? blockUnits : openBlocks.peek().nested;
+    target.addAll(ended.own);
+    target.addAll(ended.nested);
+  }
+
+  /**
+   * Retrieves the IDs of all assignable units collected so far.
+   *
+   * @return the assignable unit IDs, root-level assignable units first
+   */
+  List<String> getAssignableUnitIds() {
+    List<String> ids = new ArrayList<>(rootUnits.ids);
+    ids.addAll(blockUnits.ids);
+    return ids;
+  }
+
+  /**
+   * Retrieves the URLs of all assignable units collected so far, in the same order as
+   * {@link #getAssignableUnitIds()}.
+   *
+   * @return the assignable unit URLs
+   */
+  List<String> getAssignableUnitUrls() {
+    List<String> urls = new ArrayList<>(rootUnits.urls);
+    urls.addAll(blockUnits.urls);
+    return urls;
+  }
+
+  List<String> getBlockIds() {
+    return blockIds;
+  }
+
+  Map<String, Map<String, Object>> getAuDetails() {
+    return auDetails;
+  }
+
+  Map<String, Double> getMasteryScores() {
+    return masteryScores;
+  }
+
+  Map<String, String> getMoveOnCriteria() {
+    return moveOnCriteria;
+  }
+
+  Map<String, String> getLaunchMethods() {
+    return launchMethods;
+  }
+
+  Map<String, String> getActivityTypes() {
+    return activityTypes;
+  }
+
+  Map<String, String> getLaunchParameters() {
+    return launchParameters;
+  }
+
+  Map<String, JsonNode> getContextTemplates() {
+    return contextTemplates;
+  }
+
+  Map<String, String> getEntitlementKeys() {
+    return entitlementKeys;
+  }
+
+  /**
+   * Replays a bound block and its contents, in the order the collector lists them.
+   */
+  private void replay(Block block, int depth) {
+    startBlock(block, depth);
+    if (block.getAssignableUnits() != null) {
+      for (AU au : block.getAssignableUnits()) {
+        assignableUnit(au, depth + 1);
+      }
+    }
+    if (block.getNestedBlocks() != null) {
+      for (Block nested : block.getNestedBlocks()) {
+        replay(nested, depth + 1);
+      }
+    }
+    endBlock(block, depth);
+  }
+
+  /**
+   * Records the metadata of an assignable unit: its details, mastery score, move-on criterion,
+   * launch method, activity type, launch parameters, context template and entitlement key, if
+   * available.
+   *
+   * @param au The assignable unit to record.
+   */
+  private void collect(AU au) {
+    String auId = au.getId();
+    auDetails.put(auId, getActivityUnitMetadata(au));
+
+    if (au.getMasteryScore() != null) {
+      masteryScores.put(auId, au
+          .getMasteryScore()
+          .value()
+          .doubleValue());
+    }
+    if (au.getMoveOn() != null) {
+      moveOnCriteria.put(auId, au
+          .getMoveOn()
+          .name());
+    }
+    if (au.getLaunchMethod() != null) {
+      launchMethods.put(auId, au
+          .getLaunchMethod()
+          .name());
+    }
+    if (au.getActivityType() != null) {
+      activityTypes.put(auId, au.getActivityType());
+    }
+    if (au.getLaunchParameters() != null) {
+      launchParameters.put(auId, au.getLaunchParameters());
+    }
+    if (au.getContextTemplate() != null) {
+      contextTemplates.put(auId, au
+          .getContextTemplate()
+          .deepCopy());
+    }
+    if (au.getEntitlementKey() != null) {
+      entitlementKeys.put(auId, au.getEntitlementKey());
+    }
+  }
+
+  /**
+   * Extracts metadata for a given activity unit (AU). The metadata includes details such as the
+   * activity unit's URL, title, and description if they are available.
+   *
+   * @param au The activity unit (AU) to extract metadata from. It contains the details of the
+   * activity unit that need to be processed and retrieved.
+   * @return A map containing the metadata of the provided activity unit. The map could include
+   * key-value pairs for "url", "title", and "description" if these attributes exist in the activity
+   * unit.
+   */
+  private static Map<String, Object> getActivityUnitMetadata(AU au) {
+    Map<String, Object> auInfo = new HashMap<>();
+    auInfo.put("url", au.getUrl());
+    if (au.getTitle() != null && au
+        .getTitle()
+        .getStrings() != null && !au
+        .getTitle()
+        .getStrings()
+        .isEmpty()) {
+      auInfo.put("title", au
+          .getTitle()
+          .getStrings()
+          .get(0)
+          .getValue());
+    }
+    if (au.getDescription() != null && au
+        .getDescription()
+        .getStrings() != null && !au
+        .getDescription()
+        .getStrings()
+        .isEmpty()) {
+      auInfo.put("description", au
+          .getDescription()
+          .getStrings()
+          .get(0)
+          .getValue());
+    }
+    return auInfo;
+  }
+
+  /**
+   * The IDs and URLs of a run of assignable units, kept in two parallel lists.
+   */
+  private static final class UnitList {
+
+    private final List<String> ids = new ArrayList<>();
+
+    private final List<String> urls = new ArrayList<>();
+
+    private void add(AU au) {
+      ids.add(au.getId());
+      urls.add(au.getUrl());
+    }
+
+    private void addAll(UnitList other) {
+      ids.addAll(other.ids);
+      urls.addAll(other.urls);
+    }
+  }
+
+  /**
+   * The assignable units of an open block, split into those directly inside it and those of its
+   * nested blocks that have already ended.
+   */
+  private static final class BlockUnits {
+
+    private final UnitList own = new UnitList();
+
+    private final UnitList nested = new UnitList();
+  }
+}
@@ -10,12 +10,22 @@
  */
 package dev.jcputney.elearning.parser.output.metadata.scorm12;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import dev.jcputney.elearning.parser.enums.ModuleEditionType;
 import dev.jcputney.elearning.parser.enums.ModuleType;
+import dev.jcputney.elearning.parser.input.common.prerequisite.PrerequisiteGraph;
 import dev.jcputney.elearning.parser.input.scorm12.Scorm12Manifest;
+import dev.jcputney.elearning.parser.input.scorm12.adl.prerequisite.AndExpression;
+import dev.jcputney.elearning.parser.input.scorm12.adl.prerequisite.ItemReference;
+import dev.jcputney.elearning.parser.input.scorm12.adl.prerequisite.NotExpression;
+import dev.jcputney.elearning.parser.input.scorm12.adl.prerequisite.OrExpression;
+import dev.jcputney.elearning.parser.input.scorm12.adl.prerequisite.PrerequisiteExpression;
+import dev.jcputney.elearning.parser.input.scorm12.adl.prerequisite.PrerequisiteParser;
 import dev.jcputney.elearning.parser.input.scorm12.ims.cp.Scorm12Item;
 import dev.jcputney.elearning.parser.input.scorm2004.adl.types.ScormType;
 import dev.jcputney.elearning.parser.output.metadata.BaseModuleMetadata;
+import dev.jcputney.elearning.parser.validation.ValidationCodes;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -65,6 +75,14 @@ public class Scorm12Metadata extends BaseModuleMetadata<Scorm12Manifest> {
    */
   private final Map<String, String> customData = new LinkedHashMap<>();
 
+  /**
+   * The prerequisite graph of the items in the default organization, built once during metadata
+   * extraction from their prerequisite expressions.
+   */
+  private PrerequisiteGraph prerequisiteGraph = PrerequisiteGraph
+      .builder(ValidationCodes.SCORM12_PREREQUISITE_CYCLE)
+      .build();
+
   /**
    * Protected constructor for the Scorm12Metadata class. Initializes a new instance while
    * restricting direct instantiation outside the class or its subclasses.
@@ -156,6 +174,20 @@ public class Scorm12Metadata extends BaseModuleMetadata<Scorm12Manifest> {
     return Map.copyOf(customData);
   }
 
+  /**
+   * Retrieves the prerequisite graph of the items in the default organization. Each item that is
+   * referenced by another item's prerequisite expression is a prerequisite of that item, whether
+   * it is negated or not. Cycles are reported as {@code SCORM12_PREREQUISITE_CYCLE} warnings by
+   * {@link PrerequisiteGraph#getCycleIssues()}, which {@code Scorm12Parser#parseAndValidate()}
+   * includes in its validation result.
+   *
+   * @return the prerequisite graph, empty if the manifest has no default organization
+   */
+  @JsonIgnore
+  public PrerequisiteGraph getPrerequisiteGraph() {
+    return prerequisiteGraph;
+  }
+
   @Override
   public boolean hasMultipleLaunchableUnits() {
     if (manifest == null || manifest.getResources() == null || manifest
@@ -203,6 +235,65 @@ public class Scorm12Metadata extends BaseModuleMetadata<Scorm12Manifest> {
       customData.clear();
 
       extractItemData(items, prerequisites, masteryScores, customData);
+      prerequisiteGraph = buildPrerequisiteGraph(items, prerequisites);
+    }
+  }
+
+  /**
+   * Builds the prerequisite graph of the given items. All items are added first, in document
+   * order, so that their indexes do not depend on the order in which they are referenced.
+   *
+   * @param items The top-level items of the organization.
+   * @param prerequisites The prerequisite expressions of the items.
+   * @return The prerequisite graph.
+   */
+  private static PrerequisiteGraph buildPrerequisiteGraph(List<Scorm12Item> items,
+      Map<String, String> prerequisites) {
+    List<String> itemIds = new ArrayList<>();
+    collectItemIds(items, itemIds);
+    PrerequisiteGraph.Builder builder = PrerequisiteGraph
+        .builder(ValidationCodes.SCORM12_PREREQUISITE_CYCLE)
+        .addItems(itemIds);
+    prerequisites.forEach((itemId, expression) -> {
+      List<String> references = new ArrayList<>();
+      collectReferences(PrerequisiteParser.parse(expression), references);
+      references.forEach(reference -> builder.addPrerequisite(reference, itemId));
+    });
+    return builder.build();
+  }
+
+  /**
+   * Recursively collects the identifiers of the given items and their children in document order.
+   *
+   * @param items The list of items to collect from.
+   * @param itemIds The list receiving the identifiers.
+   */
+  private static void collectItemIds(List<Scorm12Item> items, List<String> itemIds) {
+    for (Scorm12Item item : items) {
+      itemIds.add(item.getIdentifier());
+      if (item.getItems() != null) {
+        collectItemIds(item.getItems(), itemIds);
+      }
+    }
+  }
+
+  /**
+   * Collects the item identifiers referenced by a prerequisite expression. Expressions that could
+   * not be parsed reference no items.
+   *
+   * @param expression The parsed expression.
+   * @param references The list receiving the identifiers.
+   */
+  private static void collectReferences(PrerequisiteExpression expression,
+      List<String> references) {
+    if (expression instanceof ItemReference reference) {
+      references.add(reference.identifier());
+    } else if (expression instanceof NotExpression not) {
+      collectReferences(not.operand(), references);
+    } else if (expression instanceof AndExpression and) {
+      and.operands().forEach(operand -> collectReferences(operand, references));
+    } else if (expression instanceof OrExpression or) {
+      or.operands().forEach(operand -> collectReferences(operand, references));
     }
   }
 
@@ -11,32 +11,33 @@
 package dev.jcputney.elearning.parser.output.metadata.scorm2004;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import dev.jcputney.elearning.parser.enums.ModuleEditionType;
 import dev.jcputney.elearning.parser.enums.ModuleType;
 import dev.jcputney.elearning.parser.input.scorm2004.Scorm2004Manifest;
-import dev.jcputney.elearning.parser.input.scorm2004.SequencingUsageDetector;
+import dev.jcputney.elearning.parser.input.scorm2004.Scorm2004ManifestDiff;
+import dev.jcputney.elearning.parser.input.scorm2004.Scorm2004ManifestAnalysis;
 import dev.jcputney.elearning.parser.input.scorm2004.SequencingUsageDetector.SequencingLevel;
-import dev.jcputney.elearning.parser.input.scorm2004.adl.sequencing.ADLObjective;
-import dev.jcputney.elearning.parser.input.scorm2004.adl.sequencing.MapInfo;
 import dev.jcputney.elearning.parser.input.scorm2004.adl.types.ScormType;
 import dev.jcputney.elearning.parser.input.scorm2004.ims.cp.Scorm2004Item;
 import dev.jcputney.elearning.parser.input.scorm2004.ims.cp.Scorm2004Resource;
-import dev.jcputney.elearning.parser.input.scorm2004.ims.ss.objective.Scorm2004Objective;
-import dev.jcputney.elearning.parser.input.scorm2004.ims.ss.objective.Scorm2004ObjectiveMapping;
 import dev.jcputney.elearning.parser.input.scorm2004.ims.ss.sequencing.DeliveryControls;
-import dev.jcputney.elearning.parser.input.scorm2004.ims.ss.sequencing.Sequencing;
+import dev.jcputney.elearning.parser.output.StreamingJsonWritable;
 import dev.jcputney.elearning.parser.output.metadata.BaseModuleMetadata;
+import java.io.IOException;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 
@@ -49,7 +50,48 @@ import org.apache.commons.lang3.builder.HashCodeBuilder;
  * the structure and rules that are specific to SCORM 2004 modules.
  * </p>
  */
-public class Scorm2004Metadata extends BaseModuleMetadata<Scorm2004Manifest> {
+public class Scorm2004Metadata extends BaseModuleMetadata<Scorm2004Manifest> implements
+    StreamingJsonWritable {
+
+  /**
+   * The minimum number of items the default organization must contain before item-level metadata
+   * is extracted in parallel. Smaller organizations are cheaper to extract on the calling thread.
+   */
+  public static final int PARALLEL_EXTRACTION_THRESHOLD = 1024;
+
+  /**
+   * The minimum number of consecutive items extracted by a single fork/join task.
+   */
+  private static final int PARALLEL_EXTRACTION_MIN_RUN_SIZE = 256;
+
+  private static final SerializedString ACTIVITY_DELIVERY_CONTROLS_FIELD = new SerializedString(
+      "activityDeliveryControls");
+
+  private static final SerializedString DELIVERY_CONTROL_OVERRIDES_FIELD = new SerializedString(
+      "deliveryControlOverrides");
+
+  private static final SerializedString SEQUENCING_INDICATORS_FIELD = new SerializedString(
+      "sequencingIndicators");
+
+  private static final SerializedString COMPLETION_THRESHOLDS_FIELD = new SerializedString(
+      "completionThresholds");
+
+  private static final SerializedString TIME_LIMIT_ACTIONS_FIELD = new SerializedString(
+      "timeLimitActions");
+
+  private static final SerializedString DATA_FROM_LMS_FIELD = new SerializedString("dataFromLms");
+
+  private static final SerializedString HIDE_LMS_UI_FIELD = new SerializedString("hideLmsUi");
+
+  private static final SerializedString CONTROL_MODES_FIELD = new SerializedString("controlModes");
+
+  private static final SerializedString HAS_SEQUENCING_FIELD = new SerializedString(
+      "hasSequencing");
+
+  private static final SerializedString SEQUENCING_LEVEL_FIELD = new SerializedString(
+      "sequencingLevel");
+
+  private static final SerializedString MANIFEST_FILE_FIELD = new SerializedString("manifestFile");
 
   /**
    * A mapping of activity identifiers to their associated delivery controls. This map uses a
@@ -163,6 +205,84 @@ public class Scorm2004Metadata extends BaseModuleMetadata<Scorm2004Manifest> {
    * @return A new Scorm2004Metadata instance.
    */
   public static Scorm2004Metadata create(Scorm2004Manifest manifest, boolean xapiEnabled) {
+    return create(manifest, xapiEnabled, null, Set.of(), 1, null);
+  }
+
+  /**
+   * Creates a new Scorm2004Metadata instance, extracting item-level metadata on up to
+   * {@code parallelism} threads of the common fork/join pool.
+   * <p>
+   * With a parallelism above 1, the items of the default organization are split into at most
+   * {@code parallelism} contiguous runs in document order, which are extracted concurrently and
+   * merged back in order, so the result is identical to
+   * {@link #create(Scorm2004Manifest, boolean)}. Organizations with fewer than
+   * {@link #PARALLEL_EXTRACTION_THRESHOLD} items are always extracted on the calling thread.
+   * </p>
+   *
+   * @param manifest The SCORM 2004 manifest.
+   * @param xapiEnabled Whether xAPI is enabled.
+   * @param parallelism The maximum number of threads used to extract item-level metadata.
+   * @return A new Scorm2004Metadata instance.
+   * @throws IllegalArgumentException if {@code parallelism} is less than 1
+   */
+  public static Scorm2004Metadata create(Scorm2004Manifest manifest, boolean xapiEnabled,
+      int parallelism) {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("Metadata extraction parallelism must be at least 1");
+    }
+    return create(manifest, xapiEnabled, null, Set.of(), parallelism, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Creates a new Scorm2004Metadata instance, extracting item-level metadata on the given fork/join
+   * pool.
+   * <p>
+   * The items of the default organization are split into at most as many contiguous runs as the
+   * parallelism of {@code pool}, which are extracted on it and merged back in document order, so
+   * the result is identical to {@link #create(Scorm2004Manifest, boolean)}. Organizations with
+   * fewer than {@link #PARALLEL_EXTRACTION_THRESHOLD} items are always extracted on the calling
+   * thread. The pool is not shut down.
+   * </p>
+   *
+   * @param manifest The SCORM 2004 manifest.
+   * @param xapiEnabled Whether xAPI is enabled.
+   * @param pool The fork/join pool used to extract item-level metadata.
+   * @return A new Scorm2004Metadata instance.
+   * @throws IllegalArgumentException if {@code pool} is null
+   */
+  public static Scorm2004Metadata create(Scorm2004Manifest manifest, boolean xapiEnabled,
+      ForkJoinPool pool) {
+    if (pool == null) {
+      throw new IllegalArgumentException("ForkJoinPool cannot be null");
+    }
+    return create(manifest, xapiEnabled, null, Set.of(), pool.getParallelism(), pool);
+  }
+
+  /**
+   * Creates metadata for an edited manifest, reusing the item-level metadata extracted for items
+   * that did not change since {@code previous} was created.
+   * <p>
+   * Manifest-wide values such as the edition, sequencing level and global objective IDs are always
+   * recomputed. If the shared sequencing collection changed, delivery controls resolved through it
+   * may differ for any item, so the metadata is created from scratch.
+   * </p>
+   *
+   * @param previous The metadata created for the manifest before it was edited.
+   * @param manifest The edited SCORM 2004 manifest.
+   * @param diff The changes between the manifest of {@code previous} and {@code manifest}.
+   * @return A new Scorm2004Metadata instance, equal to the one {@link #create} would return.
+   */
+  public static Scorm2004Metadata update(Scorm2004Metadata previous, Scorm2004Manifest manifest,
+      Scorm2004ManifestDiff diff) {
+    if (previous == null || diff == null || diff.isSequencingCollectionChanged()) {
+      return create(manifest, previous != null && previous.isXapiEnabled());
+    }
+    return create(manifest, previous.isXapiEnabled(), previous, diff.getChangedItems(), 1, null);
+  }
+
+  private static Scorm2004Metadata create(Scorm2004Manifest manifest, boolean xapiEnabled,
+      Scorm2004Metadata previous, Set<String> changedItemIds, int parallelism,
+      ForkJoinPool pool) {
     // Detect the SCORM 2004 edition from the manifest metadata
     String schemaVersion = null;
     if (manifest.getMetadata() != null) {
@@ -191,7 +311,8 @@ public class Scorm2004Metadata extends BaseModuleMetadata<Scorm2004Manifest> {
       }
     }
 
-    var sequencingResult = SequencingUsageDetector.detect(manifest);
+    Scorm2004ManifestAnalysis analysis = manifest.getAnalysis();
+    var sequencingResult = analysis.getSequencingUsage();
 
     Scorm2004Metadata metadata = new Scorm2004Metadata();
     metadata.manifest = manifest;
@@ -202,11 +323,12 @@ public class Scorm2004Metadata extends BaseModuleMetadata<Scorm2004Manifest> {
     metadata.sequencingLevel = sequencingResult.getLevel();
 
     // Extract SCORM 2004 item-level attributes (ADLCP/ADLNav/IMSSS highlights)
-    metadata.extractScorm2004SpecificMetadata(manifest);
+    metadata.extractScorm2004SpecificMetadata(manifest, previous, changedItemIds, parallelism,
+        pool);
 
     // Add global objective IDs
     metadata.globalObjectiveIds.clear();
-    metadata.globalObjectiveIds.addAll(metadata.collectGlobalObjectiveIds());
+    metadata.globalObjectiveIds.addAll(analysis.getGlobalObjectiveIds());
 
     // Add sequencing flag and indicators
     metadata.sequencingIndicators.clear();
@@ -224,57 +346,6 @@ public class Scorm2004Metadata extends BaseModuleMetadata<Scorm2004Manifest> {
     return metadata;
   }
 
-  /**
-   * Retrieves the list of IMS objectives from a given item in a null-safe manner.
-   *
-   * @param item The SCORM item to retrieve objectives from.
-   * @return A list of objectives, or an empty list if null.
-   */
-  private static List<Scorm2004Objective> getObjectives(Scorm2004Item item) {
-    if (item.getSequencing() != null && item
-        .getSequencing()
-        .getObjectives() != null) {
-      var objectives = item
-          .getSequencing()
-          .getObjectives();
-      return Stream
-          .concat(Stream.ofNullable(objectives.getPrimaryObjective()),
-              safeStream(objectives.getObjectiveList()))
-          .toList();
-    }
-    return List.of(); // Return an empty list if objectives are null
-  }
-
-  /**
-   * Retrieves the list of ADL objectives from a given item in a null-safe manner.
-   *
-   * @param item The SCORM item to retrieve ADL objectives from.
-   * @return A list of ADL objectives, or an empty list if null.
-   */
-  private static List<ADLObjective> getAdlObjectives(Scorm2004Item item) {
-    if (item.getSequencing() != null && item
-        .getSequencing()
-        .getAdlObjectives() != null) {
-      List<ADLObjective> objectives = item
-          .getSequencing()
-          .getAdlObjectives()
-          .getObjectiveList();
-      return objectives != null ? objectives : List.of();
-    }
-    return List.of();
-  }
-
-  /**
-   * Wraps a potentially null collection in a stream.
-   *
-   * @param collection The collection to wrap.
-   * @param <T> The type of elements in the collection.
-   * @return A stream of elements, or an empty stream if the collection is null.
-   */
-  private static <T> Stream<T> safeStream(Collection<T> collection) {
-    return collection != null ? collection.stream() : Stream.empty();
-  }
-
   /**
    * Determines if a SCORM 2004 manifest has sequencing information.
    * <p>
@@ -290,8 +361,8 @@ public class Scorm2004Metadata extends BaseModuleMetadata<Scorm2004Manifest> {
       return false;
     }
 
-    return SequencingUsageDetector
-        .detect(manifest)
+    return manifest
+        .getSequencingUsage()
         .hasSequencing();
   }
 
@@ -334,10 +405,10 @@ public class Scorm2004Metadata extends BaseModuleMetadata<Scorm2004Manifest> {
    *
    * @return An unmodifiable map where keys represent activity identifiers, and values are maps
    * containing threshold details, such as minimum progress measures or other completion-related
-   * attributes.
+   * attributes, in document order.
    */
   public Map<String, Map<String, Object>> getCompletionThresholds() {
-    return Map.copyOf(completionThresholds);
+    return Collections.unmodifiableMap(new LinkedHashMap<>(completionThresholds));
   }
 
   /**
@@ -346,10 +417,10 @@ public class Scorm2004Metadata extends BaseModuleMetadata<Scorm2004Manifest> {
    * activities.
    *
    * @return An unmodifiable map where the keys represent activity identifiers, and the values
-   * represent corresponding time limit actions.
+   * represent corresponding time limit actions, in document order.
    */
   public Map<String, String> getTimeLimitActions() {
-    return Map.copyOf(timeLimitActions);
+    return Collections.unmodifiableMap(new LinkedHashMap<>(timeLimitActions));
   }
 
   /**
@@ -357,10 +428,10 @@ public class Scorm2004Metadata extends BaseModuleMetadata<Scorm2004Manifest> {
    * data is represented as a mapping, where the keys are string identifiers, and the values are
    * corresponding string entries provided by the LMS.
    *
-   * @return An unmodifiable map containing key-value pairs of data from the LMS.
+   * @return An unmodifiable map containing key-value pairs of data from the LMS, in document order.
    */
   public Map<String, String> getDataFromLms() {
-    return Map.copyOf(dataFromLms);
+    return Collections.unmodifiableMap(new LinkedHashMap<>(dataFromLms));
   }
 
   /**
@@ -369,10 +440,10 @@ public class Scorm2004Metadata extends BaseModuleMetadata<Scorm2004Manifest> {
    * identifiers associated with each UI element.
    *
    * @return An unmodifiable map where keys are string identifiers of LMS UI elements, and values
-   * are lists of related settings or parameters associated with those elements.
+   * are lists of related settings or parameters associated with those elements, in document order.
    */
   public Map<String, List<String>> getHideLmsUi() {
-    return Map.copyOf(hideLmsUi);
+    return Collections.unmodifiableMap(new LinkedHashMap<>(hideLmsUi));
   }
 
   /**
@@ -382,10 +453,10 @@ public class Scorm2004Metadata extends BaseModuleMetadata<Scorm2004Manifest> {
    *
    * @return An unmodifiable map where the keys represent the identifiers of control mode
    * configurations, and the values are maps of settings represented as key-value pairs, where keys
-   * are their attributes and values are booleans indicating their state.
+   * are their attributes and values are booleans indicating their state, in document order.
    */
   public Map<String, Map<String, Boolean>> getControlModes() {
-    return Map.copyOf(controlModes);
+    return Collections.unmodifiableMap(new LinkedHashMap<>(controlModes));
   }
 
   @Override
@@ -501,6 +572,34 @@ public class Scorm2004Metadata extends BaseModuleMetadata<Scorm2004Manifest> {
     return "imsmanifest.xml";
   }
 
+  /**
+   * Writes the JSON properties of this metadata straight from its internal maps, without the
+   * copies made by the getters. Subclasses adding JSON properties must override this method.
+   *
+   * @param generator the generator to write to
+   * @param values the writer of the manifest and the delivery controls
+   * @throws IOException if the properties can't be written
+   */
+  @Override
+  public void writeJsonFields(JsonGenerator generator, ObjectWriter values) throws IOException {
+    writeCommonJsonFields(generator, values);
+    generator.writeFieldName(ACTIVITY_DELIVERY_CONTROLS_FIELD);
+    values.writeValue(generator, activityDeliveryControls);
+    writeStringArrayField(generator, DELIVERY_CONTROL_OVERRIDES_FIELD, deliveryControlOverrides);
+    writeStringArrayField(generator, SEQUENCING_INDICATORS_FIELD, sequencingIndicators);
+    writeNestedMapField(generator, COMPLETION_THRESHOLDS_FIELD, completionThresholds, values);
+    writeStringMapField(generator, TIME_LIMIT_ACTIONS_FIELD, timeLimitActions);
+    writeStringMapField(generator, DATA_FROM_LMS_FIELD, dataFromLms);
+    writeStringListMapField(generator, HIDE_LMS_UI_FIELD, hideLmsUi);
+    writeNestedMapField(generator, CONTROL_MODES_FIELD, controlModes, values);
+    generator.writeFieldName(HAS_SEQUENCING_FIELD);
+    generator.writeBoolean(hasSequencing);
+    generator.writeFieldName(SEQUENCING_LEVEL_FIELD);
+    writeEnum(generator, sequencingLevel);
+    generator.writeFieldName(MANIFEST_FILE_FIELD);
+    generator.writeString(getManifestFile());
+  }
+
   /**
    * Recursively counts items that reference SCO resources.
    *
@@ -539,8 +638,15 @@ public class Scorm2004Metadata extends BaseModuleMetadata<Scorm2004Manifest> {
    * completionThresholds (minProgressMeasure, progressWeight, completedByMeasure) -
    * timeLimitActions - dataFromLMS - hideLMSUI (from ADLNav presentation/navigationInterface) -
    * controlModes (IMSSS controlMode flags)
+   * <p>
+   * When {@code previous} is given, entries for items outside {@code changedItemIds} are copied
+   * from it instead of being extracted again. Otherwise, large organizations are extracted in
+   * parallel on {@code pool} when {@code parallelism} is above 1.
+   * </p>
    */
-  private void extractScorm2004SpecificMetadata(Scorm2004Manifest manifest) {
+  private void extractScorm2004SpecificMetadata(Scorm2004Manifest manifest,
+      Scorm2004Metadata previous, Set<String> changedItemIds, int parallelism,
+      ForkJoinPool pool) {
     activityDeliveryControls.clear();
     deliveryControlOverrides.clear();
     completionThresholds.clear();
@@ -562,32 +668,65 @@ public class Scorm2004Metadata extends BaseModuleMetadata<Scorm2004Manifest> {
         .getDefault()
         .getItems();
 
-    ItemMetadataAccumulator accumulator = new ItemMetadataAccumulator(this);
+    if (previous == null && parallelism > 1) {
+      List<Scorm2004Item> preorder = ItemMetadataAccumulator.flatten(items);
+      if (preorder.size() >= PARALLEL_EXTRACTION_THRESHOLD) {
+        extractInParallel(preorder, parallelism, pool);
+        return;
+      }
+    }
+
+    ItemMetadataAccumulator accumulator = new ItemMetadataAccumulator(this, previous,
+        changedItemIds);
     accumulator.collect(items);
     accumulator.publish();
   }
 
   /**
-   * Records the delivery controls for a specific SCORM item based on its ID and sequencing
-   * configuration. This method resolves effective delivery controls, applies them to the activity,
-   * and tracks overrides if applicable.
+   * Extracts item-level metadata for items listed in document order on a shared fork/join pool.
+   * The items are split into at most {@code parallelism} contiguous runs, so no more than that many
+   * threads of the pool work on one extraction. Each run is collected into its own accumulator, and
+   * the accumulators are published in document order, which reproduces the insertion order of a
+   * sequential extraction.
    *
-   * @param itemId The unique identifier for the SCORM item. Must not be null or empty.
-   * @param sequencing The sequencing configuration associated with the SCORM item. Used to resolve
-   * delivery controls.
+   * @param preorder the items of the default organization in document order
+   * @param parallelism the maximum number of runs extracted concurrently
+   * @param pool the fork/join pool the runs are extracted on
    */
-  private void recordDeliveryControls(String itemId, Sequencing sequencing) {
-    if (itemId == null || itemId.isEmpty()) {
-      return;
+  private void extractInParallel(List<Scorm2004Item> preorder, int parallelism,
+      ForkJoinPool pool) {
+    int size = preorder.size();
+    int runCount = Math.min(parallelism,
+        (size + PARALLEL_EXTRACTION_MIN_RUN_SIZE - 1) / PARALLEL_EXTRACTION_MIN_RUN_SIZE);
+    List<ExtractionTask> runs = new ArrayList<>(runCount);
+    for (int i = 0; i < runCount; i++) {
+      runs.add(new ExtractionTask(this, preorder, (int) ((long) size * i / runCount),
+          (int) ((long) size * (i + 1) / runCount)));
     }
-    DeliveryControls resolved = findDeliveryControls(sequencing);
-    DeliveryControls effective = buildEffectiveDeliveryControls(resolved);
-    activityDeliveryControls.put(itemId, effective);
-    if (resolved != null) {
-      deliveryControlOverrides.add(itemId);
+    pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(runs)));
+    for (ExtractionTask run : runs) {
+      run
+          .join()
+          .publish();
     }
   }
 
+  /**
+   * Resolves the delivery controls for a specific SCORM item based on its ID. The delivery controls
+   * the item defines or references through the sequencing collection are taken from the manifest's
+   * analysis, which is safe to read from several threads.
+   *
+   * @param itemId The unique identifier for the SCORM item.
+   * @return The delivery controls that override the defaults for the item, or null if there are
+   * none.
+   */
+  private DeliveryControls resolveDeliveryControls(String itemId) {
+    return manifest
+        .getAnalysis()
+        .getDeliveryControlOverrides()
+        .get(itemId);
+  }
+
   /**
    * Constructs an effective set of delivery controls by merging the provided resolved delivery
    * controls with defaults. If the resolved controls are null, a new instance of DeliveryControls
@@ -608,57 +747,6 @@ public class Scorm2004Metadata extends BaseModuleMetadata<Scorm2004Manifest> {
     return effective;
   }
 
-  /**
-   * Finds the delivery controls for the given sequencing instance. If delivery controls are not set
-   * in the provided sequencing object, it attempts to resolve delivery controls using the
-   * sequencing's ID reference and the associated manifest's sequencing collection.
-   *
-   * @param sequencing The sequencing object containing or referring to delivery controls. If null,
-   * the method immediately returns null.
-   * @return The resolved DeliveryControls object, or null if it cannot be found or resolved.
-   */
-  private DeliveryControls findDeliveryControls(Sequencing sequencing) {
-    if (sequencing == null) {
-      return null;
-    }
-    DeliveryControls deliveryControls = sequencing.getDeliveryControls();
-    if (deliveryControls == null && sequencing.getIdRef() != null && manifest != null
-        && manifest.getSequencingCollection() != null) {
-      deliveryControls = manifest
-          .getSequencingCollection()
-          .resolveDeliveryControlsById(sequencing.getIdRef());
-    }
-    return deliveryControls;
-  }
-
-  /**
-   * Collects and retrieves a set of global objective IDs from the SCORM 2004 manifest. A global
-   * objective ID is derived from the targetObjectiveID values present in the mapInfo elements
-   * associated with objectives for each item in the manifest.
-   * <p>
-   * The method processes the manifest by: 1. Retrieving all organizations and their item
-   * structures. 2. Extracting objectives and their mapping information. 3. Filtering and collecting
-   * non-null, non-empty targetObjectiveIDs.
-   *
-   * @return A LinkedHashSet of global objective IDs, ensuring uniqueness while maintaining order.
-   */
-  private Set<String> collectGlobalObjectiveIds() {
-    return manifest
-        .getOrganizations()
-        .getOrganizationList()
-        .stream()
-        .flatMap(org -> safeStream(org.getItems()))
-        .flatMap(item -> Stream.concat(
-            safeStream(getObjectives(item))
-                .flatMap(obj -> safeStream(obj.getMapInfo()))
-                .map(Scorm2004ObjectiveMapping::getTargetObjectiveID),
-            safeStream(getAdlObjectives(item))
-                .flatMap(obj -> safeStream(obj.getMapInfoList()))
-                .map(MapInfo::getTargetObjectiveID)))
-        .filter(id -> id != null && !id.isEmpty())
-        .collect(Collectors.toCollection(LinkedHashSet::new));
-  }
-
   /**
    * An internal utility class for accumulating and managing metadata related to SCORM 2004 items.
    * This class gathers, processes, and publishes metadata for inclusion in a SCORM context, such as
@@ -701,6 +789,17 @@ public class Scorm2004Metadata extends BaseModuleMetadata<Scorm2004Manifest> {
      */
     private final Map<String, Map<String, Object>> completionThresholds = new LinkedHashMap<>();
 
+    /**
+     * The effective delivery controls of the processed items, keyed by item identifier in the
+     * order the items were processed.
+     */
+    private final Map<String, DeliveryControls> activityDeliveryControls = new LinkedHashMap<>();
+
+    /**
+     * The identifiers of processed items whose delivery controls override the defaults.
+     */
+    private final Set<String> deliveryControlOverrides = new LinkedHashSet<>();
+
     /**
      * A map that holds key-value pairs representing time limit actions associated with SCORM
      * metadata. The keys in the map are strings identifying specific time limit action types, and
@@ -753,8 +852,22 @@ public class Scorm2004Metadata extends BaseModuleMetadata<Scorm2004Manifest> {
      */
     private final Map<String, Map<String, Boolean>> controlModes = new LinkedHashMap<>();
 
-    private ItemMetadataAccumulator(Scorm2004Metadata owner) {
+    /**
+     * Metadata created for an earlier version of the manifest whose entries may be reused for
+     * unchanged items, or null if every item must be processed.
+     */
+    private final Scorm2004Metadata previous;
+
+    /**
+     * Identifiers of items that changed since {@link #previous} was created.
+     */
+    private final Set<String> changedItemIds;
+
+    private ItemMetadataAccumulator(Scorm2004Metadata owner, Scorm2004Metadata previous,
+        Set<String> changedItemIds) {
       this.owner = owner;
+      this.previous = previous;
+      this.changedItemIds = changedItemIds;
     }
 
     /**
@@ -811,6 +924,52 @@ public class Scorm2004Metadata extends BaseModuleMetadata<Scorm2004Manifest> {
       return values;
     }
 
+    /**
+     * Lists a hierarchical structure of Scorm2004Item objects in the order {@link #collect(List)}
+     * processes them, so that contiguous runs of the list can be processed independently.
+     *
+     * @param rootItems a list of root Scorm2004Item objects
+     * @return the items in document order, skipping null entries
+     */
+    static List<Scorm2004Item> flatten(List<Scorm2004Item> rootItems) {
+      List<Scorm2004Item> preorder = new ArrayList<>();
+      if (rootItems == null) {
+        return preorder;
+      }
+      ArrayDeque<Scorm2004Item> stack = new ArrayDeque<>();
+      for (int i = rootItems.size() - 1; i >= 0; i--) {
+        if (rootItems.get(i) != null) {
+          stack.push(rootItems.get(i));
+        }
+      }
+      while (!stack.isEmpty()) {
+        Scorm2004Item item = stack.pop();
+        preorder.add(item);
+        List<Scorm2004Item> children = item.getItems();
+        if (children != null) {
+          for (int i = children.size() - 1; i >= 0; i--) {
+            if (children.get(i) != null) {
+              stack.push(children.get(i));
+            }
+          }
+        }
+      }
+      return preorder;
+    }
+
+    /**
+     * Processes a contiguous run of items listed in document order.
+     *
+     * @param items the items in document order
+     * @param from the index of the first item to process, inclusive
+     * @param to the index of the last item to process, exclusive
+     */
+    void collect(List<Scorm2004Item> items, int from, int to) {
+      for (int i = from; i < to; i++) {
+        processItem(items.get(i));
+      }
+    }
+
     /**
      * Traverses a hierarchical structure of Scorm2004Item objects and processes each item.
      *
@@ -847,6 +1006,8 @@ public class Scorm2004Metadata extends BaseModuleMetadata<Scorm2004Manifest> {
      * those in the accumulator.
      */
     void publish() {
+      owner.activityDeliveryControls.putAll(activityDeliveryControls);
+      owner.deliveryControlOverrides.addAll(deliveryControlOverrides);
       owner.completionThresholds.putAll(completionThresholds);
       owner.timeLimitActions.putAll(timeLimitActions);
       owner.dataFromLms.putAll(dataFromLms);
@@ -866,10 +1027,18 @@ public class Scorm2004Metadata extends BaseModuleMetadata<Scorm2004Manifest> {
         return;
       }
       String itemId = item.getIdentifier();
-      owner.recordDeliveryControls(itemId, item.getSequencing());
+      if (isReusable(itemId)) {
+        reuseItem(itemId);
+        return;
+      }
       if (itemId == null || itemId.isEmpty()) {
         return;
       }
+      DeliveryControls resolved = owner.resolveDeliveryControls(itemId);
+      activityDeliveryControls.put(itemId, owner.buildEffectiveDeliveryControls(resolved));
+      if (resolved != null) {
+        deliveryControlOverrides.add(itemId);
+      }
 
       if (item.getCompletionThreshold() != null) {
         Map<String, Object> values = getStringObjectMap(item);
@@ -917,5 +1086,76 @@ public class Scorm2004Metadata extends BaseModuleMetadata<Scorm2004Manifest> {
         controlModes.put(itemId, values);
       }
     }
+  
+    /**
+     * Checks whether the metadata of an item can be copied from the previous metadata. Items that
+     * changed, and items that were not part of the previously processed organization, must be
+     * processed again.
+     *
+     * @param itemId the identifier of the item
+     * @return true if the previous entries for the item are still valid
+     */
+    private boolean isReusable(String itemId) {
+      return previous != null && itemId != null && !itemId.isEmpty()
+          && !changedItemIds.contains(itemId)
+          && previous.activityDeliveryControls.containsKey(itemId);
+    }
+
+    /**
+     * Copies the entries recorded for an unchanged item from the previous metadata.
+     *
+     * @param itemId the identifier of the unchanged item
+     */
+    private void reuseItem(String itemId) {
+      activityDeliveryControls.put(itemId,
+          owner.buildEffectiveDeliveryControls(previous.activityDeliveryControls.get(itemId)));
+      if (previous.deliveryControlOverrides.contains(itemId)) {
+        deliveryControlOverrides.add(itemId);
+      }
+      copyEntry(previous.completionThresholds, completionThresholds, itemId);
+      copyEntry(previous.timeLimitActions, timeLimitActions, itemId);
+      copyEntry(previous.dataFromLms, dataFromLms, itemId);
+      copyEntry(previous.hideLmsUi, hideLmsUi, itemId);
+      copyEntry(previous.controlModes, controlModes, itemId);
+    }
+
+    private static <V> void copyEntry(Map<String, V> source, Map<String, V> target,
+        String itemId) {
+      V value = source.get(itemId);
+      if (value != null) {
+        target.put(itemId, value);
+      }
+    }
+  }
+
+  /**
+   * A fork/join task that extracts item-level metadata for a contiguous run of items listed in
+   * document order into its own accumulator, which is published once every run has completed.
+   */
+  private static final class ExtractionTask extends RecursiveTask<ItemMetadataAccumulator> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient Scorm2004Metadata owner;
+
+    private final transient List<Scorm2004Item> items;
+
+    private final int from;
+
+    private final int to;
+
+    private ExtractionTask(Scorm2004Metadata owner, List<Scorm2004Item> items, int from, int to) {
+      this.owner = owner;
+      this.items = items;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected ItemMetadataAccumulator compute() {
+      ItemMetadataAccumulator accumulator = new ItemMetadataAccumulator(owner, null, Set.of());
+      accumulator.collect(items, from, to);
+      return accumulator;
+    }
   }
 }
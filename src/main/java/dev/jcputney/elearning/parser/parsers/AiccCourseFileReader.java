@@ -0,0 +1,276 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.parsers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.jcputney.elearning.parser.input.aicc.AiccCourse;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads an AICC course (.crs) file into an {@link AiccCourse} in a single pass.
+ * <p>
+ * The .crs file is INI-style: bracketed section headers followed by {@code key=value} lines. Keys
+ * and values are tokenized with the same rules as the commons-configuration {@code INIConfiguration}
+ * the parser used previously: lines starting with {@code #} or {@code ;} are comments, keys are
+ * separated from values by {@code =} or {@code :}, quoted values may contain escaped quotes,
+ * unquoted values end at a comment character preceded by whitespace, and a trailing {@code \}
+ * continues a value on the next line. Repeated keys within a section are reported as a list, e.g.
+ * {@code [a, b]}.
+ * </p>
+ * <p>
+ * The {@code [Course_Description]} section holds free text rather than key-value pairs, so its lines
+ * are captured verbatim (trimmed) in the same pass instead of being tokenized. Keys that appear
+ * before the first section header are ignored.
+ * </p>
+ */
+final class AiccCourseFileReader {
+
+  /**
+   * The name of the free-text description section.
+   */
+  private static final String DESCRIPTION_SECTION = "Course_Description";
+
+  /**
+   * Characters that start a comment line, or an inline comment when preceded by whitespace.
+   */
+  private static final String COMMENT_CHARS = "#;";
+
+  /**
+   * Characters that separate a key from its value.
+   */
+  private static final String SEPARATOR_CHARS = "=:";
+
+  /**
+   * Characters that may quote a value.
+   */
+  private static final String QUOTE_CHARS = "\"'";
+
+  /**
+   * The name used for sections and keys that are empty.
+   */
+  private static final String EMPTY_NAME = " ";
+
+  /**
+   * Shared mapper for converting the tokenized sections into an {@link AiccCourse}. Mappers are
+   * thread-safe once configured, and this one is never reconfigured.
+   */
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  private AiccCourseFileReader() {
+    throw new AssertionError("Utility class should not be instantiated");
+  }
+
+  /**
+   * Reads a course file into an {@link AiccCourse}. The reader is not closed.
+   *
+   * @param reader the reader over the decoded course file
+   * @return the course read from the file
+   * @throws IOException if the file cannot be read
+   * @throws IllegalArgumentException if the sections cannot be converted into a course
+   */
+  static AiccCourse read(Reader reader) throws IOException {
+    BufferedReader in = reader instanceof BufferedReader buffered
+        ? buffered : new BufferedReader(reader);
+    Map<String, Map<String, List<String>>> sections = new LinkedHashMap<>();
+    Map<String, List<String>> section = null;
+    StringBuilder description = new StringBuilder();
+    boolean inDescription = false;
+    boolean descriptionRead = false;
+
+    String line;
+    while ((line = in.readLine()) != null) {
+      line = line.trim();
+
+      if (line.startsWith("[") && line.endsWith("]")) {
+        String name = line.substring(1, line.length() - 1);
+        if (inDescription) {
+          inDescription = false;
+          descriptionRead = true;
+        }
+        if (DESCRIPTION_SECTION.equalsIgnoreCase(name)) {
+          inDescription = !descriptionRead;
+          section = null;
+        } else {
+          section = sections.computeIfAbsent(name.isEmpty() ? EMPTY_NAME : name,
+              k -> new LinkedHashMap<>());
+        }
+        continue;
+      }
+
+      if (inDescription) {
+        // Preserve empty lines within the description, but not leading ones
+        if (!description.isEmpty()) {
+          description.append('\n');
+        }
+        description.append(line);
+        continue;
+      }
+
+      if (line.isEmpty() || COMMENT_CHARS.indexOf(line.charAt(0)) >= 0 || section == null) {
+        continue;
+      }
+
+      String key = line;
+      String value = "";
+      int separator = findSeparator(line);
+      if (separator >= 0) {
+        key = line.substring(0, separator);
+        value = parseValue(line.substring(separator + 1), in);
+      }
+      key = key.trim();
+      section
+          .computeIfAbsent(key.isEmpty() ? EMPTY_NAME : key, k -> new ArrayList<>(1))
+          .add(value);
+    }
+
+    Map<String, Map<String, String>> mapData = new LinkedHashMap<>();
+    sections.forEach((name, values) -> {
+      Map<String, String> sectionMap = new LinkedHashMap<>();
+      values.forEach((key, list) -> sectionMap.put(key,
+          list.size() == 1 ? list.get(0) : list.toString()));
+      mapData.put(name, sectionMap);
+    });
+
+    AiccCourse course = OBJECT_MAPPER.convertValue(mapData, AiccCourse.class);
+    if (!description.isEmpty()) {
+      course.setCourseDescription(description.toString());
+    }
+    return course;
+  }
+
+  /**
+   * Finds the separator between key and value. A separator directly before a quoted value wins;
+   * otherwise the first separator on the line is used.
+   *
+   * @param line the trimmed line
+   * @return the index of the separator, or -1 if the line has none
+   */
+  private static int findSeparator(String line) {
+    int quote = indexOfAny(line, QUOTE_CHARS);
+    int index = quote - 1;
+    while (index >= 0 && Character.isWhitespace(line.charAt(index))) {
+      index--;
+    }
+    if (index >= 0 && SEPARATOR_CHARS.indexOf(line.charAt(index)) >= 0) {
+      return index;
+    }
+    return indexOfAny(line, SEPARATOR_CHARS);
+  }
+
+  /**
+   * Parses a value, removing quotes and inline comments and joining continuation lines.
+   *
+   * @param raw the text after the separator
+   * @param in the reader, consumed further when the value continues on the next line
+   * @return the parsed value
+   * @throws IOException if a continuation line cannot be read
+   */
+  private static String parseValue(String raw, BufferedReader in) throws IOException {
+    StringBuilder parsed = new StringBuilder();
+    String value = raw.trim();
+    boolean continues;
+
+    do {
+      boolean quoted = value.startsWith("\"") || value.startsWith("'");
+      char quote = quoted ? value.charAt(0) : 0;
+      StringBuilder result = new StringBuilder();
+      boolean escape = false;
+      boolean stop = false;
+      char last = 0;
+      int i = quoted ? 1 : 0;
+
+      while (i < value.length() && !stop) {
+        char c = value.charAt(i);
+        if (quoted) {
+          if (c == '\\' && !escape) {
+            escape = true;
+          } else if (!escape && c == quote) {
+            stop = true;
+          } else {
+            if (escape && c != quote) {
+              result.append('\\');
+            }
+            escape = false;
+            result.append(c);
+          }
+        } else if (COMMENT_CHARS.indexOf(c) >= 0 && Character.isWhitespace(last)) {
+          stop = true;
+        } else {
+          result.append(c);
+        }
+        i++;
+        last = c;
+      }
+
+      String part = result.toString();
+      if (quoted) {
+        continues = endsWithContinuation(stripComment(value, i));
+      } else {
+        part = part.trim();
+        continues = endsWithContinuation(part);
+        if (continues) {
+          part = part
+              .substring(0, part.length() - 1)
+              .trim();
+        }
+      }
+      parsed.append(part);
+
+      if (continues) {
+        parsed.append(System.lineSeparator());
+        value = in.readLine();
+      }
+    } while (continues && value != null);
+
+    return parsed.toString();
+  }
+
+  /**
+   * Returns the text of a line from a position up to the first comment character.
+   */
+  private static String stripComment(String line, int from) {
+    if (from >= line.length()) {
+      return line;
+    }
+    int end = from;
+    while (end < line.length() && COMMENT_CHARS.indexOf(line.charAt(end)) < 0) {
+      end++;
+    }
+    return line.substring(from, end);
+  }
+
+  /**
+   * Checks whether text ends with a line continuation marker: a lone backslash, or a backslash
+   * preceded by whitespace.
+   */
+  private static boolean endsWithContinuation(String text) {
+    String s = text.trim();
+    return s.equals("\\")
+        || s.length() > 2 && s.endsWith("\\") && Character.isWhitespace(s.charAt(s.length() - 2));
+  }
+
+  private static int indexOfAny(String line, String chars) {
+    int index = -1;
+    for (int i = 0; i < chars.length(); i++) {
+      int position = line.indexOf(chars.charAt(i));
+      if (position >= 0 && (index < 0 || position < index)) {
+        index = position;
+      }
+    }
+    return index;
+  }
+}
@@ -11,12 +11,13 @@
 package dev.jcputney.elearning.parser.parsers;
 
 import com.fasterxml.jackson.databind.MappingIterator;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.dataformat.csv.CsvMapper;
 import com.fasterxml.jackson.dataformat.csv.CsvSchema;
 import dev.jcputney.elearning.parser.api.FileAccess;
 import dev.jcputney.elearning.parser.api.ModuleFileProvider;
 import dev.jcputney.elearning.parser.api.ParserOptions;
+import dev.jcputney.elearning.parser.enums.ParsePhase;
 import dev.jcputney.elearning.parser.exception.ManifestParseException;
 import dev.jcputney.elearning.parser.exception.ModuleException;
 import dev.jcputney.elearning.parser.exception.ModuleParsingException;
@@ -26,24 +27,23 @@ import dev.jcputney.elearning.parser.input.aicc.AssignableUnit;
 import dev.jcputney.elearning.parser.input.aicc.CourseStructure;
 import dev.jcputney.elearning.parser.input.aicc.Descriptor;
 import dev.jcputney.elearning.parser.output.metadata.aicc.AiccMetadata;
+import dev.jcputney.elearning.parser.output.metadata.aicc.AiccTableIndexes;
 import dev.jcputney.elearning.parser.util.EncodingDetector;
+import dev.jcputney.elearning.parser.util.ParseInstrumentation.Span;
 import dev.jcputney.elearning.parser.validation.ValidationIssue;
 import dev.jcputney.elearning.parser.validation.ValidationResult;
 import dev.jcputney.elearning.parser.validators.AiccValidator;
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.Reader;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import javax.xml.stream.XMLStreamException;
-import org.apache.commons.configuration2.INIConfiguration;
-import org.apache.commons.configuration2.SubnodeConfiguration;
-import org.apache.commons.configuration2.ex.ConfigurationException;
 import org.apache.commons.lang3.Strings;
 
 /**
@@ -82,6 +82,48 @@ public final class AiccParser extends BaseParser<AiccMetadata, AiccManifest> {
    */
   public static final String PRE_EXTENSION = ".pre";
 
+  /**
+   * The AICC file extensions resolved from the package listing.
+   */
+  private static final List<String> EXTENSIONS = List.of(CRS_EXTENSION, DES_EXTENSION,
+      AU_EXTENSION, CST_EXTENSION, ORT_EXTENSION, PRE_EXTENSION);
+
+  /**
+   * The schema shared by all AICC CSV files: a header row, comma separators and double quotes.
+   */
+  private static final CsvSchema CSV_SCHEMA = CsvSchema
+      .emptySchema()
+      .withHeader()
+      .withColumnSeparator(',')
+      .withQuoteChar('"');
+
+  /**
+   * Shared mapper for the AICC CSV files. Readers derived from it are immutable and thread-safe.
+   */
+  private static final CsvMapper CSV_MAPPER = new CsvMapper();
+
+  /**
+   * Reader for the descriptor (.des) file.
+   */
+  private static final ObjectReader DESCRIPTOR_READER = typedReader(Descriptor.class);
+
+  /**
+   * Reader for the assignable unit (.au) file.
+   */
+  private static final ObjectReader ASSIGNABLE_UNIT_READER = typedReader(AssignableUnit.class);
+
+  /**
+   * Reader for the course structure (.cst) file.
+   */
+  private static final ObjectReader COURSE_STRUCTURE_READER = typedReader(CourseStructure.class);
+
+  /**
+   * Reader for the optional tables (.pre and .ort) whose columns vary between packages.
+   */
+  private static final ObjectReader ROW_READER = CSV_MAPPER
+      .readerFor(Map.class)
+      .with(CSV_SCHEMA);
+
   /**
    * Default constructor for the AiccParser class.
    *
@@ -122,9 +164,10 @@ public final class AiccParser extends BaseParser<AiccMetadata, AiccManifest> {
    * @throws ManifestParseException If an error occurs while parsing the manifest
    */
   @Override
+  @SuppressWarnings("try") // Spans are opened for their close() only
   public AiccManifest parseManifest(String manifestPath)
       throws IOException, XMLStreamException, ManifestParseException {
-    try {
+    try (Span ignored = instrumentation.phase(ParsePhase.XML_BINDING)) {
       return parseManifest();
     } catch (ModuleParsingException e) {
       throw new ManifestParseException("Failed to parse AICC manifest", e);
@@ -133,6 +176,11 @@ public final class AiccParser extends BaseParser<AiccMetadata, AiccManifest> {
 
   /**
    * Parses the AICC manifest and returns an instance of AiccManifest.
+   * <p>
+   * When {@link ParserOptions#isStreamAiccTables()} is set, the returned manifest does not retain
+   * the course structure, prerequisites and objectives relation tables, and the indexes built over
+   * them while streaming are only used by {@link #parseAndValidate()} and {@link #parseOnly()}.
+   * </p>
    *
    * @return An instance of AiccManifest containing parsed data.
    * @throws IOException If an error occurs while reading files.
@@ -141,26 +189,122 @@ public final class AiccParser extends BaseParser<AiccMetadata, AiccManifest> {
    */
   public AiccManifest parseManifest()
       throws IOException, ModuleParsingException, ManifestParseException {
-    AiccCourse aiccCourse = parseIniFile();
+    return parseManifest(resolveFiles(), newStreamedIndexes());
+  }
+
+  /**
+   * Parses the AICC manifest and returns it together with the files of the package, which are
+   * reused when extracting metadata so that the package is listed only once per parse, and the
+   * indexes built while streaming the tables, if they were streamed.
+   *
+   * @return The parsed manifest, with an {@link AiccParseState} as its parse state.
+   * @throws IOException If an error occurs while reading files.
+   * @throws ManifestParseException If an error occurs while parsing the manifest.
+   */
+  @Override
+  @SuppressWarnings("try") // Spans are opened for their close() only
+  ParsedManifest<AiccManifest> parseManifestForMetadata()
+      throws IOException, ManifestParseException {
+    try (Span ignored = instrumentation.phase(ParsePhase.XML_BINDING)) {
+      AiccFiles files = resolveFiles();
+      AiccTableIndexes indexes = newStreamedIndexes();
+      return new ParsedManifest<>(parseManifest(files, indexes),
+          new AiccParseState(files, indexes));
+    } catch (ModuleParsingException e) {
+      throw new ManifestParseException("Failed to parse AICC manifest", e);
+    }
+  }
+
+  /**
+   * Creates the indexes to build while streaming the tables, if the parser options ask for it.
+   *
+   * @return Empty table indexes, or null if the tables are not streamed.
+   */
+  private AiccTableIndexes newStreamedIndexes() {
+    return options.isStreamAiccTables() ? new AiccTableIndexes() : null;
+  }
+
+  /**
+   * Parses the AICC manifest from the resolved files of the package.
+   *
+   * @param files The files of the module package.
+   * @param streamedIndexes The indexes to build while streaming the tables, or null to read the
+   * tables into the manifest.
+   * @return An instance of AiccManifest containing parsed data.
+   * @throws IOException If an error occurs while reading files.
+   * @throws ModuleParsingException If an error occurs during parsing.
+   * @throws ManifestParseException If an error occurs while parsing the manifest.
+   */
+  private AiccManifest parseManifest(AiccFiles files, AiccTableIndexes streamedIndexes)
+      throws IOException, ModuleParsingException, ManifestParseException {
+    AiccCourse aiccCourse = parseIniFile(files);
 
     // Parse CSV-style course data
-    var descriptors = parseCsvFile(Descriptor.class, DES_EXTENSION);
-    var assignableUnits = parseCsvFile(AssignableUnit.class, AU_EXTENSION);
-    var courseStructure = parseCsvFile(CourseStructure.class, CST_EXTENSION);
+    List<Descriptor> descriptors = parseCsvFile(files, DESCRIPTOR_READER, DES_EXTENSION);
+    List<AssignableUnit> assignableUnits = parseCsvFile(files, ASSIGNABLE_UNIT_READER,
+        AU_EXTENSION);
+    if (streamedIndexes != null) {
+      return parseManifestStreaming(files, aiccCourse, descriptors, assignableUnits,
+          streamedIndexes);
+    }
+    List<CourseStructure> courseStructure = parseCsvFile(files, COURSE_STRUCTURE_READER,
+        CST_EXTENSION);
 
     AiccManifest manifest = new AiccManifest(aiccCourse, assignableUnits, descriptors,
         courseStructure);
 
     // Optional AICC files: .pre (prerequisites) and .ort (objective relations)
     // Parse if present; ignore if missing.
-    List<Map<String, String>> prerequisites = parseOptionalCsvAsMap(PRE_EXTENSION);
+    List<Map<String, String>> prerequisites = parseOptionalCsvAsMap(files, PRE_EXTENSION);
     manifest.setPrerequisitesTable(prerequisites);
-    List<Map<String, String>> objectives = parseOptionalCsvAsMap(ORT_EXTENSION);
+    List<Map<String, String>> objectives = parseOptionalCsvAsMap(files, ORT_EXTENSION);
     manifest.setObjectivesRelationTable(objectives);
 
     return manifest;
   }
 
+  /**
+   * Builds the manifest while streaming the course structure, prerequisites and objectives
+   * relation tables. Each row is indexed as it is read and then dropped, so memory stays
+   * proportional to the number of distinct assignable units instead of the size of the files.
+   *
+   * @param files The files of the module package.
+   * @param aiccCourse The parsed course file.
+   * @param descriptors The parsed descriptors.
+   * @param assignableUnits The parsed assignable units.
+   * @param indexes The indexes receiving the streamed rows.
+   * @return An AiccManifest that does not retain the streamed tables.
+   * @throws IOException If a file cannot be located or read.
+   * @throws ModuleParsingException If the root assignable unit cannot be determined.
+   */
+  private AiccManifest parseManifestStreaming(AiccFiles files, AiccCourse aiccCourse,
+      List<Descriptor> descriptors, List<AssignableUnit> assignableUnits,
+      AiccTableIndexes indexes) throws IOException, ModuleParsingException {
+    String fileName = files.find(CST_EXTENSION);
+    if (fileName == null) {
+      checkAvailableFiles(files, CST_EXTENSION, "AICC CSV file with extension '");
+    }
+
+    AiccManifest manifest;
+    try (InputStream inputStream = moduleFileProvider.getFileContents(fileName);
+        MappingIterator<CourseStructure> rows = COURSE_STRUCTURE_READER.readValues(inputStream)) {
+      manifest = new AiccManifest(aiccCourse, assignableUnits, descriptors, rows,
+          indexes::addCourseStructure);
+    } catch (RuntimeException e) {
+      // MappingIterator reports read errors from hasNext()/next() as unchecked exceptions
+      if (e.getCause() instanceof IOException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+
+    streamOptionalRows(files, PRE_EXTENSION, indexes::addPrerequisiteRow);
+    streamOptionalRows(files, ORT_EXTENSION, indexes::addObjectiveRelationRow);
+    manifest.setPrerequisitesTable(List.of());
+    manifest.setObjectivesRelationTable(List.of());
+    return manifest;
+  }
+
   /**
    * Loads external metadata from the provided AICC manifest. This method is a no-op as there is no
    * external metadata to load for AICC.
@@ -178,10 +322,46 @@ public final class AiccParser extends BaseParser<AiccMetadata, AiccManifest> {
     return validator.validate(manifest);
   }
 
+  /**
+   * Reports the prerequisite cycles found in the prerequisite graph of the metadata as
+   * {@code AICC_PREREQUISITE_CYCLE} warnings.
+   *
+   * @param metadata The extracted metadata
+   * @return ValidationResult containing one warning per prerequisite cycle
+   */
+  @Override
+  ValidationResult validateMetadata(AiccMetadata metadata) {
+    return ValidationResult.of(metadata
+        .getPrerequisiteGraph()
+        .getCycleIssues()
+        .toArray(new ValidationIssue[0]));
+  }
+
   @Override
   protected AiccMetadata extractMetadata(AiccManifest manifest,
       ValidationResult validation)
       throws ModuleException {
+    return createMetadata(manifest, null);
+  }
+
+  @Override
+  AiccMetadata extractMetadata(ParsedManifest<AiccManifest> parsed, ValidationResult validation)
+      throws ModuleException {
+    AiccParseState state = parsed.state() instanceof AiccParseState s ? s : null;
+    return createMetadata(parsed.manifest(), state);
+  }
+
+  /**
+   * Extracts the metadata of an AICC manifest.
+   *
+   * @param manifest The parsed manifest.
+   * @param state The state gathered while parsing the manifest, or null to list the files of the
+   * package again and index the tables retained by the manifest.
+   * @return The metadata of the manifest.
+   * @throws ModuleException If the manifest is missing required data or a file cannot be read.
+   */
+  private AiccMetadata createMetadata(AiccManifest manifest, AiccParseState state)
+      throws ModuleException {
     try {
       // Validate required fields
       String title = manifest.getTitle();
@@ -204,7 +384,8 @@ public final class AiccParser extends BaseParser<AiccMetadata, AiccManifest> {
       }
 
       // Find the .crs manifest filename
-      String manifestFilename = findFileByExtension(CRS_EXTENSION);
+      AiccFiles files = state != null ? state.files() : resolveFiles();
+      String manifestFilename = files.find(CRS_EXTENSION);
       if (manifestFilename == null) {
         ValidationResult result = ValidationResult.of(
             ValidationIssue.error("AICC_MISSING_CRS_FILE",
@@ -214,8 +395,11 @@ public final class AiccParser extends BaseParser<AiccMetadata, AiccManifest> {
         throw result.toException("Failed to parse AICC module");
       }
 
-      // Build and return metadata
-      return AiccMetadata.create(manifest, checkForXapi(), manifestFilename);
+      // Build and return metadata, from the indexes built while streaming if there are any
+      AiccTableIndexes indexes = state != null && state.streamedIndexes() != null
+          ? state.streamedIndexes()
+          : AiccTableIndexes.of(manifest);
+      return AiccMetadata.create(manifest, indexes, checkForXapi(), manifestFilename);
     } catch (IOException e) {
       throw new ManifestParseException(
           "Error extracting AICC metadata: " + e.getMessage(), e);
@@ -240,33 +424,39 @@ public final class AiccParser extends BaseParser<AiccMetadata, AiccManifest> {
   }
 
   /**
-   * Parses a CSV file with the specified extension into a list of objects of the given class type.
-   * This method reads the contents of the CSV file, maps it to the schema of the provided class,
-   * and returns a list of mapped objects. If the file is not found, an {@code IOException} is
-   * thrown.
+   * Creates a reader that maps the rows of an AICC CSV file to the given class type, matching
+   * columns by the names in the header row.
+   *
+   * @param clazz The {@code Class} object representing the type of the rows.
+   * @return A reader for the rows of the CSV file.
+   */
+  private static ObjectReader typedReader(Class<?> clazz) {
+    return CSV_MAPPER
+        .readerWithTypedSchemaFor(clazz)
+        .with(CSV_SCHEMA);
+  }
+
+  /**
+   * Parses a CSV file with the specified extension into a list of objects using the given reader.
+   * If the file is not found, an {@code IOException} is thrown.
    *
    * @param <T> The type of the objects into which the CSV file will be parsed.
-   * @param clazz The {@code Class} object representing the type of objects in the resulting list.
+   * @param files The files of the module package.
+   * @param reader The shared reader for the rows of the CSV file.
    * @param extension The file extension used to locate the target CSV file.
    * @return A {@code List} containing objects of the specified type parsed from the CSV file.
    * @throws IOException If the file cannot be located or an error occurs while reading its
    * contents.
    */
-  private <T> List<T> parseCsvFile(Class<T> clazz, String extension) throws IOException {
-    String fileName = findFileByExtension(extension);
+  private <T> List<T> parseCsvFile(AiccFiles files, ObjectReader reader, String extension)
+      throws IOException {
+    String fileName = files.find(extension);
     if (fileName == null) {
-      checkAvailableFiles(extension, "AICC CSV file with extension '");
+      checkAvailableFiles(files, extension, "AICC CSV file with extension '");
     }
 
     try (InputStream inputStream = moduleFileProvider.getFileContents(fileName)) {
-      MappingIterator<T> objectMappingIterator = new CsvMapper()
-          .readerWithTypedSchemaFor(clazz)
-          .with(CsvSchema
-              .emptySchema()
-              .withHeader()
-              .withColumnSeparator(',')
-              .withQuoteChar('"'))
-          .readValues(inputStream);
+      MappingIterator<T> objectMappingIterator = reader.readValues(inputStream);
       return new ArrayList<>(objectMappingIterator.readAll());
     }
   }
@@ -275,44 +465,76 @@ public final class AiccParser extends BaseParser<AiccMetadata, AiccManifest> {
    * Parses a CSV file with an unknown schema into a list of case-insensitive maps. Returns an empty
    * list if the file is not found.
    */
-  private List<Map<String, String>> parseOptionalCsvAsMap(String extension) throws IOException {
-    String fileName = findFileByExtension(extension);
+  private List<Map<String, String>> parseOptionalCsvAsMap(AiccFiles files, String extension)
+      throws IOException {
+    String fileName = files.find(extension);
     if (fileName == null) {
       return Collections.emptyList();
     }
 
     try (InputStream inputStream = moduleFileProvider.getFileContents(fileName)) {
-      MappingIterator<Map<String, String>> it = new CsvMapper()
-          .readerFor(Map.class)
-          .with(CsvSchema
-              .emptySchema()
-              .withHeader()
-              .withColumnSeparator(',')
-              .withQuoteChar('"'))
-          .readValues(inputStream);
+      MappingIterator<Map<String, String>> it = ROW_READER.readValues(inputStream);
       List<Map<String, String>> rows = new ArrayList<>(it.readAll());
       // filter out completely empty rows that some authoring tools include
-      rows.removeIf(row -> row == null || row
-          .values()
-          .stream()
-          .allMatch(v -> v == null || v
-              .trim()
-              .isEmpty()));
+      rows.removeIf(AiccParser::isBlankRow);
       return rows;
     }
   }
 
+  /**
+   * Streams the rows of an optional CSV file with an unknown schema to a consumer, skipping
+   * completely empty rows. Does nothing if the file is not found.
+   *
+   * @param files The files of the module package.
+   * @param extension The file extension used to locate the CSV file.
+   * @param consumer Receives each non-empty row as a map keyed by column name.
+   * @throws IOException If an error occurs while reading the file.
+   */
+  private void streamOptionalRows(AiccFiles files, String extension,
+      Consumer<Map<String, String>> consumer) throws IOException {
+    String fileName = files.find(extension);
+    if (fileName == null) {
+      return;
+    }
+
+    try (InputStream inputStream = moduleFileProvider.getFileContents(fileName);
+        MappingIterator<Map<String, String>> it = ROW_READER.readValues(inputStream)) {
+      while (it.hasNextValue()) {
+        Map<String, String> row = it.nextValue();
+        if (!isBlankRow(row)) {
+          consumer.accept(row);
+        }
+      }
+    }
+  }
+
+  /**
+   * Checks whether a CSV row is completely empty, as some authoring tools include such rows.
+   *
+   * @param row The row to check.
+   * @return true if the row is null or all of its values are null or blank.
+   */
+  private static boolean isBlankRow(Map<String, String> row) {
+    return row == null || row
+        .values()
+        .stream()
+        .allMatch(v -> v == null || v
+            .trim()
+            .isEmpty());
+  }
+
   /**
    * Checks for available files in the module package with the specified extension. If no matching
    * file is found, an {@code IOException} is thrown containing suggestions for available files.
    *
+   * @param files The files of the module package.
    * @param extension The file extension to look for.
    * @param x The prefix message describing the error or context.
-   * @throws IOException If no file with the specified extension is found or an error occurs while
-   * fetching the list of files.
+   * @throws IOException Always, since no file with the specified extension was found.
    */
-  private void checkAvailableFiles(String extension, String x) throws IOException {
-    List<String> availableFiles = moduleFileProvider.listFiles("");
+  private void checkAvailableFiles(AiccFiles files, String extension, String x)
+      throws IOException {
+    List<String> availableFiles = files.allFiles();
     String suggestion = availableFiles
         .stream()
         .filter(f -> f
@@ -331,74 +553,31 @@ public final class AiccParser extends BaseParser<AiccMetadata, AiccManifest> {
   }
 
   /**
-   * Parses an AICC INI file with the specified extension, converting its contents into an
-   * AiccCourse object. This method reads the INI configuration, processes its sections and keys
-   * into a structured map, and maps the resulting data to the AiccCourse class using a JSON object
-   * mapper. If the file is not found or is improperly formatted, appropriate exceptions are
-   * thrown.
+   * Parses the AICC course (.crs) file into an AiccCourse object. The file is decoded once and
+   * tokenized in a single pass by {@link AiccCourseFileReader}, which also captures the raw
+   * [Course_Description] text.
    *
+   * @param files The files of the module package.
    * @return An AiccCourse object containing the parsed INI data.
    * @throws IOException If the INI file cannot be located or an error occurs while reading its
    * contents.
-   * @throws ManifestParseException If an error occurs during INI file parsing or data conversion.
+   * @throws ManifestParseException If the INI data cannot be converted into a course.
    */
-  private AiccCourse parseIniFile() throws IOException, ManifestParseException {
-    String fileName = findFileByExtension(AiccParser.CRS_EXTENSION);
+  private AiccCourse parseIniFile(AiccFiles files) throws IOException, ManifestParseException {
+    String fileName = files.find(CRS_EXTENSION);
     if (fileName == null) {
-      checkAvailableFiles(AiccParser.CRS_EXTENSION, "AICC INI file with extension '");
+      checkAvailableFiles(files, CRS_EXTENSION, "AICC INI file with extension '");
     }
 
     try (InputStream inputStream = moduleFileProvider.getFileContents(fileName)) {
       // Detect encoding and handle BOM (Byte Order Mark) which some authoring tools add
       EncodingDetector.EncodingAwareInputStream encodingAwareStream =
           EncodingDetector.detectEncoding(inputStream);
-
-      // First, extract the raw Course_Description text before INI parsing mangles it
-      String rawCourseDescription = extractCourseDescription(encodingAwareStream);
-
-      // Reset stream for INI parsing
-      encodingAwareStream = EncodingDetector.detectEncoding(
-          moduleFileProvider.getFileContents(fileName));
-
-      try (InputStreamReader reader = new InputStreamReader(
-          encodingAwareStream.inputStream(), encodingAwareStream.charset())) {
-        INIConfiguration iniData = new INIConfiguration();
-        iniData.read(reader);
-        Map<String, Map<String, String>> mapData = new HashMap<>();
-        for (String section : iniData.getSections()) {
-          // Skip Course_Description - we'll handle it separately
-          if ("Course_Description".equalsIgnoreCase(section)) {
-            continue;
-          }
-          Map<String, String> subSectionMap = new HashMap<>();
-          SubnodeConfiguration confSection = iniData.getSection(section);
-          Iterator<String> keyIterator = confSection.getKeys();
-          while (keyIterator.hasNext()) {
-            String key = keyIterator.next();
-            Object rawValue = confSection.getProperty(key);
-            // Authoring tools sometimes emit keys without values; treat those as null instead of
-            // failing with a NullPointerException when calling toString().
-            String value = rawValue != null ? rawValue.toString() : null;
-
-            // Filter out null keys to prevent Jackson serialization errors
-            if (key != null) {
-              subSectionMap.put(key, value);
-            }
-          }
-          mapData.put(section, subSectionMap);
-        }
-
-        ObjectMapper objectMapper = new ObjectMapper();
-        AiccCourse result = objectMapper.convertValue(mapData, AiccCourse.class);
-
-        // Set the raw description text directly
-        if (rawCourseDescription != null) {
-          result.setCourseDescription(rawCourseDescription);
-        }
-
-        return result;
+      try (Reader reader = new InputStreamReader(encodingAwareStream.inputStream(),
+          encodingAwareStream.charset())) {
+        return AiccCourseFileReader.read(reader);
       }
-    } catch (ConfigurationException e) {
+    } catch (IllegalArgumentException e) {
       throw new ManifestParseException(
           "Error parsing AICC INI file '" + fileName + "' in module at '"
               + moduleFileProvider.getRootPath() + "' (check file format and encoding): "
@@ -407,70 +586,51 @@ public final class AiccParser extends BaseParser<AiccMetadata, AiccManifest> {
   }
 
   /**
-   * Extracts the raw text content from the [Course_Description] section of an AICC .crs file. The
-   * [Course_Description] section contains plain text that should not be parsed as key-value pairs.
+   * Lists the module package once and resolves the AICC files in it.
    *
-   * @param encodingAwareStream the input stream with detected encoding
-   * @return the raw description text, or null if the section is not found
-   * @throws IOException if an error occurs reading the file
-   */
-  private String extractCourseDescription(
-      EncodingDetector.EncodingAwareInputStream encodingAwareStream) throws IOException {
-    try (InputStreamReader reader = new InputStreamReader(
-        encodingAwareStream.inputStream(), encodingAwareStream.charset())) {
-      StringBuilder description = new StringBuilder();
-      String line;
-      boolean inDescriptionSection = false;
-      BufferedReader bufferedReader = new BufferedReader(reader);
-
-      while ((line = bufferedReader.readLine()) != null) {
-        String trimmedLine = line.trim();
-
-        // Check if we're entering the Course_Description section
-        if (trimmedLine.equalsIgnoreCase("[Course_Description]")) {
-          inDescriptionSection = true;
-          continue;
-        }
-
-        // Check if we're leaving the section (entering a new section)
-        if (inDescriptionSection && trimmedLine.startsWith("[") && trimmedLine.endsWith("]")) {
-          break;
-        }
-
-        // Collect lines within the Course_Description section
-        if (inDescriptionSection && !trimmedLine.isEmpty()) {
-          if (!description.isEmpty()) {
-            description.append("\n");
-          }
-          description.append(line.trim());
-        } else if (inDescriptionSection) {
-          // Preserve empty lines within the description
-          if (!description.isEmpty()) {
-            description.append("\n");
-          }
+   * @return The files of the module package, with the first file for each AICC extension.
+   * @throws IOException If an error occurs while accessing the file system.
+   */
+  private AiccFiles resolveFiles() throws IOException {
+    List<String> allFiles = moduleFileProvider.listFiles("");
+    Map<String, String> byExtension = new HashMap<>();
+    for (String fileName : allFiles) {
+      for (String extension : EXTENSIONS) {
+        if (Strings.CI.endsWith(fileName, extension)) {
+          byExtension.putIfAbsent(extension, fileName);
         }
       }
-
-      return !description.isEmpty() ? description.toString() : null;
     }
+    return new AiccFiles(allFiles, byExtension);
   }
 
   /**
-   * Finds a file with the specified extension in the module package. This method searches through
-   * the list of available files and returns the first file that matches the given extension, or
-   * null if no such file is found.
+   * The state gathered while parsing a manifest, handed over to metadata extraction with it.
    *
-   * @param extension The file extension to search for. Must not be null or empty.
-   * @return The name of the first file matching the specified extension, or null if no file is
-   * found.
-   * @throws IOException If an error occurs while accessing the file system.
+   * @param files The files of the module package.
+   * @param streamedIndexes The indexes built while streaming the tables, or null if the tables were
+   * read into the manifest.
    */
-  private String findFileByExtension(String extension) throws IOException {
-    return moduleFileProvider
-        .listFiles("")
-        .stream()
-        .filter(fileName -> Strings.CI.endsWith(fileName, extension))
-        .findFirst()
-        .orElse(null);
+  private record AiccParseState(AiccFiles files, AiccTableIndexes streamedIndexes) {
+
+  }
+
+  /**
+   * The files of a module package, listed once per parse.
+   *
+   * @param allFiles Every file in the package root listing.
+   * @param byExtension The first file in the listing for each AICC extension.
+   */
+  private record AiccFiles(List<String> allFiles, Map<String, String> byExtension) {
+
+    /**
+     * Finds the first file with the specified extension.
+     *
+     * @param extension The AICC file extension to look up.
+     * @return The name of the first file with the extension, or null if there is none.
+     */
+    String find(String extension) {
+      return byExtension.get(extension);
+    }
   }
 }
@@ -16,13 +16,17 @@ import dev.jcputney.elearning.parser.api.ModuleFileProvider;
 import dev.jcputney.elearning.parser.api.ModuleParser;
 import dev.jcputney.elearning.parser.api.ParseResult;
 import dev.jcputney.elearning.parser.api.ParserOptions;
+import dev.jcputney.elearning.parser.enums.ParsePhase;
 import dev.jcputney.elearning.parser.exception.ManifestParseException;
 import dev.jcputney.elearning.parser.exception.ModuleException;
 import dev.jcputney.elearning.parser.exception.ModuleParsingException;
 import dev.jcputney.elearning.parser.impl.provider.DefaultModuleFileProvider;
 import dev.jcputney.elearning.parser.input.PackageManifest;
 import dev.jcputney.elearning.parser.output.ModuleMetadata;
+import dev.jcputney.elearning.parser.util.ParseInstrumentation;
+import dev.jcputney.elearning.parser.util.ParseInstrumentation.Span;
 import dev.jcputney.elearning.parser.util.XmlParsingUtils;
+import dev.jcputney.elearning.parser.util.XmlSubtreeFilter;
 import dev.jcputney.elearning.parser.validation.ValidationResult;
 import java.io.IOException;
 import java.io.InputStream;
@@ -63,6 +67,11 @@ public abstract sealed class BaseParser<T extends ModuleMetadata<M>, M extends P
    */
   protected final ParserOptions options;
 
+  /**
+   * The instrumentation reporting the phases of parsing to the configured parse listener.
+   */
+  final ParseInstrumentation instrumentation;
+
   /**
    * Constructs a BaseParser with the specified ModuleFileProvider instance and parser options.
    *
@@ -76,8 +85,9 @@ public abstract sealed class BaseParser<T extends ModuleMetadata<M>, M extends P
     if (moduleFileProvider == null) {
       throw new IllegalArgumentException("ModuleFileProvider cannot be null");
     }
-    this.moduleFileProvider = moduleFileProvider;
     this.options = options != null ? options : new ParserOptions();
+    this.instrumentation = ParseInstrumentation.of(this.options.getParseListener(), null);
+    this.moduleFileProvider = instrumentation.instrument(moduleFileProvider);
   }
 
   /**
@@ -104,8 +114,9 @@ public abstract sealed class BaseParser<T extends ModuleMetadata<M>, M extends P
     if (fileAccess == null) {
       throw new IllegalArgumentException("FileAccess cannot be null");
     }
-    this.moduleFileProvider = new DefaultModuleFileProvider(fileAccess);
     this.options = options != null ? options : new ParserOptions();
+    this.instrumentation = ParseInstrumentation.of(this.options.getParseListener(), fileAccess);
+    this.moduleFileProvider = instrumentation.instrument(new DefaultModuleFileProvider(fileAccess));
   }
 
   /**
@@ -130,16 +141,25 @@ public abstract sealed class BaseParser<T extends ModuleMetadata<M>, M extends P
   }
 
   @Override
+  @SuppressWarnings("try") // Spans are opened for their close() only
   public ParseResult<M> parseAndValidate() throws ModuleException {
-    try {
+    try (Span ignored = instrumentation.parse()) {
       // 1. Parse manifest XML → Java objects (single parse)
-      M manifest = parseManifest(getManifestFileName());
+      ParsedManifest<M> parsed = parseManifestForMetadata();
+      M manifest = parsed.manifest();
 
       // 2. Validate the parsed manifest
-      ValidationResult validation = validateManifest(manifest);
+      ValidationResult validation;
+      try (Span ignoredPhase = instrumentation.phase(ParsePhase.VALIDATION)) {
+        validation = validateManifest(manifest);
+      }
 
       // 3. Extract metadata (even if validation has warnings/errors)
-      T metadata = extractMetadata(manifest, validation);
+      T metadata;
+      try (Span ignoredPhase = instrumentation.phase(ParsePhase.METADATA_EXTRACTION)) {
+        metadata = extractMetadata(parsed, validation);
+        validation = validation.merge(validateMetadata(metadata));
+      }
 
       // 4. Return both validation and metadata
       return new ParseResult<>(validation, metadata);
@@ -161,13 +181,16 @@ public abstract sealed class BaseParser<T extends ModuleMetadata<M>, M extends P
   }
 
   @Override
+  @SuppressWarnings("try") // Spans are opened for their close() only
   public T parseOnly() throws ModuleException {
-    try {
+    try (Span ignored = instrumentation.parse()) {
       // Parse without validation
-      M manifest = parseManifest(getManifestFileName());
+      ParsedManifest<M> parsed = parseManifestForMetadata();
 
       // Extract metadata with empty validation result
-      return extractMetadata(manifest, ValidationResult.valid());
+      try (Span ignoredPhase = instrumentation.phase(ParsePhase.METADATA_EXTRACTION)) {
+        return extractMetadata(parsed, ValidationResult.valid());
+      }
 
     } catch (IOException | XMLStreamException e) {
       throw new ManifestParseException(
@@ -193,15 +216,25 @@ public abstract sealed class BaseParser<T extends ModuleMetadata<M>, M extends P
    * @throws ManifestParseException if the manifest file cannot be read or parsed.
    * @throws IllegalArgumentException if the provided manifestPath is null.
    */
+  @SuppressWarnings("try") // Spans are opened for their close() only
   public M parseManifest(String manifestPath)
       throws IOException, XMLStreamException, ManifestParseException {
     if (manifestPath == null) {
       throw new IllegalArgumentException("Manifest path cannot be null");
     }
     try (InputStream manifestStream = moduleFileProvider.getFileContents(manifestPath)) {
-      M manifest = XmlParsingUtils.parseXmlToObject(manifestStream, getManifestClass(),
-          manifestPath, options.getResolvedMaxManifestSize());
-      loadExternalMetadata(manifest);
+      M manifest;
+      try (Span ignored = instrumentation.phase(ParsePhase.XML_BINDING)) {
+        manifest = XmlParsingUtils.parseXmlToObject(manifestStream, getManifestClass(),
+            manifestPath, options.getResolvedMaxManifestSize(), projectionFilter());
+      }
+      try (Span ignored = instrumentation.phase(ParsePhase.EXTERNAL_METADATA_LOADING)) {
+        if (options.hasProjection()) {
+          loadProjectedExternalMetadata(manifest);
+        } else {
+          loadExternalMetadata(manifest);
+        }
+      }
       return manifest;
     } catch (IOException e) {
       throw new ManifestParseException(
@@ -227,6 +260,38 @@ public abstract sealed class BaseParser<T extends ModuleMetadata<M>, M extends P
    */
   abstract void loadExternalMetadata(M manifest) throws XMLStreamException, IOException;
 
+  /**
+   * Loads the external metadata files needed by the projection set in the parser options. By
+   * default, no external metadata is loaded when a projection is set.
+   *
+   * @param manifest The manifest object to load external metadata into.
+   * @throws XMLStreamException If an error occurs while parsing the XML.
+   * @throws IOException If an error occurs while reading the file.
+   */
+  void loadProjectedExternalMetadata(M manifest) throws XMLStreamException, IOException {
+    // No external metadata is needed by default
+  }
+
+  /**
+   * Selects the manifest elements skipped for the projection set in the parser options. By
+   * default, the whole manifest is bound.
+   *
+   * @return the filter of the skipped elements, or null to bind the whole manifest
+   */
+  XmlSubtreeFilter projectionFilter() {
+    return null;
+  }
+
+  /**
+   * Checks if the size of the module is calculated. The size is calculated when enabled in the
+   * parser options and no projection is set.
+   *
+   * @return true if the module size must be calculated
+   */
+  boolean shouldCalculateModuleSize() {
+    return options.shouldCalculateModuleSize() && !options.hasProjection();
+  }
+
   /**
    * Validates a parsed manifest and returns validation results. Subclasses implement this to use
    * their parser-specific validators.
@@ -247,6 +312,49 @@ public abstract sealed class BaseParser<T extends ModuleMetadata<M>, M extends P
   protected abstract T extractMetadata(M manifest, ValidationResult validation)
       throws ModuleException;
 
+  /**
+   * Reports the issues that are only found while extracting metadata, such as prerequisite cycles.
+   * {@link #parseAndValidate()} merges them into the result of {@link #validateManifest}. By
+   * default, no issues are reported.
+   *
+   * @param metadata The extracted metadata
+   * @return ValidationResult containing any errors or warnings found in the metadata
+   */
+  ValidationResult validateMetadata(T metadata) {
+    return ValidationResult.valid();
+  }
+
+  /**
+   * Parses the manifest for {@link #parseAndValidate()} and {@link #parseOnly()}, together with any
+   * state gathered while parsing it that {@link #extractMetadata(ParsedManifest, ValidationResult)}
+   * can reuse. By default, the manifest is parsed with {@link #parseManifest(String)} and carries
+   * no state.
+   *
+   * @return the parsed manifest and its parse state
+   * @throws IOException if an error occurs while reading the manifest
+   * @throws XMLStreamException if an error occurs while parsing the manifest
+   * @throws ManifestParseException if the manifest cannot be read or parsed
+   */
+  ParsedManifest<M> parseManifestForMetadata()
+      throws IOException, XMLStreamException, ManifestParseException {
+    return ParsedManifest.of(parseManifest(getManifestFileName()));
+  }
+
+  /**
+   * Extracts metadata from a manifest returned by {@link #parseManifestForMetadata()}. By default,
+   * the parse state is ignored and the metadata is extracted with
+   * {@link #extractMetadata(PackageManifest, ValidationResult)}.
+   *
+   * @param parsed The parsed manifest and its parse state
+   * @param validation The validation result (for reference during extraction)
+   * @return Module-specific metadata
+   * @throws ModuleException if metadata extraction fails
+   */
+  T extractMetadata(ParsedManifest<M> parsed, ValidationResult validation)
+      throws ModuleException {
+    return extractMetadata(parsed.manifest(), validation);
+  }
+
   /**
    * Returns the module type name for error messages. Subclasses can override for more specific type
    * names.
@@ -327,4 +435,31 @@ public abstract sealed class BaseParser<T extends ModuleMetadata<M>, M extends P
 
     XmlParsingUtils.loadExternalMetadataIntoMetadata(subMetadata, moduleFileProvider);
   }
+
+  /**
+   * Creates a loader for collecting the external metadata locations of a manifest and loading them
+   * in one batch, using the parallelism configured in the parser options.
+   *
+   * @return a new ExternalMetadataLoader backed by this parser's module file provider
+   */
+  ExternalMetadataLoader newExternalMetadataLoader() {
+    return new ExternalMetadataLoader(moduleFileProvider, options.getExternalMetadataParallelism());
+  }
+
+  /**
+   * Loads the external metadata collected by a loader. The files are read and parsed now, or on
+   * first access to each LOM when lazy external metadata is enabled in the parser options.
+   *
+   * @param loader the loader holding the collected external metadata locations
+   * @throws XMLStreamException If an error occurs while parsing the XML.
+   * @throws IOException If an error occurs while reading a file.
+   */
+  void loadCollectedExternalMetadata(ExternalMetadataLoader loader)
+      throws XMLStreamException, IOException {
+    if (options.isLazyExternalMetadata()) {
+      loader.defer(options.isPrefetchExternalMetadata());
+    } else {
+      loader.load();
+    }
+  }
 }
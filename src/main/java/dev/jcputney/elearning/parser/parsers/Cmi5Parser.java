@@ -12,12 +12,20 @@ package dev.jcputney.elearning.parser.parsers;
 
 import dev.jcputney.elearning.parser.api.FileAccess;
 import dev.jcputney.elearning.parser.api.ParserOptions;
+import dev.jcputney.elearning.parser.enums.ParsePhase;
+import dev.jcputney.elearning.parser.exception.ManifestParseException;
 import dev.jcputney.elearning.parser.exception.ModuleException;
 import dev.jcputney.elearning.parser.input.cmi5.Cmi5Manifest;
+import dev.jcputney.elearning.parser.input.cmi5.Cmi5StreamReader;
 import dev.jcputney.elearning.parser.output.metadata.cmi5.Cmi5Metadata;
+import dev.jcputney.elearning.parser.output.metadata.cmi5.Cmi5MetadataCollector;
+import dev.jcputney.elearning.parser.util.ParseInstrumentation.Span;
 import dev.jcputney.elearning.parser.validation.ValidationIssue;
 import dev.jcputney.elearning.parser.validation.ValidationResult;
 import dev.jcputney.elearning.parser.validators.Cmi5Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import javax.xml.stream.XMLStreamException;
 
 /**
  * Cmi5Parser is responsible for parsing cmi5-specific metadata from the cmi5.xml file.
@@ -53,6 +61,76 @@ public final class Cmi5Parser extends BaseParser<Cmi5Metadata, Cmi5Manifest> {
     super(fileAccess, options);
   }
 
+  /**
+   * Parses the cmi5.xml file. When streaming of the course structure is enabled in the parser
+   * options, the assignable units are collected into metadata as they are read instead of being
+   * bound into the returned manifest, and that metadata is only used by {@link #parseAndValidate()}
+   * and {@link #parseOnly()}.
+   *
+   * @param manifestPath the path of the cmi5.xml file
+   * @return the parsed manifest
+   * @throws IOException if an error occurs while reading the manifest file.
+   * @throws XMLStreamException if an error occurs while parsing the XML content of the manifest.
+   * @throws ManifestParseException if the manifest file cannot be read or parsed.
+   */
+  @Override
+  public Cmi5Manifest parseManifest(String manifestPath)
+      throws IOException, XMLStreamException, ManifestParseException {
+    if (!options.isStreamCmi5Structure()) {
+      return super.parseManifest(manifestPath);
+    }
+    return parseStreaming(manifestPath).manifest();
+  }
+
+  /**
+   * Parses the cmi5.xml file and returns it together with the assignable unit metadata collected
+   * while streaming its course structure, if streaming is enabled in the parser options.
+   *
+   * @return The parsed manifest, with a {@link Cmi5MetadataCollector} as its parse state when the
+   * course structure was streamed.
+   * @throws IOException if an error occurs while reading the manifest file.
+   * @throws XMLStreamException if an error occurs while parsing the XML content of the manifest.
+   * @throws ManifestParseException if the manifest file cannot be read or parsed.
+   */
+  @Override
+  ParsedManifest<Cmi5Manifest> parseManifestForMetadata()
+      throws IOException, XMLStreamException, ManifestParseException {
+    if (!options.isStreamCmi5Structure()) {
+      return super.parseManifestForMetadata();
+    }
+    return parseStreaming(getManifestFileName());
+  }
+
+  /**
+   * Streams the cmi5.xml file, collecting the assignable units into metadata as they are read.
+   *
+   * @param manifestPath the path of the cmi5.xml file
+   * @return the parsed manifest, with the collected assignable unit metadata as its parse state
+   * @throws ManifestParseException if the manifest file cannot be read or parsed.
+   */
+  @SuppressWarnings("try") // Spans are opened for their close() only
+  private ParsedManifest<Cmi5Manifest> parseStreaming(String manifestPath)
+      throws ManifestParseException {
+    if (manifestPath == null) {
+      throw new IllegalArgumentException("Manifest path cannot be null");
+    }
+    Cmi5MetadataCollector collector = new Cmi5MetadataCollector();
+    try (InputStream manifestStream = moduleFileProvider.getFileContents(manifestPath)) {
+      Cmi5Manifest manifest;
+      try (Span ignored = instrumentation.phase(ParsePhase.XML_BINDING)) {
+        manifest = Cmi5StreamReader.read(manifestStream, collector);
+      }
+      return new ParsedManifest<>(manifest, collector);
+    } catch (IOException e) {
+      throw new ManifestParseException(
+          String.format("Failed to read manifest file '%s': %s", manifestPath, e.getMessage()), e);
+    } catch (XMLStreamException e) {
+      throw new ManifestParseException(
+          String.format("Failed to parse manifest XML at '%s': %s", manifestPath, e.getMessage()),
+          e);
+    }
+  }
+
   /**
    * Loads external metadata for the given Cmi5Manifest. This method is overridden in the context of
    * cmi5 but does not perform any operations because cmi5 does not require external metadata
@@ -75,6 +153,28 @@ public final class Cmi5Parser extends BaseParser<Cmi5Metadata, Cmi5Manifest> {
   protected Cmi5Metadata extractMetadata(Cmi5Manifest manifest,
       ValidationResult validation)
       throws ModuleException {
+    return createMetadata(manifest, null);
+  }
+
+  @Override
+  Cmi5Metadata extractMetadata(ParsedManifest<Cmi5Manifest> parsed, ValidationResult validation)
+      throws ModuleException {
+    Cmi5MetadataCollector collector =
+        parsed.state() instanceof Cmi5MetadataCollector c ? c : null;
+    return createMetadata(parsed.manifest(), collector);
+  }
+
+  /**
+   * Extracts the metadata of a cmi5 manifest.
+   *
+   * @param manifest The parsed manifest.
+   * @param collector The assignable unit metadata collected while streaming the manifest, or null
+   * to collect it from the assignable units bound into the manifest.
+   * @return The metadata of the manifest.
+   * @throws ModuleException If the manifest is missing its title or launch URL.
+   */
+  private Cmi5Metadata createMetadata(Cmi5Manifest manifest, Cmi5MetadataCollector collector)
+      throws ModuleException {
     // Validate required fields
     String title = manifest.getTitle();
     if (title == null || title.isEmpty()) {
@@ -93,8 +193,12 @@ public final class Cmi5Parser extends BaseParser<Cmi5Metadata, Cmi5Manifest> {
       throw result.toException("Failed to parse cmi5 module");
     }
 
-    // Build and return the Cmi5Metadata
-    return Cmi5Metadata.create(manifest, true); // cmi5 modules are always xAPI-enabled
+    // Build and return the Cmi5Metadata, from the units collected while streaming if there are any
+    // (cmi5 modules are always xAPI-enabled)
+    if (collector != null) {
+      return Cmi5Metadata.create(manifest, collector, true);
+    }
+    return Cmi5Metadata.create(manifest, true);
   }
 
   @Override
@@ -0,0 +1,359 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.parsers;
+
+import dev.jcputney.elearning.parser.api.LoadableMetadata;
+import dev.jcputney.elearning.parser.api.ModuleFileProvider;
+import dev.jcputney.elearning.parser.input.lom.LOM;
+import dev.jcputney.elearning.parser.util.XmlParsingUtils;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+import javax.xml.stream.XMLStreamException;
+
+/**
+ * Loads the external LOM metadata files referenced by a manifest in one batch.
+ * <p>
+ * Loading happens in two phases. First, every {@link LoadableMetadata} with a location is collected
+ * through {@link #add(LoadableMetadata)}, and owners that share a location are grouped so each file
+ * is only read once. Then {@link #load()} checks the existence of all locations with a single
+ * {@link ModuleFileProvider#fileExistsBatch(List)} call, fetches and parses the existing files with
+ * up to the configured number of concurrent loads, and writes each LOM back to its owners.
+ * </p>
+ * <p>
+ * Results are applied in the order the locations were first added, so the outcome does not depend
+ * on which load finishes first. Owners that share a location receive the same {@link LOM} instance.
+ * Missing files are skipped, since external metadata is optional. If a file cannot be read or
+ * parsed, LOMs for locations added before it are still applied and the first failure in that order
+ * is thrown, which matches loading the files one at a time.
+ * </p>
+ * <p>
+ * Alternatively, {@link #defer(boolean)} hands each owner a supplier that loads its file on the
+ * first call to {@link LoadableMetadata#getLom()}, so parsing does not read any metadata files.
+ * The deferred loads can optionally be started right away on background threads.
+ * </p>
+ * <p>
+ * Concurrent and background loads run on daemon threads shared by all loaders, so parsing many
+ * manifests does not create a thread pool per manifest.
+ * </p>
+ * <p>
+ * This class is not thread-safe; a new instance is used for each manifest.
+ * </p>
+ */
+final class ExternalMetadataLoader {
+
+  /**
+   * The threads that load metadata files for all loaders. Threads are daemons, created on demand
+   * and discarded after they have been idle for a minute; each loader bounds the number of threads
+   * it uses to its parallelism.
+   */
+  private static final ExecutorService LOAD_THREADS = Executors.newCachedThreadPool(runnable -> {
+    Thread thread = new Thread(runnable, "external-metadata-loader");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  /**
+   * The provider used to check for and read the metadata files.
+   */
+  private final ModuleFileProvider moduleFileProvider;
+
+  /**
+   * The maximum number of metadata files fetched and parsed concurrently.
+   */
+  private final int parallelism;
+
+  /**
+   * The owners of each location, keyed in the order the locations were first added.
+   */
+  private final Map<String, List<LoadableMetadata>> ownersByLocation = new LinkedHashMap<>();
+
+  /**
+   * Creates a loader.
+   *
+   * @param moduleFileProvider the provider used to read the metadata files
+   * @param parallelism the maximum number of concurrent loads, at least 1
+   * @throws IllegalArgumentException if moduleFileProvider is null or parallelism is less than 1
+   */
+  ExternalMetadataLoader(ModuleFileProvider moduleFileProvider, int parallelism) {
+    if (moduleFileProvider == null) {
+      throw new IllegalArgumentException("ModuleFileProvider cannot be null");
+    }
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("Parallelism must be at least 1");
+    }
+    this.moduleFileProvider = moduleFileProvider;
+    this.parallelism = parallelism;
+  }
+
+  /**
+   * Collects a metadata owner for loading. Null owners and owners without a location are ignored.
+   *
+   * @param metadata the metadata to load the external LOM into, may be null
+   */
+  void add(LoadableMetadata metadata) {
+    if (metadata == null) {
+      return;
+    }
+    String location = metadata.getLocation();
+    if (location == null || location.isEmpty()) {
+      return;
+    }
+    ownersByLocation
+        .computeIfAbsent(location, k -> new ArrayList<>(1))
+        .add(metadata);
+  }
+
+  /**
+   * Returns the number of distinct locations collected so far.
+   *
+   * @return the number of distinct locations
+   */
+  int size() {
+    return ownersByLocation.size();
+  }
+
+  /**
+   * Loads all collected locations and writes the parsed LOMs back to their owners.
+   *
+   * @throws IOException if a metadata file cannot be read
+   * @throws XMLStreamException if a metadata file cannot be parsed
+   */
+  void load() throws IOException, XMLStreamException {
+    if (ownersByLocation.isEmpty()) {
+      return;
+    }
+
+    Map<String, Boolean> existence = moduleFileProvider.fileExistsBatch(
+        new ArrayList<>(ownersByLocation.keySet()));
+    List<String> locations = ownersByLocation
+        .keySet()
+        .stream()
+        .filter(location -> Boolean.TRUE.equals(existence.get(location)))
+        .toList();
+
+    if (parallelism == 1 || locations.size() < 2) {
+      for (String location : locations) {
+        apply(location, fetch(location));
+      }
+      return;
+    }
+
+    for (Loaded loaded : fetchConcurrently(locations)) {
+      apply(loaded.location(), loaded);
+    }
+  }
+
+  /**
+   * Defers loading of all collected locations until their LOMs are first accessed. Each distinct
+   * location gets one memoized supplier, shared by all of its owners, that checks whether the file
+   * exists, then reads and parses it. No files are read by this method unless prefetching is
+   * requested, in which case the loads are started on the shared daemon threads and this method
+   * returns without waiting for them.
+   *
+   * @param prefetch true to start loading all locations in the background
+   */
+  void defer(boolean prefetch) {
+    List<LazyLom> lazyLoms = new ArrayList<>(ownersByLocation.size());
+    ownersByLocation.forEach((location, owners) -> {
+      LazyLom lazyLom = new LazyLom(() -> fetchIfExists(location));
+      for (LoadableMetadata owner : owners) {
+        owner.setLomSupplier(lazyLom);
+      }
+      lazyLoms.add(lazyLom);
+    });
+
+    if (prefetch && !lazyLoms.isEmpty()) {
+      runOnLoadThreads(lazyLoms.size(), index -> lazyLoms
+          .get(index)
+          .resolve());
+    }
+  }
+
+  /**
+   * Loads a single location on demand.
+   *
+   * @param location the location to load
+   * @return the parsed LOM, or null if the file does not exist
+   * @throws UncheckedIOException if the file cannot be read or parsed
+   */
+  private LOM fetchIfExists(String location) {
+    if (!moduleFileProvider.fileExists(location)) {
+      return null;
+    }
+    try {
+      return unwrap(location, fetch(location));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } catch (XMLStreamException e) {
+      throw new UncheckedIOException(new IOException(e.getMessage(), e));
+    }
+  }
+
+  /**
+   * Fetches and parses the given locations concurrently.
+   *
+   * @param locations the locations to load
+   * @return the results, in the same order as the locations
+   */
+  private List<Loaded> fetchConcurrently(List<String> locations) {
+    Loaded[] results = new Loaded[locations.size()];
+    runOnLoadThreads(locations.size(), index -> results[index] = fetch(locations.get(index)))
+        .join();
+    return Arrays.asList(results);
+  }
+
+  /**
+   * Runs a task for each index from 0 to taskCount on the shared load threads, using at most
+   * {@link #parallelism} of them at a time. The task must not throw.
+   *
+   * @param taskCount the number of indexes to run the task for
+   * @param task the task, called once with each index
+   * @return a future completed once the task has run for every index
+   */
+  private CompletableFuture<Void> runOnLoadThreads(int taskCount, IntConsumer task) {
+    AtomicInteger next = new AtomicInteger();
+    Runnable worker = () -> {
+      for (int index = next.getAndIncrement(); index < taskCount; index = next.getAndIncrement()) {
+        task.accept(index);
+      }
+    };
+    CompletableFuture<?>[] workers = new CompletableFuture<?>[Math.min(parallelism, taskCount)];
+    for (int i = 0; i < workers.length; i++) {
+      workers[i] = CompletableFuture.runAsync(worker, LOAD_THREADS);
+    }
+    return CompletableFuture.allOf(workers);
+  }
+
+  /**
+   * Reads and parses a single location, capturing any failure in the result.
+   *
+   * @param location the location to load
+   * @return the parsed LOM or the failure
+   */
+  private Loaded fetch(String location) {
+    try (InputStream contents = moduleFileProvider.getFileContents(location)) {
+      return new Loaded(location, XmlParsingUtils.parseXmlToObject(contents, LOM.class, location),
+          null);
+    } catch (IOException | XMLStreamException | RuntimeException e) {
+      return new Loaded(location, null, e);
+    }
+  }
+
+  /**
+   * Writes a result back to the owners of its location, or throws its failure.
+   *
+   * @param location the location that was loaded
+   * @param loaded the result of loading it
+   * @throws IOException if the file could not be read
+   * @throws XMLStreamException if the file could not be parsed
+   */
+  private void apply(String location, Loaded loaded) throws IOException, XMLStreamException {
+    LOM lom = unwrap(location, loaded);
+    for (LoadableMetadata owner : ownersByLocation.get(location)) {
+      owner.setLom(lom);
+    }
+  }
+
+  /**
+   * Returns the LOM of a result, or throws its failure with the location and module root added to
+   * the message.
+   *
+   * @param location the location that was loaded
+   * @param loaded the result of loading it
+   * @return the parsed LOM
+   * @throws IOException if the file could not be read
+   * @throws XMLStreamException if the file could not be parsed
+   */
+  private LOM unwrap(String location, Loaded loaded) throws IOException, XMLStreamException {
+    Exception error = loaded.error();
+    if (error instanceof RuntimeException runtimeException) {
+      throw runtimeException;
+    }
+    if (error != null) {
+      String errorMsg = String.format(
+          "Failed to load external metadata from '%s' in module at '%s': %s",
+          location, moduleFileProvider.getRootPath(), error.getMessage()
+      );
+      if (error instanceof IOException) {
+        throw new IOException(errorMsg, error);
+      }
+      throw new XMLStreamException(errorMsg, error);
+    }
+    return loaded.lom();
+  }
+
+  /**
+   * The outcome of loading one location: either a parsed LOM or the failure.
+   *
+   * @param location the location that was loaded
+   * @param lom the parsed LOM, or null if loading failed
+   * @param error the failure, or null if loading succeeded
+   */
+  private record Loaded(String location, LOM lom, Exception error) {
+
+  }
+
+  /**
+   * A memoized supplier of one external LOM. The load runs at most once, either on the first call
+   * to {@link #get()} or when started by a background prefetch; callers that arrive while it is
+   * running wait for it. A failed load is reported to every caller.
+   */
+  private static final class LazyLom implements Supplier<LOM> {
+
+    private final Supplier<LOM> loader;
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final CompletableFuture<LOM> result = new CompletableFuture<>();
+
+    private LazyLom(Supplier<LOM> loader) {
+      this.loader = loader;
+    }
+
+    /**
+     * Runs the load unless it has already been started.
+     */
+    void resolve() {
+      if (started.compareAndSet(false, true)) {
+        try {
+          result.complete(loader.get());
+        } catch (RuntimeException e) {
+          result.completeExceptionally(e);
+        }
+      }
+    }
+
+    @Override
+    public LOM get() {
+      resolve();
+      try {
+        return result.join();
+      } catch (CompletionException e) {
+        if (e.getCause() instanceof RuntimeException cause) {
+          throw cause;
+        }
+        throw e;
+      }
+    }
+  }
+}
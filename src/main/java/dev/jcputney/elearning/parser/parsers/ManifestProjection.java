@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.parsers;
+
+import dev.jcputney.elearning.parser.api.ParserOptions;
+import dev.jcputney.elearning.parser.enums.ProjectionField;
+import dev.jcputney.elearning.parser.util.XmlSubtreeFilter;
+
+/**
+ * Decides which parts of an IMS content packaging manifest (SCORM 1.2 and SCORM 2004) are bound
+ * for the projection set in the parser options.
+ * <p>
+ * Organizations, items and resources are always bound, since the title, launch URL and launchable
+ * units are derived from them. The file lists of resources and the LOM metadata of organizations,
+ * items and resources are always skipped. The course-level LOM metadata is bound when the title,
+ * description or duration is requested, since the title falls back to it. Sequencing, sequencing
+ * collections and presentation (navigation) elements are bound when the sequencing level is
+ * requested.
+ * </p>
+ */
+final class ManifestProjection {
+
+  /**
+   * The depth of the children of the root manifest element.
+   */
+  private static final int COURSE_DEPTH = 1;
+
+  /**
+   * The depth of the children of resource elements (manifest, resources, resource).
+   */
+  private static final int RESOURCE_CHILD_DEPTH = 3;
+
+  /**
+   * Private constructor to prevent instantiation.
+   */
+  private ManifestProjection() {
+    throw new AssertionError("Utility class should not be instantiated");
+  }
+
+  /**
+   * Creates the filter of the elements skipped for the projection of the options.
+   *
+   * @param options the parser options
+   * @return the filter, or null if no projection is set
+   */
+  static XmlSubtreeFilter contentPackagingFilter(ParserOptions options) {
+    if (!options.hasProjection()) {
+      return null;
+    }
+    boolean courseMetadata = needsCourseMetadata(options);
+    boolean sequencing = options.isRequested(ProjectionField.SEQUENCING_LEVEL);
+    return (name, depth) -> switch (name.getLocalPart()) {
+      case "metadata" -> depth > COURSE_DEPTH || !courseMetadata;
+      case "file" -> depth == RESOURCE_CHILD_DEPTH;
+      case "sequencing", "sequencingCollection", "presentation" -> !sequencing;
+      default -> false;
+    };
+  }
+
+  /**
+   * Checks if the course-level LOM metadata is needed by the projection of the options.
+   *
+   * @param options the parser options
+   * @return true if the course-level metadata must be bound
+   */
+  static boolean needsCourseMetadata(ParserOptions options) {
+    return options.isRequested(ProjectionField.TITLE)
+        || options.isRequested(ProjectionField.DESCRIPTION)
+        || options.isRequested(ProjectionField.DURATION);
+  }
+
+  /**
+   * Checks if the external file of the course-level LOM metadata must be loaded for the projection
+   * of the options. The title only needs it when the default organization has no title.
+   *
+   * @param options the parser options
+   * @param organizationTitle the title of the default organization
+   * @return true if the course-level external metadata must be loaded
+   */
+  static boolean needsCourseExternalMetadata(ParserOptions options, String organizationTitle) {
+    return options.isRequested(ProjectionField.DESCRIPTION)
+        || options.isRequested(ProjectionField.DURATION)
+        || options.isRequested(ProjectionField.TITLE)
+        && (organizationTitle == null || organizationTitle.isEmpty());
+  }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.parsers;
+
+/**
+ * A manifest returned by {@link BaseParser#parseManifestForMetadata()}, together with the state
+ * gathered while parsing it that the parser can reuse when extracting its metadata.
+ * <p>
+ * The state travels with the manifest it was gathered for, so concurrent or re-entrant parses with
+ * the same parser never see each other's state.
+ * </p>
+ *
+ * @param manifest the parsed manifest
+ * @param state the state gathered while parsing the manifest, or null if there is none; each
+ * parser checks it against the type it produces
+ * @param <M> the type of the manifest
+ */
+record ParsedManifest<M>(M manifest, Object state) {
+
+  /**
+   * Creates a ParsedManifest without any parse state.
+   *
+   * @param manifest the parsed manifest
+   * @param <M> the type of the manifest
+   * @return a ParsedManifest whose state is null
+   */
+  static <M> ParsedManifest<M> of(M manifest) {
+    return new ParsedManifest<>(manifest, null);
+  }
+}
@@ -14,15 +14,19 @@ import dev.jcputney.elearning.parser.api.FileAccess;
 import dev.jcputney.elearning.parser.api.ModuleFileProvider;
 import dev.jcputney.elearning.parser.api.ParserOptions;
 import dev.jcputney.elearning.parser.config.FileExistenceValidator;
+import dev.jcputney.elearning.parser.enums.ParsePhase;
 import dev.jcputney.elearning.parser.exception.ModuleException;
 import dev.jcputney.elearning.parser.exception.ModuleParsingException;
 import dev.jcputney.elearning.parser.input.scorm12.Scorm12Manifest;
 import dev.jcputney.elearning.parser.input.scorm12.ims.cp.Scorm12File;
 import dev.jcputney.elearning.parser.input.scorm12.ims.cp.Scorm12Item;
 import dev.jcputney.elearning.parser.input.scorm12.ims.cp.Scorm12Organization;
+import dev.jcputney.elearning.parser.input.scorm12.ims.cp.Scorm12Organizations;
 import dev.jcputney.elearning.parser.input.scorm12.ims.cp.Scorm12Resource;
 import dev.jcputney.elearning.parser.output.ModuleMetadata;
 import dev.jcputney.elearning.parser.output.metadata.scorm12.Scorm12Metadata;
+import dev.jcputney.elearning.parser.util.ParseInstrumentation.Span;
+import dev.jcputney.elearning.parser.util.XmlSubtreeFilter;
 import dev.jcputney.elearning.parser.validation.ValidationIssue;
 import dev.jcputney.elearning.parser.validation.ValidationResult;
 import dev.jcputney.elearning.parser.validators.Scorm12ResourceValidator;
@@ -30,6 +34,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import javax.xml.stream.XMLStreamException;
 
 /**
@@ -78,6 +83,14 @@ public final class Scorm12Parser extends BaseParser<Scorm12Metadata, Scorm12Mani
 
   /**
    * Loads external metadata files referenced in the manifest into the metadata object.
+   * <p>
+   * The locations are collected from the manifest, resources, files, organizations and items first,
+   * then loaded together by an {@link ExternalMetadataLoader}, so each distinct file is read once
+   * and files are fetched concurrently according to
+   * {@link ParserOptions#getExternalMetadataParallelism()}. When
+   * {@link ParserOptions#isLazyExternalMetadata()} is set, the files are instead loaded on first
+   * access to each LOM.
+   * </p>
    *
    * @param manifest The SCORM 1.2 manifest object.
    * @throws XMLStreamException If an error occurs while parsing the XML.
@@ -88,14 +101,47 @@ public final class Scorm12Parser extends BaseParser<Scorm12Metadata, Scorm12Mani
       return;
     }
 
-    loadExternalMetadataIntoMetadata(manifest.getMetadata());
-
-    loadResourcesMetadata(manifest
+    ExternalMetadataLoader loader = newExternalMetadataLoader();
+    loader.add(manifest.getMetadata());
+    collectResourcesMetadata(loader, manifest
         .getResources()
         .getResourceList());
-    loadOrganizationsMetadata(manifest
+    collectOrganizationsMetadata(loader, manifest
         .getOrganizations()
         .getOrganizationList());
+    loadCollectedExternalMetadata(loader);
+  }
+
+  @Override
+  XmlSubtreeFilter projectionFilter() {
+    return ManifestProjection.contentPackagingFilter(options);
+  }
+
+  /**
+   * Loads the external file of the course-level LOM metadata when the projection needs it. The
+   * external metadata of organizations, items, resources and files is never loaded for a
+   * projection.
+   *
+   * @param manifest The SCORM 1.2 manifest object.
+   * @throws XMLStreamException If an error occurs while parsing the XML.
+   * @throws IOException If an error occurs while reading the file.
+   */
+  @Override
+  void loadProjectedExternalMetadata(Scorm12Manifest manifest)
+      throws XMLStreamException, IOException {
+    if (manifest == null) {
+      return;
+    }
+    String organizationTitle = Optional
+        .ofNullable(manifest.getOrganizations())
+        .map(Scorm12Organizations::getDefault)
+        .map(Scorm12Organization::getTitle)
+        .orElse(null);
+    if (ManifestProjection.needsCourseExternalMetadata(options, organizationTitle)) {
+      ExternalMetadataLoader loader = newExternalMetadataLoader();
+      loader.add(manifest.getMetadata());
+      loadCollectedExternalMetadata(loader);
+    }
   }
 
   @Override
@@ -104,6 +150,21 @@ public final class Scorm12Parser extends BaseParser<Scorm12Metadata, Scorm12Mani
     return validator.validate(manifest);
   }
 
+  /**
+   * Reports the prerequisite cycles found in the prerequisite graph of the metadata as
+   * {@code SCORM12_PREREQUISITE_CYCLE} warnings.
+   *
+   * @param metadata The extracted metadata
+   * @return ValidationResult containing one warning per prerequisite cycle
+   */
+  @Override
+  ValidationResult validateMetadata(Scorm12Metadata metadata) {
+    return ValidationResult.of(metadata
+        .getPrerequisiteGraph()
+        .getCycleIssues()
+        .toArray(new ValidationIssue[0]));
+  }
+
   @Override
   protected Scorm12Metadata extractMetadata(Scorm12Manifest manifest,
       ValidationResult validation)
@@ -166,13 +227,14 @@ public final class Scorm12Parser extends BaseParser<Scorm12Metadata, Scorm12Mani
    * @param hasXapi Whether the module has xAPI support.
    * @return A new Scorm12Metadata object.
    */
+  @SuppressWarnings("try") // Spans are opened for their close() only
   private Scorm12Metadata createMetadata(Scorm12Manifest manifest, boolean hasXapi) {
     Scorm12Metadata metadata = Scorm12Metadata.create(manifest, hasXapi);
 
     // Only calculate module size if enabled in options
-    if (options.shouldCalculateModuleSize()) {
+    if (shouldCalculateModuleSize()) {
       // Calculate and set the module size
-      try {
+      try (Span ignored = instrumentation.phase(ParsePhase.SIZE_CALCULATION)) {
         long totalSize = moduleFileProvider.getTotalSize();
         metadata.setSizeOnDisk(totalSize);
       } catch (IOException e) {
@@ -184,32 +246,30 @@ public final class Scorm12Parser extends BaseParser<Scorm12Metadata, Scorm12Mani
   }
 
   /**
-   * Loads external metadata files for resources in the manifest.
+   * Collects the external metadata for resources in the manifest.
    *
+   * @param loader The loader collecting external metadata locations.
    * @param resources The list of resources to load metadata for.
-   * @throws XMLStreamException If an error occurs while parsing the XML.
-   * @throws IOException If an error occurs while reading the file.
    */
-  private void loadResourcesMetadata(List<Scorm12Resource> resources)
-      throws XMLStreamException, IOException {
+  private void collectResourcesMetadata(ExternalMetadataLoader loader,
+      List<Scorm12Resource> resources) {
     if (resources == null) {
       return;
     }
 
     for (Scorm12Resource resource : resources) {
-      loadExternalMetadataIntoMetadata(resource.getMetadata());
-      loadFilesMetadata(resource.getFiles());
+      loader.add(resource.getMetadata());
+      collectFilesMetadata(loader, resource.getFiles());
     }
   }
 
   /**
-   * Loads external metadata files for files in the manifest.
+   * Collects the external metadata for files in the manifest.
    *
+   * @param loader The loader collecting external metadata locations.
    * @param files The list of files to load metadata for.
-   * @throws XMLStreamException If an error occurs while parsing the XML.
-   * @throws IOException If an error occurs while reading the file.
    */
-  private void loadFilesMetadata(List<Scorm12File> files) throws XMLStreamException, IOException {
+  private void collectFilesMetadata(ExternalMetadataLoader loader, List<Scorm12File> files) {
     if (files == null || files.isEmpty()) {
       return;
     }
@@ -240,44 +300,43 @@ public final class Scorm12Parser extends BaseParser<Scorm12Metadata, Scorm12Mani
 
     // Always load external metadata for each file
     for (Scorm12File file : files) {
-      loadExternalMetadataIntoMetadata(file.getMetadata());
+      loader.add(file.getMetadata());
     }
   }
 
   /**
-   * Loads external metadata files for organizations in the manifest.
+   * Collects the external metadata for organizations in the manifest.
    *
+   * @param loader The loader collecting external metadata locations.
    * @param organizations The list of organizations to load metadata for.
-   * @throws XMLStreamException If an error occurs while parsing the XML.
-   * @throws IOException If an error occurs while reading the file.
    */
-  private void loadOrganizationsMetadata(List<Scorm12Organization> organizations)
-      throws XMLStreamException, IOException {
+  private void collectOrganizationsMetadata(ExternalMetadataLoader loader,
+      List<Scorm12Organization> organizations) {
     if (organizations == null) {
       return;
     }
 
     for (Scorm12Organization organization : organizations) {
-      loadExternalMetadataIntoMetadata(organization.getMetadata());
-      loadExternalMetadataForItems(organization.getItems());
+      loader.add(organization.getMetadata());
+      collectItemsMetadata(loader, organization.getItems());
     }
   }
 
   /**
-   * Recursively loads external metadata files for each item in the organization.
+   * Recursively collects the external metadata for each item in the organization.
    *
+   * @param loader The loader collecting external metadata locations.
    * @param items The list of items to load external metadata for.
    */
-  private void loadExternalMetadataForItems(List<Scorm12Item> items)
-      throws XMLStreamException, IOException {
+  private void collectItemsMetadata(ExternalMetadataLoader loader, List<Scorm12Item> items) {
     if (items != null) {
       for (Scorm12Item item : items) {
-        loadExternalMetadataIntoMetadata(item.getMetadata());
+        loader.add(item.getMetadata());
 
         // Recursively process child items
         List<Scorm12Item> childItems = item.getItems();
         if (childItems != null && !childItems.isEmpty()) {
-          loadExternalMetadataForItems(childItems);
+          collectItemsMetadata(loader, childItems);
         }
       }
     }
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.parsers;
+
+import dev.jcputney.elearning.parser.api.ParseResult;
+import dev.jcputney.elearning.parser.exception.ManifestParseException;
+import dev.jcputney.elearning.parser.exception.ModuleException;
+import dev.jcputney.elearning.parser.input.scorm2004.Scorm2004Manifest;
+import dev.jcputney.elearning.parser.input.scorm2004.Scorm2004ManifestDiff;
+import dev.jcputney.elearning.parser.output.metadata.scorm2004.Scorm2004Metadata;
+import dev.jcputney.elearning.parser.validation.ValidationResult;
+import dev.jcputney.elearning.parser.validators.Scorm2004ResourceValidator;
+import java.io.IOException;
+import java.util.List;
+import javax.xml.stream.XMLStreamException;
+
+/**
+ * Re-parses and re-validates a SCORM 2004 module that is being edited, doing only the work
+ * affected by each edit.
+ * <p>
+ * Each call to {@link #reparse(ParseResult)} compares the newly parsed manifest with the manifest
+ * of the previous result using {@link Scorm2004ManifestDiff}. Validation rules whose inputs did not
+ * change keep their previous results, and item-level metadata is only extracted again for items
+ * that changed. The returned result is equal to the one a full
+ * {@link Scorm2004Parser#parseAndValidate()} would produce.
+ * </p>
+ * <p>
+ * Reuse is per rule, not per element: a rule affected by an edit is re-run over the whole
+ * manifest, so editing a single item re-runs the item-level rules over every item. The diff also
+ * compares every element, so the cost of an edit grows with the size of the manifest rather than
+ * with the size of the edit, and is mostly spent in the diff. {@code Scorm2004IncrementalBenchmark}
+ * measures it on a generated manifest with 2,000 items.
+ * </p>
+ * <p>
+ * Per-rule results are cached for the most recently returned {@link ParseResult} only. Passing any
+ * other result falls back to re-running every rule. Instances are intended to follow a single
+ * editing session and are not thread-safe.
+ * </p>
+ */
+public final class Scorm2004IncrementalParser {
+
+  /**
+   * The parser used to read the manifest and extract metadata.
+   */
+  private final Scorm2004Parser parser;
+
+  /**
+   * The validator whose per-rule results are cached between edits.
+   */
+  private final Scorm2004ResourceValidator validator = new Scorm2004ResourceValidator();
+
+  /**
+   * The result most recently returned by this instance.
+   */
+  private ParseResult<Scorm2004Manifest> lastResult;
+
+  /**
+   * The per-rule validation results for {@link #lastResult}, in rule order.
+   */
+  private List<ValidationResult> lastRuleResults;
+
+  /**
+   * Constructs an incremental parser that reads the module through the given parser.
+   *
+   * @param parser the SCORM 2004 parser for the module being edited
+   * @throws IllegalArgumentException if the parser is null
+   */
+  public Scorm2004IncrementalParser(Scorm2004Parser parser) {
+    if (parser == null) {
+      throw new IllegalArgumentException("Parser cannot be null");
+    }
+    this.parser = parser;
+  }
+
+  /**
+   * Parses and validates the module from scratch, caching the per-rule results for later edits.
+   *
+   * @return the parse result for the current manifest
+   * @throws ModuleException if the manifest cannot be parsed
+   */
+  public ParseResult<Scorm2004Manifest> parseAndValidate() throws ModuleException {
+    Scorm2004Manifest manifest = readManifest();
+    List<ValidationResult> ruleResults = validator.validateEach(manifest);
+    ValidationResult validation = Scorm2004ResourceValidator.merge(ruleResults);
+    Scorm2004Metadata metadata = parser.extractMetadata(manifest, validation);
+    return remember(new ParseResult<>(validation, metadata), ruleResults);
+  }
+
+  /**
+   * Re-reads the manifest and re-validates it incrementally against a previous result.
+   *
+   * @param previous the result for the manifest before it was edited
+   * @return the parse result for the edited manifest, or {@code previous} if nothing changed
+   * @throws ModuleException if the edited manifest cannot be parsed
+   */
+  public ParseResult<Scorm2004Manifest> reparse(ParseResult<Scorm2004Manifest> previous)
+      throws ModuleException {
+    return reparse(previous, readManifest());
+  }
+
+  /**
+   * Re-validates an already parsed, edited manifest incrementally against a previous result.
+   *
+   * @param previous the result for the manifest before it was edited
+   * @param manifest the edited manifest
+   * @return the parse result for the edited manifest, or {@code previous} if nothing changed
+   * @throws ModuleException if the edited manifest is missing required elements
+   * @throws IllegalArgumentException if either argument is null or the previous result does not
+   * hold SCORM 2004 metadata
+   */
+  public ParseResult<Scorm2004Manifest> reparse(ParseResult<Scorm2004Manifest> previous,
+      Scorm2004Manifest manifest) throws ModuleException {
+    if (previous == null || manifest == null) {
+      throw new IllegalArgumentException("Previous result and manifest cannot be null");
+    }
+    if (!(previous.metadata() instanceof Scorm2004Metadata previousMetadata)) {
+      throw new IllegalArgumentException("Previous result does not contain SCORM 2004 metadata");
+    }
+
+    Scorm2004ManifestDiff diff = Scorm2004ManifestDiff.compute(previousMetadata.getManifest(),
+        manifest);
+    if (diff.isEmpty()) {
+      return previous;
+    }
+
+    List<ValidationResult> ruleResults = previous == lastResult
+        ? validator.revalidate(manifest, diff, lastRuleResults)
+        : validator.validateEach(manifest);
+    Scorm2004Metadata metadata = parser.updateMetadata(previousMetadata, manifest, diff);
+    return remember(new ParseResult<>(Scorm2004ResourceValidator.merge(ruleResults), metadata),
+        ruleResults);
+  }
+
+  private ParseResult<Scorm2004Manifest> remember(ParseResult<Scorm2004Manifest> result,
+      List<ValidationResult> ruleResults) {
+    this.lastResult = result;
+    this.lastRuleResults = ruleResults;
+    return result;
+  }
+
+  private Scorm2004Manifest readManifest() throws ModuleException {
+    try {
+      return parser.parseManifest(parser.getManifestFileName());
+    } catch (IOException | XMLStreamException e) {
+      throw new ManifestParseException(
+          String.format("Failed to parse %s manifest at '%s': %s",
+              parser.getModuleType(), parser.moduleFileProvider.getRootPath(), e.getMessage()), e);
+    }
+  }
+}
@@ -14,6 +14,8 @@ import dev.jcputney.elearning.parser.api.FileAccess;
 import dev.jcputney.elearning.parser.api.ModuleFileProvider;
 import dev.jcputney.elearning.parser.api.ParserOptions;
 import dev.jcputney.elearning.parser.config.FileExistenceValidator;
+import dev.jcputney.elearning.parser.enums.ParsePhase;
+import dev.jcputney.elearning.parser.enums.ProjectionField;
 import dev.jcputney.elearning.parser.exception.ManifestParseException;
 import dev.jcputney.elearning.parser.exception.ModuleException;
 import dev.jcputney.elearning.parser.exception.ModuleParsingException;
@@ -22,19 +24,23 @@ import dev.jcputney.elearning.parser.input.common.serialization.Scorm2004SchemaV
 import dev.jcputney.elearning.parser.input.scorm2004.ADLSeq;
 import dev.jcputney.elearning.parser.input.scorm2004.IMSSS;
 import dev.jcputney.elearning.parser.input.scorm2004.Scorm2004Manifest;
+import dev.jcputney.elearning.parser.input.scorm2004.Scorm2004ManifestDiff;
 import dev.jcputney.elearning.parser.input.scorm2004.adl.sequencing.ADLObjective;
 import dev.jcputney.elearning.parser.input.scorm2004.adl.sequencing.ADLObjectives;
 import dev.jcputney.elearning.parser.input.scorm2004.adl.sequencing.MapInfo;
 import dev.jcputney.elearning.parser.input.scorm2004.ims.cp.Scorm2004File;
 import dev.jcputney.elearning.parser.input.scorm2004.ims.cp.Scorm2004Item;
 import dev.jcputney.elearning.parser.input.scorm2004.ims.cp.Scorm2004Organization;
+import dev.jcputney.elearning.parser.input.scorm2004.ims.cp.Scorm2004Organizations;
 import dev.jcputney.elearning.parser.input.scorm2004.ims.cp.Scorm2004Resource;
 import dev.jcputney.elearning.parser.input.scorm2004.ims.ss.objective.Scorm2004Objective;
 import dev.jcputney.elearning.parser.input.scorm2004.ims.ss.objective.Scorm2004ObjectiveMapping;
 import dev.jcputney.elearning.parser.input.scorm2004.ims.ss.objective.Scorm2004Objectives;
 import dev.jcputney.elearning.parser.input.scorm2004.ims.ss.sequencing.Sequencing;
 import dev.jcputney.elearning.parser.output.metadata.scorm2004.Scorm2004Metadata;
+import dev.jcputney.elearning.parser.util.ParseInstrumentation.Span;
 import dev.jcputney.elearning.parser.util.XmlParsingUtils;
+import dev.jcputney.elearning.parser.util.XmlSubtreeFilter;
 import dev.jcputney.elearning.parser.validation.ValidationIssue;
 import dev.jcputney.elearning.parser.validation.ValidationResult;
 import dev.jcputney.elearning.parser.validators.Scorm2004ResourceValidator;
@@ -44,6 +50,7 @@ import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Consumer;
 import javax.xml.XMLConstants;
 import javax.xml.parsers.DocumentBuilderFactory;
@@ -109,32 +116,48 @@ public final class Scorm2004Parser extends BaseParser<Scorm2004Metadata, Scorm20
    * Parses and optionally XSD-validates the SCORM 2004 manifest.
    */
   @Override
+  @SuppressWarnings("try") // Spans are opened for their close() only
   public Scorm2004Manifest parseManifest(String manifestPath)
       throws IOException, XMLStreamException, ManifestParseException {
     if (manifestPath == null) {
       throw new IllegalArgumentException("Manifest path cannot be null");
     }
     try (InputStream manifestStream = moduleFileProvider.getFileContents(manifestPath)) {
-      long maxSize = options.getResolvedMaxManifestSize();
-      byte[] bytes = manifestStream.readNBytes((int) Math.min(maxSize + 1, Integer.MAX_VALUE));
-      if (bytes.length > maxSize) {
-        throw new ManifestParseException(
-            String.format("SCORM 2004 manifest exceeds maximum allowed size of %d bytes", maxSize));
-      }
+      Scorm2004Manifest manifest;
+      try (Span ignored = instrumentation.phase(ParsePhase.XML_BINDING)) {
+        long maxSize = options.getResolvedMaxManifestSize();
+        byte[] bytes = manifestStream.readNBytes((int) Math.min(maxSize + 1, Integer.MAX_VALUE));
+        if (bytes.length > maxSize) {
+          throw new ManifestParseException(
+              String.format("SCORM 2004 manifest exceeds maximum allowed size of %d bytes",
+                  maxSize));
+        }
 
-      try {
-        if (Scorm2004SchemaValidator.isEnabled()) {
-          validateSchema(bytes);
+        try {
+          if (Scorm2004SchemaValidator.isEnabled()) {
+            validateSchema(bytes);
+          }
+        } catch (ModuleParsingException e) {
+          throw new ManifestParseException("SCORM 2004 XSD validation failed: " + e.getMessage(),
+              e);
         }
-      } catch (ModuleParsingException e) {
-        throw new ManifestParseException("SCORM 2004 XSD validation failed: " + e.getMessage(), e);
-      }
 
-      Scorm2004Manifest manifest = XmlParsingUtils
-          .parseXmlToObject(new ByteArrayInputStream(bytes), getManifestClass(),
-              manifestPath);
-      restoreSequencingObjectives(manifest, bytes);
-      loadExternalMetadata(manifest);
+        manifest = XmlParsingUtils
+            .parseXmlToObject(new ByteArrayInputStream(bytes), getManifestClass(),
+                manifestPath, maxSize, projectionFilter());
+        if (options.isRequested(ProjectionField.SEQUENCING_LEVEL)) {
+          restoreSequencingObjectives(manifest, bytes);
+        }
+      }
+      try (Span ignored = instrumentation.phase(ParsePhase.EXTERNAL_METADATA_LOADING)) {
+        if (options.hasProjection()) {
+          loadProjectedExternalMetadata(manifest);
+        } else {
+          loadExternalMetadata(manifest);
+        }
+      }
+      // Objectives and external metadata were attached to nested elements in place
+      manifest.invalidateDerivedViews();
       return manifest;
     } catch (IOException e) {
       throw new ManifestParseException(
@@ -148,6 +171,14 @@ public final class Scorm2004Parser extends BaseParser<Scorm2004Metadata, Scorm20
 
   /**
    * Loads additional metadata files referenced in the manifest into the metadata object.
+   * <p>
+   * The locations are collected from the manifest, resources, files, organizations and items first,
+   * then loaded together by an {@link ExternalMetadataLoader}, so each distinct file is read once
+   * and files are fetched concurrently according to
+   * {@link ParserOptions#getExternalMetadataParallelism()}. When
+   * {@link ParserOptions#isLazyExternalMetadata()} is set, the files are instead loaded on first
+   * access to each LOM.
+   * </p>
    *
    * @param manifest The SCORM 2004 manifest object.
    * @throws XMLStreamException If an error occurs while parsing the XML.
@@ -158,13 +189,47 @@ public final class Scorm2004Parser extends BaseParser<Scorm2004Metadata, Scorm20
       return;
     }
 
-    loadExternalMetadataIntoMetadata(manifest.getMetadata());
-    loadResourcesMetadata(manifest
+    ExternalMetadataLoader loader = newExternalMetadataLoader();
+    loader.add(manifest.getMetadata());
+    collectResourcesMetadata(loader, manifest
         .getResources()
         .getResourceList());
-    loadOrganizationsMetadata(manifest
+    collectOrganizationsMetadata(loader, manifest
         .getOrganizations()
         .getOrganizationList());
+    loadCollectedExternalMetadata(loader);
+  }
+
+  @Override
+  XmlSubtreeFilter projectionFilter() {
+    return ManifestProjection.contentPackagingFilter(options);
+  }
+
+  /**
+   * Loads the external file of the course-level LOM metadata when the projection needs it. The
+   * external metadata of organizations, items, resources and files is never loaded for a
+   * projection.
+   *
+   * @param manifest The SCORM 2004 manifest object.
+   * @throws XMLStreamException If an error occurs while parsing the XML.
+   * @throws IOException If an error occurs while reading the file.
+   */
+  @Override
+  void loadProjectedExternalMetadata(Scorm2004Manifest manifest)
+      throws XMLStreamException, IOException {
+    if (manifest == null) {
+      return;
+    }
+    String organizationTitle = Optional
+        .ofNullable(manifest.getOrganizations())
+        .map(Scorm2004Organizations::getDefault)
+        .map(Scorm2004Organization::getTitle)
+        .orElse(null);
+    if (ManifestProjection.needsCourseExternalMetadata(options, organizationTitle)) {
+      ExternalMetadataLoader loader = newExternalMetadataLoader();
+      loader.add(manifest.getMetadata());
+      loadCollectedExternalMetadata(loader);
+    }
   }
 
   @Override
@@ -177,7 +242,41 @@ public final class Scorm2004Parser extends BaseParser<Scorm2004Metadata, Scorm20
   protected Scorm2004Metadata extractMetadata(Scorm2004Manifest manifest,
       ValidationResult validation)
       throws ModuleException {
-    // Validate required fields
+    requireTitleAndLaunchUrl(manifest);
+
+    Scorm2004Metadata metadata = Scorm2004Metadata.create(manifest, checkForXapi(),
+        options.getMetadataExtractionParallelism());
+    calculateAndSetModuleSize(metadata);
+    return metadata;
+  }
+
+  /**
+   * Extracts metadata for an edited manifest, reusing the item-level metadata of unchanged items
+   * and the xAPI flag and module size of the previous metadata.
+   *
+   * @param previous the metadata extracted before the manifest was edited
+   * @param manifest the edited manifest
+   * @param diff the changes between the previous manifest and {@code manifest}
+   * @return the metadata for the edited manifest
+   * @throws ModuleException if the manifest is missing its title or launch URL
+   */
+  Scorm2004Metadata updateMetadata(Scorm2004Metadata previous, Scorm2004Manifest manifest,
+      Scorm2004ManifestDiff diff) throws ModuleException {
+    requireTitleAndLaunchUrl(manifest);
+
+    Scorm2004Metadata metadata = Scorm2004Metadata.update(previous, manifest, diff);
+    metadata.setSizeOnDisk(previous.getSizeOnDisk());
+    return metadata;
+  }
+
+  /**
+   * Ensures the manifest declares the title and launch URL every SCORM 2004 module requires.
+   *
+   * @param manifest the manifest to check
+   * @throws ModuleParsingException if the title or launch URL is missing
+   */
+  private void requireTitleAndLaunchUrl(Scorm2004Manifest manifest)
+      throws ModuleParsingException {
     String title = manifest.getTitle();
     String launchUrl = manifest.getLaunchUrl();
     if (title == null || title.isEmpty()) {
@@ -196,10 +295,6 @@ public final class Scorm2004Parser extends BaseParser<Scorm2004Metadata, Scorm20
       );
       throw result.toException("Failed to parse SCORM 2004 module");
     }
-
-    Scorm2004Metadata metadata = Scorm2004Metadata.create(manifest, checkForXapi());
-    calculateAndSetModuleSize(metadata);
-    return metadata;
   }
 
   @Override
@@ -213,14 +308,15 @@ public final class Scorm2004Parser extends BaseParser<Scorm2004Metadata, Scorm20
    *
    * @param metadata The metadata object where the module size will be set.
    */
+  @SuppressWarnings("try") // Spans are opened for their close() only
   private void calculateAndSetModuleSize(Scorm2004Metadata metadata) {
     // Only calculate module size if enabled in options
-    if (!options.shouldCalculateModuleSize()) {
+    if (!shouldCalculateModuleSize()) {
       return;
     }
 
     // Calculate and set the module size
-    try {
+    try (Span ignored = instrumentation.phase(ParsePhase.SIZE_CALCULATION)) {
       long totalSize = moduleFileProvider.getTotalSize();
       metadata.setSizeOnDisk(totalSize);
     } catch (IOException e) {
@@ -600,32 +696,30 @@ public final class Scorm2004Parser extends BaseParser<Scorm2004Metadata, Scorm20
   }
 
   /**
-   * Loads resources metadata files referenced in the manifest into the metadata object.
+   * Collects the external metadata of the resources and their files for loading.
    *
+   * @param loader The loader collecting external metadata locations.
    * @param resources The list of resources to load metadata for.
-   * @throws XMLStreamException If an error occurs while parsing the XML.
-   * @throws IOException If an error occurs while reading the file.
    */
-  private void loadResourcesMetadata(List<Scorm2004Resource> resources)
-      throws XMLStreamException, IOException {
+  private void collectResourcesMetadata(ExternalMetadataLoader loader,
+      List<Scorm2004Resource> resources) {
     if (resources == null) {
       return;
     }
 
     for (Scorm2004Resource resource : resources) {
-      loadExternalMetadataIntoMetadata(resource.getMetadata());
-      loadFilesMetadata(resource.getFiles());
+      loader.add(resource.getMetadata());
+      collectFilesMetadata(loader, resource.getFiles());
     }
   }
 
   /**
-   * Loads files metadata files referenced in the manifest into the metadata object.
+   * Collects the external metadata of the files for loading.
    *
+   * @param loader The loader collecting external metadata locations.
    * @param files The list of files to load metadata for.
-   * @throws XMLStreamException If an error occurs while parsing the XML.
-   * @throws IOException If an error occurs while reading the file.
    */
-  private void loadFilesMetadata(List<Scorm2004File> files) throws XMLStreamException, IOException {
+  private void collectFilesMetadata(ExternalMetadataLoader loader, List<Scorm2004File> files) {
     if (files == null) {
       return;
     }
@@ -658,42 +752,41 @@ public final class Scorm2004Parser extends BaseParser<Scorm2004Metadata, Scorm20
 
     // Always load external metadata
     for (Scorm2004File file : files) {
-      loadExternalMetadataIntoMetadata(file.getMetadata());
+      loader.add(file.getMetadata());
     }
   }
 
   /**
-   * Loads organizations metadata files referenced in the manifest into the metadata object.
+   * Collects the external metadata of the organizations and their items for loading.
    *
+   * @param loader The loader collecting external metadata locations.
    * @param organizations The list of organizations to load metadata for.
-   * @throws XMLStreamException If an error occurs while parsing the XML.
-   * @throws IOException If an error occurs while reading the file.
    */
-  private void loadOrganizationsMetadata(List<Scorm2004Organization> organizations)
-      throws XMLStreamException, IOException {
+  private void collectOrganizationsMetadata(ExternalMetadataLoader loader,
+      List<Scorm2004Organization> organizations) {
     if (organizations == null) {
       return;
     }
 
     for (Scorm2004Organization organization : organizations) {
-      loadExternalMetadataIntoMetadata(organization.getMetadata());
-      loadExternalMetadataForItems(organization.getItems());
+      loader.add(organization.getMetadata());
+      collectItemsMetadata(loader, organization.getItems());
     }
   }
 
   /**
-   * Recursively loads external metadata files for each item in the organization.
+   * Recursively collects the external metadata for each item in the organization.
    *
+   * @param loader The loader collecting external metadata locations.
    * @param items The list of items to load external metadata for.
    */
-  private void loadExternalMetadataForItems(List<Scorm2004Item> items)
-      throws XMLStreamException, IOException {
+  private void collectItemsMetadata(ExternalMetadataLoader loader, List<Scorm2004Item> items) {
     if (items != null) {
       for (Scorm2004Item item : items) {
         var itemMetadata = item.getMetadata();
-        loadExternalMetadataIntoMetadata(itemMetadata);
+        loader.add(itemMetadata);
 
-        loadExternalMetadataForItems(item.getItems());
+        collectItemsMetadata(loader, item.getItems());
       }
     }
   }
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.util;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * A thread-safe cache for values derived from a mutable model object, such as the title or launch
+ * URL of a manifest.
+ * <p>
+ * Each view is computed on first access and returned from the cache afterwards. {@link #clear()}
+ * discards every cached view; a computation that was already running when the cache was cleared
+ * never publishes its now stale result. Null results are cached like any other value.
+ * </p>
+ * <p>
+ * Cached values are shared between callers, so views that are collections should be made
+ * unmodifiable before they are returned from the supplier.
+ * </p>
+ */
+public final class DerivedViewCache {
+
+  /**
+   * The cached views of the current model state, keyed by view name. The map is replaced rather
+   * than emptied on {@link #clear()} so that in-flight computations write into the discarded map.
+   */
+  private volatile ConcurrentHashMap<String, Optional<Object>> views = new ConcurrentHashMap<>();
+
+  /**
+   * Creates an empty cache.
+   */
+  public DerivedViewCache() {
+    // no-op
+  }
+
+  /**
+   * Returns the cached value of a view, computing and caching it if it is not cached yet. The
+   * supplier may itself read other views of the same cache.
+   *
+   * @param view the name of the view
+   * @param compute computes the view from the current model state
+   * @param <T> the type of the view
+   * @return the cached or newly computed value, which may be null
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T get(String view, Supplier<T> compute) {
+    ConcurrentHashMap<String, Optional<Object>> current = views;
+    Optional<Object> value = current.get(view);
+    if (value == null) {
+      value = Optional.ofNullable(compute.get());
+      Optional<Object> existing = current.putIfAbsent(view, value);
+      if (existing != null) {
+        value = existing;
+      }
+    }
+    return (T) value.orElse(null);
+  }
+
+  /**
+   * Discards every cached view so that views are recomputed on their next access.
+   */
+  public void clear() {
+    views = new ConcurrentHashMap<>();
+  }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.util;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram of non-negative values that can be recorded concurrently without contention.
+ * <p>
+ * Values are counted in power-of-two buckets: bucket 0 holds the value 0 and bucket {@code i}
+ * holds the values from {@code 2^(i-1)} to {@code 2^i - 1}. Percentiles are therefore reported as
+ * the upper bound of the bucket they fall in, which is at most twice the exact value. The count,
+ * sum and maximum are exact.
+ * </p>
+ */
+public final class LongAdderHistogram {
+
+  /**
+   * The number of buckets, enough to hold any non-negative long.
+   */
+  public static final int BUCKET_COUNT = 64;
+
+  private final LongAdder[] buckets = new LongAdder[BUCKET_COUNT];
+
+  private final LongAdder count = new LongAdder();
+
+  private final LongAdder sum = new LongAdder();
+
+  private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+  /**
+   * Creates an empty histogram.
+   */
+  public LongAdderHistogram() {
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      buckets[i] = new LongAdder();
+    }
+  }
+
+  /**
+   * Records a value.
+   *
+   * @param value the value to record
+   * @throws IllegalArgumentException if the value is negative
+   */
+  public void record(long value) {
+    if (value < 0) {
+      throw new IllegalArgumentException("Value cannot be negative: " + value);
+    }
+    buckets[bucketOf(value)].increment();
+    count.increment();
+    sum.add(value);
+    max.accumulate(value);
+  }
+
+  /**
+   * Gets the number of recorded values.
+   *
+   * @return the number of recorded values
+   */
+  public long getCount() {
+    return count.sum();
+  }
+
+  /**
+   * Gets the sum of the recorded values.
+   *
+   * @return the sum of the recorded values
+   */
+  public long getSum() {
+    return sum.sum();
+  }
+
+  /**
+   * Gets the largest recorded value.
+   *
+   * @return the largest recorded value, or 0 if no value was recorded
+   */
+  public long getMax() {
+    return max.get();
+  }
+
+  /**
+   * Gets the mean of the recorded values.
+   *
+   * @return the mean of the recorded values, or 0 if no value was recorded
+   */
+  public double getMean() {
+    long n = getCount();
+    return n == 0 ? 0 : (double) getSum() / n;
+  }
+
+  /**
+   * Gets an upper bound of a percentile of the recorded values.
+   *
+   * @param percentile the percentile, from 0 to 100
+   * @return the upper bound of the bucket holding the percentile, capped at the largest recorded
+   * value, or 0 if no value was recorded
+   * @throws IllegalArgumentException if the percentile is not between 0 and 100
+   */
+  public long getPercentile(double percentile) {
+    if (!(percentile >= 0 && percentile <= 100)) {
+      throw new IllegalArgumentException("Percentile must be between 0 and 100: " + percentile);
+    }
+    long[] counts = getBucketCounts();
+    long total = 0;
+    for (long c : counts) {
+      total += c;
+    }
+    if (total == 0) {
+      return 0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+    long seen = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      seen += counts[i];
+      if (seen >= rank) {
+        return Math.min(upperBound(i), getMax());
+      }
+    }
+    return getMax();
+  }
+
+  /**
+   * Gets the number of values recorded in each bucket.
+   *
+   * @return the counts of the {@value #BUCKET_COUNT} buckets
+   */
+  public long[] getBucketCounts() {
+    long[] counts = new long[BUCKET_COUNT];
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      counts[i] = buckets[i].sum();
+    }
+    return counts;
+  }
+
+  /**
+   * Removes all recorded values. Values recorded concurrently with the reset may be partially
+   * kept.
+   */
+  public void reset() {
+    for (LongAdder bucket : buckets) {
+      bucket.reset();
+    }
+    count.reset();
+    sum.reset();
+    max.reset();
+  }
+
+  @Override
+  public String toString() {
+    return String.format("count=%d, mean=%.1f, p50<=%d, p99<=%d, max=%d", getCount(), getMean(),
+        getPercentile(50), getPercentile(99), getMax());
+  }
+
+  private static int bucketOf(long value) {
+    return Long.SIZE - Long.numberOfLeadingZeros(value);
+  }
+
+  private static long upperBound(int bucket) {
+    return bucket == BUCKET_COUNT - 1 ? Long.MAX_VALUE : (1L << bucket) - 1;
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.util;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The size of a module, with the total size of each of its directories.
+ * <p>
+ * Directory sizes include the files of every subdirectory. Directories are keyed by their path
+ * relative to the root of the module, without a trailing slash; the root itself is keyed by the
+ * empty string and holds the total size of the module.
+ * </p>
+ *
+ * @param totalSize the total size of the files of the module, in bytes
+ * @param fileCount the number of files in the module
+ * @param directorySizes the total size of each directory, in bytes, sorted by path
+ */
+public record ModuleSize(long totalSize, int fileCount, Map<String, Long> directorySizes) {
+
+  /**
+   * Creates a ModuleSize, keeping an unmodifiable, sorted copy of the directory sizes.
+   *
+   * @param totalSize the total size of the files of the module, in bytes
+   * @param fileCount the number of files in the module
+   * @param directorySizes the total size of each directory, in bytes
+   * @throws IllegalArgumentException if directorySizes is null
+   */
+  public ModuleSize {
+    if (directorySizes == null) {
+      throw new IllegalArgumentException("Directory sizes cannot be null");
+    }
+    directorySizes = Collections.unmodifiableSortedMap(new TreeMap<>(directorySizes));
+  }
+
+  /**
+   * Totals the sizes of the files of a module per directory.
+   *
+   * @param fileSizes a map of file paths relative to the root of the module, separated with
+   * {@code /}, to their sizes in bytes
+   * @return the size of the module
+   * @throws IllegalArgumentException if fileSizes is null
+   */
+  public static ModuleSize of(Map<String, Long> fileSizes) {
+    if (fileSizes == null) {
+      throw new IllegalArgumentException("File sizes cannot be null");
+    }
+    Map<String, Long> directorySizes = new TreeMap<>();
+    long totalSize = 0;
+    for (Map.Entry<String, Long> file : fileSizes.entrySet()) {
+      long size = file.getValue();
+      totalSize += size;
+      String path = file.getKey();
+      for (int slash = path.indexOf('/'); slash > 0; slash = path.indexOf('/', slash + 1)) {
+        directorySizes.merge(path.substring(0, slash), size, Long::sum);
+      }
+    }
+    directorySizes.put("", totalSize);
+    return new ModuleSize(totalSize, fileSizes.size(), directorySizes);
+  }
+
+  /**
+   * Gets the total size of a directory of the module.
+   *
+   * @param directoryPath the path of the directory relative to the root of the module, or the empty
+   * string for the root
+   * @return the total size of the directory in bytes, or 0 if the module has no files in it
+   * @throws IllegalArgumentException if directoryPath is null
+   */
+  public long getDirectorySize(String directoryPath) {
+    if (directoryPath == null) {
+      throw new IllegalArgumentException("Directory path cannot be null");
+    }
+    if (directoryPath.endsWith("/")) {
+      directoryPath = directoryPath.substring(0, directoryPath.length() - 1);
+    }
+    return directorySizes.getOrDefault(directoryPath, 0L);
+  }
+}
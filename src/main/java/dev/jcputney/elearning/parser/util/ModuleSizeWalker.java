@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.util;
+
+import dev.jcputney.elearning.parser.api.FileAccess;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Calculates the size of a module, with a breakdown per directory, from the cheapest source of
+ * file sizes each {@link FileAccess} has.
+ * <p>
+ * Archives answer from the sizes recorded in their central directory and S3 modules from the sizes
+ * returned by the bucket listing, without reading or requesting each file. Local directories are
+ * walked by their file access, one directory listing per task, on a pool of its own. The sizes are
+ * read through {@link FileAccess#getFileSizes(BooleanSupplier)}.
+ * </p>
+ * <p>
+ * {@link #calculateAsync(FileAccess)} and {@link #totalSizeAsync(FileAccess)} run the calculation
+ * on the pool of this walker. Cancelling the returned future stops the walk of a local directory
+ * before its next directory is listed.
+ * </p>
+ * <pre>{@code
+ * CompletableFuture<Long> size = new ModuleSizeWalker().totalSizeAsync(fileAccess);
+ * // ... parse the module ...
+ * size.cancel(false);
+ * }</pre>
+ * <p>
+ * Instances are thread-safe.
+ * </p>
+ */
+public final class ModuleSizeWalker {
+
+  private final ForkJoinPool pool;
+
+  /**
+   * Constructs a new ModuleSizeWalker running asynchronous calculations on the common pool.
+   */
+  public ModuleSizeWalker() {
+    this(ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Constructs a new ModuleSizeWalker running asynchronous calculations on the specified pool.
+   *
+   * @param pool the pool running asynchronous calculations
+   * @throws IllegalArgumentException if pool is null
+   */
+  public ModuleSizeWalker(ForkJoinPool pool) {
+    if (pool == null) {
+      throw new IllegalArgumentException("ForkJoinPool cannot be null");
+    }
+    this.pool = pool;
+  }
+
+  /**
+   * Calculates the size of a module.
+   *
+   * @param fileAccess the access to the files of the module
+   * @return the size of the module, with the total size of each directory
+   * @throws IOException if the file sizes can't be read
+   * @throws UnsupportedOperationException if the file access doesn't know the sizes of its files
+   * @throws IllegalArgumentException if fileAccess is null
+   */
+  public ModuleSize calculate(FileAccess fileAccess) throws IOException {
+    return calculate(fileAccess, () -> false);
+  }
+
+  /**
+   * Calculates the size of a module on the pool of this walker.
+   *
+   * @param fileAccess the access to the files of the module
+   * @return a future completed with the size of the module, or exceptionally with the
+   * {@link IOException} or {@link UnsupportedOperationException} thrown by
+   * {@link #calculate(FileAccess)}
+   * @throws IllegalArgumentException if fileAccess is null
+   */
+  public CompletableFuture<ModuleSize> calculateAsync(FileAccess fileAccess) {
+    if (fileAccess == null) {
+      throw new IllegalArgumentException("FileAccess cannot be null");
+    }
+    CompletableFuture<ModuleSize> future = new CompletableFuture<>();
+    pool.execute(() -> {
+      if (future.isDone()) {
+        return;
+      }
+      try {
+        future.complete(calculate(fileAccess, future::isDone));
+      } catch (CancellationException ignored) {
+        // The future was cancelled, which stopped the walk
+      } catch (IOException | RuntimeException e) {
+        future.completeExceptionally(e);
+      }
+    });
+    return future;
+  }
+
+  /**
+   * Calculates the total size of a module on the pool of this walker. Cancelling the returned
+   * future cancels the calculation.
+   *
+   * @param fileAccess the access to the files of the module
+   * @return a future completed with the total size of the module in bytes
+   * @throws IllegalArgumentException if fileAccess is null
+   */
+  public CompletableFuture<Long> totalSizeAsync(FileAccess fileAccess) {
+    CompletableFuture<ModuleSize> calculation = calculateAsync(fileAccess);
+    CompletableFuture<Long> total = calculation.thenApply(ModuleSize::totalSize);
+    total.whenComplete((size, e) -> {
+      if (total.isCancelled()) {
+        calculation.cancel(false);
+      }
+    });
+    return total;
+  }
+
+  private ModuleSize calculate(FileAccess fileAccess, BooleanSupplier cancelled)
+      throws IOException {
+    if (fileAccess == null) {
+      throw new IllegalArgumentException("FileAccess cannot be null");
+    }
+    Map<String, Long> fileSizes = fileAccess.getFileSizes(cancelled);
+    if (fileSizes == null) {
+      throw new UnsupportedOperationException(
+          fileAccess.getClass().getSimpleName() + " does not know the sizes of its files");
+    }
+    return ModuleSize.of(fileSizes);
+  }
+}
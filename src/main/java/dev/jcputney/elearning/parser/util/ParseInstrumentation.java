@@ -0,0 +1,355 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.util;
+
+import dev.jcputney.elearning.parser.api.FileAccess;
+import dev.jcputney.elearning.parser.api.ModuleFileProvider;
+import dev.jcputney.elearning.parser.api.ParseListener;
+import dev.jcputney.elearning.parser.enums.ParsePhase;
+import dev.jcputney.elearning.parser.impl.access.CachedFileAccess;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Measures the phases of parsing a module and reports them to a {@link ParseListener}.
+ * <p>
+ * Phases are measured with {@link #phase(ParsePhase)} in a try-with-resources block. Phases
+ * started while another phase is open on the same thread are nested in it, and each phase is
+ * reported exclusive of its nested phases. Files opened through a provider wrapped with
+ * {@link #instrument(ModuleFileProvider)} report the bytes read from them, and the time spent
+ * reading them during {@link ParsePhase#XML_BINDING} is reported as
+ * {@link ParsePhase#MANIFEST_READ}.
+ * </p>
+ * <p>
+ * When the listener is {@link ParseListener#NO_OP}, {@link #of(ParseListener, FileAccess)} returns
+ * a disabled instance whose spans do nothing and which does not wrap providers.
+ * </p>
+ */
+public final class ParseInstrumentation {
+
+  /**
+   * The thread allocation counter of the JVM, or null if it is unavailable or disabled.
+   */
+  private static final com.sun.management.ThreadMXBean ALLOCATION = allocationCounter();
+
+  private static final ParseInstrumentation DISABLED =
+      new ParseInstrumentation(ParseListener.NO_OP, null);
+
+  private static final Span NO_OP_SPAN = new Span(null, null, null);
+
+  private final ParseListener listener;
+
+  private final CachedFileAccess cache;
+
+  /**
+   * The innermost open span of each thread.
+   */
+  private final ThreadLocal<Span> current = new ThreadLocal<>();
+
+  private ParseInstrumentation(ParseListener listener, CachedFileAccess cache) {
+    this.listener = listener;
+    this.cache = cache;
+  }
+
+  /**
+   * Creates the instrumentation for a parser.
+   *
+   * @param listener the listener to report to, or null for none
+   * @param fileAccess the file access the module is read through, or null if unknown; cache
+   * statistics are reported when it is a {@link CachedFileAccess}
+   * @return the instrumentation, which is disabled if the listener is null or
+   * {@link ParseListener#NO_OP}
+   */
+  public static ParseInstrumentation of(ParseListener listener, FileAccess fileAccess) {
+    if (listener == null || listener == ParseListener.NO_OP) {
+      return DISABLED;
+    }
+    return new ParseInstrumentation(listener,
+        fileAccess instanceof CachedFileAccess cached ? cached : null);
+  }
+
+  /**
+   * Checks whether events are reported.
+   *
+   * @return true unless the instrumentation is disabled
+   */
+  public boolean isEnabled() {
+    return this != DISABLED;
+  }
+
+  /**
+   * Starts measuring a phase on the current thread.
+   *
+   * @param phase the phase
+   * @return the span to close when the phase ends
+   */
+  public Span phase(ParsePhase phase) {
+    if (!isEnabled()) {
+      return NO_OP_SPAN;
+    }
+    return open(phase);
+  }
+
+  /**
+   * Starts measuring a whole parse on the current thread. The span reports no phase of its own;
+   * when it is closed, the cache statistics of the parse are reported.
+   *
+   * @return the span to close when the parse ends
+   */
+  public Span parse() {
+    if (!isEnabled()) {
+      return NO_OP_SPAN;
+    }
+    return open(null);
+  }
+
+  /**
+   * Wraps a provider so that the files opened through it are reported.
+   *
+   * @param provider the provider to wrap
+   * @return the wrapped provider, or the provider itself if the instrumentation is disabled
+   */
+  public ModuleFileProvider instrument(ModuleFileProvider provider) {
+    if (!isEnabled() || provider == null) {
+      return provider;
+    }
+    return new InstrumentedProvider(provider);
+  }
+
+  private Span open(ParsePhase phase) {
+    Span span = new Span(this, phase, current.get());
+    current.set(span);
+    return span;
+  }
+
+  private static long allocatedBytes() {
+    return ALLOCATION == null ? -1 : ALLOCATION.getCurrentThreadAllocatedBytes();
+  }
+
+  private static com.sun.management.ThreadMXBean allocationCounter() {
+    try {
+      ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+      if (threads instanceof com.sun.management.ThreadMXBean counter
+          && counter.isThreadAllocatedMemorySupported()
+          && counter.isThreadAllocatedMemoryEnabled()) {
+        return counter;
+      }
+    } catch (LinkageError | RuntimeException e) {
+      // The management API is unavailable, allocation is reported as -1
+    }
+    return null;
+  }
+
+  /**
+   * A phase or parse being measured. Spans are used by the thread that opened them only.
+   */
+  public static final class Span implements AutoCloseable {
+
+    private final ParseInstrumentation owner;
+
+    private final ParsePhase phase;
+
+    private final Span parent;
+
+    private final long startNanos;
+
+    private final long startAllocated;
+
+    private final long startCacheHits;
+
+    private final long startCacheMisses;
+
+    private long nestedNanos;
+
+    private long nestedAllocated;
+
+    private long readNanos;
+
+    private long readAllocated;
+
+    private boolean closed;
+
+    private Span(ParseInstrumentation owner, ParsePhase phase, Span parent) {
+      this.owner = owner;
+      this.phase = phase;
+      this.parent = parent;
+      boolean parseScope = owner != null && phase == null && owner.cache != null;
+      this.startCacheHits = parseScope ? owner.cache.getCacheHits() : 0;
+      this.startCacheMisses = parseScope ? owner.cache.getCacheMisses() : 0;
+      this.startAllocated = owner == null ? -1 : allocatedBytes();
+      this.startNanos = owner == null ? 0 : System.nanoTime();
+    }
+
+    /**
+     * Ends the span and reports it.
+     */
+    @Override
+    public void close() {
+      if (owner == null || closed) {
+        return;
+      }
+      closed = true;
+      long wall = System.nanoTime() - startNanos;
+      long allocated = startAllocated < 0 ? -1 : allocatedBytes() - startAllocated;
+
+      if (parent == null) {
+        owner.current.remove();
+      } else {
+        owner.current.set(parent);
+        parent.nestedNanos += wall;
+        parent.nestedAllocated += allocated;
+      }
+
+      if (phase == null) {
+        if (owner.cache != null) {
+          owner.listener.onCacheStatistics(owner.cache.getCacheHits() - startCacheHits,
+              owner.cache.getCacheMisses() - startCacheMisses);
+        }
+        return;
+      }
+      if (phase == ParsePhase.XML_BINDING) {
+        owner.listener.onPhase(ParsePhase.MANIFEST_READ, readNanos,
+            allocated < 0 ? -1 : readAllocated);
+      }
+      owner.listener.onPhase(phase, wall - nestedNanos - readNanos,
+          allocated < 0 ? -1 : allocated - nestedAllocated - readAllocated);
+    }
+
+    private boolean isBinding() {
+      return phase == ParsePhase.XML_BINDING;
+    }
+  }
+
+  /**
+   * A provider reporting the files opened through it.
+   */
+  private final class InstrumentedProvider implements ModuleFileProvider {
+
+    private final ModuleFileProvider delegate;
+
+    private InstrumentedProvider(ModuleFileProvider delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public InputStream getFileContents(String path) throws IOException {
+      return new MeasuredInputStream(path, delegate.getFileContents(path));
+    }
+
+    @Override
+    public boolean fileExists(String path) {
+      return delegate.fileExists(path);
+    }
+
+    @Override
+    public String getRootPath() {
+      return delegate.getRootPath();
+    }
+
+    @Override
+    public boolean hasXapiSupport() {
+      return delegate.hasXapiSupport();
+    }
+
+    @Override
+    public List<String> listFiles(String directory) throws IOException {
+      return delegate.listFiles(directory);
+    }
+
+    @Override
+    public Map<String, Boolean> fileExistsBatch(List<String> paths) {
+      return delegate.fileExistsBatch(paths);
+    }
+
+    @Override
+    public void prefetchCommonFiles() {
+      delegate.prefetchCommonFiles();
+    }
+
+    @Override
+    public long getTotalSize() throws IOException {
+      return delegate.getTotalSize();
+    }
+  }
+
+  /**
+   * A stream counting the bytes read from it, and timing the reads made while a binding phase is
+   * open on the reading thread.
+   */
+  private final class MeasuredInputStream extends FilterInputStream {
+
+    private final String path;
+
+    private long bytesRead;
+
+    private boolean closed;
+
+    private MeasuredInputStream(String path, InputStream in) {
+      super(in);
+      this.path = path;
+    }
+
+    @Override
+    public int read() throws IOException {
+      Span binding = bindingSpan();
+      long startNanos = binding == null ? 0 : System.nanoTime();
+      long startAllocated = binding == null ? 0 : allocatedBytes();
+      int b = super.read();
+      credit(binding, startNanos, startAllocated);
+      if (b >= 0) {
+        bytesRead++;
+      }
+      return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      Span binding = bindingSpan();
+      long startNanos = binding == null ? 0 : System.nanoTime();
+      long startAllocated = binding == null ? 0 : allocatedBytes();
+      int n = super.read(b, off, len);
+      credit(binding, startNanos, startAllocated);
+      if (n > 0) {
+        bytesRead += n;
+      }
+      return n;
+    }
+
+    @Override
+    public void close() throws IOException {
+      try {
+        super.close();
+      } finally {
+        if (!closed) {
+          closed = true;
+          listener.onFileRead(path, bytesRead);
+        }
+      }
+    }
+
+    private Span bindingSpan() {
+      Span span = current.get();
+      return span != null && span.isBinding() ? span : null;
+    }
+
+    private void credit(Span binding, long startNanos, long startAllocated) {
+      if (binding != null) {
+        binding.readNanos += System.nanoTime() - startNanos;
+        binding.readAllocated += allocatedBytes() - startAllocated;
+      }
+    }
+  }
+}
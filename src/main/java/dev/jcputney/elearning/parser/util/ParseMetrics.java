@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.util;
+
+import dev.jcputney.elearning.parser.api.ParseListener;
+import dev.jcputney.elearning.parser.enums.ParsePhase;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link ParseListener} that aggregates the events of any number of parses into
+ * {@link LongAdderHistogram}s. It can be shared by parsers running concurrently.
+ *
+ * <pre>{@code
+ * ParseMetrics metrics = new ParseMetrics();
+ * ParserOptions options = new ParserOptions().setParseListener(metrics);
+ * new DefaultModuleParserFactory(fileAccess, options).parseModule();
+ * long p99 = metrics.getWallTimeNanos(ParsePhase.XML_BINDING).getPercentile(99);
+ * }</pre>
+ */
+public final class ParseMetrics implements ParseListener {
+
+  private final Map<ParsePhase, LongAdderHistogram> wallTimes = new EnumMap<>(ParsePhase.class);
+
+  private final Map<ParsePhase, LongAdderHistogram> allocations = new EnumMap<>(ParsePhase.class);
+
+  private final LongAdderHistogram bytesReadPerFile = new LongAdderHistogram();
+
+  private final LongAdder cacheHits = new LongAdder();
+
+  private final LongAdder cacheMisses = new LongAdder();
+
+  /**
+   * Creates metrics with no recorded events.
+   */
+  public ParseMetrics() {
+    for (ParsePhase phase : ParsePhase.values()) {
+      wallTimes.put(phase, new LongAdderHistogram());
+      allocations.put(phase, new LongAdderHistogram());
+    }
+  }
+
+  @Override
+  public void onPhase(ParsePhase phase, long wallTimeNanos, long allocatedBytes) {
+    wallTimes
+        .get(phase)
+        .record(Math.max(0, wallTimeNanos));
+    if (allocatedBytes >= 0) {
+      allocations
+          .get(phase)
+          .record(allocatedBytes);
+    }
+  }
+
+  @Override
+  public void onFileRead(String path, long bytesRead) {
+    bytesReadPerFile.record(bytesRead);
+  }
+
+  @Override
+  public void onCacheStatistics(long hits, long misses) {
+    cacheHits.add(hits);
+    cacheMisses.add(misses);
+  }
+
+  /**
+   * Gets the wall times of a phase, in nanoseconds.
+   *
+   * @param phase the phase
+   * @return the histogram of the wall times of the phase
+   */
+  public LongAdderHistogram getWallTimeNanos(ParsePhase phase) {
+    return wallTimes.get(phase);
+  }
+
+  /**
+   * Gets the bytes allocated during a phase. Nothing is recorded if the JVM does not measure
+   * thread allocation.
+   *
+   * @param phase the phase
+   * @return the histogram of the bytes allocated during the phase
+   */
+  public LongAdderHistogram getAllocatedBytes(ParsePhase phase) {
+    return allocations.get(phase);
+  }
+
+  /**
+   * Gets the number of bytes read from each opened file.
+   *
+   * @return the histogram of the bytes read per file
+   */
+  public LongAdderHistogram getBytesReadPerFile() {
+    return bytesReadPerFile;
+  }
+
+  /**
+   * Gets the number of files opened.
+   *
+   * @return the number of files opened
+   */
+  public long getFilesOpened() {
+    return bytesReadPerFile.getCount();
+  }
+
+  /**
+   * Gets the total number of bytes read from opened files.
+   *
+   * @return the total number of bytes read
+   */
+  public long getBytesRead() {
+    return bytesReadPerFile.getSum();
+  }
+
+  /**
+   * Gets the number of cache hits.
+   *
+   * @return the number of cache hits
+   */
+  public long getCacheHits() {
+    return cacheHits.sum();
+  }
+
+  /**
+   * Gets the number of cache misses.
+   *
+   * @return the number of cache misses
+   */
+  public long getCacheMisses() {
+    return cacheMisses.sum();
+  }
+
+  /**
+   * Removes all recorded events.
+   */
+  public void reset() {
+    wallTimes
+        .values()
+        .forEach(LongAdderHistogram::reset);
+    allocations
+        .values()
+        .forEach(LongAdderHistogram::reset);
+    bytesReadPerFile.reset();
+    cacheHits.reset();
+    cacheMisses.reset();
+  }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.util;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.util.StreamReaderDelegate;
+
+/**
+ * A StAX reader hiding the elements selected by an {@link XmlSubtreeFilter}. The events of a
+ * skipped element are consumed from the underlying reader without being reported, so a binder
+ * reading through it never sees the element.
+ */
+final class SubtreeSkippingStreamReader extends StreamReaderDelegate {
+
+  private final XmlSubtreeFilter filter;
+
+  /**
+   * The number of elements reported as started and not yet ended.
+   */
+  private int depth;
+
+  SubtreeSkippingStreamReader(XMLStreamReader reader, XmlSubtreeFilter filter) {
+    super(reader);
+    this.filter = filter;
+  }
+
+  @Override
+  public int next() throws XMLStreamException {
+    int event = super.next();
+    while (event == XMLStreamConstants.START_ELEMENT && filter.skip(getName(), depth)) {
+      skipElement();
+      event = super.next();
+    }
+    if (event == XMLStreamConstants.START_ELEMENT) {
+      depth++;
+    } else if (event == XMLStreamConstants.END_ELEMENT) {
+      depth--;
+    }
+    return event;
+  }
+
+  @Override
+  public int nextTag() throws XMLStreamException {
+    // Same contract as XMLStreamReader.nextTag(), but through next() so skipped elements stay hidden
+    int event = next();
+    while (event == XMLStreamConstants.CHARACTERS && isWhiteSpace()
+        || event == XMLStreamConstants.CDATA && isWhiteSpace()
+        || event == XMLStreamConstants.SPACE
+        || event == XMLStreamConstants.PROCESSING_INSTRUCTION
+        || event == XMLStreamConstants.COMMENT) {
+      event = next();
+    }
+    if (event != XMLStreamConstants.START_ELEMENT && event != XMLStreamConstants.END_ELEMENT) {
+      throw new XMLStreamException("Expected a start or end tag", getLocation());
+    }
+    return event;
+  }
+
+  /**
+   * Consumes the events of the current element up to and including its end element.
+   */
+  private void skipElement() throws XMLStreamException {
+    int open = 1;
+    while (open > 0) {
+      int event = super.next();
+      if (event == XMLStreamConstants.START_ELEMENT) {
+        open++;
+      } else if (event == XMLStreamConstants.END_ELEMENT) {
+        open--;
+      }
+    }
+  }
+}
@@ -18,9 +18,11 @@ import dev.jcputney.elearning.parser.api.LoadableMetadata;
 import dev.jcputney.elearning.parser.api.ModuleFileProvider;
 import dev.jcputney.elearning.parser.input.common.serialization.DurationIso8601Deserializer;
 import dev.jcputney.elearning.parser.input.lom.LOM;
+import dev.jcputney.elearning.parser.jfr.XmlBindEvent;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.StringReader;
 import java.nio.charset.Charset;
 import java.time.Duration;
@@ -181,6 +183,29 @@ public final class XmlParsingUtils {
   public static <C> C parseXmlToObject(InputStream stream, Class<C> clazz, String filePath,
       long maxSize)
       throws IOException, XMLStreamException {
+    return parseXmlToObject(stream, clazz, filePath, maxSize, null);
+  }
+
+  /**
+   * Parses an XML file into an object of the specified class using Jackson's XmlMapper, with a
+   * custom maximum size limit, skipping the elements selected by a filter. Skipped elements are
+   * still read, but are bound as if they were absent from the document, so no objects are created
+   * for them.
+   *
+   * @param <C> The type of the class to parse the XML into.
+   * @param stream The InputStream for the XML file.
+   * @param clazz The class to parse the XML into.
+   * @param filePath The file path for error reporting context.
+   * @param maxSize The maximum number of bytes to read.
+   * @param filter The filter selecting the elements to skip, or null to bind the whole document.
+   * @return A new instance of the specified class with the parsed XML data.
+   * @throws IOException If an error occurs while reading the file.
+   * @throws XMLStreamException If an error occurs while parsing the XML.
+   * @throws IllegalArgumentException if stream or clazz is null
+   */
+  public static <C> C parseXmlToObject(InputStream stream, Class<C> clazz, String filePath,
+      long maxSize, XmlSubtreeFilter filter)
+      throws IOException, XMLStreamException {
     if (stream == null) {
       throw new IllegalArgumentException("InputStream cannot be null");
     }
@@ -188,6 +213,24 @@ public final class XmlParsingUtils {
       throw new IllegalArgumentException("Class cannot be null");
     }
 
+    XmlBindEvent event = XmlBindEvent.start();
+    boolean succeeded = false;
+    try {
+      C result = bindXml(event.track(stream), clazz, filePath, maxSize, filter);
+      succeeded = true;
+      return result;
+    } finally {
+      event.complete(filePath, clazz, succeeded);
+    }
+  }
+
+  /**
+   * Reads, sanitizes and binds an XML stream for
+   * {@link #parseXmlToObject(InputStream, Class, String, long, XmlSubtreeFilter)}.
+   */
+  private static <C> C bindXml(InputStream stream, Class<C> clazz, String filePath, long maxSize,
+      XmlSubtreeFilter filter)
+      throws IOException, XMLStreamException {
     // Detect encoding
     EncodingDetector.EncodingAwareInputStream encodingAwareStream =
         EncodingDetector.detectEncoding(stream);
@@ -198,15 +241,14 @@ public final class XmlParsingUtils {
     String sanitizedXml = sanitizeXmlContent(xmlContent);
 
     try {
-      XMLInputFactory factory = XMLInputFactory.newFactory();
-      factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
-      factory.setProperty(XMLInputFactory.IS_VALIDATING, false);
-      factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
-      factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+      XMLInputFactory factory = newSecureInputFactory();
 
       XmlMapper xmlMapper = XML_MAPPER;
       try (StringReader stringReader = new StringReader(sanitizedXml)) {
         XMLStreamReader reader = factory.createXMLStreamReader(stringReader);
+        if (filter != null) {
+          reader = new SubtreeSkippingStreamReader(reader, filter);
+        }
         try {
           return xmlMapper.readValue(reader, clazz);
         } finally {
@@ -232,6 +274,67 @@ public final class XmlParsingUtils {
     }
   }
 
+  /**
+   * Opens a namespace-aware StAX reader over an XML stream for callers that walk a document event
+   * by event instead of binding it as a whole. The encoding is detected the same way as in
+   * {@link #parseXmlToObject(InputStream, Class, String, long)}, with DTDs and external entities
+   * disabled, but the content is neither buffered nor sanitized, so bare ampersands are reported as
+   * errors.
+   *
+   * @param stream The InputStream for the XML file.
+   * @return A reader positioned at the start of the document.
+   * @throws IOException If the encoding cannot be detected.
+   * @throws XMLStreamException If the reader cannot be created.
+   * @throws IllegalArgumentException if stream is null
+   */
+  public static XMLStreamReader createStreamReader(InputStream stream)
+      throws IOException, XMLStreamException {
+    if (stream == null) {
+      throw new IllegalArgumentException("InputStream cannot be null");
+    }
+    EncodingDetector.EncodingAwareInputStream encodingAwareStream =
+        EncodingDetector.detectEncoding(stream);
+    return newSecureInputFactory().createXMLStreamReader(
+        new InputStreamReader(encodingAwareStream.inputStream(), encodingAwareStream.charset()));
+  }
+
+  /**
+   * Binds the element a StAX reader is positioned at into an object of the specified class, using
+   * the same mapper configuration as {@link #parseXmlToObject(InputStream, Class)}. When this
+   * method returns, the reader is positioned at the matching end element.
+   *
+   * @param <C> The type of the class to bind the element into.
+   * @param reader A reader positioned at a start element.
+   * @param clazz The class to bind the element into.
+   * @return A new instance of the specified class with the element's data.
+   * @throws IOException If the element cannot be bound.
+   * @throws IllegalArgumentException if reader or clazz is null
+   */
+  public static <C> C readElement(XMLStreamReader reader, Class<C> clazz) throws IOException {
+    if (reader == null) {
+      throw new IllegalArgumentException("XMLStreamReader cannot be null");
+    }
+    if (clazz == null) {
+      throw new IllegalArgumentException("Class cannot be null");
+    }
+    return XML_MAPPER.readValue(reader, clazz);
+  }
+
+  /**
+   * Creates an XMLInputFactory that is namespace-aware and does not resolve DTDs or external
+   * entities.
+   *
+   * @return a new XMLInputFactory
+   */
+  private static XMLInputFactory newSecureInputFactory() {
+    XMLInputFactory factory = XMLInputFactory.newFactory();
+    factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+    factory.setProperty(XMLInputFactory.IS_VALIDATING, false);
+    factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    return factory;
+  }
+
   /**
    * Loads an external LOM metadata file into the specified LoadableMetadata object.
    * <p>
@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.util;
+
+import javax.xml.namespace.QName;
+
+/**
+ * Selects the elements of an XML document that are skipped, with all their content, when the
+ * document is bound with
+ * {@link XmlParsingUtils#parseXmlToObject(java.io.InputStream, Class, String, long,
+ * XmlSubtreeFilter)}. A skipped element is bound as if it were absent from the document.
+ */
+@FunctionalInterface
+public interface XmlSubtreeFilter {
+
+  /**
+   * Checks if an element is skipped.
+   *
+   * @param name the qualified name of the element
+   * @param depth the number of elements enclosing the element, 0 for the root element
+   * @return true to skip the element and its content
+   */
+  boolean skip(QName name, int depth);
+}
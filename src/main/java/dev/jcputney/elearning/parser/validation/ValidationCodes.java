@@ -199,6 +199,19 @@ public final class ValidationCodes {
    */
   public static final String SCORM12_NO_LAUNCHABLE_RESOURCE = "SCORM12_NO_LAUNCHABLE_RESOURCE";
 
+  /**
+   * Validation warning code indicating that item prerequisites form a cycle.
+   * <p>
+   * This warning occurs when an item requires itself through its {@code adlcp:prerequisites}
+   * expression, directly or through other items. Depending on the operators involved, the items of
+   * the cycle may never become available to the learner.
+   * <p>
+   * Warning Code: SCORM12_PREREQUISITE_CYCLE
+   * <p>
+   * Severity: WARNING
+   */
+  public static final String SCORM12_PREREQUISITE_CYCLE = "SCORM12_PREREQUISITE_CYCLE";
+
   // ===== SCORM 2004 =====
 
   /**
@@ -263,6 +276,19 @@ public final class ValidationCodes {
    */
   public static final String AICC_MISSING_COURSE_ID = "AICC_MISSING_COURSE_ID";
 
+  /**
+   * Validation warning code indicating that assignable unit prerequisites form a cycle.
+   * <p>
+   * This warning occurs when an AU requires itself through the prerequisites of the course
+   * structure or the prerequisites (.pre) table, directly or through other AUs. Depending on the
+   * operators involved, the AUs of the cycle may never become available to the learner.
+   * <p>
+   * Warning Code: AICC_PREREQUISITE_CYCLE
+   * <p>
+   * Severity: WARNING
+   */
+  public static final String AICC_PREREQUISITE_CYCLE = "AICC_PREREQUISITE_CYCLE";
+
   // ===== cmi5 =====
 
   /**
@@ -11,6 +11,7 @@
 package dev.jcputney.elearning.parser.validators;
 
 import dev.jcputney.elearning.parser.input.scorm2004.Scorm2004Manifest;
+import dev.jcputney.elearning.parser.input.scorm2004.Scorm2004ManifestDiff;
 import dev.jcputney.elearning.parser.validation.ValidationResult;
 import dev.jcputney.elearning.parser.validators.rules.ValidationRule;
 import dev.jcputney.elearning.parser.validators.rules.scorm2004.DefaultOrganizationValidRule;
@@ -20,8 +21,11 @@ import dev.jcputney.elearning.parser.validators.rules.scorm2004.ResourceReferenc
 import dev.jcputney.elearning.parser.validators.rules.scorm2004.Scorm2004DuplicateIdentifierRule;
 import dev.jcputney.elearning.parser.validators.rules.scorm2004.Scorm2004OrphanedResourcesRule;
 import dev.jcputney.elearning.parser.validators.rules.scorm2004.Scorm2004PathSecurityRule;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
 
 /**
  * Validator for SCORM 2004 manifests and their resource references.
@@ -41,9 +45,39 @@ import java.util.List;
  *   <li>All item identifierrefs point to valid resources</li>
  *   <li>Referenced resources have valid href attributes (launch URLs)</li>
  * </ul>
+ * <p>
+ * For manifests that are edited and re-parsed repeatedly, {@link #validateEach(Scorm2004Manifest)}
+ * and {@link #revalidate(Scorm2004Manifest, Scorm2004ManifestDiff, List)} allow the results of
+ * rules whose inputs did not change to be reused instead of re-running every rule.
+ * </p>
  */
 public class Scorm2004ResourceValidator {
 
+  /**
+   * Describes, for each default rule, which kinds of manifest changes can affect its outcome.
+   * Rules that are not listed here are always re-run.
+   */
+  private static final Map<Class<?>, Predicate<Scorm2004ManifestDiff>> RULE_DEPENDENCIES = Map.of(
+      Scorm2004DuplicateIdentifierRule.class,
+      diff -> diff.isHeaderChanged() || diff.isOrganizationIdsChanged()
+          || diff.isResourceIdsChanged(),
+      Scorm2004PathSecurityRule.class,
+      Scorm2004ManifestDiff::isResourcesChanged,
+      Scorm2004OrphanedResourcesRule.class,
+      diff -> diff.isItemsChanged() || diff.isOrganizationsChanged()
+          || diff.isResourceIdsChanged(),
+      OrganizationsRequiredRule.class,
+      Scorm2004ManifestDiff::isOrganizationsChanged,
+      DefaultOrganizationValidRule.class,
+      Scorm2004ManifestDiff::isOrganizationsChanged,
+      ResourceReferenceValidRule.class,
+      diff -> diff.isItemsChanged() || diff.isOrganizationsChanged()
+          || diff.isResourceIdsChanged(),
+      ResourceHrefRequiredRule.class,
+      diff -> diff.isItemsChanged() || diff.isOrganizationsChanged()
+          || diff.isResourcesChanged()
+  );
+
   private final List<ValidationRule<Scorm2004Manifest>> rules;
 
   /**
@@ -77,4 +111,68 @@ public class Scorm2004ResourceValidator {
         .map(rule -> rule.validate(manifest))
         .reduce(ValidationResult.valid(), ValidationResult::merge);
   }
+
+  /**
+   * Validates a SCORM 2004 manifest and returns the result of each rule separately, in rule
+   * order. Merging the returned results yields the same result as
+   * {@link #validate(Scorm2004Manifest)}.
+   *
+   * @param manifest The SCORM 2004 manifest to validate
+   * @return the per-rule validation results, in rule order
+   */
+  public List<ValidationResult> validateEach(Scorm2004Manifest manifest) {
+    List<ValidationResult> results = new ArrayList<>(rules.size());
+    for (ValidationRule<Scorm2004Manifest> rule : rules) {
+      results.add(rule.validate(manifest));
+    }
+    return results;
+  }
+
+  /**
+   * Re-validates an edited manifest, re-running only the rules whose inputs are affected by the
+   * given diff and reusing the previous per-rule results for the rest.
+   *
+   * <p>A rule that is re-run validates the whole manifest, not only the elements named by the
+   * diff.
+   *
+   * @param manifest The edited SCORM 2004 manifest to validate
+   * @param diff the changes between the previously validated manifest and {@code manifest}
+   * @param previousResults the per-rule results from {@link #validateEach(Scorm2004Manifest)} or a
+   * previous call to this method for the previously validated manifest
+   * @return the per-rule validation results for {@code manifest}, in rule order
+   * @throws IllegalArgumentException if the diff is null or the previous results do not match the
+   * rules of this validator
+   */
+  public List<ValidationResult> revalidate(Scorm2004Manifest manifest,
+      Scorm2004ManifestDiff diff, List<ValidationResult> previousResults) {
+    if (diff == null) {
+      throw new IllegalArgumentException("diff must not be null");
+    }
+    if (previousResults == null || previousResults.size() != rules.size()) {
+      throw new IllegalArgumentException("previous results must contain one result per rule");
+    }
+    List<ValidationResult> results = new ArrayList<>(rules.size());
+    for (int i = 0; i < rules.size(); i++) {
+      ValidationRule<Scorm2004Manifest> rule = rules.get(i);
+      Predicate<Scorm2004ManifestDiff> affectedBy = RULE_DEPENDENCIES.get(rule.getClass());
+      if (affectedBy == null || affectedBy.test(diff)) {
+        results.add(rule.validate(manifest));
+      } else {
+        results.add(previousResults.get(i));
+      }
+    }
+    return results;
+  }
+
+  /**
+   * Merges per-rule results, in order, into a single validation result.
+   *
+   * @param results the per-rule results to merge
+   * @return the merged validation result
+   */
+  public static ValidationResult merge(List<ValidationResult> results) {
+    return results
+        .stream()
+        .reduce(ValidationResult.valid(), ValidationResult::merge);
+  }
 }
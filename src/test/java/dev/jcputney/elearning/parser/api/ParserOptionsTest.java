@@ -11,7 +11,9 @@
 
 package dev.jcputney.elearning.parser.api;
 
+import dev.jcputney.elearning.parser.enums.ProjectionField;
 import dev.jcputney.elearning.parser.util.XmlParsingUtils;
+import java.util.EnumSet;
 import org.junit.jupiter.api.Test;
 import static org.assertj.core.api.Assertions.*;
 
@@ -87,4 +89,44 @@ class ParserOptionsTest {
         assertThat(options.isStrictMode()).isFalse();
         assertThat(options.getResolvedMaxManifestSize()).isEqualTo(5_000_000L);
     }
+
+    @Test
+    void testMetadataExtractionParallelism() {
+        ParserOptions options = new ParserOptions();
+
+        assertThat(options.getMetadataExtractionParallelism()).isEqualTo(1);
+        assertThat(options.setMetadataExtractionParallelism(8)).isSameAs(options);
+        assertThat(options.getMetadataExtractionParallelism()).isEqualTo(8);
+        assertThatThrownBy(() -> options.setMetadataExtractionParallelism(0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testParseListener() {
+        ParserOptions options = new ParserOptions();
+        ParseListener listener = new ParseListener() {
+        };
+
+        assertThat(options.getParseListener()).isSameAs(ParseListener.NO_OP);
+        assertThat(options.setParseListener(listener)).isSameAs(options);
+        assertThat(options.getParseListener()).isSameAs(listener);
+        assertThatThrownBy(() -> options.setParseListener(null))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testProjection() {
+        ParserOptions options = new ParserOptions();
+
+        assertThat(options.hasProjection()).isFalse();
+        assertThat(options.isRequested(ProjectionField.SEQUENCING_LEVEL)).isTrue();
+        assertThat(options.setProjection(EnumSet.of(ProjectionField.TITLE))).isSameAs(options);
+        assertThat(options.hasProjection()).isTrue();
+        assertThat(options.isRequested(ProjectionField.TITLE)).isTrue();
+        assertThat(options.isRequested(ProjectionField.SEQUENCING_LEVEL)).isFalse();
+        assertThatThrownBy(() -> options.getProjection().clear())
+            .isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> options.setProjection(null))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
 }
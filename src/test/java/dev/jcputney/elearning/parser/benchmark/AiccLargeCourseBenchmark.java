@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.benchmark;
+
+import dev.jcputney.elearning.parser.api.FileAccess;
+import dev.jcputney.elearning.parser.exception.ModuleException;
+import dev.jcputney.elearning.parser.impl.access.LocalFileAccess;
+import dev.jcputney.elearning.parser.input.aicc.AiccManifest;
+import dev.jcputney.elearning.parser.parsers.AiccParser;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import javax.xml.stream.XMLStreamException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmark for parsing a large, generated AICC course with 5,000 assignable units.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AiccLargeCourseBenchmark extends BaseBenchmark {
+
+  private static final String MODULE_TYPE = "aicc";
+  private static final String MODULE_NAME = "large-course";
+  private static final int ASSIGNABLE_UNITS = 5_000;
+
+  /**
+   * Benchmarks reading the course, descriptor, assignable unit and course structure files.
+   *
+   * @param blackhole a sink for benchmark results to prevent dead code elimination
+   * @throws IOException if the course files cannot be read
+   * @throws XMLStreamException never thrown for AICC courses
+   * @throws ModuleException if the course files cannot be parsed
+   */
+  @Benchmark
+  public void parseManifest(Blackhole blackhole)
+      throws IOException, XMLStreamException, ModuleException {
+    AiccManifest manifest = new AiccParser(fileAccess).parseManifest(AiccParser.CRS_EXTENSION);
+    blackhole.consume(manifest);
+  }
+
+  /**
+   * Benchmarks the full parse of the course, including validation and metadata extraction.
+   *
+   * @param blackhole a sink for benchmark results to prevent dead code elimination
+   * @throws ModuleException if an error occurs during parsing
+   */
+  @Benchmark
+  public void parseAndValidate(Blackhole blackhole) throws ModuleException {
+    blackhole.consume(new AiccParser(fileAccess).parseAndValidate());
+  }
+
+  /**
+   * Generates the course files into the temporary directory instead of copying a resource.
+   *
+   * @return the directory containing the generated course
+   * @throws IOException if the files cannot be written
+   */
+  @Override
+  protected Path copyModuleToTempDir() throws IOException {
+    Path moduleDir = Files.createDirectories(tempDir.resolve(MODULE_NAME));
+
+    StringBuilder crs = new StringBuilder()
+        .append("[Course]\n")
+        .append("Course_Creator=Benchmark\n")
+        .append("Course_ID=LARGE-COURSE\n")
+        .append("Course_System=HTML\n")
+        .append("Course_Title=Large Generated Course\n")
+        .append("Level=1\n")
+        .append("Max_Fields_CST=2\n")
+        .append("Total_AUs=")
+        .append(ASSIGNABLE_UNITS)
+        .append('\n')
+        .append("Total_Blocks=0\n")
+        .append("Version=4.0\n")
+        .append("[Course_Behavior]\n")
+        .append("Max_Normal=99\n")
+        .append("[Course_Description]\n")
+        .append("A generated course with ")
+        .append(ASSIGNABLE_UNITS)
+        .append(" assignable units.\n");
+
+    StringBuilder des = new StringBuilder(
+        "\"System_ID\",\"Developer_ID\",\"Title\",\"Description\"\n");
+    StringBuilder au = new StringBuilder("\"System_ID\",\"Type\",\"Command_Line\","
+        + "\"Max_Time_Allowed\",\"Time_Limit_Action\",\"File_Name\",\"Max_Score\","
+        + "\"Mastery_Score\",\"System_Vendor\",\"Core_Vendor\",\"Web_Launch\",\"AU_Password\"\n");
+    StringBuilder cst = new StringBuilder("\"Block\",\"Member\"\n");
+    for (int i = 1; i <= ASSIGNABLE_UNITS; i++) {
+      String id = "A" + i;
+      des
+          .append("\"").append(id).append("\",\"DEV-").append(i).append("\",\"Lesson ")
+          .append(i).append("\",\"Generated lesson ").append(i).append("\"\n");
+      au
+          .append("\"").append(id).append("\",\"lesson\",\"\",\"00:30:00\",\"C,N\",\"lessons/")
+          .append(i).append("/index.html\",100,80,\"\",\"Benchmark\",\"\",\"\"\n");
+      cst.append("\"ROOT\",\"").append(id).append("\"\n");
+    }
+
+    write(moduleDir.resolve("course.crs"), crs);
+    write(moduleDir.resolve("course.des"), des);
+    write(moduleDir.resolve("course.au"), au);
+    write(moduleDir.resolve("course.cst"), cst);
+    return moduleDir;
+  }
+
+  @Override
+  protected FileAccess createFileAccess(Path moduleFile) {
+    return new LocalFileAccess(moduleFile.toString());
+  }
+
+  @Override
+  protected String getModuleResourcePath() {
+    return MODULE_NAME;
+  }
+
+  @Override
+  protected String getModuleType() {
+    return MODULE_TYPE;
+  }
+
+  @Override
+  protected boolean isZipModule() {
+    return false;
+  }
+
+  private static void write(Path file, CharSequence content) throws IOException {
+    Files.writeString(file, content, StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks and writes their results as JSON, so that results can be compared between
+ * releases.
+ * <p>
+ * Accepts the same arguments as the JMH command line. Unless overridden with {@code -rf} and
+ * {@code -rff}, results are written as JSON to {@value #DEFAULT_RESULT_FILE}. Without a benchmark
+ * pattern, every benchmark is run.
+ * </p>
+ *
+ * <pre>{@code
+ * java -cp target/benchmarks.jar dev.jcputney.elearning.parser.benchmark.BenchmarkSuite \
+ *     PackagePhaseBenchmark -p backend=ZIP,S3_V2 -rff results/1.2.0.json
+ * }</pre>
+ */
+public final class BenchmarkSuite {
+
+  /**
+   * The file results are written to unless {@code -rff} is given.
+   */
+  public static final String DEFAULT_RESULT_FILE = "target/jmh-result.json";
+
+  private BenchmarkSuite() {
+    throw new AssertionError("Utility class should not be instantiated");
+  }
+
+  /**
+   * Runs the benchmarks.
+   *
+   * @param args JMH command line arguments
+   * @throws CommandLineOptionException if the arguments cannot be parsed
+   * @throws RunnerException if a benchmark fails
+   */
+  public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+    CommandLineOptions commandLine = new CommandLineOptions(args);
+    ChainedOptionsBuilder options = new OptionsBuilder()
+        .parent(commandLine)
+        .resultFormat(commandLine
+            .getResultFormat()
+            .orElse(ResultFormatType.JSON))
+        .result(commandLine
+            .getResult()
+            .orElse(DEFAULT_RESULT_FILE));
+    if (commandLine
+        .getIncludes()
+        .isEmpty()) {
+      options.include(BenchmarkSuite.class
+          .getPackageName()
+          .replace(".", "\\.") + "\\..*");
+    }
+    new Runner(options.build()).run();
+  }
+}
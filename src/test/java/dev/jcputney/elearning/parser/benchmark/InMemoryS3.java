@@ -0,0 +1,300 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.benchmark;
+
+import com.amazonaws.services.s3.AbstractAmazonS3;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.ObjectListing;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.S3ObjectSummary;
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.sync.ResponseTransformer;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CommonPrefix;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+/**
+ * A single in-memory S3 bucket with AWS SDK v1 and v2 clients, standing in for S3 so that the S3
+ * {@link dev.jcputney.elearning.parser.api.FileAccess} backends can be benchmarked without a
+ * network or a container.
+ * <p>
+ * Only the operations used by {@link dev.jcputney.elearning.parser.impl.access.S3FileAccessV1},
+ * {@link dev.jcputney.elearning.parser.impl.access.S3FileAccessV2} and the S3 range readers are
+ * implemented; listings are returned in a single page, and GET requests honor byte ranges. Every
+ * other operation throws {@link UnsupportedOperationException}. The bucket name passed to the
+ * clients is ignored.
+ * </p>
+ */
+public final class InMemoryS3 {
+
+  private final NavigableMap<String, byte[]> objects = new TreeMap<>();
+
+  /**
+   * Creates a bucket holding the given files below a key prefix.
+   *
+   * @param files the files keyed by relative path
+   * @param prefix the key prefix, such as {@code "courses/synthetic/"}, or an empty string
+   */
+  public InMemoryS3(Map<String, byte[]> files, String prefix) {
+    files.forEach((path, content) -> objects.put(prefix + path, content));
+  }
+
+  /**
+   * Creates an AWS SDK v1 client reading from this bucket.
+   *
+   * @return the client
+   */
+  public AbstractAmazonS3 v1Client() {
+    return new V1Client();
+  }
+
+  /**
+   * Creates an AWS SDK v2 client reading from this bucket.
+   *
+   * @return the client
+   */
+  public S3Client v2Client() {
+    return new V2Client();
+  }
+
+  private byte[] object(String key) {
+    return objects.get(key);
+  }
+
+  /**
+   * Gets the bytes of an inclusive range of an object, clamped to its end as S3 does.
+   */
+  private static byte[] slice(byte[] content, long first, long last) {
+    int from = (int) Math.min(first, content.length);
+    int to = (int) Math.min(last + 1, content.length);
+    return Arrays.copyOfRange(content, from, to);
+  }
+
+  /**
+   * Lists the keys starting with a prefix, rolling keys up to common prefixes at the delimiter if
+   * one is given.
+   */
+  private Listing list(String prefix, String delimiter) {
+    String from = prefix == null ? "" : prefix;
+    List<String> keys = new ArrayList<>();
+    TreeSet<String> commonPrefixes = new TreeSet<>();
+    for (String key : objects.tailMap(from, true).keySet()) {
+      if (!key.startsWith(from)) {
+        break;
+      }
+      int cut = delimiter == null || delimiter.isEmpty() ? -1
+          : key.indexOf(delimiter, from.length());
+      if (cut >= 0) {
+        commonPrefixes.add(key.substring(0, cut + delimiter.length()));
+      } else {
+        keys.add(key);
+      }
+    }
+    return new Listing(keys, new ArrayList<>(commonPrefixes));
+  }
+
+  private record Listing(List<String> keys, List<String> commonPrefixes) {
+
+  }
+
+  /**
+   * The AWS SDK v1 client.
+   */
+  private final class V1Client extends AbstractAmazonS3 {
+
+    @Override
+    public boolean doesObjectExist(String bucketName, String key) {
+      return object(key) != null;
+    }
+
+    @Override
+    public ObjectMetadata getObjectMetadata(String bucketName, String key) {
+      ObjectMetadata metadata = new ObjectMetadata();
+      metadata.setContentLength(require(key).length);
+      return metadata;
+    }
+
+    @Override
+    public com.amazonaws.services.s3.model.S3Object getObject(String bucketName, String key) {
+      byte[] content = require(key);
+      com.amazonaws.services.s3.model.S3Object object =
+          new com.amazonaws.services.s3.model.S3Object();
+      object.setBucketName(bucketName);
+      object.setKey(key);
+      object.setObjectMetadata(getObjectMetadata(bucketName, key));
+      object.setObjectContent(new ByteArrayInputStream(content));
+      return object;
+    }
+
+    @Override
+    public com.amazonaws.services.s3.model.S3Object getObject(
+        com.amazonaws.services.s3.model.GetObjectRequest request) {
+      com.amazonaws.services.s3.model.S3Object object =
+          getObject(request.getBucketName(), request.getKey());
+      long[] range = request.getRange();
+      if (range != null) {
+        byte[] content = slice(require(request.getKey()), range[0], range[1]);
+        object
+            .getObjectMetadata()
+            .setContentLength(content.length);
+        object.setObjectContent(new ByteArrayInputStream(content));
+      }
+      return object;
+    }
+
+    @Override
+    public ObjectListing listObjects(String bucketName, String prefix) {
+      return listObjects(new com.amazonaws.services.s3.model.ListObjectsRequest()
+          .withBucketName(bucketName)
+          .withPrefix(prefix)
+          .withDelimiter("/"));
+    }
+
+    @Override
+    public ObjectListing listObjects(
+        com.amazonaws.services.s3.model.ListObjectsRequest request) {
+      Listing listing = list(request.getPrefix(), request.getDelimiter());
+      ObjectListing result = new ObjectListing();
+      result.setBucketName(request.getBucketName());
+      result.setPrefix(request.getPrefix());
+      result.setTruncated(false);
+      result.setCommonPrefixes(listing.commonPrefixes());
+      for (String key : listing.keys()) {
+        S3ObjectSummary summary = new S3ObjectSummary();
+        summary.setBucketName(request.getBucketName());
+        summary.setKey(key);
+        summary.setSize(object(key).length);
+        result
+            .getObjectSummaries()
+            .add(summary);
+      }
+      return result;
+    }
+
+    private byte[] require(String key) {
+      byte[] content = object(key);
+      if (content == null) {
+        AmazonS3Exception exception = new AmazonS3Exception("The specified key does not exist.");
+        exception.setStatusCode(404);
+        exception.setErrorCode("NoSuchKey");
+        throw exception;
+      }
+      return content;
+    }
+  }
+
+  /**
+   * The AWS SDK v2 client.
+   */
+  private final class V2Client implements S3Client {
+
+    @Override
+    public HeadObjectResponse headObject(HeadObjectRequest request) {
+      return HeadObjectResponse
+          .builder()
+          .contentLength((long) require(request.key()).length)
+          .build();
+    }
+
+    @Override
+    public ListObjectsV2Response listObjectsV2(ListObjectsV2Request request) {
+      Listing listing = list(request.prefix(), request.delimiter());
+      return ListObjectsV2Response
+          .builder()
+          .isTruncated(false)
+          .contents(listing
+              .keys()
+              .stream()
+              .map(key -> S3Object
+                  .builder()
+                  .key(key)
+                  .size((long) object(key).length)
+                  .build())
+              .toList())
+          .commonPrefixes(listing
+              .commonPrefixes()
+              .stream()
+              .map(prefix -> CommonPrefix
+                  .builder()
+                  .prefix(prefix)
+                  .build())
+              .toList())
+          .build();
+    }
+
+    @Override
+    public <T> T getObject(GetObjectRequest request,
+        ResponseTransformer<GetObjectResponse, T> transformer) {
+      byte[] content = require(request.key());
+      if (request.range() != null) {
+        String[] range = request
+            .range()
+            .substring("bytes=".length())
+            .split("-");
+        content = slice(content, Long.parseLong(range[0]), Long.parseLong(range[1]));
+      }
+      GetObjectResponse response = GetObjectResponse
+          .builder()
+          .contentLength((long) content.length)
+          .build();
+      try {
+        return transformer.transform(response,
+            AbortableInputStream.create(new ByteArrayInputStream(content)));
+      } catch (Exception e) {
+        throw SdkClientException.create("Failed to transform object " + request.key(), e);
+      }
+    }
+
+    @Override
+    public ResponseInputStream<GetObjectResponse> getObject(GetObjectRequest request) {
+      return getObject(request, ResponseTransformer.toInputStream());
+    }
+
+    @Override
+    public String serviceName() {
+      return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+      // no-op
+    }
+
+    private byte[] require(String key) {
+      byte[] content = object(key);
+      if (content == null) {
+        throw NoSuchKeyException
+            .builder()
+            .message("The specified key does not exist.")
+            .statusCode(404)
+            .build();
+      }
+      return content;
+    }
+  }
+}
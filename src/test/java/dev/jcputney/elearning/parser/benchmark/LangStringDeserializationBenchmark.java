@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.benchmark;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import dev.jcputney.elearning.parser.input.common.TreeLangStringListDeserializer;
+import dev.jcputney.elearning.parser.input.lom.LOM;
+import dev.jcputney.elearning.parser.input.lom.types.UnboundLangString;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares parsing the bundled LOM fixtures with the streaming LangString deserializers against
+ * the tree-based implementation they replaced. Run with {@code -prof gc} to compare allocation
+ * rates alongside throughput.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LangStringDeserializationBenchmark {
+
+  /**
+   * The LOM fixture to parse, relative to the test resources.
+   */
+  @Param({
+      "modules/scorm12/ContentPackagingWithMetadata_SCORM12/metadata.xml",
+      "modules/scorm2004/ContentPackagingMetadata_SCORM20043rdEdition/metadata_course.xml",
+      "modules/scorm2004/ContentPackagingMetadata_SCORM20043rdEdition/metadata_organization.xml"
+  })
+  public String fixture;
+
+  private byte[] xml;
+  private XmlMapper streamingMapper;
+  private XmlMapper treeMapper;
+
+  /**
+   * Loads the fixture and creates one mapper per implementation.
+   *
+   * @throws IOException if the fixture cannot be read
+   */
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    try (InputStream in = getClass()
+        .getClassLoader()
+        .getResourceAsStream(fixture)) {
+      if (in == null) {
+        throw new IOException("Fixture not found on the classpath: " + fixture);
+      }
+      xml = in.readAllBytes();
+    }
+
+    streamingMapper = new XmlMapper();
+    streamingMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    treeMapper = new XmlMapper();
+    treeMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    treeMapper.addMixIn(UnboundLangString.class,
+        TreeLangStringListDeserializer.UnboundLangStringMixIn.class);
+  }
+
+  /**
+   * Benchmarks parsing the LOM with the streaming deserializers.
+   *
+   * @return the parsed LOM
+   * @throws IOException if the LOM cannot be parsed
+   */
+  @Benchmark
+  public LOM streaming() throws IOException {
+    return streamingMapper.readValue(xml, LOM.class);
+  }
+
+  /**
+   * Benchmarks parsing the LOM with the tree-based deserializers.
+   *
+   * @return the parsed LOM
+   * @throws IOException if the LOM cannot be parsed
+   */
+  @Benchmark
+  public LOM tree() throws IOException {
+    return treeMapper.readValue(xml, LOM.class);
+  }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.benchmark;
+
+import dev.jcputney.elearning.parser.api.FileAccess;
+import dev.jcputney.elearning.parser.impl.access.CachedFileAccess;
+import dev.jcputney.elearning.parser.impl.access.InMemoryFileAccess;
+import dev.jcputney.elearning.parser.impl.access.LocalFileAccess;
+import dev.jcputney.elearning.parser.impl.access.S3FileAccessV1;
+import dev.jcputney.elearning.parser.impl.access.S3FileAccessV2;
+import dev.jcputney.elearning.parser.impl.access.ZipFileAccess;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * The {@link FileAccess} backends a generated package can be served from.
+ * <p>
+ * The S3 backends read from an {@link InMemoryS3} bucket, so they measure the work done by the
+ * parser and the S3 file access classes, not network latency. The classpath backend is not listed
+ * because it can only serve resources packaged with the library; it is covered by the benchmarks
+ * of the bundled fixtures.
+ * </p>
+ */
+public enum PackageBackend {
+
+  /**
+   * A directory on the local file system.
+   */
+  LOCAL {
+    @Override
+    FileAccess open(Map<String, byte[]> files, Path tempDir) throws IOException {
+      return new LocalFileAccess(directory(files, tempDir).toString());
+    }
+  },
+
+  /**
+   * A ZIP archive on the local file system.
+   */
+  ZIP {
+    @Override
+    FileAccess open(Map<String, byte[]> files, Path tempDir) throws IOException {
+      Path archive = Files.write(tempDir.resolve("package.zip"), SyntheticPackages.zip(files));
+      return new ZipFileAccess(archive.toString());
+    }
+  },
+
+  /**
+   * A ZIP archive held in memory.
+   */
+  IN_MEMORY {
+    @Override
+    FileAccess open(Map<String, byte[]> files, Path tempDir) throws IOException {
+      return new InMemoryFileAccess(SyntheticPackages.zip(files));
+    }
+  },
+
+  /**
+   * A directory on the local file system behind a {@link CachedFileAccess}.
+   */
+  CACHED {
+    @Override
+    FileAccess open(Map<String, byte[]> files, Path tempDir) throws IOException {
+      return new CachedFileAccess(new LocalFileAccess(directory(files, tempDir).toString()));
+    }
+  },
+
+  /**
+   * An in-memory S3 bucket read through the AWS SDK v1.
+   */
+  S3_V1 {
+    @Override
+    FileAccess open(Map<String, byte[]> files, Path tempDir) {
+      InMemoryS3 bucket = new InMemoryS3(files, S3_ROOT + "/");
+      return new S3FileAccessV1(bucket.v1Client(), S3_BUCKET, S3_ROOT);
+    }
+  },
+
+  /**
+   * An in-memory S3 bucket read through the AWS SDK v2.
+   */
+  S3_V2 {
+    @Override
+    FileAccess open(Map<String, byte[]> files, Path tempDir) {
+      InMemoryS3 bucket = new InMemoryS3(files, S3_ROOT + "/");
+      return new S3FileAccessV2(bucket.v2Client(), S3_BUCKET, S3_ROOT);
+    }
+  };
+
+  private static final String S3_BUCKET = "benchmark";
+
+  private static final String S3_ROOT = "courses/synthetic";
+
+  /**
+   * Serves a package from this backend.
+   *
+   * @param files the files of the package keyed by relative path
+   * @param tempDir a directory the backend may write the package to
+   * @return a file access serving the package
+   * @throws IOException if the package cannot be written or opened
+   */
+  abstract FileAccess open(Map<String, byte[]> files, Path tempDir) throws IOException;
+
+  private static Path directory(Map<String, byte[]> files, Path tempDir) throws IOException {
+    return SyntheticPackages.writeDirectory(files,
+        Files.createDirectories(tempDir.resolve("package")));
+  }
+}
@@ -0,0 +1,337 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.benchmark;
+
+import dev.jcputney.elearning.parser.api.FileAccess;
+import dev.jcputney.elearning.parser.exception.ModuleException;
+import dev.jcputney.elearning.parser.impl.detector.DefaultModuleTypeDetector;
+import dev.jcputney.elearning.parser.input.aicc.AiccManifest;
+import dev.jcputney.elearning.parser.input.cmi5.Cmi5Manifest;
+import dev.jcputney.elearning.parser.input.scorm12.Scorm12Manifest;
+import dev.jcputney.elearning.parser.input.scorm2004.Scorm2004Manifest;
+import dev.jcputney.elearning.parser.output.metadata.aicc.AiccMetadata;
+import dev.jcputney.elearning.parser.output.metadata.cmi5.Cmi5Metadata;
+import dev.jcputney.elearning.parser.output.metadata.scorm12.Scorm12Metadata;
+import dev.jcputney.elearning.parser.output.metadata.scorm2004.Scorm2004Metadata;
+import dev.jcputney.elearning.parser.parsers.AiccParser;
+import dev.jcputney.elearning.parser.parsers.Cmi5Parser;
+import dev.jcputney.elearning.parser.parsers.Scorm12Parser;
+import dev.jcputney.elearning.parser.parsers.Scorm2004Parser;
+import dev.jcputney.elearning.parser.validators.AiccValidator;
+import dev.jcputney.elearning.parser.validators.Cmi5Validator;
+import dev.jcputney.elearning.parser.validators.Scorm12ResourceValidator;
+import dev.jcputney.elearning.parser.validators.Scorm2004ResourceValidator;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks each phase of parsing a generated package, for every module type and
+ * {@link PackageBackend}.
+ * <p>
+ * The phases are measured separately: detecting the module type, reading and binding the manifest
+ * (including external metadata files), validating the bound manifest, and extracting metadata
+ * from it. {@link #parse()} measures the phases together, as
+ * {@link dev.jcputney.elearning.parser.api.ModuleParser#parseAndValidate()} runs them. The shape
+ * of the generated package is controlled by the {@code @Param} fields, which can be overridden
+ * with {@code -p}, for example {@code -p items=10000 -p depth=8}.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PackagePhaseBenchmark {
+
+  /**
+   * The module type of the generated package.
+   */
+  @Param({SyntheticPackages.SCORM12, SyntheticPackages.SCORM2004, SyntheticPackages.CMI5,
+      SyntheticPackages.AICC})
+  public String moduleType;
+
+  /**
+   * The backend serving the generated package.
+   */
+  @Param
+  public PackageBackend backend;
+
+  /**
+   * The number of leaf items of a SCORM organization.
+   */
+  @Param({"100", "2000"})
+  public int items;
+
+  /**
+   * The number of SCORM resources.
+   */
+  @Param({"50"})
+  public int resources;
+
+  /**
+   * The number of files listed by each SCORM resource.
+   */
+  @Param({"5"})
+  public int filesPerResource;
+
+  /**
+   * The nesting depth of SCORM items and cmi5 blocks.
+   */
+  @Param({"3"})
+  public int depth;
+
+  /**
+   * The percentage of SCORM 2004 items carrying sequencing rules.
+   */
+  @Param({"25"})
+  public int sequencingDensity;
+
+  /**
+   * The number of SCORM resources described by an external LOM file.
+   */
+  @Param({"10"})
+  public int lomCount;
+
+  /**
+   * The number of cmi5 and AICC assignable units.
+   */
+  @Param({"500"})
+  public int auCount;
+
+  private Path tempDir;
+  private FileAccess fileAccess;
+  private ModulePhases phases;
+  private Object manifest;
+
+  /**
+   * Generates the package, serves it from the backend and binds its manifest once for the
+   * validation and metadata extraction phases.
+   *
+   * @throws Exception if the package cannot be generated or bound
+   */
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    Map<String, byte[]> files = SyntheticPackages.generate(moduleType,
+        new SyntheticPackages.Shape(items, resources, filesPerResource, depth, sequencingDensity,
+            lomCount, auCount));
+    tempDir = Files.createTempDirectory("benchmark");
+    fileAccess = backend.open(files, tempDir);
+    phases = ModulePhases.of(moduleType);
+    manifest = phases.bind(fileAccess);
+  }
+
+  /**
+   * Closes the backend and deletes the generated package.
+   *
+   * @throws Exception if the backend cannot be closed or the package cannot be deleted
+   */
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    if (fileAccess instanceof AutoCloseable closeable) {
+      closeable.close();
+    }
+    if (tempDir != null) {
+      try (Stream<Path> paths = Files.walk(tempDir)) {
+        for (Path path : paths
+            .sorted(Comparator.reverseOrder())
+            .toList()) {
+          Files.delete(path);
+        }
+      }
+    }
+  }
+
+  /**
+   * Benchmarks detecting the module type.
+   *
+   * @return the detected module type
+   * @throws ModuleException if the module type cannot be detected
+   */
+  @Benchmark
+  public Object detect() throws ModuleException {
+    return new DefaultModuleTypeDetector(fileAccess).detectModuleType();
+  }
+
+  /**
+   * Benchmarks reading and binding the manifest, including external metadata files.
+   *
+   * @return the bound manifest
+   * @throws Exception if the manifest cannot be read or bound
+   */
+  @Benchmark
+  public Object bind() throws Exception {
+    return phases.bind(fileAccess);
+  }
+
+  /**
+   * Benchmarks validating the bound manifest.
+   *
+   * @return the validation result
+   */
+  @Benchmark
+  public Object validate() {
+    return phases.validate(manifest);
+  }
+
+  /**
+   * Benchmarks extracting metadata from the bound manifest.
+   *
+   * @return the extracted metadata
+   */
+  @Benchmark
+  public Object extractMetadata() {
+    return phases.extract(manifest);
+  }
+
+  /**
+   * Benchmarks binding, validating and extracting metadata together.
+   *
+   * @return the parse result
+   * @throws ModuleException if the package cannot be parsed
+   */
+  @Benchmark
+  public Object parse() throws ModuleException {
+    return phases.parse(fileAccess);
+  }
+
+  /**
+   * The phases of parsing, for each module type.
+   */
+  enum ModulePhases {
+
+    SCORM12 {
+      @Override
+      Object bind(FileAccess fileAccess) throws Exception {
+        return new Scorm12Parser(fileAccess).parseManifest(Scorm12Parser.MANIFEST_FILE);
+      }
+
+      @Override
+      Object validate(Object manifest) {
+        return new Scorm12ResourceValidator().validate((Scorm12Manifest) manifest);
+      }
+
+      @Override
+      Object extract(Object manifest) {
+        return Scorm12Metadata.create((Scorm12Manifest) manifest, false);
+      }
+
+      @Override
+      Object parse(FileAccess fileAccess) throws ModuleException {
+        return new Scorm12Parser(fileAccess).parseAndValidate();
+      }
+    },
+
+    SCORM2004 {
+      @Override
+      Object bind(FileAccess fileAccess) throws Exception {
+        return new Scorm2004Parser(fileAccess).parseManifest(Scorm2004Parser.MANIFEST_FILE);
+      }
+
+      @Override
+      Object validate(Object manifest) {
+        return new Scorm2004ResourceValidator().validate((Scorm2004Manifest) manifest);
+      }
+
+      @Override
+      Object extract(Object manifest) {
+        return Scorm2004Metadata.create((Scorm2004Manifest) manifest, false);
+      }
+
+      @Override
+      Object parse(FileAccess fileAccess) throws ModuleException {
+        return new Scorm2004Parser(fileAccess).parseAndValidate();
+      }
+    },
+
+    CMI5 {
+      @Override
+      Object bind(FileAccess fileAccess) throws Exception {
+        return new Cmi5Parser(fileAccess).parseManifest(Cmi5Parser.CMI5_XML);
+      }
+
+      @Override
+      Object validate(Object manifest) {
+        return new Cmi5Validator().validate((Cmi5Manifest) manifest);
+      }
+
+      @Override
+      Object extract(Object manifest) {
+        return Cmi5Metadata.create((Cmi5Manifest) manifest, false);
+      }
+
+      @Override
+      Object parse(FileAccess fileAccess) throws ModuleException {
+        return new Cmi5Parser(fileAccess).parseAndValidate();
+      }
+    },
+
+    AICC {
+      @Override
+      Object bind(FileAccess fileAccess) throws Exception {
+        return new AiccParser(fileAccess).parseManifest(AiccParser.CRS_EXTENSION);
+      }
+
+      @Override
+      Object validate(Object manifest) {
+        return new AiccValidator().validate((AiccManifest) manifest);
+      }
+
+      @Override
+      Object extract(Object manifest) {
+        return AiccMetadata.create((AiccManifest) manifest, false, "course.crs");
+      }
+
+      @Override
+      Object parse(FileAccess fileAccess) throws ModuleException {
+        return new AiccParser(fileAccess).parseAndValidate();
+      }
+    };
+
+    /**
+     * Looks up the phases of a module type.
+     */
+    static ModulePhases of(String moduleType) {
+      return switch (moduleType) {
+        case SyntheticPackages.SCORM12 -> SCORM12;
+        case SyntheticPackages.SCORM2004 -> SCORM2004;
+        case SyntheticPackages.CMI5 -> CMI5;
+        case SyntheticPackages.AICC -> AICC;
+        default -> throw new IllegalArgumentException("Unknown module type: " + moduleType);
+      };
+    }
+
+    abstract Object bind(FileAccess fileAccess) throws Exception;
+
+    abstract Object validate(Object manifest);
+
+    abstract Object extract(Object manifest);
+
+    abstract Object parse(FileAccess fileAccess) throws ModuleException;
+  }
+}
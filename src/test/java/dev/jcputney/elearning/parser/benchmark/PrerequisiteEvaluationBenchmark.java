@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.benchmark;
+
+import dev.jcputney.elearning.parser.input.common.prerequisite.CompiledPrerequisite;
+import dev.jcputney.elearning.parser.input.common.prerequisite.PrerequisiteCompiler;
+import dev.jcputney.elearning.parser.input.scorm12.adl.prerequisite.AndExpression;
+import dev.jcputney.elearning.parser.input.scorm12.adl.prerequisite.ItemReference;
+import dev.jcputney.elearning.parser.input.scorm12.adl.prerequisite.NotExpression;
+import dev.jcputney.elearning.parser.input.scorm12.adl.prerequisite.OrExpression;
+import dev.jcputney.elearning.parser.input.scorm12.adl.prerequisite.ParseError;
+import dev.jcputney.elearning.parser.input.scorm12.adl.prerequisite.PrerequisiteExpression;
+import dev.jcputney.elearning.parser.input.scorm12.adl.prerequisite.PrerequisiteParser;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares checking a SCORM 1.2 prerequisite with a compiled program against parsing the
+ * expression and walking its tree on every check, as a player would without the compiler.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PrerequisiteEvaluationBenchmark {
+
+  /**
+   * The prerequisite expression to check.
+   */
+  @Param({
+      "item-1",
+      "item-1 & item-2 & item-3 & item-4",
+      "(item-1 | item-2) & ~(item-3 & item-4) & (item-5 | item-6 | item-7) & item-8"
+  })
+  public String expression;
+
+  private PrerequisiteCompiler compiler;
+  private BitSet completionState;
+  private Set<String> completed;
+
+  /**
+   * Creates the compiler and a completion state in which every other item is completed.
+   */
+  @Setup(Level.Trial)
+  public void setup() {
+    List<String> items = new ArrayList<>();
+    for (int i = 1; i <= 100; i++) {
+      items.add("item-" + i);
+    }
+    completed = Set.copyOf(items.subList(0, 50));
+    compiler = PrerequisiteCompiler.forScorm12(items);
+    completionState = compiler.completionState(completed);
+  }
+
+  /**
+   * Benchmarks looking up the cached program and evaluating it.
+   *
+   * @return whether the prerequisite is satisfied
+   */
+  @Benchmark
+  public boolean compiled() {
+    CompiledPrerequisite prerequisite = compiler.compile(expression);
+    return prerequisite.isSatisfied(completionState);
+  }
+
+  /**
+   * Benchmarks parsing the expression and evaluating its tree against a set of identifiers.
+   *
+   * @return whether the prerequisite is satisfied
+   */
+  @Benchmark
+  public boolean parsed() {
+    return PrerequisiteParser
+        .parse(expression)
+        .accept(new TreeEvaluator(completed));
+  }
+
+  /**
+   * Evaluates an expression tree against a set of completed item identifiers.
+   */
+  private record TreeEvaluator(Set<String> completed)
+      implements PrerequisiteExpression.Visitor<Boolean> {
+
+    @Override
+    public Boolean visitAnd(AndExpression and) {
+      for (PrerequisiteExpression operand : and.operands()) {
+        if (!operand.accept(this)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    @Override
+    public Boolean visitOr(OrExpression or) {
+      for (PrerequisiteExpression operand : or.operands()) {
+        if (operand.accept(this)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    @Override
+    public Boolean visitNot(NotExpression not) {
+      return !not
+          .operand()
+          .accept(this);
+    }
+
+    @Override
+    public Boolean visitItemReference(ItemReference itemRef) {
+      return completed.contains(itemRef.identifier());
+    }
+
+    @Override
+    public Boolean visitParseError(ParseError error) {
+      return true;
+    }
+  }
+}
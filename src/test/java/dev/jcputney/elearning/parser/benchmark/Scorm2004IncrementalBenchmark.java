@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.benchmark;
+
+import dev.jcputney.elearning.parser.api.ParseResult;
+import dev.jcputney.elearning.parser.exception.ModuleException;
+import dev.jcputney.elearning.parser.impl.access.LocalFileAccess;
+import dev.jcputney.elearning.parser.input.scorm2004.Scorm2004Manifest;
+import dev.jcputney.elearning.parser.input.scorm2004.ims.cp.Scorm2004Item;
+import dev.jcputney.elearning.parser.output.metadata.scorm2004.Scorm2004Metadata;
+import dev.jcputney.elearning.parser.parsers.Scorm2004IncrementalParser;
+import dev.jcputney.elearning.parser.parsers.Scorm2004Parser;
+import dev.jcputney.elearning.parser.validators.Scorm2004ResourceValidator;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import javax.xml.stream.XMLStreamException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmark for re-validating a generated SCORM 2004 manifest with 2,000 items after a single item
+ * title edit, with {@link Scorm2004IncrementalParser#reparse(ParseResult, Scorm2004Manifest)}
+ * ({@code incremental()}) and with a full validation and metadata extraction ({@code full()}).
+ * <p>
+ * Each invocation of {@code incremental()} alternates between the original and the edited
+ * manifest, so every call re-validates a one-item edit against the result of the previous call.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Scorm2004IncrementalBenchmark {
+
+  private static final SyntheticPackages.Shape SHAPE = new SyntheticPackages.Shape(2_000, 200, 1,
+      3, 20, 0, 1);
+
+  private Path tempDir;
+
+  private Scorm2004IncrementalParser incremental;
+
+  private ParseResult<Scorm2004Manifest> current;
+
+  private Scorm2004Manifest original;
+
+  private Scorm2004Manifest edited;
+
+  private boolean showEdited;
+
+  /**
+   * Generates the package, parses its baseline result and a copy of the manifest with one of its
+   * items renamed.
+   *
+   * @throws IOException if the package cannot be written or read
+   * @throws XMLStreamException if the manifest cannot be parsed
+   * @throws ModuleException if the package cannot be parsed
+   */
+  @Setup(Level.Trial)
+  public void setup() throws IOException, XMLStreamException, ModuleException {
+    tempDir = Files.createTempDirectory("benchmark");
+    SyntheticPackages.writeDirectory(
+        SyntheticPackages.generate(SyntheticPackages.SCORM2004, SHAPE), tempDir);
+    Scorm2004Parser parser = new Scorm2004Parser(new LocalFileAccess(tempDir.toString()));
+    incremental = new Scorm2004IncrementalParser(parser);
+    current = incremental.parseAndValidate();
+    original = parser.parseManifest(Scorm2004Parser.MANIFEST_FILE);
+    edited = parser.parseManifest(Scorm2004Parser.MANIFEST_FILE);
+    Scorm2004Item item = edited
+        .getOrganizations()
+        .getOrganizationList()
+        .get(0)
+        .getItems()
+        .get(100)
+        .getItems()
+        .get(0)
+        .getItems()
+        .get(0);
+    item.setTitle("Edited " + item.getTitle());
+  }
+
+  /**
+   * Deletes the generated package.
+   *
+   * @throws IOException if a file cannot be deleted
+   */
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    try (var paths = Files.walk(tempDir)) {
+      for (Path path : paths
+          .sorted((a, b) -> b.compareTo(a))
+          .toList()) {
+        Files.delete(path);
+      }
+    }
+  }
+
+  /**
+   * Benchmarks the incremental re-validation of a one-item edit against the previous result.
+   *
+   * @param blackhole a sink for benchmark results to prevent dead code elimination
+   * @throws ModuleException if the manifest is missing required elements
+   */
+  @Benchmark
+  public void incremental(Blackhole blackhole) throws ModuleException {
+    showEdited = !showEdited;
+    current = incremental.reparse(current, showEdited ? edited : original);
+    blackhole.consume(current);
+  }
+
+  /**
+   * Benchmarks a full validation and metadata extraction of the edited manifest, for comparison.
+   *
+   * @param blackhole a sink for benchmark results to prevent dead code elimination
+   */
+  @Benchmark
+  public void full(Blackhole blackhole) {
+    blackhole.consume(new Scorm2004ResourceValidator().validate(edited));
+    blackhole.consume(Scorm2004Metadata.create(edited, false));
+  }
+}
@@ -0,0 +1,317 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Generates synthetic SCORM 1.2, SCORM 2004, cmi5 and AICC packages of a given shape, so that
+ * benchmarks can measure how parsing scales with the size of a package rather than with one
+ * bundled fixture.
+ * <p>
+ * A package is generated as a map from relative path to file contents, in a stable order, and can
+ * then be written to a directory or a ZIP archive. The same shape always produces the same bytes.
+ * </p>
+ */
+public final class SyntheticPackages {
+
+  /**
+   * The module types that packages can be generated for.
+   */
+  public static final String SCORM12 = "scorm12";
+  public static final String SCORM2004 = "scorm2004";
+  public static final String CMI5 = "cmi5";
+  public static final String AICC = "aicc";
+
+  /**
+   * The number of items or assignable units grouped under one chain of nested containers.
+   */
+  private static final int GROUP_SIZE = 10;
+
+  private static final String LOM = """
+      <lom xmlns="http://ltsc.ieee.org/xsd/LOM">
+        <general>
+          <title><string language="en-US">%s</string></title>
+          <description><string language="en-US">Generated metadata %s</string></description>
+          <keyword><string language="en-US">synthetic</string></keyword>
+        </general>
+        <lifeCycle><version><string language="en-US">1.0</string></version></lifeCycle>
+      </lom>
+      """;
+
+  private SyntheticPackages() {
+    throw new AssertionError("Utility class should not be instantiated");
+  }
+
+  /**
+   * The shape of a generated package.
+   * <p>
+   * SCORM packages use {@code items}, {@code resources}, {@code filesPerResource}, {@code depth},
+   * {@code lomCount} and, for SCORM 2004, {@code sequencingDensity}. cmi5 and AICC packages use
+   * {@code auCount} and, for cmi5, {@code depth}. Items and assignable units are placed in groups
+   * of ten under a chain of {@code depth - 1} nested containers, except for the first cmi5
+   * assignable unit, which is placed at the root.
+   * </p>
+   *
+   * @param items the number of leaf items of a SCORM organization
+   * @param resources the number of SCORM resources the leaf items are spread across
+   * @param filesPerResource the number of files listed by each SCORM resource
+   * @param depth the nesting depth of items, or of cmi5 blocks
+   * @param sequencingDensity the percentage of SCORM 2004 items carrying sequencing rules
+   * @param lomCount the number of resources described by an external LOM file
+   * @param auCount the number of cmi5 or AICC assignable units
+   */
+  public record Shape(int items, int resources, int filesPerResource, int depth,
+                      int sequencingDensity, int lomCount, int auCount) {
+
+    /**
+     * Validates the shape.
+     */
+    public Shape {
+      if (items < 1 || resources < 1 || auCount < 1 || depth < 1) {
+        throw new IllegalArgumentException(
+            "items, resources, auCount and depth must be at least 1");
+      }
+      if (filesPerResource < 0 || lomCount < 0) {
+        throw new IllegalArgumentException("filesPerResource and lomCount cannot be negative");
+      }
+      if (sequencingDensity < 0 || sequencingDensity > 100) {
+        throw new IllegalArgumentException("sequencingDensity must be between 0 and 100");
+      }
+    }
+  }
+
+  /**
+   * Generates a package.
+   *
+   * @param moduleType one of {@link #SCORM12}, {@link #SCORM2004}, {@link #CMI5} or {@link #AICC}
+   * @param shape the shape of the package
+   * @return the files of the package keyed by relative path, in a stable order
+   * @throws IllegalArgumentException if the module type is unknown
+   */
+  public static Map<String, byte[]> generate(String moduleType, Shape shape) {
+    Map<String, byte[]> files = new LinkedHashMap<>();
+    switch (moduleType) {
+      case SCORM12 -> scorm(files, shape, false);
+      case SCORM2004 -> scorm(files, shape, true);
+      case CMI5 -> cmi5(files, shape);
+      case AICC -> aicc(files, shape);
+      default -> throw new IllegalArgumentException("Unknown module type: " + moduleType);
+    }
+    return files;
+  }
+
+  /**
+   * Writes the files of a package below a directory.
+   *
+   * @param files the files of the package
+   * @param directory the directory to write to
+   * @return the directory
+   * @throws IOException if a file cannot be written
+   */
+  public static Path writeDirectory(Map<String, byte[]> files, Path directory) throws IOException {
+    for (Map.Entry<String, byte[]> file : files.entrySet()) {
+      Path target = directory.resolve(file.getKey());
+      Files.createDirectories(target.getParent());
+      Files.write(target, file.getValue());
+    }
+    return directory;
+  }
+
+  /**
+   * Packs the files of a package into a ZIP archive.
+   *
+   * @param files the files of the package
+   * @return the contents of the archive
+   * @throws IOException if the archive cannot be written
+   */
+  public static byte[] zip(Map<String, byte[]> files) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (ZipOutputStream zip = new ZipOutputStream(out)) {
+      for (Map.Entry<String, byte[]> file : files.entrySet()) {
+        zip.putNextEntry(new ZipEntry(file.getKey()));
+        zip.write(file.getValue());
+        zip.closeEntry();
+      }
+    }
+    return out.toByteArray();
+  }
+
+  private static void scorm(Map<String, byte[]> files, Shape shape, boolean scorm2004) {
+    String scormType = scorm2004 ? "adlcp:scormType" : "adlcp:scormtype";
+    StringBuilder xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+    if (scorm2004) {
+      xml.append("<manifest identifier=\"synthetic\" version=\"1\"")
+          .append(" xmlns=\"http://www.imsglobal.org/xsd/imscp_v1p1\"")
+          .append(" xmlns:adlcp=\"http://www.adlnet.org/xsd/adlcp_v1p3\"")
+          .append(" xmlns:imsss=\"http://www.imsglobal.org/xsd/imsss\">\n")
+          .append("  <metadata><schema>ADL SCORM</schema>")
+          .append("<schemaversion>2004 4th Edition</schemaversion></metadata>\n");
+    } else {
+      xml.append("<manifest identifier=\"synthetic\" version=\"1\"")
+          .append(" xmlns=\"http://www.imsproject.org/xsd/imscp_rootv1p1p2\"")
+          .append(" xmlns:adlcp=\"http://www.adlnet.org/xsd/adlcp_rootv1p2\">\n")
+          .append("  <metadata><schema>ADL SCORM</schema>")
+          .append("<schemaversion>1.2</schemaversion></metadata>\n");
+    }
+    xml.append("  <organizations default=\"org\">\n")
+        .append("    <organization identifier=\"org\">\n")
+        .append("      <title>Synthetic Course</title>\n");
+
+    int containers = shape.depth() - 1;
+    for (int group = 0; group * GROUP_SIZE < shape.items(); group++) {
+      for (int level = 0; level < containers; level++) {
+        xml.append("<item identifier=\"c").append(group).append('-').append(level)
+            .append("\"><title>Container ").append(group).append('-').append(level)
+            .append("</title>\n");
+      }
+      int end = Math.min(shape.items(), (group + 1) * GROUP_SIZE);
+      for (int i = group * GROUP_SIZE; i < end; i++) {
+        xml.append("<item identifier=\"i").append(i).append("\" identifierref=\"r")
+            .append(i % shape.resources()).append("\"><title>Item ").append(i).append("</title>");
+        if (scorm2004 && isSequenced(i, shape.sequencingDensity())) {
+          xml.append("<imsss:sequencing>")
+              .append("<imsss:controlMode choice=\"true\" flow=\"true\"/>")
+              .append("<imsss:sequencingRules><imsss:preConditionRule>")
+              .append("<imsss:ruleConditions><imsss:ruleCondition condition=\"satisfied\"/>")
+              .append("</imsss:ruleConditions><imsss:ruleAction action=\"skip\"/>")
+              .append("</imsss:preConditionRule></imsss:sequencingRules>")
+              .append("<imsss:objectives><imsss:primaryObjective objectiveID=\"o").append(i)
+              .append("\" satisfiedByMeasure=\"true\"><imsss:minNormalizedMeasure>0.8")
+              .append("</imsss:minNormalizedMeasure></imsss:primaryObjective></imsss:objectives>")
+              .append("</imsss:sequencing>");
+        }
+        xml.append("</item>\n");
+      }
+      xml.append("</item>\n".repeat(containers));
+    }
+    xml.append("    </organization>\n  </organizations>\n  <resources>\n");
+
+    for (int r = 0; r < shape.resources(); r++) {
+      String base = "r" + r + "/";
+      xml.append("    <resource identifier=\"r").append(r).append("\" type=\"webcontent\" ")
+          .append(scormType).append("=\"sco\" href=\"").append(base).append("index.html\">");
+      if (r < shape.lomCount()) {
+        String location = "metadata/r" + r + ".xml";
+        xml.append("<metadata><adlcp:location>").append(location)
+            .append("</adlcp:location></metadata>");
+        files.put(location, utf8(LOM.formatted("Resource " + r, r)));
+      }
+      xml.append("<file href=\"").append(base).append("index.html\"/>");
+      files.put(base + "index.html", utf8("<html><body>Resource " + r + "</body></html>"));
+      for (int f = 1; f < shape.filesPerResource(); f++) {
+        String href = base + "asset-" + f + ".js";
+        xml.append("<file href=\"").append(href).append("\"/>");
+        files.put(href, utf8("// asset " + f + " of resource " + r + "\n"));
+      }
+      xml.append("</resource>\n");
+    }
+    xml.append("  </resources>\n</manifest>\n");
+    files.put("imsmanifest.xml", utf8(xml));
+  }
+
+  /**
+   * Spreads the sequenced items evenly over the organization.
+   */
+  private static boolean isSequenced(int item, int density) {
+    return (item * density) / 100 != ((item + 1) * density) / 100;
+  }
+
+  private static void cmi5(Map<String, byte[]> files, Shape shape) {
+    StringBuilder xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+        .append("<courseStructure xmlns=\"https://w3id.org/xapi/profiles/cmi5/v1/")
+        .append("CourseStructure.xsd\">\n")
+        .append("  <course id=\"https://example.com/synthetic\">\n")
+        .append("    <title><langstring lang=\"en-US\">Synthetic Course</langstring></title>\n")
+        .append("    <description><langstring lang=\"en-US\">A generated course</langstring>")
+        .append("</description>\n  </course>\n");
+
+    // The first assignable unit sits at the root so that the course has a launch URL at any depth.
+    appendAu(xml, files, 0);
+    for (int group = 0; 1 + group * GROUP_SIZE < shape.auCount(); group++) {
+      for (int level = 0; level < shape.depth() - 1; level++) {
+        xml.append("<block id=\"https://example.com/synthetic/b").append(group).append('-')
+            .append(level).append("\"><title><langstring lang=\"en-US\">Block ").append(group)
+            .append('-').append(level).append("</langstring></title>\n");
+      }
+      int end = Math.min(shape.auCount(), 1 + (group + 1) * GROUP_SIZE);
+      for (int i = 1 + group * GROUP_SIZE; i < end; i++) {
+        appendAu(xml, files, i);
+      }
+      xml.append("</block>\n".repeat(shape.depth() - 1));
+    }
+    xml.append("</courseStructure>\n");
+    files.put("cmi5.xml", utf8(xml));
+  }
+
+  private static void appendAu(StringBuilder xml, Map<String, byte[]> files, int i) {
+    xml.append("<au id=\"https://example.com/synthetic/au").append(i)
+        .append("\" moveOn=\"CompletedOrPassed\" masteryScore=\"0.8\"")
+        .append(" launchMethod=\"AnyWindow\"><title><langstring lang=\"en-US\">AU ").append(i)
+        .append("</langstring></title><description><langstring lang=\"en-US\">")
+        .append("Generated AU ").append(i).append("</langstring></description><url>au/")
+        .append(i).append("/index.html</url></au>\n");
+    files.put("au/" + i + "/index.html", utf8("<html><body>AU " + i + "</body></html>"));
+  }
+
+  private static void aicc(Map<String, byte[]> files, Shape shape) {
+    int units = shape.auCount();
+    StringBuilder crs = new StringBuilder()
+        .append("[Course]\n")
+        .append("Course_Creator=Benchmark\n")
+        .append("Course_ID=SYNTHETIC\n")
+        .append("Course_System=HTML\n")
+        .append("Course_Title=Synthetic Course\n")
+        .append("Level=1\n")
+        .append("Max_Fields_CST=2\n")
+        .append("Total_AUs=").append(units).append('\n')
+        .append("Total_Blocks=0\n")
+        .append("Version=4.0\n")
+        .append("[Course_Behavior]\n")
+        .append("Max_Normal=99\n")
+        .append("[Course_Description]\n")
+        .append("A generated course with ").append(units).append(" assignable units.\n");
+
+    StringBuilder des = new StringBuilder(
+        "\"System_ID\",\"Developer_ID\",\"Title\",\"Description\"\n");
+    StringBuilder au = new StringBuilder("\"System_ID\",\"Type\",\"Command_Line\","
+        + "\"Max_Time_Allowed\",\"Time_Limit_Action\",\"File_Name\",\"Max_Score\","
+        + "\"Mastery_Score\",\"System_Vendor\",\"Core_Vendor\",\"Web_Launch\",\"AU_Password\"\n");
+    StringBuilder cst = new StringBuilder("\"Block\",\"Member\"\n");
+    for (int i = 1; i <= units; i++) {
+      String id = "A" + i;
+      des.append("\"").append(id).append("\",\"DEV-").append(i).append("\",\"Lesson ")
+          .append(i).append("\",\"Generated lesson ").append(i).append("\"\n");
+      au.append("\"").append(id).append("\",\"lesson\",\"\",\"00:30:00\",\"C,N\",\"lessons/")
+          .append(i).append("/index.html\",100,80,\"\",\"Benchmark\",\"\",\"\"\n");
+      cst.append("\"ROOT\",\"").append(id).append("\"\n");
+    }
+
+    files.put("course.crs", utf8(crs));
+    files.put("course.des", utf8(des));
+    files.put("course.au", utf8(au));
+    files.put("course.cst", utf8(cst));
+  }
+
+  private static byte[] utf8(CharSequence content) {
+    return content
+        .toString()
+        .getBytes(StandardCharsets.UTF_8);
+  }
+}
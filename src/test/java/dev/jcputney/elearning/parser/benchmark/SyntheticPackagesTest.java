@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import dev.jcputney.elearning.parser.api.FileAccess;
+import dev.jcputney.elearning.parser.api.ParseResult;
+import dev.jcputney.elearning.parser.enums.ModuleType;
+import dev.jcputney.elearning.parser.impl.detector.DefaultModuleTypeDetector;
+import dev.jcputney.elearning.parser.output.metadata.scorm2004.Scorm2004Metadata;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Tests that the packages generated for the benchmarks parse from every {@link PackageBackend}.
+ */
+class SyntheticPackagesTest {
+
+  private static final SyntheticPackages.Shape SHAPE =
+      new SyntheticPackages.Shape(25, 7, 3, 3, 40, 2, 25);
+
+  @TempDir
+  Path tempDir;
+
+  static Stream<Arguments> packages() {
+    return Stream
+        .of(ModuleType.SCORM_12, ModuleType.SCORM_2004, ModuleType.CMI5, ModuleType.AICC)
+        .flatMap(type -> Stream
+            .of(PackageBackend.values())
+            .map(backend -> Arguments.of(type, backend)));
+  }
+
+  /**
+   * Tests that each generated package is detected as its module type and parses without
+   * validation errors from each backend.
+   */
+  @ParameterizedTest
+  @MethodSource("packages")
+  void testGeneratedPackageParses(ModuleType type, PackageBackend backend) throws Exception {
+    String moduleType = type
+        .name()
+        .toLowerCase()
+        .replace("_", "");
+    FileAccess fileAccess = backend.open(SyntheticPackages.generate(moduleType, SHAPE), tempDir);
+    try {
+      assertEquals(type, new DefaultModuleTypeDetector(fileAccess).detectModuleType());
+
+      ParseResult<?> result = (ParseResult<?>) PackagePhaseBenchmark.ModulePhases
+          .of(moduleType)
+          .parse(fileAccess);
+      assertFalse(result
+          .validation()
+          .hasErrors(), () -> result
+          .validation()
+          .toString());
+      assertEquals("Synthetic Course", result
+          .metadata()
+          .getTitle());
+    } finally {
+      if (fileAccess instanceof AutoCloseable closeable) {
+        closeable.close();
+      }
+    }
+  }
+
+  /**
+   * Tests that the SCORM 2004 generator honours the shape and is deterministic.
+   */
+  @Test
+  void testScorm2004ShapeIsHonoured() throws Exception {
+    Map<String, byte[]> files = SyntheticPackages.generate(SyntheticPackages.SCORM2004, SHAPE);
+
+    assertEquals(1 + 7 * 3 + 2, files.size());
+    assertArrayEquals(files.get("imsmanifest.xml"), SyntheticPackages
+        .generate(SyntheticPackages.SCORM2004, SHAPE)
+        .get("imsmanifest.xml"));
+
+    PackagePhaseBenchmark.ModulePhases phases = PackagePhaseBenchmark.ModulePhases.SCORM2004;
+    Scorm2004Metadata metadata = (Scorm2004Metadata) phases.extract(
+        phases.bind(PackageBackend.IN_MEMORY.open(files, tempDir)));
+    assertTrue(metadata.isHasSequencing());
+  }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.impl.access;
+
+import dev.jcputney.elearning.parser.api.RangeReader;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link RangeReader} counting the reads and bytes read through another reader, standing in for
+ * the requests a remote store would serve.
+ */
+public final class CountingRangeReader implements RangeReader {
+
+  private final RangeReader delegate;
+
+  private final AtomicInteger reads = new AtomicInteger();
+
+  private final AtomicLong bytesRead = new AtomicLong();
+
+  /**
+   * Creates a reader counting the reads of another.
+   *
+   * @param delegate the reader to count the reads of
+   */
+  public CountingRangeReader(RangeReader delegate) {
+    this.delegate = delegate;
+  }
+
+  @Override
+  public long size() throws IOException {
+    return delegate.size();
+  }
+
+  @Override
+  public byte[] read(long position, int length) throws IOException {
+    reads.incrementAndGet();
+    bytesRead.addAndGet(length);
+    return delegate.read(position, length);
+  }
+
+  @Override
+  public String getName() {
+    return delegate.getName();
+  }
+
+  @Override
+  public void close() throws IOException {
+    delegate.close();
+  }
+
+  /**
+   * Gets the number of reads.
+   *
+   * @return the number of reads
+   */
+  public int getReads() {
+    return reads.get();
+  }
+
+  /**
+   * Gets the number of bytes read.
+   *
+   * @return the number of bytes read
+   */
+  public long getBytesRead() {
+    return bytesRead.get();
+  }
+}
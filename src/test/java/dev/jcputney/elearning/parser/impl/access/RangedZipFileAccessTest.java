@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.impl.access;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipOutputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Tests for the {@link RangedZipFileAccess}, {@link ZipCentralDirectory} and
+ * {@link LocalRangeReader} classes.
+ */
+class RangedZipFileAccessTest {
+
+  private static final String ZIPS = "src/test/resources/modules/zips/";
+
+  @TempDir
+  Path tempDir;
+
+  @ParameterizedTest
+  @ValueSource(strings = {"scorm12.zip", "scorm2004.zip", "aicc.zip", "cmi5.zip"})
+  void testMatchesZipFileAccess(String zip) throws IOException {
+    try (ZipFileAccess expected = new ZipFileAccess(ZIPS + zip);
+        RangedZipFileAccess actual = new RangedZipFileAccess(
+            new LocalRangeReader(Path.of(ZIPS + zip)))) {
+      assertEquals(expected.getRootPath(), actual.getRootPath());
+      assertEquals(expected.getTotalSize(), actual.getTotalSize());
+      List<String> files = expected.listFiles("");
+      assertEquals(files, actual.listFiles(""));
+      for (String file : files) {
+        assertTrue(actual.fileExists(file));
+        assertEquals(expected.getFileVersion(file), actual.getFileVersion(file));
+        try (InputStream expectedContents = expected.getFileContents(file);
+            InputStream actualContents = actual.getFileContents(file)) {
+          assertArrayEquals(expectedContents.readAllBytes(), actualContents.readAllBytes(), file);
+        }
+      }
+      assertFalse(actual.fileExists("missing.xml"));
+      assertNull(actual.getFileVersion("missing.xml"));
+      assertThrows(IOException.class, () -> actual.getFileContents("missing.xml"));
+    }
+  }
+
+  @Test
+  void testCentralDirectoryAndEntryAreReadOnce() throws IOException {
+    CountingRangeReader reader = new CountingRangeReader(
+        new LocalRangeReader(Path.of(ZIPS + "scorm2004.zip")));
+    try (RangedZipFileAccess access = new RangedZipFileAccess(reader)) {
+      assertEquals(1, reader.getReads());
+
+      access
+          .getFileContents("imsmanifest.xml")
+          .close();
+      access
+          .getFileContents("imsmanifest.xml")
+          .close();
+
+      assertEquals(2, reader.getReads());
+      assertTrue(reader.getBytesRead() < reader.size() / 2);
+    }
+  }
+
+  @Test
+  void testZip64Archive() throws IOException {
+    Path zip = tempDir.resolve("zip64.zip");
+    int entryCount = 0x10000 + 10;
+    try (ZipOutputStream out = new ZipOutputStream(
+        new BufferedOutputStream(Files.newOutputStream(zip)))) {
+      for (int i = 0; i < entryCount; i++) {
+        byte[] content = Integer
+            .toString(i)
+            .getBytes(StandardCharsets.UTF_8);
+        CRC32 crc = new CRC32();
+        crc.update(content);
+        ZipEntry entry = new ZipEntry("course/" + i + ".txt");
+        entry.setMethod(ZipEntry.STORED);
+        entry.setSize(content.length);
+        entry.setCrc(crc.getValue());
+        out.putNextEntry(entry);
+        out.write(content);
+        out.closeEntry();
+      }
+    }
+
+    try (RangedZipFileAccess access = new RangedZipFileAccess(new LocalRangeReader(zip))) {
+      assertEquals(entryCount, access
+          .getCentralDirectory()
+          .getEntries()
+          .size());
+      assertEquals("course", access.getRootPath());
+      try (InputStream contents = access.getFileContents((entryCount - 1) + ".txt")) {
+        assertEquals(Integer.toString(entryCount - 1),
+            new String(contents.readAllBytes(), StandardCharsets.UTF_8));
+      }
+    }
+  }
+
+  @Test
+  void testArchiveWithPrependedData() throws IOException {
+    Path zip = tempDir.resolve("prepended.zip");
+    try (OutputStream out = Files.newOutputStream(zip)) {
+      out.write(new byte[1000]);
+      Files.copy(Path.of(ZIPS + "aicc.zip"), out);
+    }
+
+    try (ZipFileAccess expected = new ZipFileAccess(ZIPS + "aicc.zip");
+        RangedZipFileAccess actual = new RangedZipFileAccess(new LocalRangeReader(zip))) {
+      for (String file : expected.listFiles("")) {
+        try (InputStream expectedContents = expected.getFileContents(file);
+            InputStream actualContents = actual.getFileContents(file)) {
+          assertArrayEquals(expectedContents.readAllBytes(), actualContents.readAllBytes(), file);
+        }
+      }
+    }
+  }
+
+  @Test
+  void testNotAZipArchive() throws IOException {
+    Path file = tempDir.resolve("not-a-zip.zip");
+    Files.write(file, new byte[100]);
+
+    try (LocalRangeReader reader = new LocalRangeReader(file)) {
+      assertThrows(ZipException.class, () -> ZipCentralDirectory.read(reader));
+      assertThrows(IOException.class, () -> reader.read(90, 20));
+    }
+    assertThrows(IllegalArgumentException.class, () -> new RangedZipFileAccess(null));
+  }
+}
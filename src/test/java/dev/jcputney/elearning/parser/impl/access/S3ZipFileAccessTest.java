@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.impl.access;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import dev.jcputney.elearning.parser.benchmark.InMemoryS3;
+import dev.jcputney.elearning.parser.impl.factory.DefaultModuleParserFactory;
+import dev.jcputney.elearning.parser.output.ModuleMetadata;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for the {@link S3ZipFileAccess} class and the ranged reads of {@link RangedZipFileAccess}.
+ */
+class S3ZipFileAccessTest {
+
+  private static final String ZIPS = "src/test/resources/modules/zips/";
+
+  private static final String KEY = "packages/scorm2004.zip";
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void testParsesZipObjectWithBothSdks() throws Exception {
+    byte[] zip = Files.readAllBytes(Path.of(ZIPS + "scorm2004.zip"));
+    InMemoryS3 s3 = new InMemoryS3(Map.of("scorm2004.zip", zip), "packages/");
+
+    ModuleMetadata<?> expected;
+    try (ZipFileAccess local = new ZipFileAccess(ZIPS + "scorm2004.zip")) {
+      expected = new DefaultModuleParserFactory(local).parseModule();
+    }
+    try (S3ZipFileAccess v1 = S3ZipFileAccess.forV1(s3.v1Client(), "bucket", KEY);
+        S3ZipFileAccess v2 = S3ZipFileAccess.forV2(s3.v2Client(), "bucket", KEY, zip.length)) {
+      v2.prefetchCommonFiles();
+
+      assertEquals(expected.getTitle(), new DefaultModuleParserFactory(v1)
+          .parseModule()
+          .getTitle());
+      ModuleMetadata<?> actual = new DefaultModuleParserFactory(v2).parseModule();
+      assertEquals(expected.getTitle(), actual.getTitle());
+      assertEquals(expected.getLaunchUrl(), actual.getLaunchUrl());
+      assertEquals(v1.listFiles(""), v2.listFiles(""));
+    }
+  }
+
+  @Test
+  void testCentralDirectoryCanBeReused() throws IOException {
+    byte[] zip = Files.readAllBytes(Path.of(ZIPS + "scorm2004.zip"));
+    InMemoryS3 s3 = new InMemoryS3(Map.of("scorm2004.zip", zip), "packages/");
+    ZipCentralDirectory directory;
+    try (S3ZipFileAccess first = S3ZipFileAccess.forV2(s3.v2Client(), "bucket", KEY)) {
+      directory = first.getCentralDirectory();
+    }
+
+    CountingRangeReader reader = new CountingRangeReader(
+        new S3RangeReaderV2(s3.v2Client(), "bucket", KEY, zip.length));
+    try (S3ZipFileAccess second = S3ZipFileAccess.of(reader, directory)) {
+      assertTrue(second.fileExists("imsmanifest.xml"));
+      assertEquals(0, reader.getReads());
+    }
+  }
+
+  @Test
+  void testAdjacentDescriptorFilesAreFetchedTogether() throws IOException {
+    CountingRangeReader reader = new CountingRangeReader(
+        new LocalRangeReader(Path.of(ZIPS + "aicc.zip")));
+    try (RangedZipFileAccess access = new RangedZipFileAccess(reader)) {
+      access.prefetchCommonFiles();
+      assertEquals(2, reader.getReads());
+
+      for (String file : List.of("assessment.au", "assessment.crs", "assessment.cst",
+          "assessment.des")) {
+        access
+            .getFileContents(file)
+            .close();
+      }
+      assertEquals(2, reader.getReads());
+
+      access
+          .getFileContents("Api.js")
+          .close();
+      assertEquals(3, reader.getReads());
+    }
+  }
+
+  @Test
+  void testLargeEntryIsStreamedInRanges() throws IOException {
+    byte[] content = new byte[5 * 1024 * 1024];
+    new Random(42).nextBytes(content);
+    Path zip = tempDir.resolve("large.zip");
+    try (ZipOutputStream out = new ZipOutputStream(
+        new BufferedOutputStream(Files.newOutputStream(zip)))) {
+      out.putNextEntry(new ZipEntry("imsmanifest.xml"));
+      out.write("<manifest/>".getBytes());
+      out.putNextEntry(new ZipEntry("media/video.bin"));
+      out.write(content);
+      out.closeEntry();
+    }
+
+    CountingRangeReader reader = new CountingRangeReader(new LocalRangeReader(zip));
+    try (RangedZipFileAccess access = new RangedZipFileAccess(reader);
+        InputStream stream = access.getFileContents("media/video.bin")) {
+      assertArrayEquals(content, stream.readAllBytes());
+      assertTrue(reader.getReads() > 5);
+    }
+
+    byte[] corrupt = Files.readAllBytes(zip);
+    corrupt[corrupt.length / 2] ^= 0x55;
+    Files.write(zip, corrupt);
+    try (RangedZipFileAccess access = new RangedZipFileAccess(new LocalRangeReader(zip));
+        InputStream stream = access.getFileContents("media/video.bin")) {
+      assertThrows(IOException.class, stream::readAllBytes);
+    }
+  }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.impl.factory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import dev.jcputney.elearning.parser.api.ParseResult;
+import dev.jcputney.elearning.parser.api.ParserOptions;
+import dev.jcputney.elearning.parser.enums.ModuleType;
+import dev.jcputney.elearning.parser.enums.ParsePhase;
+import dev.jcputney.elearning.parser.impl.access.LocalFileAccess;
+import dev.jcputney.elearning.parser.impl.access.ZipFileAccess;
+import dev.jcputney.elearning.parser.impl.cache.DiskParseResultCache;
+import dev.jcputney.elearning.parser.impl.cache.PackageFingerprint;
+import dev.jcputney.elearning.parser.output.ModuleMetadata;
+import dev.jcputney.elearning.parser.util.ParseMetrics;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for the CachingModuleParserFactory, DiskParseResultCache and PackageFingerprint classes.
+ */
+class CachingModuleParserFactoryTest {
+
+  private static final Path MODULE_PATH =
+      Path.of("src/test/resources/modules/scorm12/ContentPackagingSingleSCO_SCORM12");
+
+  private static final String ZIP_PATH = "src/test/resources/modules/zips/scorm12.zip";
+
+  @TempDir
+  Path tempDir;
+
+  private Path modulePath;
+
+  private Path cacheDir;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    modulePath = tempDir.resolve("module");
+    cacheDir = tempDir.resolve("cache");
+    try (Stream<Path> files = Files.walk(MODULE_PATH)) {
+      for (Path source : (Iterable<Path>) files::iterator) {
+        Path target = modulePath.resolve(MODULE_PATH
+            .relativize(source)
+            .toString());
+        if (Files.isDirectory(source)) {
+          Files.createDirectories(target);
+        } else {
+          Files.copy(source, target);
+        }
+      }
+    }
+  }
+
+  @Test
+  void testWarmRestartParsesNothing() throws Exception {
+    ParseResult<?> cold = new CachingModuleParserFactory(
+        new LocalFileAccess(modulePath.toString()), new DiskParseResultCache(cacheDir))
+        .parseAndValidate();
+
+    // A new cache over the same directory stands for a restarted application
+    DiskParseResultCache cache = new DiskParseResultCache(cacheDir);
+    ParseMetrics metrics = new ParseMetrics();
+    ParseResult<?> warm = new CachingModuleParserFactory(
+        new LocalFileAccess(modulePath.toString()), new ParserOptions().setParseListener(metrics),
+        cache)
+        .parseAndValidate();
+
+    assertEquals(1, cache.getHits());
+    assertEquals(0, cache.getMisses());
+    assertEquals(0, metrics
+        .getWallTimeNanos(ParsePhase.DETECTION)
+        .getCount());
+    assertEquals(0, metrics
+        .getWallTimeNanos(ParsePhase.XML_BINDING)
+        .getCount());
+    assertEquals(ModuleType.SCORM_12, warm
+        .metadata()
+        .getModuleType());
+    assertEquals(cold
+        .metadata()
+        .getTitle(), warm
+        .metadata()
+        .getTitle());
+    assertEquals(cold
+        .validation()
+        .getAllIssues(), warm
+        .validation()
+        .getAllIssues());
+  }
+
+  @Test
+  void testChangedManifestInvalidatesEntry() throws Exception {
+    DiskParseResultCache cache = new DiskParseResultCache(cacheDir);
+    LocalFileAccess fileAccess = new LocalFileAccess(modulePath.toString());
+    new CachingModuleParserFactory(fileAccess, cache).parseModule();
+    String before = PackageFingerprint.compute(fileAccess);
+
+    Path manifest = modulePath.resolve("imsmanifest.xml");
+    String contents = Files
+        .readString(manifest, StandardCharsets.UTF_8)
+        .replace("Golf Explained - CP Single SCO", "Golf Explained - Revised");
+    Files.writeString(manifest, contents, StandardCharsets.UTF_8,
+        StandardOpenOption.TRUNCATE_EXISTING);
+
+    ModuleMetadata<?> metadata = new CachingModuleParserFactory(
+        new LocalFileAccess(modulePath.toString()), cache)
+        .parseModule();
+
+    assertNotEquals(before, PackageFingerprint.compute(fileAccess));
+    assertEquals(0, cache.getHits());
+    assertEquals(2, cache.getMisses());
+    assertEquals("Golf Explained - Revised", metadata.getTitle());
+  }
+
+  @Test
+  void testLibraryVersionChangeInvalidatesCache() throws Exception {
+    new CachingModuleParserFactory(new LocalFileAccess(modulePath.toString()),
+        new DiskParseResultCache(cacheDir, "1.0.0"))
+        .parseModule();
+
+    DiskParseResultCache upgraded = new DiskParseResultCache(cacheDir, "2.0.0");
+    new CachingModuleParserFactory(new LocalFileAccess(modulePath.toString()), upgraded)
+        .parseModule();
+    new CachingModuleParserFactory(new LocalFileAccess(modulePath.toString()), upgraded)
+        .parseModule();
+
+    assertEquals(1, upgraded.getMisses());
+    assertEquals(1, upgraded.getHits());
+  }
+
+  @Test
+  void testOptionsChangingTheResultAreCachedSeparately() throws Exception {
+    DiskParseResultCache cache = new DiskParseResultCache(cacheDir);
+    ParserOptions[] variants = {
+        new ParserOptions(),
+        new ParserOptions().setStreamAiccTables(true),
+        new ParserOptions().setStreamCmi5Structure(true),
+        new ParserOptions().setLazyExternalMetadata(true),
+        new ParserOptions()
+            .setLazyExternalMetadata(true)
+            .setPrefetchExternalMetadata(true)
+    };
+    for (ParserOptions options : variants) {
+      new CachingModuleParserFactory(new LocalFileAccess(modulePath.toString()), options, cache)
+          .parseModule();
+    }
+    new CachingModuleParserFactory(new LocalFileAccess(modulePath.toString()),
+        new ParserOptions().setExternalMetadataParallelism(2), cache)
+        .parseModule();
+
+    assertEquals(variants.length, cache.getMisses());
+    assertEquals(1, cache.getHits());
+  }
+
+  @Test
+  void testCorruptEntryIsDiscarded() throws Exception {
+    DiskParseResultCache cache = new DiskParseResultCache(cacheDir);
+    new CachingModuleParserFactory(new LocalFileAccess(modulePath.toString()), cache)
+        .parseModule();
+    try (Stream<Path> entries = Files.list(cacheDir)) {
+      for (Path entry : (Iterable<Path>) entries::iterator) {
+        Files.write(entry, new byte[]{1, 2, 3});
+      }
+    }
+
+    ModuleMetadata<?> metadata = new CachingModuleParserFactory(
+        new LocalFileAccess(modulePath.toString()), cache)
+        .parseModule();
+
+    assertEquals(ModuleType.SCORM_12, metadata.getModuleType());
+    assertEquals(0, cache.getHits());
+    assertEquals(2, cache.getMisses());
+  }
+
+  @Test
+  void testZipPackagesAreFingerprintedByEntry() throws Exception {
+    DiskParseResultCache cache = new DiskParseResultCache(cacheDir);
+    try (ZipFileAccess first = new ZipFileAccess(ZIP_PATH);
+        ZipFileAccess second = new ZipFileAccess(ZIP_PATH)) {
+      assertEquals(PackageFingerprint.compute(first), PackageFingerprint.compute(second));
+
+      new CachingModuleParserFactory(first, cache).parseModule();
+      new CachingModuleParserFactory(second, cache).parseModule();
+    }
+
+    assertEquals(1, cache.getHits());
+    assertNull(cache.get("unknown"));
+    assertThrows(IllegalArgumentException.class, () -> new CachingModuleParserFactory(
+        new LocalFileAccess(modulePath.toString()), null));
+  }
+}
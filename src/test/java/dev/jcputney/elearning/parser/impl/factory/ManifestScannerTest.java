@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.impl.factory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import dev.jcputney.elearning.parser.api.ParserOptions;
+import dev.jcputney.elearning.parser.benchmark.InMemoryS3;
+import dev.jcputney.elearning.parser.impl.access.CountingRangeReader;
+import dev.jcputney.elearning.parser.impl.access.LocalRangeReader;
+import dev.jcputney.elearning.parser.impl.access.S3RangeReaderV1;
+import dev.jcputney.elearning.parser.impl.access.S3RangeReaderV2;
+import dev.jcputney.elearning.parser.impl.access.ZipFileAccess;
+import dev.jcputney.elearning.parser.output.ModuleMetadata;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Tests for the ManifestScanner class.
+ */
+class ManifestScannerTest {
+
+  private static final String ZIPS = "src/test/resources/modules/zips/";
+
+  @ParameterizedTest
+  @ValueSource(strings = {"scorm12.zip", "scorm2004.zip", "aicc.zip", "cmi5.zip"})
+  void testScanMatchesFullParse(String zip) throws Exception {
+    ModuleMetadata<?> expected;
+    try (ZipFileAccess fileAccess = new ZipFileAccess(ZIPS + zip)) {
+      expected = new DefaultModuleParserFactory(fileAccess, ParserOptions.lenient()).parseModule();
+    }
+
+    ModuleMetadata<?> actual = new ManifestScanner().scan(Path.of(ZIPS + zip));
+
+    assertEquals(expected.getModuleType(), actual.getModuleType());
+    assertEquals(expected.getTitle(), actual.getTitle());
+    assertEquals(expected.getLaunchUrl(), actual.getLaunchUrl());
+    assertEquals(expected.getIdentifier(), actual.getIdentifier());
+  }
+
+  @Test
+  void testScanReadsOnlyCentralDirectoryAndManifest() throws Exception {
+    try (CountingRangeReader reader = new CountingRangeReader(
+        new LocalRangeReader(Path.of(ZIPS + "scorm2004.zip")))) {
+      ModuleMetadata<?> metadata = new ManifestScanner().scan(reader);
+
+      assertTrue(metadata.getTitle() != null && !metadata
+          .getTitle()
+          .isEmpty());
+      assertEquals(2, reader.getReads());
+      assertTrue(reader.getBytesRead() < reader.size() / 4);
+    }
+  }
+
+  @Test
+  void testScanS3Objects() throws Exception {
+    byte[] zip = Files.readAllBytes(Path.of(ZIPS + "scorm12.zip"));
+    InMemoryS3 s3 = new InMemoryS3(Map.of("scorm12.zip", zip), "packages/");
+    ManifestScanner scanner = new ManifestScanner();
+
+    ModuleMetadata<?> v1 = scanner.scan(
+        new S3RangeReaderV1(s3.v1Client(), "bucket", "packages/scorm12.zip"));
+    ModuleMetadata<?> v2 = scanner.scan(
+        new S3RangeReaderV2(s3.v2Client(), "bucket", "packages/scorm12.zip", zip.length));
+
+    assertEquals(scanner
+        .scan(Path.of(ZIPS + "scorm12.zip"))
+        .getTitle(), v1.getTitle());
+    assertEquals(v1.getTitle(), v2.getTitle());
+    assertEquals(v1.getLaunchUrl(), v2.getLaunchUrl());
+    assertThrows(IllegalArgumentException.class, () -> new ManifestScanner(null));
+  }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.input.cmi5;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import dev.jcputney.elearning.parser.output.metadata.cmi5.Cmi5Metadata;
+import dev.jcputney.elearning.parser.output.metadata.cmi5.Cmi5MetadataCollector;
+import dev.jcputney.elearning.parser.util.XmlParsingUtils;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the {@link Cmi5StreamReader} class.
+ */
+class Cmi5StreamReaderTest {
+
+  private static final String STRUCTURE = """
+      <?xml version="1.0" encoding="UTF-8"?>
+      <courseStructure xmlns="https://w3id.org/xapi/profiles/cmi5/v1/CourseStructure.xsd">
+        <course id="course">
+          <title><langstring lang="en-US">Course</langstring></title>
+        </course>
+        <objectives>
+          <objective id="obj-1"><title><langstring lang="en-US">One</langstring></title></objective>
+        </objectives>
+        <au id="au-root" launchMethod="AnyWindow"><url>root.html</url></au>
+        <block id="b1">
+          <title><langstring lang="en-US">Block 1</langstring></title>
+          <block id="b1.1">
+            <title><langstring lang="en-US">Block 1.1</langstring></title>
+            <au id="au-1.1a" moveOn="Passed" masteryScore="0.5"><url>a.html</url></au>
+          </block>
+          <au id="au-1a" moveOn="Completed"><url>b.html</url></au>
+          <au id="au-1b"><url>c.html</url></au>
+        </block>
+        <block id="b2">
+          <au id="au-2a"><url>d.html</url></au>
+        </block>
+      </courseStructure>
+      """;
+
+  /**
+   * Tests that events arrive in document order with depths, and that the metadata collected while
+   * streaming matches the metadata of the bound manifest, including the order of assignable units.
+   */
+  @Test
+  void testStreamedEventsAndMetadataMatchBoundManifest() throws Exception {
+    List<String> events = new ArrayList<>();
+    Cmi5MetadataCollector collector = new Cmi5MetadataCollector();
+    Cmi5StructureListener recorder = new Cmi5StructureListener() {
+      @Override
+      public void startBlock(Block block, int depth) {
+        String title = block.getTitle() == null ? "-" : block
+            .getTitle()
+            .getStrings()
+            .get(0)
+            .getValue();
+        events.add("start " + block.getId() + "@" + depth + " " + title);
+        collector.startBlock(block, depth);
+      }
+
+      @Override
+      public void assignableUnit(AU au, int depth) {
+        events.add("au " + au.getId() + "@" + depth);
+        collector.assignableUnit(au, depth);
+      }
+
+      @Override
+      public void endBlock(Block block, int depth) {
+        events.add("end " + block.getId());
+        collector.endBlock(block, depth);
+      }
+    };
+
+    Cmi5Manifest streamed = Cmi5StreamReader.read(stream(STRUCTURE), recorder);
+    Cmi5Manifest bound = XmlParsingUtils.parseXmlToObject(stream(STRUCTURE), Cmi5Manifest.class);
+
+    assertEquals(List.of("au au-root@0", "start b1@0 Block 1", "start b1.1@1 Block 1.1",
+        "au au-1.1a@2", "end b1.1", "au au-1a@1", "au au-1b@1", "end b1", "start b2@0 -",
+        "au au-2a@1", "end b2"), events);
+
+    Cmi5Metadata fromStream = Cmi5Metadata.create(streamed, collector, true);
+    Cmi5Metadata fromBound = Cmi5Metadata.create(bound, true);
+    assertEquals(List.of("au-root", "au-1a", "au-1b", "au-1.1a", "au-2a"),
+        fromStream.getAssignableUnitIds());
+    assertEquals(fromBound.getAssignableUnitIds(), fromStream.getAssignableUnitIds());
+    assertEquals(fromBound.getAssignableUnitUrls(), fromStream.getAssignableUnitUrls());
+    assertEquals(fromBound.getAuDetails(), fromStream.getAuDetails());
+    assertEquals(fromBound.getMasteryScores(), fromStream.getMasteryScores());
+    assertEquals(fromBound.getMoveOnCriteria(), fromStream.getMoveOnCriteria());
+    assertEquals(fromBound.getLaunchMethods(), fromStream.getLaunchMethods());
+    assertEquals(List.of("b1", "b2"), fromStream.getBlockIds());
+    assertEquals(List.of("obj-1"), fromStream.getObjectiveIds());
+
+    assertEquals(bound.getTitle(), streamed.getTitle());
+    assertEquals(bound.getLaunchUrl(), streamed.getLaunchUrl());
+    assertEquals(1, streamed
+        .getAssignableUnits()
+        .size());
+    assertEquals(2, streamed
+        .getBlocks()
+        .size());
+    assertNull(streamed
+        .getBlocks()
+        .get(0)
+        .getNestedBlocks());
+    assertNull(streamed
+        .getBlocks()
+        .get(1)
+        .getAssignableUnits());
+  }
+
+  /**
+   * Tests that root-level assignable units between blocks do not cut the list of top-level blocks
+   * short.
+   */
+  @Test
+  void testInterleavedRootElementsAreKept() throws Exception {
+    String xml = "<courseStructure><block id=\"b1\"><au id=\"a\"><url>a</url></au></block>"
+        + "<au id=\"r\"><url>r</url></au>"
+        + "<block id=\"b2\"><au id=\"b\"><url>b</url></au></block></courseStructure>";
+
+    Cmi5MetadataCollector collector = new Cmi5MetadataCollector();
+    Cmi5Manifest manifest = Cmi5StreamReader.read(stream(xml), collector);
+    Cmi5Metadata metadata = Cmi5Metadata.create(manifest, collector, true);
+
+    assertEquals(List.of("r", "a", "b"), metadata.getAssignableUnitIds());
+    assertEquals(List.of("b1", "b2"), metadata.getBlockIds());
+    assertEquals("r", manifest.getLaunchUrl());
+  }
+
+  /**
+   * Tests that deeply nested blocks are streamed with one assignable unit per level, and that the
+   * launch URL falls back to the first top-level block.
+   */
+  @Test
+  void testDeeplyNestedBlocks() throws Exception {
+    int levels = 900;
+    StringBuilder xml = new StringBuilder(
+        "<courseStructure><course id=\"c\"><title><langstring>Deep</langstring></title></course>");
+    for (int i = 0; i < levels; i++) {
+      xml
+          .append("<block id=\"b")
+          .append(i)
+          .append("\"><au id=\"au")
+          .append(i)
+          .append("\"><url>")
+          .append(i)
+          .append(".html</url></au>");
+    }
+    xml.append("</block>".repeat(levels)).append("</courseStructure>");
+
+    Cmi5MetadataCollector collector = new Cmi5MetadataCollector();
+    Cmi5Manifest manifest = Cmi5StreamReader.read(stream(xml.toString()), collector);
+    Cmi5Metadata metadata = Cmi5Metadata.create(manifest, collector, true);
+
+    assertEquals(levels, metadata
+        .getAssignableUnitIds()
+        .size());
+    assertEquals("au0", metadata
+        .getAssignableUnitIds()
+        .get(0));
+    assertEquals("au" + (levels - 1), metadata
+        .getAssignableUnitIds()
+        .get(levels - 1));
+    assertEquals(List.of("b0"), metadata.getBlockIds());
+    assertEquals("0.html", manifest.getLaunchUrl());
+  }
+
+  private static InputStream stream(String xml) {
+    return new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.input.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import dev.jcputney.elearning.parser.input.lom.LOM;
+import dev.jcputney.elearning.parser.input.lom.types.LangString;
+import dev.jcputney.elearning.parser.input.lom.types.UnboundLangString;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Tests that the streaming {@link LangStringListDeserializer} and {@link LangStringDeserializer}
+ * accept the same shapes, and produce the same values, as the tree-based implementations they
+ * replaced.
+ */
+class LangStringListDeserializerTest {
+
+  private static final XmlMapper STREAMING_XML = new XmlMapper();
+  private static final XmlMapper TREE_XML = new XmlMapper();
+  private static final ObjectMapper STREAMING_JSON = new ObjectMapper();
+  private static final ObjectMapper TREE_JSON = new ObjectMapper();
+
+  static {
+    STREAMING_XML.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    TREE_XML.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    TREE_XML.addMixIn(UnboundLangString.class,
+        TreeLangStringListDeserializer.UnboundLangStringMixIn.class);
+    TREE_JSON.addMixIn(UnboundLangString.class,
+        TreeLangStringListDeserializer.UnboundLangStringMixIn.class);
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {
+      "scorm12/ContentPackagingWithMetadata_SCORM12/metadata.xml",
+      "scorm2004/ContentPackagingMetadata_SCORM20043rdEdition/metadata_course.xml",
+      "scorm2004/ContentPackagingMetadata_SCORM20043rdEdition/metadata_organization.xml"
+  })
+  void testLomFixturesMatchTreeDeserializer(String fixture) throws IOException {
+    byte[] xml = Files.readAllBytes(Path.of("src/test/resources/modules", fixture));
+
+    LOM streamed = STREAMING_XML.readValue(xml, LOM.class);
+    LOM tree = TREE_XML.readValue(xml, LOM.class);
+
+    assertNotNull(streamed);
+    assertEquals(tree, streamed);
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {
+      "<title><string language=\"en\">A</string><string language=\"fr\">B</string></title>",
+      "<title><string>  plain  </string></title>",
+      "<title><string language=\"en\">\n    First line\n      indented\n  </string></title>",
+      "<title><string language=\"en\"/></title>",
+      "<title><string/></title>",
+      "<title><langstring xml:lang=\"x-none\">LOMv1.0</langstring></title>",
+      "<title><langstring>a</langstring><langstring>b</langstring></title>",
+      "<title><langstring lang=\"en\">a</langstring><langstring>b</langstring></title>"
+  })
+  void testXmlShapesMatchTreeDeserializer(String xml) throws IOException {
+    assertEquals(TREE_XML.readValue(xml, UnboundLangString.class),
+        STREAMING_XML.readValue(xml, UnboundLangString.class));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {
+      "{\"langStrings\":\"  single  \"}",
+      "{\"langStrings\":42}",
+      "{\"langStrings\":[\"  a  \",{\"language\":\"en\",\"value\":\"b\"},null]}",
+      "{\"langStrings\":{\"language\":\"en\",\"value\":\" v \"}}",
+      "{\"langStrings\":{}}",
+      "{\"langStrings\":{\"string\":\" nested \"}}",
+      "{\"langStrings\":{\"langstring\":[{\"lang\":\"en\",\"value\":\"x\"}]}}",
+      "{\"langStrings\":{\"langstring\":\"y\",\"other\":[1,2],\"string\":{\"value\":\"z\"}}}",
+      "{\"langstring\":[\"a\",\"b\"]}"
+  })
+  void testJsonShapesMatchTreeDeserializer(String json) throws IOException {
+    assertEquals(TREE_JSON.readValue(json, UnboundLangString.class),
+        STREAMING_JSON.readValue(json, UnboundLangString.class));
+  }
+
+  @Test
+  void testSingleValueIsTrimmed() throws IOException {
+    UnboundLangString value = STREAMING_JSON.readValue("{\"langStrings\":\"  text  \"}",
+        UnboundLangString.class);
+
+    assertEquals(List.of(new LangString("text")), value.getLangStrings());
+  }
+
+  @Test
+  void testLangStringDeserializerReadsObjectFields() throws IOException {
+    ObjectMapper mapper = new ObjectMapper().registerModule(new SimpleModule()
+        .addDeserializer(LangString.class, new LangStringDeserializer()));
+
+    LangString preferred = mapper.readValue(
+        "{\"@language\":\"fr\",\"language\":\"en\",\"#text\":\"t\",\"value\":\"v\",\"x\":[1]}",
+        LangString.class);
+    LangString fallback = mapper.readValue("{\"@language\":\"fr\",\"\":\"text\"}",
+        LangString.class);
+    LangString textual = mapper.readValue("\"plain\"", LangString.class);
+    LangString array = mapper.readValue("[\"ignored\"]", LangString.class);
+
+    assertEquals(new LangString("en", "v"), preferred);
+    assertEquals(new LangString("fr", "text"), fallback);
+    assertEquals(new LangString(null, "plain"), textual);
+    assertNull(array.getValue());
+  }
+
+  @Test
+  void testLangStringDeserializerReadsXmlAttributesAndText() throws IOException {
+    XmlMapper mapper = new XmlMapper();
+    mapper.registerModule(new SimpleModule()
+        .addDeserializer(LangString.class, new LangStringDeserializer()));
+
+    LangString value = mapper.readValue("<string language=\"en\">Text</string>",
+        LangString.class);
+
+    assertEquals(new LangString("en", "Text"), value);
+  }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.input.common;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.ValueNode;
+import dev.jcputney.elearning.parser.input.lom.types.LangString;
+import dev.jcputney.elearning.parser.input.lom.types.UnboundLangString;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The tree-based implementation {@link LangStringListDeserializer} replaced, kept as a reference
+ * for equivalence tests and benchmarks. It reads each value into a {@code JsonNode} tree and then
+ * converts the tree elements into {@link LangString}s.
+ */
+public class TreeLangStringListDeserializer extends JsonDeserializer<List<LangString>> {
+
+  @Override
+  public List<LangString> deserialize(JsonParser p, DeserializationContext context)
+      throws IOException {
+    ObjectMapper mapper = (ObjectMapper) p.getCodec();
+    JsonNode node = mapper.readTree(p);
+    List<LangString> result = new ArrayList<>();
+
+    if (node instanceof ObjectNode objectNode) {
+      if (objectNode.has("string")) {
+        node = objectNode.get("string");
+      } else if (objectNode.has("langstring")) {
+        node = objectNode.get("langstring");
+      }
+    }
+
+    if (node instanceof ValueNode valueNode) {
+      result.add(new LangString(valueNode
+          .asText()
+          .trim()));
+    } else if (node.isArray()) {
+      for (JsonNode elementNode : (ArrayNode) node) {
+        result.add(mapper.treeToValue(elementNode, LangString.class));
+      }
+    } else {
+      result.add(mapper.treeToValue(node, LangString.class));
+    }
+
+    return result;
+  }
+
+  /**
+   * A mix-in for {@link UnboundLangString} that deserializes its strings with this tree-based
+   * implementation instead of the streaming one.
+   */
+  public abstract static class UnboundLangStringMixIn {
+
+    @JsonDeserialize(using = TreeLangStringListDeserializer.class)
+    private List<LangString> langStrings;
+  }
+}
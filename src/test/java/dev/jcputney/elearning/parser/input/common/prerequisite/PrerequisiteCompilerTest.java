@@ -0,0 +1,319 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.input.common.prerequisite;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import dev.jcputney.elearning.parser.impl.access.LocalFileAccess;
+import dev.jcputney.elearning.parser.input.aicc.AiccManifest;
+import dev.jcputney.elearning.parser.input.aicc.AssignableUnit;
+import dev.jcputney.elearning.parser.input.aicc.prereq.AiccPrerequisiteExpression;
+import dev.jcputney.elearning.parser.input.aicc.prereq.AiccPrerequisiteNode;
+import dev.jcputney.elearning.parser.input.aicc.prereq.AiccPrerequisiteParser;
+import dev.jcputney.elearning.parser.input.scorm12.Scorm12Manifest;
+import dev.jcputney.elearning.parser.input.scorm12.adl.prerequisite.AndExpression;
+import dev.jcputney.elearning.parser.input.scorm12.adl.prerequisite.ItemReference;
+import dev.jcputney.elearning.parser.input.scorm12.adl.prerequisite.NotExpression;
+import dev.jcputney.elearning.parser.input.scorm12.adl.prerequisite.OrExpression;
+import dev.jcputney.elearning.parser.input.scorm12.adl.prerequisite.ParseError;
+import dev.jcputney.elearning.parser.input.scorm12.adl.prerequisite.PrerequisiteExpression;
+import dev.jcputney.elearning.parser.input.scorm12.adl.prerequisite.PrerequisiteParser;
+import dev.jcputney.elearning.parser.parsers.AiccParser;
+import dev.jcputney.elearning.parser.parsers.Scorm12Parser;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Tests for compiling prerequisite expressions and evaluating the compiled programs.
+ */
+class PrerequisiteCompilerTest {
+
+  private static final List<String> IDS = List.of("A", "B", "C", "D", "E");
+
+  @ParameterizedTest
+  @CsvSource({
+      "A & B, 'A,B', true",
+      "A & B, A, false",
+      "A | B, B, true",
+      "A | B, '', false",
+      "~A, '', true",
+      "~A, A, false",
+      "(A | B) & ~C, 'B', true",
+      "(A | B) & ~C, 'B,C', false",
+      "~(A & B) | C, 'A,B', false",
+      "~~A, A, true"
+  })
+  void testScorm12Evaluation(String expression, String completed, boolean expected) {
+    PrerequisiteCompiler compiler = PrerequisiteCompiler.forScorm12(IDS);
+
+    CompiledPrerequisite compiled = compiler.compile(expression);
+
+    assertTrue(compiled.isValid());
+    assertEquals(expected, compiled.isSatisfied(compiler.completionState(List.of(
+        completed.isEmpty() ? new String[0] : completed.split(",")))));
+  }
+
+  @Test
+  void testRandomScorm12ExpressionsMatchTreeEvaluation() {
+    Random random = new Random(42);
+    for (int n = 0; n < 500; n++) {
+      String expression = randomExpression(random, 4, " & ", " | ", "~");
+      PrerequisiteExpression tree = PrerequisiteParser.parse(expression);
+      PrerequisiteCompiler compiler = PrerequisiteCompiler.forScorm12(IDS);
+      CompiledPrerequisite compiled = compiler.compile(expression);
+
+      for (int mask = 0; mask < 1 << IDS.size(); mask++) {
+        BitSet state = stateOf(compiler, mask);
+        assertEquals(evaluate(tree, mask), compiled.isSatisfied(state), expression);
+      }
+    }
+  }
+
+  @Test
+  void testRandomAiccExpressionsMatchTreeEvaluation() {
+    Random random = new Random(7);
+    for (int n = 0; n < 500; n++) {
+      String expression = randomExpression(random, 4, " AND ", " OR ", "NOT ");
+      AiccPrerequisiteNode ast = AiccPrerequisiteParser
+          .parse(expression)
+          .map(AiccPrerequisiteExpression::getAst)
+          .orElseThrow();
+      PrerequisiteCompiler compiler = PrerequisiteCompiler.forAicc(IDS);
+      CompiledPrerequisite compiled = compiler.compile(expression);
+
+      for (int mask = 0; mask < 1 << IDS.size(); mask++) {
+        BitSet state = stateOf(compiler, mask);
+        assertEquals(evaluate(ast, mask), compiled.isSatisfied(state), expression);
+      }
+    }
+  }
+
+  @Test
+  void testJumpsExitWholeChain() {
+    PrerequisiteCompiler compiler = PrerequisiteCompiler.forAicc(IDS);
+
+    CompiledPrerequisite compiled = compiler.compile("A AND B AND C AND D");
+
+    // Four tests and three exits, with every exit pointing past the end of the program
+    assertEquals(7, compiled.size());
+    assertTrue(compiled.isSatisfied(compiler.completionState(List.of("A", "B", "C", "D"))));
+    assertFalse(compiled.isSatisfied(compiler.completionState(List.of("B", "C", "D"))));
+  }
+
+  @Test
+  void testCompiledFormsAreCachedByExpression() {
+    PrerequisiteCompiler compiler = PrerequisiteCompiler.forScorm12(IDS);
+
+    CompiledPrerequisite first = compiler.compile("A & B");
+
+    assertSame(first, compiler.compile("  A & B "));
+    assertNotSame(first, compiler.compile("A&B"));
+    assertEquals("A & B", first.getExpression());
+  }
+
+  @Test
+  void testIdentifiersAreInternedDensely() {
+    PrerequisiteCompiler compiler = PrerequisiteCompiler.forScorm12(List.of("B", "A", "B"));
+
+    compiler.compile("A & UNKNOWN");
+
+    assertEquals(3, compiler.size());
+    assertEquals(0, compiler.indexOf("B"));
+    assertEquals(1, compiler.indexOf("A"));
+    assertEquals(2, compiler.indexOf("UNKNOWN"));
+    assertEquals(-1, compiler.indexOf("MISSING"));
+    assertEquals("UNKNOWN", compiler.identifierAt(2));
+    assertEquals(BitSet.valueOf(new long[]{0b10}),
+        compiler.completionState(Set.of("A", "MISSING")));
+  }
+
+  @ParameterizedTest
+  @NullAndEmptySource
+  @ValueSource(strings = {"   "})
+  void testAbsentExpressionIsAlwaysSatisfied(String expression) {
+    CompiledPrerequisite compiled = PrerequisiteCompiler
+        .forScorm12(IDS)
+        .compile(expression);
+
+    assertTrue(compiled.isValid());
+    assertTrue(compiled.isSatisfied(new BitSet()));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"A & (B", "A &", "A ) B"})
+  void testInvalidExpressionIsAlwaysSatisfied(String expression) {
+    CompiledPrerequisite compiled = PrerequisiteCompiler
+        .forScorm12(IDS)
+        .compile(expression);
+
+    assertFalse(compiled.isValid());
+    assertTrue(compiled.isSatisfied(new BitSet()));
+  }
+
+  @Test
+  void testParsedAiccExpressionRequiresAiccCompiler() {
+    AiccPrerequisiteExpression expression = AiccPrerequisiteParser
+        .parse("A & B")
+        .orElseThrow();
+
+    assertThrows(IllegalStateException.class,
+        () -> PrerequisiteCompiler.forScorm12(IDS).compile(expression));
+  }
+
+  @Test
+  void testScorm12ManifestCachesCompiler() throws Exception {
+    Scorm12Manifest manifest = new Scorm12Parser(new LocalFileAccess(
+        "src/test/resources/modules/scorm12/PrerequisitesTest_SCORM12"))
+        .parseManifest(Scorm12Parser.MANIFEST_FILE);
+
+    PrerequisiteCompiler compiler = manifest.getPrerequisiteCompiler();
+
+    assertSame(compiler, manifest.getPrerequisiteCompiler());
+    assertEquals(0, compiler.indexOf("module1"));
+    assertEquals(3, compiler.indexOf("module4"));
+    CompiledPrerequisite module2 = compiler.compile("module1");
+    assertTrue(module2.isSatisfied(compiler.completionState(List.of("module1"))));
+    assertFalse(module2.isSatisfied(compiler.completionState(List.of())));
+    // The SCORM 1.2 script uses symbolic operators, so word operators do not parse
+    assertFalse(compiler
+        .compile("module1 AND module2")
+        .isValid());
+
+    manifest.setOrganizations(manifest.getOrganizations());
+    assertNotSame(compiler, manifest.getPrerequisiteCompiler());
+  }
+
+  @Test
+  void testAiccManifestCompilesAssignableUnitPrerequisites() throws Exception {
+    AiccManifest manifest = new AiccParser(
+        new LocalFileAccess("src/test/resources/modules/aicc/complex"))
+        .parseOnly()
+        .getManifest();
+    AssignableUnit assessment = manifest
+        .getAssignableUnits()
+        .stream()
+        .filter(au -> "A3".equals(au.getSystemId()))
+        .findFirst()
+        .orElseThrow();
+    PrerequisiteCompiler compiler = manifest.getPrerequisiteCompiler();
+
+    CompiledPrerequisite compiled = compiler.compile(assessment.getPrerequisiteModel());
+
+    assertSame(compiler, manifest.getPrerequisiteCompiler());
+    assertSame(compiled, compiler.compile(assessment.getPrerequisitesExpression()));
+    assertEquals(0, compiler.indexOf("A1"));
+    assertTrue(compiled.isSatisfied(compiler.completionState(List.of("A1", "A2"))));
+    assertFalse(compiled.isSatisfied(compiler.completionState(List.of("A1"))));
+
+    manifest.setAssignableUnits(manifest.getAssignableUnits());
+    assertNotSame(compiler, manifest.getPrerequisiteCompiler());
+  }
+
+  private static String randomExpression(Random random, int depth, String and, String or,
+      String not) {
+    int choice = depth == 0 ? 0 : random.nextInt(4);
+    return switch (choice) {
+      case 0 -> IDS.get(random.nextInt(IDS.size()));
+      case 1 -> not + randomOperand(random, depth, and, or, not);
+      default -> {
+        int operands = 2 + random.nextInt(3);
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < operands; i++) {
+          if (i > 0) {
+            builder.append(choice == 2 ? and : or);
+          }
+          builder.append(randomOperand(random, depth, and, or, not));
+        }
+        yield builder.toString();
+      }
+    };
+  }
+
+  private static String randomOperand(Random random, int depth, String and, String or,
+      String not) {
+    String operand = randomExpression(random, depth - 1, and, or, not);
+    return random.nextBoolean() || operand.indexOf(' ') >= 0 ? "(" + operand + ")" : operand;
+  }
+
+  private static BitSet stateOf(PrerequisiteCompiler compiler, int mask) {
+    BitSet state = new BitSet();
+    for (int i = 0; i < IDS.size(); i++) {
+      if ((mask & 1 << i) != 0 && compiler.indexOf(IDS.get(i)) >= 0) {
+        state.set(compiler.indexOf(IDS.get(i)));
+      }
+    }
+    return state;
+  }
+
+  private static boolean evaluate(PrerequisiteExpression expression, int mask) {
+    return expression.accept(new PrerequisiteExpression.Visitor<>() {
+      @Override
+      public Boolean visitAnd(AndExpression and) {
+        return and
+            .operands()
+            .stream()
+            .allMatch(operand -> evaluate(operand, mask));
+      }
+
+      @Override
+      public Boolean visitOr(OrExpression or) {
+        return or
+            .operands()
+            .stream()
+            .anyMatch(operand -> evaluate(operand, mask));
+      }
+
+      @Override
+      public Boolean visitNot(NotExpression not) {
+        return !evaluate(not.operand(), mask);
+      }
+
+      @Override
+      public Boolean visitItemReference(ItemReference itemRef) {
+        return (mask & 1 << IDS.indexOf(itemRef.identifier())) != 0;
+      }
+
+      @Override
+      public Boolean visitParseError(ParseError error) {
+        throw new AssertionError(error.errorMessage());
+      }
+    });
+  }
+
+  private static boolean evaluate(AiccPrerequisiteNode node, int mask) {
+    return switch (node.getType()) {
+      case IDENTIFIER -> (mask & 1 << IDS.indexOf(node.getValue())) != 0;
+      case NOT -> !evaluate(node
+          .getChildren()
+          .get(0), mask);
+      case AND -> node
+          .getChildren()
+          .stream()
+          .allMatch(child -> evaluate(child, mask));
+      case OR -> node
+          .getChildren()
+          .stream()
+          .anyMatch(child -> evaluate(child, mask));
+    };
+  }
+}
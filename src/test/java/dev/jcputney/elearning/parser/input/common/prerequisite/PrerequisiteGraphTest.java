@@ -0,0 +1,254 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.input.common.prerequisite;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import dev.jcputney.elearning.parser.impl.access.LocalFileAccess;
+import dev.jcputney.elearning.parser.output.metadata.aicc.AiccMetadata;
+import dev.jcputney.elearning.parser.output.metadata.scorm12.Scorm12Metadata;
+import dev.jcputney.elearning.parser.parsers.AiccParser;
+import dev.jcputney.elearning.parser.parsers.Scorm12Parser;
+import dev.jcputney.elearning.parser.validation.ValidationCodes;
+import dev.jcputney.elearning.parser.validation.ValidationIssue;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the prerequisite graph and its ordering, cycle and closure queries.
+ */
+class PrerequisiteGraphTest {
+
+  @Test
+  void testTopologicalOrderKeepsBuilderOrderWherePossible() {
+    PrerequisiteGraph graph = PrerequisiteGraph
+        .builder("TEST_CYCLE")
+        .addItems(List.of("A", "B", "C", "D"))
+        .addPrerequisite("C", "A")
+        .addPrerequisite("D", "B")
+        .build();
+
+    assertEquals(List.of("C", "A", "D", "B"), graph.getTopologicalOrder());
+    assertTrue(graph.isAcyclic());
+    assertTrue(graph
+        .getCycleIssues()
+        .isEmpty());
+  }
+
+  @Test
+  void testDirectRelationsAndIndexes() {
+    PrerequisiteGraph graph = PrerequisiteGraph
+        .builder("TEST_CYCLE")
+        .addItems(List.of("A", "B"))
+        .addPrerequisite("A", "B")
+        .addPrerequisite("A", "C")
+        .addPrerequisite("A", "B")
+        .addPrerequisite(null, "B")
+        .build();
+
+    assertEquals(3, graph.size());
+    assertEquals(2, graph.indexOf("C"));
+    assertEquals(-1, graph.indexOf("missing"));
+    assertEquals("C", graph.identifierAt(2));
+    assertArrayEquals(new int[]{1, 2}, graph.getDependentIndexes(0));
+    assertArrayEquals(new int[]{0}, graph.getPrerequisiteIndexes(1));
+    assertEquals(List.of("B", "C"), graph.getDependents("A"));
+    assertEquals(List.of("A"), graph.getPrerequisites("C"));
+    assertEquals(List.of(), graph.getPrerequisites("missing"));
+  }
+
+  @Test
+  void testCyclesAreReportedAsWarnings() {
+    PrerequisiteGraph graph = PrerequisiteGraph
+        .builder("TEST_CYCLE")
+        .addItems(List.of("A", "B", "C", "D", "E"))
+        .addPrerequisite("A", "B")
+        .addPrerequisite("B", "C")
+        .addPrerequisite("C", "A")
+        .addPrerequisite("C", "D")
+        .addPrerequisite("E", "E")
+        .build();
+
+    assertFalse(graph.isAcyclic());
+    assertEquals(List.of(List.of("A", "B", "C"), List.of("E")), graph.getCycles());
+    assertEquals(List.of("A", "B", "C", "D", "E"), graph.getTopologicalOrder());
+
+    List<ValidationIssue> issues = graph.getCycleIssues();
+    assertEquals(2, issues.size());
+    assertEquals(ValidationIssue.Severity.WARNING, issues
+        .get(0)
+        .severity());
+    assertEquals("TEST_CYCLE", issues
+        .get(0)
+        .code());
+    assertTrue(issues
+        .get(0)
+        .message()
+        .contains("A, B, C"));
+
+    assertEquals(List.of("A", "B", "C", "D"), graph.getTransitiveDependents("B"));
+    assertEquals(List.of("A", "B", "C"), graph.getTransitivePrerequisites("D"));
+    assertEquals(List.of("E"), graph.getTransitiveDependents("E"));
+    assertTrue(graph.requires("A", "A"));
+    assertFalse(graph.requires("D", "D"));
+  }
+
+  @Test
+  void testTransitiveQueriesOnDiamond() {
+    PrerequisiteGraph graph = PrerequisiteGraph
+        .builder("TEST_CYCLE")
+        .addItems(List.of("top", "left", "right", "bottom", "other"))
+        .addPrerequisite("top", "left")
+        .addPrerequisite("top", "right")
+        .addPrerequisite("left", "bottom")
+        .addPrerequisite("right", "bottom")
+        .build();
+
+    assertEquals(List.of("left", "right", "bottom"), graph.getTransitiveDependents("top"));
+    assertEquals(List.of("top", "left", "right"), graph.getTransitivePrerequisites("bottom"));
+    assertTrue(graph.requires("bottom", "top"));
+    assertFalse(graph.requires("top", "bottom"));
+    assertFalse(graph.requires("other", "top"));
+    assertEquals(List.of(), graph.getTransitiveDependents("other"));
+    assertEquals(List.of(), graph.getTransitiveDependents("missing"));
+  }
+
+  @Test
+  void testRandomGraphsMatchSearch() {
+    Random random = new Random(11);
+    for (int round = 0; round < 50; round++) {
+      int size = 5 + random.nextInt(60);
+      List<String> ids = new ArrayList<>();
+      for (int i = 0; i < size; i++) {
+        ids.add("N" + i);
+      }
+      PrerequisiteGraph.Builder builder = PrerequisiteGraph
+          .builder("TEST_CYCLE")
+          .addItems(ids);
+      int edges = random.nextInt(size * 2);
+      for (int e = 0; e < edges; e++) {
+        builder.addPrerequisite(ids.get(random.nextInt(size)), ids.get(random.nextInt(size)));
+      }
+      PrerequisiteGraph graph = builder.build();
+
+      List<String> order = graph.getTopologicalOrder();
+      assertEquals(new LinkedHashSet<>(ids), Set.copyOf(order));
+      for (String id : ids) {
+        Set<String> expected = search(graph, id);
+        assertEquals(expected, Set.copyOf(graph.getTransitiveDependents(id)), id);
+        for (String dependent : graph.getDependents(id)) {
+          boolean sameCycle = expected.contains(id) && search(graph, dependent).contains(id);
+          assertTrue(sameCycle || order.indexOf(id) < order.indexOf(dependent));
+        }
+      }
+    }
+  }
+
+  @Test
+  void testLongChainDoesNotOverflowStack() {
+    PrerequisiteGraph.Builder builder = PrerequisiteGraph.builder("TEST_CYCLE");
+    int size = 200_000;
+    for (int i = size - 1; i > 0; i--) {
+      builder.addPrerequisite("N" + (i - 1), "N" + i);
+    }
+    builder.addPrerequisite("N" + (size - 1), "N0");
+
+    PrerequisiteGraph graph = builder.build();
+
+    assertEquals(1, graph
+        .getCycles()
+        .size());
+    assertEquals(size, graph
+        .getCycles()
+        .get(0)
+        .size());
+  }
+
+  @Test
+  void testSerializationKeepsQueries() throws Exception {
+    PrerequisiteGraph graph = PrerequisiteGraph
+        .builder("TEST_CYCLE")
+        .addPrerequisite("A", "B")
+        .addPrerequisite("B", "C")
+        .build();
+    assertTrue(graph.requires("C", "A"));
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(graph);
+    }
+    PrerequisiteGraph copy;
+    try (ObjectInputStream in = new ObjectInputStream(
+        new ByteArrayInputStream(bytes.toByteArray()))) {
+      copy = (PrerequisiteGraph) in.readObject();
+    }
+
+    assertEquals(graph, copy);
+    assertEquals(List.of("A", "B"), copy.getTransitivePrerequisites("C"));
+  }
+
+  @Test
+  void testScorm12MetadataBuildsGraph() throws Exception {
+    Scorm12Metadata metadata = new Scorm12Parser(new LocalFileAccess(
+        "src/test/resources/modules/scorm12/PrerequisitesTest_SCORM12")).parseOnly();
+
+    PrerequisiteGraph graph = metadata.getPrerequisiteGraph();
+
+    assertEquals(0, graph.indexOf("module1"));
+    assertEquals(List.of("module2"), graph.getDependents("module1"));
+    assertTrue(graph.isAcyclic());
+  }
+
+  @Test
+  void testAiccMetadataCombinesStructureAndTable() throws Exception {
+    AiccMetadata complex = new AiccParser(
+        new LocalFileAccess("src/test/resources/modules/aicc/complex")).parseOnly();
+    AiccMetadata table = new AiccParser(
+        new LocalFileAccess("src/test/resources/modules/aicc/pre-ort")).parseOnly();
+
+    assertEquals(List.of("A1", "A2"), complex
+        .getPrerequisiteGraph()
+        .getTransitivePrerequisites("A3"));
+    assertEquals(List.of("A1"), table
+        .getPrerequisiteGraph()
+        .getPrerequisites("A2"));
+    assertTrue(PrerequisiteGraph
+        .builder(ValidationCodes.AICC_PREREQUISITE_CYCLE)
+        .build()
+        .getCycleIssues()
+        .isEmpty());
+  }
+
+  private static Set<String> search(PrerequisiteGraph graph, String start) {
+    Set<String> seen = new LinkedHashSet<>();
+    Deque<String> queue = new ArrayDeque<>(graph.getDependents(start));
+    while (!queue.isEmpty()) {
+      String next = queue.poll();
+      if (seen.add(next)) {
+        queue.addAll(graph.getDependents(next));
+      }
+    }
+    return seen;
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.input.lom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import dev.jcputney.elearning.parser.input.scorm12.ims.cp.Scorm12Metadata;
+import dev.jcputney.elearning.parser.input.scorm2004.ims.cp.Scorm2004CourseMetadata;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the {@link DeferredLom} class and the metadata elements that hold one.
+ */
+class DeferredLomTest {
+
+  @Test
+  void testDeferredLomIsResolvedOnce() {
+    LOM inline = new LOM();
+    LOM external = new LOM();
+    AtomicInteger loads = new AtomicInteger();
+    DeferredLom lom = new DeferredLom();
+    lom.set(inline);
+    lom.defer(() -> {
+      loads.incrementAndGet();
+      return external;
+    });
+
+    assertSame(inline, lom.peek());
+    assertSame(external, lom.get());
+    assertSame(external, lom.get());
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  void testMissingExternalLomKeepsInlineLom() {
+    LOM inline = new LOM();
+    DeferredLom lom = new DeferredLom();
+    lom.set(inline);
+    lom.defer(() -> null);
+
+    assertSame(inline, lom.get());
+  }
+
+  @Test
+  void testSetDiscardsDeferredLom() {
+    DeferredLom lom = new DeferredLom();
+    lom.defer(() -> {
+      throw new AssertionError("deferred LOM should not be loaded");
+    });
+    lom.set(null);
+
+    assertNull(lom.get());
+  }
+
+  @Test
+  void testEqualityDoesNotLoadDeferredLom() {
+    Scorm12Metadata deferred = new Scorm12Metadata();
+    deferred.setLocation("metadata.xml");
+    deferred.setLomSupplier(() -> {
+      throw new UncheckedIOException(new IOException("unreadable"));
+    });
+    Scorm12Metadata plain = new Scorm12Metadata();
+    plain.setLocation("metadata.xml");
+
+    assertEquals(plain, deferred);
+    assertEquals(plain.hashCode(), deferred.hashCode());
+  }
+
+  @Test
+  void testSerializationResolvesDeferredLom() throws Exception {
+    LOM external = new LOM();
+    external.setGeneral(new General());
+    Scorm2004CourseMetadata metadata = new Scorm2004CourseMetadata();
+    metadata.setLomSupplier(() -> external);
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(metadata);
+    }
+    Scorm2004CourseMetadata copy;
+    try (ObjectInputStream in = new ObjectInputStream(
+        new ByteArrayInputStream(bytes.toByteArray()))) {
+      copy = (Scorm2004CourseMetadata) in.readObject();
+    }
+
+    assertEquals(external, copy.getLom());
+    assertEquals(metadata, copy);
+  }
+}
@@ -12,6 +12,7 @@ package dev.jcputney.elearning.parser.input.scorm12;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 import dev.jcputney.elearning.parser.input.lom.General;
 import dev.jcputney.elearning.parser.input.lom.LOM;
@@ -66,6 +67,30 @@ class Scorm12ManifestTest {
     assertEquals(TEST_TITLE, title);
   }
 
+  /**
+   * Tests that the title observes nested edits after invalidation and manifest setters.
+   */
+  @Test
+  void getTitleObservesNestedEditsAfterInvalidation() {
+    // Arrange
+    Scorm12Organization organization = new Scorm12Organization();
+    organization.setTitle(TEST_TITLE);
+    organization.setIdentifier("org-id");
+    Scorm12Organizations organizations = new Scorm12Organizations();
+    organizations.setOrganizationList(Collections.singletonList(organization));
+    organizations.setDefaultOrganization("org-id");
+    Scorm12Manifest manifest = new Scorm12Manifest();
+    manifest.setOrganizations(organizations);
+    assertEquals(TEST_TITLE, manifest.getTitle());
+
+    // Act & Assert
+    organization.setTitle("Edited Title");
+    manifest.invalidateDerivedViews();
+    assertEquals("Edited Title", manifest.getTitle());
+    manifest.setOrganizations(null);
+    assertNull(manifest.getTitle());
+  }
+
   /**
    * Tests that getDescription() returns the description from LOM.
    */
@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.input.scorm2004;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import dev.jcputney.elearning.parser.input.scorm2004.ims.cp.Scorm2004Item;
+import dev.jcputney.elearning.parser.input.scorm2004.ims.cp.Scorm2004Organization;
+import dev.jcputney.elearning.parser.input.scorm2004.ims.cp.Scorm2004Organizations;
+import dev.jcputney.elearning.parser.input.scorm2004.ims.cp.Scorm2004Resource;
+import dev.jcputney.elearning.parser.input.scorm2004.ims.cp.Scorm2004Resources;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the identifier indexes behind {@link Scorm2004Organizations#getItemById(String)},
+ * {@link Scorm2004Resources#getResourceById(String)} and
+ * {@link Scorm2004Manifest#getResourceForItem(String)} on large manifests.
+ */
+class Scorm2004IdentifierIndexTest {
+
+  private static final int ORGANIZATIONS = 2;
+  private static final int MODULES_PER_ORGANIZATION = 60;
+  private static final int LESSONS_PER_MODULE = 50;
+  private static final int SCOS_PER_LESSON = 2;
+
+  private Scorm2004Manifest manifest;
+  private List<String> leafItemIds;
+
+  @BeforeEach
+  void setUp() {
+    manifest = new Scorm2004Manifest();
+    leafItemIds = new ArrayList<>();
+    List<Scorm2004Organization> organizationList = new ArrayList<>();
+    List<Scorm2004Resource> resourceList = new ArrayList<>();
+
+    for (int o = 0; o < ORGANIZATIONS; o++) {
+      List<Scorm2004Item> modules = new ArrayList<>();
+      for (int m = 0; m < MODULES_PER_ORGANIZATION; m++) {
+        List<Scorm2004Item> lessons = new ArrayList<>();
+        for (int l = 0; l < LESSONS_PER_MODULE; l++) {
+          List<Scorm2004Item> scos = new ArrayList<>();
+          for (int s = 0; s < SCOS_PER_LESSON; s++) {
+            String suffix = o + "_" + m + "_" + l + "_" + s;
+            scos.add(item("sco_" + suffix, "res_" + suffix, null));
+            resourceList.add(resource("res_" + suffix, "content/" + suffix + ".html"));
+            leafItemIds.add("sco_" + suffix);
+          }
+          lessons.add(item("lesson_" + o + "_" + m + "_" + l, null, scos));
+        }
+        modules.add(item("module_" + o + "_" + m, null, lessons));
+      }
+      Scorm2004Organization organization = new Scorm2004Organization();
+      organization.setIdentifier("org_" + o);
+      organization.setItems(modules);
+      organizationList.add(organization);
+    }
+
+    Scorm2004Organizations organizations = new Scorm2004Organizations();
+    organizations.setDefaultOrganization("org_0");
+    organizations.setOrganizationList(organizationList);
+    Scorm2004Resources resources = new Scorm2004Resources();
+    resources.setResourceList(resourceList);
+    manifest.setOrganizations(organizations);
+    manifest.setResources(resources);
+  }
+
+  @Test
+  void manifestHasMoreThanTenThousandItems() {
+    int lessons = ORGANIZATIONS * MODULES_PER_ORGANIZATION * LESSONS_PER_MODULE;
+    assertThat(leafItemIds.size() + lessons).isGreaterThan(10_000);
+  }
+
+  @Test
+  void findsItemsAtEveryDepth() {
+    Scorm2004Organizations organizations = manifest.getOrganizations();
+
+    assertThat(organizations.getItemById("module_1_59").getIdentifier()).isEqualTo("module_1_59");
+    assertThat(organizations.getItemById("lesson_0_30_49").getIdentifier())
+        .isEqualTo("lesson_0_30_49");
+    for (String id : leafItemIds) {
+      assertThat(organizations.getItemById(id).getIdentifier()).isEqualTo(id);
+    }
+    assertThat(organizations.getItemById("missing")).isNull();
+    assertThat(organizations.getItemById(null)).isNull();
+  }
+
+  @Test
+  void resolvesResourcesAndLaunchUrlsForNestedItems() {
+    for (String id : leafItemIds) {
+      String suffix = id.substring("sco_".length());
+      assertThat(manifest.getResourceForItem(id))
+          .map(Scorm2004Resource::getIdentifier)
+          .contains("res_" + suffix);
+      assertThat(manifest
+          .getResources()
+          .getResourceById("res_" + suffix))
+          .isPresent();
+    }
+    assertThat(manifest.getLaunchUrlForItem("sco_1_10_20_1")).isEqualTo("content/1_10_20_1.html");
+    assertThat(manifest.getResourceForItem("lesson_0_0_0")).isEmpty();
+    assertThat(manifest.getResourceForItem("missing")).isEmpty();
+  }
+
+  @Test
+  void returnsFirstElementWhenIdentifiersAreDuplicated() {
+    Scorm2004Item duplicate = item("sco_0_0_0_0", "res_0_0_0_1", null);
+    manifest
+        .getOrganizations()
+        .getOrganizationList()
+        .get(1)
+        .getItems()
+        .add(duplicate);
+    Scorm2004Resource duplicateResource = resource("res_0_0_0_0", "other.html");
+    manifest
+        .getResources()
+        .getResourceList()
+        .add(duplicateResource);
+
+    assertThat(manifest.getLaunchUrlForItem("sco_0_0_0_0")).isEqualTo("content/0_0_0_0.html");
+  }
+
+  @Test
+  void picksUpReplacedListsAddedAndRenamedElements() {
+    Scorm2004Organizations organizations = manifest.getOrganizations();
+    Scorm2004Resources resources = manifest.getResources();
+    assertThat(organizations.getItemById("sco_0_0_0_0")).isNotNull();
+    assertThat(resources.getResourceById("res_0_0_0_0")).isPresent();
+
+    // Resources appended to the list change its size
+    resources
+        .getResourceList()
+        .add(resource("res_appended", "appended.html"));
+    assertThat(resources.getResourceById("res_appended")).isPresent();
+
+    // Renamed elements are detected when their old identifier is looked up
+    organizations
+        .getItemById("sco_0_0_0_0")
+        .setIdentifier("sco_renamed");
+    assertThat(organizations.getItemById("sco_0_0_0_0")).isNull();
+    assertThat(organizations.getItemById("sco_renamed")).isNotNull();
+    resources
+        .getResourceById("res_0_0_0_1")
+        .orElseThrow()
+        .setIdentifier("res_renamed");
+    assertThat(resources.getResourceById("res_0_0_0_1")).isEmpty();
+    assertThat(resources.getResourceById("res_renamed")).isPresent();
+
+    // Replaced lists
+    resources.setResourceList(new ArrayList<>(List.of(resource("res_new", "new.html"))));
+    assertThat(resources.getResourceById("res_0_0_0_0")).isEmpty();
+    assertThat(resources.getResourceById("res_new")).isPresent();
+  }
+
+  @Test
+  void missesFindElementsAddedOrRenamedInNestedLists() {
+    Scorm2004Organizations organizations = manifest.getOrganizations();
+    Scorm2004Item lesson = organizations.getItemById("lesson_0_5_5");
+    assertThat(organizations.getItemById("sco_added")).isNull();
+
+    // Items added deep in the tree after the index was built
+    lesson
+        .getItems()
+        .add(item("sco_added", "res_0_0_0_0", null));
+    assertThat(organizations.getItemById("sco_added")).isSameAs(lesson
+        .getItems()
+        .get(SCOS_PER_LESSON));
+
+    // An item renamed to an identifier that was missing
+    Scorm2004Item renamed = organizations.getItemById("sco_1_1_1_1");
+    renamed.setIdentifier("sco_renamed_deep");
+    assertThat(organizations.getItemById("sco_renamed_deep")).isSameAs(renamed);
+    assertThat(organizations.getItemById("sco_1_1_1_1")).isNull();
+  }
+
+  @Test
+  void explicitInvalidationForgetsRemovedElements() {
+    Scorm2004Item lesson = manifest
+        .getOrganizations()
+        .getItemById("lesson_1_1_1");
+    assertThat(manifest
+        .getOrganizations()
+        .getItemById("sco_1_1_1_0")).isNotNull();
+
+    lesson
+        .getItems()
+        .remove(0);
+    manifest
+        .getResources()
+        .getResourceList()
+        .remove(0);
+    manifest.invalidateIndexes();
+
+    assertThat(manifest
+        .getOrganizations()
+        .getItemById("sco_1_1_1_0")).isNull();
+    assertThat(manifest
+        .getResources()
+        .getResourceById("res_0_0_0_0")).isEmpty();
+    assertThat(manifest
+        .getOrganizations()
+        .getItemById("sco_1_1_1_1")).isNotNull();
+  }
+
+  @Test
+  void findsOrganizationsById() {
+    assertThat(manifest
+        .getOrganizations()
+        .getOrganizationById("org_1")
+        .getIdentifier()).isEqualTo("org_1");
+    assertThat(manifest
+        .getOrganizations()
+        .getDefault()
+        .getIdentifier()).isEqualTo("org_0");
+    assertThat(manifest
+        .getOrganizations()
+        .getOrganizationById("missing")).isNull();
+  }
+
+  private static Scorm2004Item item(String identifier, String identifierRef,
+      List<Scorm2004Item> children) {
+    Scorm2004Item item = new Scorm2004Item();
+    item.setIdentifier(identifier);
+    item.setIdentifierRef(identifierRef);
+    item.setItems(children);
+    return item;
+  }
+
+  private static Scorm2004Resource resource(String identifier, String href) {
+    Scorm2004Resource resource = new Scorm2004Resource();
+    resource.setIdentifier(identifier);
+    resource.setHref(href);
+    return resource;
+  }
+}
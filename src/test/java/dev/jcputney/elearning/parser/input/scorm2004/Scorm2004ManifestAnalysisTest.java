@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.input.scorm2004;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import dev.jcputney.elearning.parser.impl.access.LocalFileAccess;
+import dev.jcputney.elearning.parser.input.scorm2004.SequencingUsageDetector.SequencingLevel;
+import dev.jcputney.elearning.parser.input.scorm2004.adl.cp.CompletionThreshold;
+import dev.jcputney.elearning.parser.input.scorm2004.adl.types.ScormType;
+import dev.jcputney.elearning.parser.input.scorm2004.ims.cp.Scorm2004Item;
+import dev.jcputney.elearning.parser.input.scorm2004.ims.cp.Scorm2004Organization;
+import dev.jcputney.elearning.parser.input.scorm2004.ims.cp.Scorm2004Organizations;
+import dev.jcputney.elearning.parser.input.scorm2004.ims.cp.Scorm2004Resource;
+import dev.jcputney.elearning.parser.input.scorm2004.ims.cp.Scorm2004Resources;
+import dev.jcputney.elearning.parser.input.scorm2004.ims.ss.sequencing.DeliveryControls;
+import dev.jcputney.elearning.parser.input.scorm2004.ims.ss.sequencing.Sequencing;
+import dev.jcputney.elearning.parser.input.scorm2004.ims.ss.sequencing.SequencingCollection;
+import dev.jcputney.elearning.parser.output.metadata.scorm2004.Scorm2004Metadata;
+import dev.jcputney.elearning.parser.parsers.Scorm2004Parser;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the single-pass post-parse analysis of SCORM 2004 manifests.
+ */
+class Scorm2004ManifestAnalysisTest {
+
+  @Test
+  void testAnalysisIsCachedAndSharedByMetadata() throws Exception {
+    Scorm2004Manifest manifest = new Scorm2004Parser(new LocalFileAccess(
+        "src/test/resources/modules/scorm2004/SequencingSimpleRemediation_SCORM20043rdEdition"))
+        .parseManifest(Scorm2004Parser.MANIFEST_FILE);
+
+    Scorm2004ManifestAnalysis analysis = manifest.getAnalysis();
+    Scorm2004Metadata metadata = Scorm2004Metadata.create(manifest, false);
+
+    assertSame(analysis, manifest.getAnalysis());
+    assertSame(analysis.getSequencingUsage(), manifest.getSequencingUsage());
+    assertSame(analysis.getGlobalObjectiveIds(), manifest.getGlobalObjectiveIds());
+    assertSame(analysis.getScoIds(), manifest.getSCOIds());
+    assertEquals(analysis.getGlobalObjectiveIds(), metadata.getGlobalObjectiveIds());
+    assertEquals(analysis
+        .getDeliveryControlOverrides()
+        .keySet(), metadata.getDeliveryControlOverrides());
+    assertEquals(analysis
+        .getSequencingUsage()
+        .getLevel(), metadata.getSequencingLevel());
+    assertEquals(analysis
+        .getSequencingUsage()
+        .getIndicators(), SequencingUsageDetector
+        .detect(manifest)
+        .getIndicators());
+
+    manifest.setResources(new Scorm2004Resources());
+    assertNotSame(analysis, manifest.getAnalysis());
+    assertTrue(manifest
+        .getSCOIds()
+        .isEmpty());
+  }
+
+  @Test
+  void testSinglePassDerivesEveryFact() {
+    DeliveryControls shared = new DeliveryControls();
+    shared.setTracked(false);
+    Sequencing collectionEntry = new Sequencing();
+    collectionEntry.setId("shared");
+    collectionEntry.setDeliveryControls(shared);
+    SequencingCollection collection = new SequencingCollection();
+    collection.setSequencingList(List.of(collectionEntry));
+
+    DeliveryControls own = new DeliveryControls();
+    Sequencing ownSequencing = new Sequencing();
+    ownSequencing.setDeliveryControls(own);
+    Sequencing referencing = new Sequencing();
+    referencing.setIdRef("shared");
+
+    CompletionThreshold threshold = new CompletionThreshold();
+    Scorm2004Item nested = item("nested", "res-2");
+    nested.setSequencing(referencing);
+    nested.setCompletionThreshold(threshold);
+    Scorm2004Item parent = item("parent", null);
+    parent.setSequencing(ownSequencing);
+    parent
+        .getItems()
+        .add(nested);
+    Scorm2004Item other = item("other", "res-1");
+    other.setSequencing(ownSequencing);
+
+    Scorm2004Organization defaultOrg = new Scorm2004Organization();
+    defaultOrg.setIdentifier("default");
+    defaultOrg.setItems(List.of(parent));
+    Scorm2004Organization secondOrg = new Scorm2004Organization();
+    secondOrg.setIdentifier("second");
+    secondOrg.setItems(List.of(other));
+    Scorm2004Organizations organizations = new Scorm2004Organizations();
+    organizations.setDefaultOrganization("default");
+    organizations.setOrganizationList(List.of(defaultOrg, secondOrg));
+
+    Scorm2004Resources resources = new Scorm2004Resources();
+    resources.setResourceList(List.of(resource("res-1", ScormType.SCO),
+        resource("res-2", ScormType.SCO), resource("asset", ScormType.ASSET)));
+
+    Scorm2004Manifest manifest = new Scorm2004Manifest();
+    manifest.setSequencingCollection(collection);
+    manifest.setOrganizations(organizations);
+    manifest.setResources(resources);
+
+    Scorm2004ManifestAnalysis analysis = Scorm2004ManifestAnalysis.analyze(manifest);
+
+    assertEquals(Map.of("parent", own, "nested", shared), analysis.getDeliveryControlOverrides());
+    assertEquals(Map.of("nested", threshold), analysis.getCompletionThresholds());
+    assertEquals(List.of("res-1", "res-2"), new ArrayList<>(analysis.getScoIds()));
+    assertEquals(Set.of(), analysis.getGlobalObjectiveIds());
+    assertEquals(SequencingLevel.FULL, analysis
+        .getSequencingUsage()
+        .getLevel());
+    assertTrue(analysis
+        .getSequencingUsage()
+        .getIndicators()
+        .containsAll(Set.of(SequencingUsageDetector.SequencingIndicator.SEQUENCING_IDREF,
+            SequencingUsageDetector.SequencingIndicator.RESOURCE_SCO,
+            SequencingUsageDetector.SequencingIndicator.COMPLETION_THRESHOLD,
+            SequencingUsageDetector.SequencingIndicator.ITEM_HAS_CHILDREN)));
+  }
+
+  private static Scorm2004Item item(String identifier, String identifierRef) {
+    Scorm2004Item item = new Scorm2004Item();
+    item.setIdentifier(identifier);
+    item.setIdentifierRef(identifierRef);
+    item.setItems(new ArrayList<>());
+    return item;
+  }
+
+  private static Scorm2004Resource resource(String identifier, ScormType type) {
+    Scorm2004Resource resource = new Scorm2004Resource();
+    resource.setIdentifier(identifier);
+    resource.setScormType(type);
+    return resource;
+  }
+}
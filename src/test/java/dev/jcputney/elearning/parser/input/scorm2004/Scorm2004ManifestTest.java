@@ -15,6 +15,8 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import dev.jcputney.elearning.parser.api.FileAccess;
@@ -510,4 +512,70 @@ public class Scorm2004ManifestTest {
     assertNotEquals(manifest1, manifest3);
   }
 
+  /**
+   * Tests that derived views are computed once and shared between calls.
+   */
+  @Test
+  void testDerivedViewsAreMemoized()
+      throws IOException, XMLStreamException, ModuleParsingException, ManifestParseException {
+    String modulePath = "src/test/resources/modules/scorm2004/SequencingForcedSequential_SCORM20043rdEdition";
+    Scorm2004Parser parser = new Scorm2004Parser(new LocalFileAccess(modulePath));
+    Scorm2004Manifest manifest = parser.parseManifest(Scorm2004Parser.MANIFEST_FILE);
+
+    assertSame(manifest.getSequencingUsage(), manifest.getSequencingUsage());
+    assertSame(manifest.getGlobalObjectiveIds(), manifest.getGlobalObjectiveIds());
+    assertSame(manifest.getSCOIds(), manifest.getSCOIds());
+    assertSame(manifest.getLaunchUrl(), manifest.getLaunchUrl());
+    assertThrows(UnsupportedOperationException.class, () -> manifest
+        .getSCOIds()
+        .add("new-sco"));
+    assertThrows(UnsupportedOperationException.class, () -> manifest
+        .getGlobalObjectiveIds()
+        .add("new-objective"));
+  }
+
+  /**
+   * Tests that setters and explicit invalidation clear the memoized derived views.
+   */
+  @Test
+  void testDerivedViewsAreInvalidatedOnChange() {
+    Scorm2004Resource resource = new Scorm2004Resource();
+    resource.setIdentifier("res1");
+    resource.setHref("first.html");
+    resource.setScormType(ScormType.SCO);
+    Scorm2004Resources resources = new Scorm2004Resources();
+    resources.setResourceList(List.of(resource));
+
+    Scorm2004Item item = new Scorm2004Item();
+    item.setIdentifier("item1");
+    item.setIdentifierRef("res1");
+    Scorm2004Organization organization = new Scorm2004Organization();
+    organization.setIdentifier("org1");
+    organization.setTitle("First Title");
+    organization.setItems(List.of(item));
+    Scorm2004Organizations organizations = new Scorm2004Organizations();
+    organizations.setDefaultOrganization("org1");
+    organizations.setOrganizationList(List.of(organization));
+
+    Scorm2004Manifest manifest = new Scorm2004Manifest();
+    manifest.setOrganizations(organizations);
+    manifest.setResources(resources);
+    assertEquals("First Title", manifest.getTitle());
+    assertEquals("first.html", manifest.getLaunchUrl());
+    assertEquals(Set.of("res1"), manifest.getSCOIds());
+
+    // Nested edits are observed once the views are invalidated
+    organization.setTitle("Second Title");
+    resource.setHref("second.html");
+    manifest.invalidateDerivedViews();
+    assertEquals("Second Title", manifest.getTitle());
+    assertEquals("second.html", manifest.getLaunchUrl());
+
+    // Setters on the manifest invalidate the views automatically
+    manifest.setResources(new Scorm2004Resources());
+    assertNull(manifest.getLaunchUrl());
+    assertTrue(manifest
+        .getSCOIds()
+        .isEmpty());
+  }
 }
@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.input.scorm2004.sequencing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import dev.jcputney.elearning.parser.impl.access.LocalFileAccess;
+import dev.jcputney.elearning.parser.input.scorm2004.Scorm2004Manifest;
+import dev.jcputney.elearning.parser.input.scorm2004.ims.cp.Scorm2004Item;
+import dev.jcputney.elearning.parser.input.scorm2004.ims.cp.Scorm2004Organization;
+import dev.jcputney.elearning.parser.parsers.Scorm2004Parser;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the FlatActivityTree class.
+ */
+class FlatActivityTreeTest {
+
+  /**
+   * Tests that the flat tree matches the object tree built from the same manifest.
+   */
+  @Test
+  void testMatchesActivityTree() throws Exception {
+    Scorm2004Manifest manifest = new Scorm2004Parser(new LocalFileAccess(
+        "src/test/resources/modules/scorm2004/ContentPackagingOneFilePerSCO_SCORM20043rdEdition"))
+        .parseManifest(Scorm2004Parser.MANIFEST_FILE);
+
+    ActivityTree tree = manifest.buildActivityTree();
+    FlatActivityTree flat = manifest.getFlatActivityTree();
+
+    assertNotNull(flat);
+    assertSame(flat, manifest.getFlatActivityTree());
+    assertEquals("golf_sample_default_org", flat.identifierAt(FlatActivityTree.ROOT));
+    assertEquals(tree.getNodeMap().size(), flat.size());
+    assertEquals(tree
+        .getLeafNodes()
+        .stream()
+        .map(ActivityNode::getIdentifier)
+        .toList(), flat.getLeafIdentifiers());
+
+    for (int i = 0; i < flat.size(); i++) {
+      ActivityNode node = tree.getNodeByIdentifier(flat.identifierAt(i));
+      assertEquals(i, flat.indexOf(node.getIdentifier()));
+      assertEquals(node.getTitle(), flat.titleAt(i));
+      assertEquals(node.getResourceIdentifier(), flat.resourceIdentifierAt(i));
+      assertSame(node.getSequencing(), flat.sequencingAt(i));
+      assertEquals(node.isVisible(), flat.isVisible(i));
+      assertEquals(node.isLeaf(), flat.isLeaf(i));
+      assertEquals(node.getChildren().size(), flat.childCountOf(i));
+
+      int child = flat.firstChildOf(i);
+      for (ActivityNode expected : node.getChildren()) {
+        assertEquals(expected.getIdentifier(), flat.identifierAt(child));
+        assertEquals(i, flat.parentOf(child));
+        child = flat.nextSiblingOf(child);
+      }
+      assertEquals(FlatActivityTree.NONE, child);
+    }
+
+    int playing = flat.indexOf("playing_item");
+    int howToPlay = flat.indexOf("playing_playing_item");
+    assertTrue(flat.isInSubtree(playing, howToPlay));
+    assertFalse(flat.isInSubtree(howToPlay, playing));
+    assertEquals(playing, flat.commonAncestorOf(howToPlay, playing));
+    assertEquals(2, flat.depthOf(howToPlay));
+  }
+
+  /**
+   * Tests subtree ranges, depths and common ancestors against parent links on random trees.
+   */
+  @Test
+  void testRandomTreesHaveConsistentRanges() {
+    Random random = new Random(36);
+    for (int round = 0; round < 30; round++) {
+      Scorm2004Organization organization = new Scorm2004Organization();
+      organization.setIdentifier("org");
+      List<Scorm2004Item> all = new ArrayList<>();
+      List<Scorm2004Item> top = new ArrayList<>();
+      int count = 1 + random.nextInt(200);
+      for (int i = 0; i < count; i++) {
+        Scorm2004Item item = item("i" + i);
+        if (all.isEmpty() || random.nextInt(4) == 0) {
+          top.add(item);
+        } else {
+          all
+              .get(random.nextInt(all.size()))
+              .getItems()
+              .add(item);
+        }
+        all.add(item);
+      }
+      organization.setItems(top);
+
+      FlatActivityTree flat = FlatActivityTree.buildFromOrganization(organization);
+
+      assertEquals(count + 1, flat.size());
+      for (int i = 0; i < flat.size(); i++) {
+        for (int j = 0; j < flat.size(); j++) {
+          assertEquals(isAncestorByWalk(flat, i, j), flat.isInSubtree(i, j));
+        }
+        int parent = flat.parentOf(i);
+        assertEquals(i == FlatActivityTree.ROOT ? 0 : flat.depthOf(parent) + 1, flat.depthOf(i));
+      }
+      int first = random.nextInt(flat.size());
+      int second = random.nextInt(flat.size());
+      int ancestor = flat.commonAncestorOf(first, second);
+      assertTrue(flat.isInSubtree(ancestor, first) && flat.isInSubtree(ancestor, second));
+      for (int child = flat.firstChildOf(ancestor); child != FlatActivityTree.NONE;
+          child = flat.nextSiblingOf(child)) {
+        assertFalse(flat.isInSubtree(child, first) && flat.isInSubtree(child, second));
+      }
+    }
+  }
+
+  /**
+   * Tests that deeply nested items do not overflow the stack and produce one leaf.
+   */
+  @Test
+  void testDeepNesting() {
+    Scorm2004Organization organization = new Scorm2004Organization();
+    organization.setIdentifier("org");
+    Scorm2004Item outer = item("d0");
+    Scorm2004Item current = outer;
+    for (int i = 1; i < 50_000; i++) {
+      Scorm2004Item next = item("d" + i);
+      current
+          .getItems()
+          .add(next);
+      current = next;
+    }
+    organization.setItems(List.of(outer));
+
+    FlatActivityTree flat = FlatActivityTree.buildFromOrganization(organization);
+
+    assertEquals(50_001, flat.size());
+    assertEquals(1, flat.leafCount());
+    assertEquals(50_000, flat.leafAt(0));
+    assertEquals(50_000, flat.depthOf(flat.leafAt(0)));
+    assertEquals(flat.size(), flat.subtreeEnd(FlatActivityTree.ROOT));
+  }
+
+  /**
+   * Tests that equality is identity-based and that a missing default organization yields null.
+   */
+  @Test
+  void testIdentityEqualityAndMissingOrganization() {
+    Scorm2004Organization organization = new Scorm2004Organization();
+    organization.setIdentifier("org");
+    organization.setItems(List.of(item("a")));
+
+    FlatActivityTree first = FlatActivityTree.buildFromOrganization(organization);
+    FlatActivityTree second = FlatActivityTree.buildFromOrganization(organization);
+
+    assertEquals(first, first);
+    assertNotEquals(first, second);
+    assertFalse(first.isLeaf(FlatActivityTree.ROOT));
+    assertEquals(FlatActivityTree.NONE, first.indexOf("missing"));
+    assertNull(FlatActivityTree.buildFromManifest(new Scorm2004Manifest()));
+  }
+
+  private static Scorm2004Item item(String identifier) {
+    Scorm2004Item item = new Scorm2004Item();
+    item.setIdentifier(identifier);
+    item.setItems(new ArrayList<>());
+    return item;
+  }
+
+  private static boolean isAncestorByWalk(FlatActivityTree flat, int ancestor, int node) {
+    for (int current = node; current != FlatActivityTree.NONE; current = flat.parentOf(current)) {
+      if (current == ancestor) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.jfr;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import dev.jcputney.elearning.parser.impl.access.CachedFileAccess;
+import dev.jcputney.elearning.parser.impl.access.LocalFileAccess;
+import dev.jcputney.elearning.parser.impl.factory.DefaultModuleParserFactory;
+import dev.jcputney.elearning.parser.input.common.serialization.Scorm2004SchemaValidator;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test class for the Flight Recorder events emitted while detecting and parsing modules.
+ */
+class ParserEventsTest {
+
+  private static final String MODULE_PATH =
+      "src/test/resources/modules/scorm2004/ContentPackagingMetadata_SCORM20043rdEdition";
+
+  private static final List<String> EVENT_NAMES = List.of(FileReadEvent.NAME,
+      CacheLookupEvent.NAME, XmlBindEvent.NAME, SchemaValidationEvent.NAME, DetectionEvent.NAME);
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void testParsingEmitsEvents() throws Exception {
+    List<RecordedEvent> events;
+    try (Recording recording = new Recording()) {
+      EVENT_NAMES.forEach(name -> recording
+          .enable(name)
+          .withThreshold(Duration.ZERO));
+      recording.start();
+
+      CachedFileAccess fileAccess = new CachedFileAccess(new LocalFileAccess(MODULE_PATH));
+      new DefaultModuleParserFactory(fileAccess).parseModule();
+      Scorm2004SchemaValidator.validate(
+          Files.readAllBytes(Path.of(MODULE_PATH, "imsmanifest.xml")));
+
+      recording.stop();
+      Path file = tempDir.resolve("parse.jfr");
+      recording.dump(file);
+      events = RecordingFile.readAllEvents(file);
+    }
+
+    assertEquals(EVENT_NAMES.stream().sorted().toList(), events
+        .stream()
+        .map(event -> event
+            .getEventType()
+            .getName())
+        .distinct()
+        .sorted()
+        .collect(Collectors.toList()));
+
+    RecordedEvent manifestRead = events
+        .stream()
+        .filter(event -> FileReadEvent.NAME.equals(event
+            .getEventType()
+            .getName()) && "imsmanifest.xml".equals(event.getString("path")))
+        .findFirst()
+        .orElseThrow();
+    assertEquals("LocalFileAccess", manifestRead.getString("accessType"));
+    assertEquals(Files.size(Path.of(MODULE_PATH, "imsmanifest.xml")),
+        manifestRead.getLong("bytesRead"));
+    assertTrue(events
+        .stream()
+        .anyMatch(event -> DetectionEvent.NAME.equals(event
+            .getEventType()
+            .getName()) && "SCORM_2004".equals(event.getString("moduleType"))));
+  }
+
+  @Test
+  void testDisabledEventReturnsStreamUnchanged() {
+    InputStream stream = new ByteArrayInputStream(new byte[0]);
+
+    assertSame(stream, FileReadEvent.record(new LocalFileAccess(MODULE_PATH), "a.xml", stream));
+  }
+}
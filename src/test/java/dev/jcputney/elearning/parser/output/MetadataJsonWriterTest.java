@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.output;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import dev.jcputney.elearning.parser.api.ParserOptions;
+import dev.jcputney.elearning.parser.exception.ModuleException;
+import dev.jcputney.elearning.parser.impl.access.LocalFileAccess;
+import dev.jcputney.elearning.parser.impl.factory.DefaultModuleParserFactory;
+import dev.jcputney.elearning.parser.output.metadata.aicc.AiccMetadata;
+import dev.jcputney.elearning.parser.output.metadata.scorm2004.Scorm2004Metadata;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Test class for MetadataJsonWriter functionality.
+ */
+class MetadataJsonWriterTest {
+
+  private static final ObjectMapper JSON = new ObjectMapper()
+      .registerModule(new JavaTimeModule())
+      .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+  /**
+   * Fixtures of invalid packages, which have no metadata to write.
+   */
+  private static final Set<String> INVALID_MODULES = Set.of("MalformedXml_SCORM12",
+      "MissingLaunchUrl_SCORM12", "MissingRequiredFields_SCORM12");
+
+  private final MetadataJsonWriter writer = new MetadataJsonWriter(JSON);
+
+  static Stream<Path> modules() {
+    return Stream
+        .of("scorm2004", "aicc", "scorm12", "cmi5")
+        .map(type -> Path.of("src/test/resources/modules", type))
+        .flatMap(MetadataJsonWriterTest::directories);
+  }
+
+  private static Stream<Path> directories(Path root) {
+    try (Stream<Path> children = Files.list(root)) {
+      return children
+          .filter(Files::isDirectory)
+          .sorted()
+          .toList()
+          .stream();
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  @ParameterizedTest
+  @MethodSource("modules")
+  void testWritesSameJsonAsObjectMapper(Path module) throws Exception {
+    DefaultModuleParserFactory factory = new DefaultModuleParserFactory(
+        new LocalFileAccess(module.toString()), ParserOptions.lenient());
+    if (INVALID_MODULES.contains(module
+        .getFileName()
+        .toString())) {
+      assertThatThrownBy(factory::parseModule).isInstanceOf(ModuleException.class);
+      return;
+    }
+    ModuleMetadata<?> metadata = factory.parseModule();
+
+    assertThat(writer.writeValueAsString(metadata)).isEqualTo(JSON.writeValueAsString(metadata));
+  }
+
+  @Test
+  void testScorm2004AndAiccMetadataAreStreamed() throws Exception {
+    ModuleMetadata<?> scorm2004 = new DefaultModuleParserFactory(new LocalFileAccess(
+        "src/test/resources/modules/scorm2004/SequencingSimpleRemediation_SCORM20043rdEdition"))
+        .parseModule();
+    ModuleMetadata<?> aicc = new DefaultModuleParserFactory(
+        new LocalFileAccess("src/test/resources/modules/aicc/complex"))
+        .parseModule();
+
+    assertThat(scorm2004)
+        .isInstanceOf(Scorm2004Metadata.class)
+        .isInstanceOf(StreamingJsonWritable.class);
+    assertThat(aicc)
+        .isInstanceOf(AiccMetadata.class)
+        .isInstanceOf(StreamingJsonWritable.class);
+    assertThat(((Scorm2004Metadata) scorm2004).getControlModes()).isNotEmpty();
+    assertThat(writer.writeValueAsString(aicc)).isEqualTo(JSON.writeValueAsString(aicc));
+  }
+
+  @Test
+  void testWriteToStreamLeavesStreamOpen() throws Exception {
+    ModuleMetadata<?> metadata = new DefaultModuleParserFactory(new LocalFileAccess(
+        "src/test/resources/modules/scorm2004/ContentPackagingSingleSCO_SCORM20043rdEdition"))
+        .parseModule();
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    writer.write(metadata, out);
+    out.write('\n');
+    writer.write(metadata, out);
+
+    String[] documents = out
+        .toString()
+        .split("\n");
+    assertThat(documents).hasSize(2);
+    assertThat(JSON.readTree(documents[1])).isEqualTo(JSON.readTree(documents[0]));
+    assertThatThrownBy(() -> writer.writeValueAsString(null))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
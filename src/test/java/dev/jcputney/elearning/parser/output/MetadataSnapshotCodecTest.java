@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.output;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import dev.jcputney.elearning.parser.api.FileAccess;
+import dev.jcputney.elearning.parser.impl.access.LocalFileAccess;
+import dev.jcputney.elearning.parser.impl.access.ZipFileAccess;
+import dev.jcputney.elearning.parser.impl.factory.DefaultModuleParserFactory;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Test class for MetadataSnapshotCodec functionality.
+ */
+class MetadataSnapshotCodecTest {
+
+  private static final ObjectMapper JSON = new ObjectMapper()
+      .registerModule(new JavaTimeModule())
+      .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+  private final MetadataSnapshotCodec codec = new MetadataSnapshotCodec();
+
+  static Stream<String> modules() {
+    return Stream.of("src/test/resources/modules/zips/scorm12.zip",
+        "src/test/resources/modules/zips/scorm2004.zip",
+        "src/test/resources/modules/zips/aicc.zip",
+        "src/test/resources/modules/zips/cmi5.zip",
+        "src/test/resources/modules/xapi/basic_course");
+  }
+
+  private static ModuleMetadata<?> parse(String path) throws Exception {
+    FileAccess fileAccess = path.endsWith(".zip")
+        ? new ZipFileAccess(path)
+        : new LocalFileAccess(path);
+    return new DefaultModuleParserFactory(fileAccess).parseModule();
+  }
+
+  @ParameterizedTest
+  @MethodSource("modules")
+  void testSnapshotRoundTripsAndIsSmallerThanJson(String path) throws Exception {
+    ModuleMetadata<?> metadata = parse(path);
+
+    byte[] snapshot = codec.encode(metadata);
+    ModuleMetadata<?> decoded = codec.decode(snapshot);
+
+    // The snapshot keeps exactly what the JSON form of the metadata keeps
+    assertThat(decoded).isInstanceOf(metadata.getClass());
+    assertThat(JSON.writeValueAsString(decoded)).isEqualTo(JSON.writeValueAsString(metadata));
+    assertThat(snapshot.length).isLessThan(JSON.writeValueAsBytes(metadata).length);
+  }
+
+  @Test
+  void testBulkWriteAndReadMixedTypes() throws Exception {
+    List<ModuleMetadata<?>> records = new ArrayList<>();
+    for (String path : modules().toList()) {
+      ModuleMetadata<?> metadata = parse(path);
+      records.add(metadata);
+      records.add(metadata);
+    }
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (MetadataSnapshotCodec.SnapshotWriter writer = codec.newWriter(out)) {
+      for (ModuleMetadata<?> metadata : records) {
+        writer.write(metadata);
+      }
+    }
+
+    List<ModuleMetadata<?>> read = new ArrayList<>();
+    try (MetadataSnapshotCodec.SnapshotReader reader = codec.newReader(
+        new ByteArrayInputStream(out.toByteArray()))) {
+      ModuleMetadata<?> metadata;
+      while ((metadata = reader.read()) != null) {
+        read.add(metadata);
+      }
+    }
+
+    assertThat(read).hasSameSizeAs(records);
+    for (int i = 0; i < records.size(); i++) {
+      assertThat(read.get(i)).isInstanceOf(records
+          .get(i)
+          .getClass());
+      assertThat(JSON.writeValueAsString(read.get(i))).isEqualTo(
+          JSON.writeValueAsString(records.get(i)));
+    }
+  }
+
+  @Test
+  void testRejectsNewerSchemaVersionAndUnknownType() throws IOException {
+    assertThatThrownBy(() -> codec.decode(snapshot("SCORM_12", 2)))
+        .isInstanceOf(IOException.class)
+        .hasMessageContaining("schema version 2");
+    assertThatThrownBy(() -> codec.decode(snapshot("LTI", 1)))
+        .isInstanceOf(IOException.class)
+        .hasMessageContaining("Unknown snapshot type: LTI");
+    assertThatThrownBy(() -> codec.decode(null))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static byte[] snapshot(String type, int version) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (JsonGenerator generator = new SmileFactory().createGenerator(out)) {
+      generator.writeStartObject();
+      generator.writeStringField("type", type);
+      generator.writeNumberField("version", version);
+      generator.writeObjectFieldStart("metadata");
+      generator.writeEndObject();
+      generator.writeEndObject();
+    }
+    return out.toByteArray();
+  }
+}
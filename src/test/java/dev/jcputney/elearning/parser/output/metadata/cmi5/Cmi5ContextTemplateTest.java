@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.output.metadata.cmi5;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the {@link Cmi5ContextTemplate} class.
+ */
+class Cmi5ContextTemplateTest {
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  /**
+   * Tests that a statement context is merged with the template member by member, concatenating
+   * arrays and letting the template win on scalars.
+   */
+  @Test
+  void testWriteMergedMergesStatementContext() throws Exception {
+    Cmi5ContextTemplate template = Cmi5ContextTemplate.of(json("""
+        {"contextActivities":{"grouping":[{"id":"https://example.com/course"}]},
+         "extensions":{"https://w3id.org/xapi/cmi5/context/extensions/sessionid":"s-1"},
+         "platform":"LMS"}
+        """));
+    JsonNode statement = json("""
+        {"registration":"r-1",
+         "contextActivities":{"grouping":[{"id":"https://example.com/au"}],
+                              "category":[{"id":"https://w3id.org/xapi/cmi5/context/categories/cmi5"}]},
+         "platform":"AU"}
+        """);
+
+    assertEquals(json("""
+        {"registration":"r-1",
+         "contextActivities":{"grouping":[{"id":"https://example.com/au"},
+                                          {"id":"https://example.com/course"}],
+                              "category":[{"id":"https://w3id.org/xapi/cmi5/context/categories/cmi5"}]},
+         "platform":"LMS",
+         "extensions":{"https://w3id.org/xapi/cmi5/context/extensions/sessionid":"s-1"}}
+        """), writeMerged(template, statement));
+    assertEquals(template.toJsonNode(), writeMerged(template, null));
+  }
+
+  /**
+   * Tests that the serialized form survives a round trip and that the template is not affected by
+   * changes to the tree it was compiled from or to trees handed out by it.
+   */
+  @Test
+  void testSerializedFormAndImmutability() throws Exception {
+    ObjectNode source = (ObjectNode) json("{\"a\":[1,2.5,true,null],\"b\":{\"c\":\"d\"}}");
+    Cmi5ContextTemplate template = Cmi5ContextTemplate.of(source);
+    source.put("a", "changed");
+    ((ObjectNode) template.toJsonNode()).put("b", "changed");
+    template.toByteArray()[0] = ' ';
+
+    assertEquals(json("{\"a\":[1,2.5,true,null],\"b\":{\"c\":\"d\"}}"), template.toJsonNode());
+    assertEquals(template, Cmi5ContextTemplate.parse(template.toByteArray()));
+    assertEquals("{\"a\":[1,2.5,true,null],\"b\":{\"c\":\"d\"}}", template.toString());
+    assertThrows(IllegalArgumentException.class, () -> Cmi5ContextTemplate.of(null));
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(template);
+    }
+    try (ObjectInputStream in = new ObjectInputStream(
+        new ByteArrayInputStream(bytes.toByteArray()))) {
+      Cmi5ContextTemplate restored = (Cmi5ContextTemplate) in.readObject();
+      assertEquals(template, restored);
+      assertEquals(json("{\"a\":[1,2.5,true,null],\"b\":{\"c\":\"d\",\"e\":1}}"),
+          writeMerged(restored, json("{\"b\":{\"e\":1}}")));
+    }
+  }
+
+  /**
+   * Tests that the metadata compiles the course template merged with each AU template once, and
+   * compiles again after the templates change.
+   */
+  @Test
+  void testMetadataSharesCompiledTemplates() throws Exception {
+    Cmi5Metadata metadata = new Cmi5Metadata();
+    metadata.setCourseContextTemplate(json("{\"platform\":\"LMS\",\"language\":\"en-US\"}"));
+    metadata.setAssignableUnitContextTemplates(Map.of("au-1", json("{\"language\":\"fr-FR\"}")));
+
+    Cmi5ContextTemplate auTemplate = metadata.getCompiledContextTemplate("au-1");
+    assertSame(auTemplate, metadata.getCompiledContextTemplate("au-1"));
+    assertEquals(json("{\"platform\":\"LMS\",\"language\":\"fr-FR\"}"), auTemplate.toJsonNode());
+    assertSame(metadata.getCompiledCourseContextTemplate(),
+        metadata.getCompiledContextTemplate("au-2"));
+
+    metadata.setCourseContextTemplate(null);
+    assertNull(metadata.getCompiledCourseContextTemplate());
+    assertNotSame(auTemplate, metadata.getCompiledContextTemplate("au-1"));
+    assertEquals(json("{\"language\":\"fr-FR\"}"), metadata
+        .getCompiledContextTemplate("au-1")
+        .toJsonNode());
+    assertNull(metadata.getCompiledContextTemplate("au-2"));
+  }
+
+  /**
+   * Tests that threads reading the compiled templates concurrently share one compilation.
+   */
+  @Test
+  void testConcurrentReadsShareCompiledTemplates() throws Exception {
+    Cmi5Metadata metadata = new Cmi5Metadata();
+    metadata.setCourseContextTemplate(json("{\"platform\":\"LMS\"}"));
+    metadata.setAssignableUnitContextTemplates(Map.of("au-1", json("{\"language\":\"fr-FR\"}")));
+
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<Cmi5ContextTemplate>> results = new ArrayList<>();
+      for (int i = 0; i < 32; i++) {
+        results.add(executor.submit(() -> metadata.getCompiledContextTemplate("au-1")));
+      }
+      Cmi5ContextTemplate expected = metadata.getCompiledContextTemplate("au-1");
+      for (Future<Cmi5ContextTemplate> result : results) {
+        assertSame(expected, result.get(10, TimeUnit.SECONDS));
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static JsonNode writeMerged(Cmi5ContextTemplate template, JsonNode context)
+      throws Exception {
+    StringWriter writer = new StringWriter();
+    try (JsonGenerator generator = OBJECT_MAPPER.createGenerator(writer)) {
+      template.writeMerged(context, generator);
+    }
+    return json(writer.toString());
+  }
+
+  private static JsonNode json(String json) throws Exception {
+    return OBJECT_MAPPER.readTree(json);
+  }
+}
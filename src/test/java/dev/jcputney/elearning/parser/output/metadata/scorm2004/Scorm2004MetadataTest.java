@@ -13,6 +13,7 @@ package dev.jcputney.elearning.parser.output.metadata.scorm2004;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
@@ -23,6 +24,7 @@ import dev.jcputney.elearning.parser.enums.ModuleType;
 import dev.jcputney.elearning.parser.input.scorm2004.Scorm2004Manifest;
 import dev.jcputney.elearning.parser.input.scorm2004.SequencingUsageDetector.SequencingLevel;
 import dev.jcputney.elearning.parser.input.scorm2004.adl.types.ScormType;
+import dev.jcputney.elearning.parser.input.scorm2004.adl.types.TimeLimitAction;
 import dev.jcputney.elearning.parser.input.scorm2004.ims.cp.Scorm2004CourseMetadata;
 import dev.jcputney.elearning.parser.input.scorm2004.ims.cp.Scorm2004Item;
 import dev.jcputney.elearning.parser.input.scorm2004.ims.cp.Scorm2004Organization;
@@ -33,13 +35,16 @@ import dev.jcputney.elearning.parser.input.scorm2004.ims.ss.objective.Scorm2004O
 import dev.jcputney.elearning.parser.input.scorm2004.ims.ss.objective.Scorm2004ObjectiveMapping;
 import dev.jcputney.elearning.parser.input.scorm2004.ims.ss.objective.Scorm2004Objectives;
 import dev.jcputney.elearning.parser.input.scorm2004.ims.ss.sequencing.ControlMode;
+import dev.jcputney.elearning.parser.input.scorm2004.ims.ss.sequencing.DeliveryControls;
 import dev.jcputney.elearning.parser.input.scorm2004.ims.ss.sequencing.Sequencing;
 import dev.jcputney.elearning.parser.input.scorm2004.ims.ss.sequencing.SequencingRule;
 import dev.jcputney.elearning.parser.input.scorm2004.ims.ss.sequencing.SequencingRules;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
@@ -83,6 +88,13 @@ class Scorm2004MetadataTest {
   @BeforeEach
   void setUp() {
     MockitoAnnotations.openMocks(this);
+    // The manifest derives its analysis from the stubbed getters below
+    lenient()
+        .when(mockManifest.getAnalysis())
+        .thenCallRealMethod();
+    lenient()
+        .when(mockManifest.getSequencingUsage())
+        .thenCallRealMethod();
     lenient()
         .when(mockItem.isVisible())
         .thenReturn(true);
@@ -563,4 +575,111 @@ class Scorm2004MetadataTest {
     // Assert
     assertTrue(result);
   }
+
+  @Test
+  void testParallelExtractionMatchesSequentialExtraction() {
+    Scorm2004Manifest manifest = largeManifest(3 * Scorm2004Metadata.PARALLEL_EXTRACTION_THRESHOLD);
+
+    Scorm2004Metadata sequential = Scorm2004Metadata.create(manifest, false);
+    Scorm2004Metadata parallel = Scorm2004Metadata.create(manifest, false, 4);
+
+    assertEquals(sequential, parallel);
+    assertEquals(new ArrayList<>(sequential
+        .getActivityDeliveryControls()
+        .keySet()), new ArrayList<>(parallel
+        .getActivityDeliveryControls()
+        .keySet()));
+    assertEquals(new ArrayList<>(sequential.getDeliveryControlOverrides()),
+        new ArrayList<>(parallel.getDeliveryControlOverrides()));
+    assertEquals(new ArrayList<>(sequential
+        .getControlModes()
+        .keySet()), new ArrayList<>(parallel
+        .getControlModes()
+        .keySet()));
+    assertEquals(new ArrayList<>(sequential
+        .getTimeLimitActions()
+        .keySet()), new ArrayList<>(parallel
+        .getTimeLimitActions()
+        .keySet()));
+    assertEquals(sequential.getDataFromLms(), parallel.getDataFromLms());
+    assertEquals(3 * Scorm2004Metadata.PARALLEL_EXTRACTION_THRESHOLD + 3, parallel
+        .getActivityDeliveryControls()
+        .size());
+    assertFalse(parallel
+        .getDeliveryControlOverrides()
+        .isEmpty());
+    assertThrows(IllegalArgumentException.class,
+        () -> Scorm2004Metadata.create(manifest, false, 0));
+  }
+
+  @Test
+  void testExtractionOnCallerSuppliedPoolMatchesSequentialExtraction() {
+    Scorm2004Manifest manifest = largeManifest(3 * Scorm2004Metadata.PARALLEL_EXTRACTION_THRESHOLD);
+    ForkJoinPool pool = new ForkJoinPool(3);
+    try {
+      Scorm2004Metadata sequential = Scorm2004Metadata.create(manifest, false);
+      Scorm2004Metadata parallel = Scorm2004Metadata.create(manifest, false, pool);
+
+      assertEquals(sequential, parallel);
+      assertEquals(new ArrayList<>(sequential
+          .getActivityDeliveryControls()
+          .keySet()), new ArrayList<>(parallel
+          .getActivityDeliveryControls()
+          .keySet()));
+      assertFalse(pool.isShutdown());
+    } finally {
+      pool.shutdown();
+    }
+    assertThrows(IllegalArgumentException.class,
+        () -> Scorm2004Metadata.create(manifest, false, (ForkJoinPool) null));
+  }
+
+  /**
+   * Builds a manifest whose default organization holds three modules with the given number of
+   * leaf items spread across them, each item carrying a different mix of item-level settings.
+   */
+  private static Scorm2004Manifest largeManifest(int leafCount) {
+    List<Scorm2004Item> modules = new ArrayList<>();
+    for (int m = 0; m < 3; m++) {
+      Scorm2004Item module = new Scorm2004Item();
+      module.setIdentifier("module-" + m);
+      module.setItems(new ArrayList<>());
+      modules.add(module);
+    }
+    for (int i = 0; i < leafCount; i++) {
+      Scorm2004Item item = new Scorm2004Item();
+      item.setIdentifier("item-" + i);
+      item.setIdentifierRef("res-" + i);
+      Sequencing sequencing = new Sequencing();
+      if (i % 3 == 0) {
+        sequencing.setControlMode(new ControlMode());
+      }
+      if (i % 5 == 0) {
+        DeliveryControls controls = new DeliveryControls();
+        controls.setTracked(false);
+        sequencing.setDeliveryControls(controls);
+      }
+      item.setSequencing(sequencing);
+      if (i % 7 == 0) {
+        item.setTimeLimitAction(TimeLimitAction.EXIT_MESSAGE);
+      }
+      if (i % 11 == 0) {
+        item.setDataFromLMS("data-" + i);
+      }
+      modules
+          .get(i % modules.size())
+          .getItems()
+          .add(item);
+    }
+
+    Scorm2004Organization organization = new Scorm2004Organization();
+    organization.setIdentifier("org");
+    organization.setItems(modules);
+    Scorm2004Organizations organizations = new Scorm2004Organizations();
+    organizations.setDefaultOrganization("org");
+    organizations.setOrganizationList(List.of(organization));
+    Scorm2004Manifest manifest = new Scorm2004Manifest();
+    manifest.setOrganizations(organizations);
+    return manifest;
+  }
 }
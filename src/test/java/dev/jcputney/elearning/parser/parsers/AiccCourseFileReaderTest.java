@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.parsers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import dev.jcputney.elearning.parser.input.aicc.AiccCourse;
+import java.io.IOException;
+import java.io.StringReader;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the single-pass AICC course file tokenizer.
+ */
+class AiccCourseFileReaderTest {
+
+  @Test
+  void testReadsSectionsCaseInsensitively() throws IOException {
+    AiccCourse course = read("""
+        ; leading comment
+        [course]
+        course_creator = Example Corp
+        COURSE_ID: C-1
+        Course_Title=Title
+        Course_System=HTML
+        [Course_Behavior]
+        Max_Normal=3
+        """);
+
+    assertEquals("Example Corp", course
+        .getCourse()
+        .getCourseCreator());
+    assertEquals("C-1", course
+        .getCourse()
+        .getCourseId());
+    assertEquals("Title", course
+        .getCourse()
+        .getCourseTitle());
+    assertEquals("3", course
+        .getCourseBehavior()
+        .getMaxNormal());
+    assertNull(course.getCourseDescription());
+  }
+
+  @Test
+  void testParsesQuotesInlineCommentsAndContinuations() throws IOException {
+    AiccCourse course = read("""
+        [Course]
+        Course_Creator="Quoted \\"Corp\\" ; not a comment" ; comment
+        Course_ID=C-1 # trailing comment
+        Course_Title=Part one \\
+          part two
+        Course_System=C:\\Windows;HTML
+        Version
+        """);
+
+    AiccCourse.Course data = course.getCourse();
+    assertEquals("Quoted \"Corp\" ; not a comment", data.getCourseCreator());
+    assertEquals("C-1", data.getCourseId());
+    assertEquals("Part one" + System.lineSeparator() + "part two", data.getCourseTitle());
+    assertEquals("C:\\Windows;HTML", data.getCourseSystem());
+    assertEquals("", data.getVersion());
+  }
+
+  @Test
+  void testRepeatedKeysAreReportedAsList() throws IOException {
+    AiccCourse course = read("""
+        [Course]
+        Course_Title=First
+        Course_Title=Second
+        """);
+
+    assertEquals("[First, Second]", course
+        .getCourse()
+        .getCourseTitle());
+  }
+
+  @Test
+  void testCapturesRawDescriptionInSamePass() throws IOException {
+    AiccCourse course = read("""
+        [Course]
+        Course_Title=Title
+        [Course_Description]
+
+          First line; with = signs
+
+        # Second line
+        [Course_Behavior]
+        Max_Normal=1
+        [Course_Description]
+        Ignored=true
+        """);
+
+    assertEquals("First line; with = signs\n\n# Second line", course.getCourseDescription());
+    assertEquals("1", course
+        .getCourseBehavior()
+        .getMaxNormal());
+  }
+
+  @Test
+  void testIgnoresKeysOutsideSections() throws IOException {
+    AiccCourse course = read("""
+        Course_Title=Global
+        [Course]
+        Course_Title=Title
+        """);
+
+    assertEquals("Title", course
+        .getCourse()
+        .getCourseTitle());
+  }
+
+  private static AiccCourse read(String content) throws IOException {
+    return AiccCourseFileReader.read(new StringReader(content));
+  }
+}
@@ -17,10 +17,16 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import dev.jcputney.elearning.parser.impl.access.LocalFileAccess;
 import dev.jcputney.elearning.parser.output.metadata.aicc.AiccMetadata;
+import dev.jcputney.elearning.parser.validation.ValidationCodes;
+import dev.jcputney.elearning.parser.validation.ValidationIssue;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 class AiccParserPreOrtTest {
 
@@ -79,4 +85,32 @@ class AiccParserPreOrtTest {
         .get(0)
         .getAssociatedAuIds());
   }
+
+  @Test
+  void parseAndValidateReportsPrerequisiteCycles(@TempDir Path modulePath) throws Exception {
+    try (Stream<Path> files = Files.list(fixtureRoot())) {
+      for (Path file : files.toList()) {
+        Files.copy(file, modulePath.resolve(file.getFileName()));
+      }
+    }
+    // A2 already requires A1; make A1 require A2
+    Files.writeString(modulePath.resolve("lesson.pre"),
+        "\"source\",\"target\",\"type\"\n\"A2\",\"A1\",\"requires\"\n"
+            + "\"A1\",\"A2\",\"requires\"\n", StandardCharsets.UTF_8);
+
+    var result = new AiccParser(new LocalFileAccess(modulePath.toString())).parseAndValidate();
+
+    List<ValidationIssue> cycles = result
+        .validation()
+        .getWarnings()
+        .stream()
+        .filter(issue -> issue
+            .code()
+            .equals(ValidationCodes.AICC_PREREQUISITE_CYCLE))
+        .toList();
+    assertEquals(1, cycles.size());
+    assertEquals(((AiccMetadata) result.metadata())
+        .getPrerequisiteGraph()
+        .getCycleIssues(), cycles);
+  }
 }
@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.parsers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import dev.jcputney.elearning.parser.api.ParserOptions;
+import dev.jcputney.elearning.parser.exception.ModuleException;
+import dev.jcputney.elearning.parser.impl.access.LocalFileAccess;
+import dev.jcputney.elearning.parser.output.metadata.aicc.AiccMetadata;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Tests for streaming the AICC course structure, prerequisites and objectives relation tables.
+ */
+class AiccParserStreamingTest {
+
+  private static final String BASE_MODULE_PATH = "src/test/resources/modules/aicc";
+
+  @ParameterizedTest
+  @ValueSource(strings = {"package", "complex", "pre-ort", "multiline-description"})
+  void testStreamingProducesSameMetadata(String module) throws ModuleException {
+    String modulePath = BASE_MODULE_PATH + "/" + module;
+    AiccMetadata retained = new AiccParser(new LocalFileAccess(modulePath)).parseOnly();
+    AiccMetadata streamed = new AiccParser(new LocalFileAccess(modulePath),
+        new ParserOptions().setStreamAiccTables(true)).parseOnly();
+
+    assertSameDerivedMetadata(retained, streamed);
+    assertEquals(retained
+        .getManifest()
+        .getAssignableUnits(), streamed
+        .getManifest()
+        .getAssignableUnits());
+    assertEquals(retained.getLaunchUrl(), streamed.getLaunchUrl());
+    assertTrue(streamed
+        .getManifest()
+        .getCourseStructures()
+        .isEmpty());
+    assertTrue(streamed
+        .getManifest()
+        .getPrerequisitesTable()
+        .isEmpty());
+    assertTrue(streamed
+        .getManifest()
+        .getObjectivesRelationTable()
+        .isEmpty());
+  }
+
+  @Test
+  void testStreamingLargeTablesKeepsOnlyDistinctEntries(@TempDir Path dir) throws Exception {
+    int units = 500;
+    int repeats = 20;
+    writeLargePackage(dir, units, repeats);
+
+    AiccMetadata retained = new AiccParser(new LocalFileAccess(dir.toString())).parseOnly();
+    AiccMetadata streamed = new AiccParser(new LocalFileAccess(dir.toString()),
+        new ParserOptions().setStreamAiccTables(true)).parseOnly();
+
+    assertSameDerivedMetadata(retained, streamed);
+    assertEquals("a0.html", streamed.getLaunchUrl());
+    assertEquals(units * repeats, streamed.getObjectivesRelationCount());
+    assertEquals(10, streamed
+        .getAssignableUnitChildren()
+        .size());
+    assertEquals(50, streamed
+        .getObjectiveIds()
+        .size());
+    assertEquals(List.of("OBJ1"), streamed
+        .getObjectivesByAu()
+        .get("A1"));
+  }
+
+  @Test
+  void testConcurrentStreamingParsesKeepTheirOwnTables(@TempDir Path dir) throws Exception {
+    writeLargePackage(dir, 200, 5);
+    AiccMetadata retained = new AiccParser(new LocalFileAccess(dir.toString())).parseOnly();
+    AiccParser parser = new AiccParser(new LocalFileAccess(dir.toString()),
+        new ParserOptions().setStreamAiccTables(true));
+
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<AiccMetadata>> parses = new ArrayList<>();
+      for (int i = 0; i < 64; i++) {
+        parses.add(executor.submit(parser::parseOnly));
+      }
+      for (Future<AiccMetadata> parse : parses) {
+        assertSameDerivedMetadata(retained, parse.get());
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void testStreamingReportsMissingCourseStructure(@TempDir Path dir) throws Exception {
+    write(dir.resolve("course.crs"), "[Course]\nCourse_Title=Missing\n");
+    write(dir.resolve("course.des"), "\"System_ID\",\"Title\"\n");
+    write(dir.resolve("course.au"), "\"System_ID\",\"File_Name\"\n\"A1\",\"a.html\"\n");
+
+    AiccParser parser = new AiccParser(new LocalFileAccess(dir.toString()),
+        new ParserOptions().setStreamAiccTables(true));
+
+    assertThrows(IOException.class, parser::parseManifest);
+  }
+
+  private static void assertSameDerivedMetadata(AiccMetadata expected, AiccMetadata actual) {
+    assertEquals(expected.getAssignableUnitIds(), actual.getAssignableUnitIds());
+    assertEquals(expected.getAssignableUnitChildren(), actual.getAssignableUnitChildren());
+    assertEquals(expected.getParsedPrerequisites(), actual.getParsedPrerequisites());
+    assertEquals(expected.getObjectiveMetadata(), actual.getObjectiveMetadata());
+    assertEquals(expected.getPrerequisitesGraph(), actual.getPrerequisitesGraph());
+    assertEquals(expected.getObjectiveIds(), actual.getObjectiveIds());
+    assertEquals(expected.getObjectivesByAu(), actual.getObjectivesByAu());
+    assertEquals(expected.getPrerequisitesEdgeCount(), actual.getPrerequisitesEdgeCount());
+    assertEquals(expected.getObjectivesRelationCount(), actual.getObjectivesRelationCount());
+    assertEquals(expected.requiresLevel2(), actual.requiresLevel2());
+    assertEquals(expected.requiresLevel3(), actual.requiresLevel3());
+    assertEquals(expected.requiresLevel4(), actual.requiresLevel4());
+  }
+
+  private static void writeLargePackage(Path dir, int units, int repeats) throws IOException {
+    StringBuilder au = new StringBuilder(
+        "\"System_ID\",\"Command_Line\",\"File_Name\",\"Core_Vendor\"\n");
+    StringBuilder cst = new StringBuilder("\"Block\",\"Member\"\n");
+    StringBuilder ort = new StringBuilder("\"Objective_ID\",\"AU_System_ID\"\n");
+    for (int i = 0; i < units; i++) {
+      au.append("\"A").append(i).append("\",\"\",\"a").append(i).append(".html\",\"\"\n");
+    }
+    for (int r = 0; r < repeats; r++) {
+      for (int i = 0; i < units; i++) {
+        String block = i == 0 ? "ROOT" : "B" + i % 10;
+        cst.append("\"").append(block).append("\",\"A").append(i).append("\"\n");
+        ort.append("\"OBJ").append(i % 50).append("\",\"A").append(i).append("\"\n");
+      }
+    }
+    write(dir.resolve("course.crs"), """
+        [Course]
+        Course_Creator=Test
+        Course_ID=LARGE
+        Course_System=HTML
+        Course_Title=Large Tables
+        Level=3
+        [Course_Behavior]
+        Max_Normal=1
+        """);
+    write(dir.resolve("course.des"), "\"System_ID\",\"Title\"\n\"A0\",\"First\"\n");
+    write(dir.resolve("course.au"), au);
+    write(dir.resolve("course.cst"), cst);
+    write(dir.resolve("course.ort"), ort);
+  }
+
+  private static void write(Path file, CharSequence content) throws IOException {
+    Files.writeString(file, content, StandardCharsets.UTF_8);
+  }
+}
@@ -14,8 +14,11 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import dev.jcputney.elearning.parser.api.ParserOptions;
+import dev.jcputney.elearning.parser.benchmark.SyntheticPackages;
 import dev.jcputney.elearning.parser.enums.ModuleType;
 import dev.jcputney.elearning.parser.exception.ModuleException;
 import dev.jcputney.elearning.parser.impl.access.LocalFileAccess;
@@ -30,7 +33,13 @@ import dev.jcputney.elearning.parser.output.metadata.cmi5.Cmi5Metadata;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
@@ -522,4 +531,76 @@ public class Cmi5ParserTest {
     Cmi5Parser parser = new Cmi5Parser(new LocalFileAccess(tempDir.toString()));
     assertThrows(ModuleException.class, parser::parseOnly);
   }
+
+  /**
+   * Tests that streaming the course structure yields the same metadata as binding it, while the
+   * manifest only keeps what validation and the launch URL need.
+   */
+  @Test
+  void testStreamingCourseStructureMatchesBoundParsing() throws IOException, ModuleException {
+    try (var modules = Files.list(Path.of(BASE_MODULE_PATH))) {
+      for (Path module : modules
+          .filter(path -> Files.exists(path.resolve(Cmi5Parser.CMI5_XML)))
+          .sorted()
+          .toList()) {
+        Cmi5Metadata bound = (Cmi5Metadata) new Cmi5Parser(
+            new LocalFileAccess(module.toString()))
+            .parseAndValidate()
+            .metadata();
+        Cmi5Parser streamingParser = new Cmi5Parser(new LocalFileAccess(module.toString()),
+            new ParserOptions().setStreamCmi5Structure(true));
+        Cmi5Metadata streamed = (Cmi5Metadata) streamingParser
+            .parseAndValidate()
+            .metadata();
+
+        assertEquals(bound.getTitle(), streamed.getTitle(), module.toString());
+        assertEquals(bound.getLaunchUrl(), streamed.getLaunchUrl(), module.toString());
+        assertEquals(bound.getAssignableUnitIds(), streamed.getAssignableUnitIds());
+        assertEquals(bound.getAssignableUnitUrls(), streamed.getAssignableUnitUrls());
+        assertEquals(bound.getAuDetails(), streamed.getAuDetails());
+        assertEquals(bound.getMasteryScores(), streamed.getMasteryScores());
+        assertEquals(bound.getMoveOnCriteria(), streamed.getMoveOnCriteria());
+        assertEquals(bound.getLaunchMethods(), streamed.getLaunchMethods());
+        assertEquals(bound.getBlockIds(), streamed.getBlockIds());
+        assertEquals(bound.getObjectiveIds(), streamed.getObjectiveIds());
+        assertTrue(streamed
+            .getManifest()
+            .getAssignableUnits() == null || streamed
+            .getManifest()
+            .getAssignableUnits()
+            .size() == 1);
+      }
+    }
+  }
+
+  /**
+   * Tests that concurrent parses with one streaming parser each keep the assignable units they
+   * collected, rather than receiving the units of another parse.
+   */
+  @Test
+  void testConcurrentStreamingParsesKeepTheirOwnUnits(@TempDir Path tempDir) throws Exception {
+    SyntheticPackages.writeDirectory(SyntheticPackages.generate(SyntheticPackages.CMI5,
+        new SyntheticPackages.Shape(1, 1, 0, 3, 0, 0, 2_000)), tempDir);
+    Cmi5Parser parser = new Cmi5Parser(new LocalFileAccess(tempDir.toString()),
+        new ParserOptions().setStreamCmi5Structure(true));
+    List<String> expected = parser
+        .parseOnly()
+        .getAssignableUnitIds();
+    assertEquals(2_000, expected.size());
+
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<List<String>>> results = new ArrayList<>();
+      for (int i = 0; i < 64; i++) {
+        results.add(executor.submit(() -> parser
+            .parseOnly()
+            .getAssignableUnitIds()));
+      }
+      for (Future<List<String>> result : results) {
+        assertEquals(expected, result.get(30, TimeUnit.SECONDS));
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
 }
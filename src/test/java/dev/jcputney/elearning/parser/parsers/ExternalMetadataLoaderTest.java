@@ -0,0 +1,361 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.parsers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import dev.jcputney.elearning.parser.api.LoadableMetadata;
+import dev.jcputney.elearning.parser.api.ModuleFileProvider;
+import dev.jcputney.elearning.parser.api.ParserOptions;
+import dev.jcputney.elearning.parser.impl.access.LocalFileAccess;
+import dev.jcputney.elearning.parser.impl.provider.DefaultModuleFileProvider;
+import dev.jcputney.elearning.parser.input.lom.LOM;
+import dev.jcputney.elearning.parser.input.scorm12.Scorm12Manifest;
+import dev.jcputney.elearning.parser.input.scorm12.ims.cp.Scorm12Metadata;
+import dev.jcputney.elearning.parser.input.scorm2004.Scorm2004Manifest;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Tests for collecting and loading external LOM metadata in one batch.
+ */
+class ExternalMetadataLoaderTest {
+
+  private static final String LOM_XML = "<lom><general><title><string language=\"en\">%s</string>"
+      + "</title></general></lom>";
+
+  @TempDir
+  Path dir;
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 4})
+  void testSharedLocationsAreReadOnce(int parallelism) throws Exception {
+    write("shared.xml", String.format(LOM_XML, "Shared"));
+    write("single.xml", String.format(LOM_XML, "Single"));
+    ModuleFileProvider provider = spy(new DefaultModuleFileProvider(
+        new LocalFileAccess(dir.toString())));
+    TestMetadata first = new TestMetadata("shared.xml");
+    TestMetadata second = new TestMetadata("single.xml");
+    TestMetadata third = new TestMetadata("shared.xml");
+
+    ExternalMetadataLoader loader = new ExternalMetadataLoader(provider, parallelism);
+    loader.add(first);
+    loader.add(second);
+    loader.add(third);
+    loader.add(null);
+    loader.add(new TestMetadata(""));
+    loader.load();
+
+    assertEquals(2, loader.size());
+    assertNotNull(first.getLom());
+    assertSame(first.getLom(), third.getLom());
+    assertNotNull(second.getLom());
+    verify(provider, times(1)).fileExistsBatch(anyList());
+    verify(provider, times(1)).getFileContents("shared.xml");
+    verify(provider, times(1)).getFileContents("single.xml");
+  }
+
+  @Test
+  void testMissingLocationsAreSkipped() throws Exception {
+    write("present.xml", String.format(LOM_XML, "Present"));
+    TestMetadata present = new TestMetadata("present.xml");
+    TestMetadata missing = new TestMetadata("missing.xml");
+
+    ExternalMetadataLoader loader = newLoader(4);
+    loader.add(missing);
+    loader.add(present);
+    loader.load();
+
+    assertNull(missing.getLom());
+    assertNotNull(present.getLom());
+  }
+
+  @Test
+  void testConcurrentLoadMatchesSequentialLoad() throws Exception {
+    List<TestMetadata> sequential = new ArrayList<>();
+    List<TestMetadata> concurrent = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      write("lom-" + i + ".xml", String.format(LOM_XML, "Title " + i));
+      sequential.add(new TestMetadata("lom-" + i + ".xml"));
+      concurrent.add(new TestMetadata("lom-" + i + ".xml"));
+    }
+
+    ExternalMetadataLoader sequentialLoader = newLoader(1);
+    sequential.forEach(sequentialLoader::add);
+    sequentialLoader.load();
+    ExternalMetadataLoader concurrentLoader = newLoader(8);
+    concurrent.forEach(concurrentLoader::add);
+    concurrentLoader.load();
+
+    for (int i = 0; i < sequential.size(); i++) {
+      assertNotNull(concurrent
+          .get(i)
+          .getLom());
+      assertEquals(sequential
+          .get(i)
+          .getLom(), concurrent
+          .get(i)
+          .getLom());
+    }
+  }
+
+  @Test
+  void testConcurrentLoadsRunOnBoundedDaemonThreads() throws Exception {
+    List<TestMetadata> owners = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      write("lom-" + i + ".xml", String.format(LOM_XML, "Title " + i));
+      owners.add(new TestMetadata("lom-" + i + ".xml"));
+    }
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+    Set<Boolean> daemonThreads = ConcurrentHashMap.newKeySet();
+    ModuleFileProvider provider = spy(new DefaultModuleFileProvider(
+        new LocalFileAccess(dir.toString())));
+    doAnswer(invocation -> {
+      maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+      daemonThreads.add(Thread
+          .currentThread()
+          .isDaemon());
+      try {
+        Thread.sleep(5);
+        return invocation.callRealMethod();
+      } finally {
+        running.decrementAndGet();
+      }
+    })
+        .when(provider)
+        .getFileContents(anyString());
+
+    ExternalMetadataLoader loader = new ExternalMetadataLoader(provider, 3);
+    owners.forEach(loader::add);
+    loader.load();
+
+    for (TestMetadata owner : owners) {
+      assertNotNull(owner.getLom());
+    }
+    assertTrue(maxRunning.get() <= 3);
+    assertEquals(Set.of(true), daemonThreads);
+  }
+
+  @Test
+  void testFirstFailureInCollectionOrderIsReported() throws Exception {
+    write("valid.xml", String.format(LOM_XML, "Valid"));
+    write("broken-a.xml", "<lom><general>");
+    write("broken-b.xml", "<lom><general>");
+    write("valid-after.xml", String.format(LOM_XML, "After"));
+    TestMetadata valid = new TestMetadata("valid.xml");
+    TestMetadata after = new TestMetadata("valid-after.xml");
+
+    ExternalMetadataLoader loader = newLoader(4);
+    loader.add(valid);
+    loader.add(new TestMetadata("broken-a.xml"));
+    loader.add(new TestMetadata("broken-b.xml"));
+    loader.add(after);
+
+    Exception exception = assertThrows(Exception.class, loader::load);
+
+    assertTrue(exception
+        .getMessage()
+        .contains("Failed to load external metadata from 'broken-a.xml'"));
+    assertNotNull(valid.getLom());
+    assertNull(after.getLom());
+  }
+
+  @Test
+  void testRejectsInvalidParallelism() {
+    ModuleFileProvider provider = new DefaultModuleFileProvider(
+        new LocalFileAccess(dir.toString()));
+
+    assertThrows(IllegalArgumentException.class, () -> new ExternalMetadataLoader(provider, 0));
+    assertThrows(IllegalArgumentException.class,
+        () -> new ParserOptions().setExternalMetadataParallelism(0));
+  }
+
+  @Test
+  void testScorm2004ParserLoadsSameMetadataAtAnyParallelism() throws Exception {
+    String modulePath =
+        "src/test/resources/modules/scorm2004/ContentPackagingMetadata_SCORM20043rdEdition";
+    Scorm2004Manifest sequential = new Scorm2004Parser(new LocalFileAccess(modulePath),
+        new ParserOptions().setExternalMetadataParallelism(1)).parseManifest(
+        Scorm2004Parser.MANIFEST_FILE);
+    Scorm2004Manifest concurrent = new Scorm2004Parser(new LocalFileAccess(modulePath),
+        new ParserOptions().setExternalMetadataParallelism(8)).parseManifest(
+        Scorm2004Parser.MANIFEST_FILE);
+
+    assertNotNull(concurrent
+        .getMetadata()
+        .getLom());
+    assertEquals(sequential
+        .getMetadata()
+        .getLom(), concurrent
+        .getMetadata()
+        .getLom());
+    assertEquals(sequential, concurrent);
+  }
+
+  @Test
+  void testDeferLoadsSharedLocationOnFirstAccess() throws Exception {
+    write("shared.xml", String.format(LOM_XML, "Shared"));
+    ModuleFileProvider provider = spy(new DefaultModuleFileProvider(
+        new LocalFileAccess(dir.toString())));
+    Scorm12Metadata first = lazyMetadata("shared.xml");
+    Scorm12Metadata second = lazyMetadata("shared.xml");
+
+    ExternalMetadataLoader loader = new ExternalMetadataLoader(provider, 4);
+    loader.add(first);
+    loader.add(second);
+    loader.defer(false);
+
+    verify(provider, never()).getFileContents("shared.xml");
+    assertNotNull(first.getLom());
+    assertSame(first.getLom(), second.getLom());
+    verify(provider, times(1)).getFileContents("shared.xml");
+  }
+
+  @Test
+  void testDeferKeepsInlineLomWhenFileIsMissing() {
+    LOM inline = new LOM();
+    Scorm12Metadata metadata = lazyMetadata("missing.xml");
+    metadata.setLom(inline);
+
+    ExternalMetadataLoader loader = newLoader(1);
+    loader.add(metadata);
+    loader.defer(false);
+
+    assertSame(inline, metadata.getLom());
+  }
+
+  @Test
+  void testDeferReportsFailureOnAccess() throws Exception {
+    write("broken.xml", "<lom><general>");
+    Scorm12Metadata metadata = lazyMetadata("broken.xml");
+
+    ExternalMetadataLoader loader = newLoader(1);
+    loader.add(metadata);
+    loader.defer(false);
+
+    UncheckedIOException exception = assertThrows(UncheckedIOException.class, metadata::getLom);
+    assertTrue(exception
+        .getMessage()
+        .contains("Failed to load external metadata from 'broken.xml'"));
+  }
+
+  @Test
+  void testDeferWithPrefetchLoadsInBackground() throws Exception {
+    List<Scorm12Metadata> owners = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      write("lom-" + i + ".xml", String.format(LOM_XML, "Title " + i));
+      owners.add(lazyMetadata("lom-" + i + ".xml"));
+    }
+    ModuleFileProvider provider = spy(new DefaultModuleFileProvider(
+        new LocalFileAccess(dir.toString())));
+
+    ExternalMetadataLoader loader = new ExternalMetadataLoader(provider, 4);
+    owners.forEach(loader::add);
+    loader.defer(true);
+
+    for (Scorm12Metadata owner : owners) {
+      assertNotNull(owner.getLom());
+    }
+    for (int i = 0; i < owners.size(); i++) {
+      verify(provider, times(1)).getFileContents("lom-" + i + ".xml");
+    }
+  }
+
+  @Test
+  void testScorm12ParserDefersExternalMetadataUntilAccess() throws Exception {
+    String modulePath = "src/test/resources/modules/scorm12/ContentPackagingWithMetadata_SCORM12";
+    LocalFileAccess fileAccess = spy(new LocalFileAccess(modulePath));
+    Scorm12Manifest eager = new Scorm12Parser(new LocalFileAccess(modulePath))
+        .parseManifest(Scorm12Parser.MANIFEST_FILE);
+
+    Scorm12Manifest lazy = new Scorm12Parser(fileAccess,
+        new ParserOptions().setLazyExternalMetadata(true))
+        .parseManifest(Scorm12Parser.MANIFEST_FILE);
+
+    verify(fileAccess, never()).getFileContents("metadata.xml");
+    assertNotNull(lazy
+        .getMetadata()
+        .getLom());
+    assertEquals(eager
+        .getMetadata()
+        .getLom(), lazy
+        .getMetadata()
+        .getLom());
+    verify(fileAccess, times(1)).getFileContents("metadata.xml");
+  }
+
+  private ExternalMetadataLoader newLoader(int parallelism) {
+    return new ExternalMetadataLoader(
+        new DefaultModuleFileProvider(new LocalFileAccess(dir.toString())), parallelism);
+  }
+
+  private static Scorm12Metadata lazyMetadata(String location) {
+    Scorm12Metadata metadata = new Scorm12Metadata();
+    metadata.setLocation(location);
+    return metadata;
+  }
+
+  private void write(String name, String content) throws IOException {
+    Files.writeString(dir.resolve(name), content);
+  }
+
+  /**
+   * A minimal {@link LoadableMetadata} for testing.
+   */
+  private static class TestMetadata implements LoadableMetadata {
+
+    private final String location;
+    private LOM lom;
+
+    TestMetadata(String location) {
+      this.location = location;
+    }
+
+    @Override
+    public String getLocation() {
+      return location;
+    }
+
+    @Override
+    public LOM getLom() {
+      return lom;
+    }
+
+    @Override
+    public void setLom(LOM lom) {
+      this.lom = lom;
+    }
+  }
+}
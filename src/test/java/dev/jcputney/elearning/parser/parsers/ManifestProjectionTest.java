@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.parsers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import dev.jcputney.elearning.parser.api.ParserOptions;
+import dev.jcputney.elearning.parser.enums.ProjectionField;
+import dev.jcputney.elearning.parser.impl.access.LocalFileAccess;
+import dev.jcputney.elearning.parser.output.metadata.scorm12.Scorm12Metadata;
+import dev.jcputney.elearning.parser.output.metadata.scorm2004.Scorm2004Metadata;
+import dev.jcputney.elearning.parser.util.ParseMetrics;
+import java.util.EnumSet;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for parsing SCORM manifests with a projection of the requested fields.
+ */
+class ManifestProjectionTest {
+
+  private static final String MODULES = "src/test/resources/modules/";
+
+  private static final Set<ProjectionField> HEADLINE = EnumSet.of(ProjectionField.TITLE,
+      ProjectionField.LAUNCH_URL, ProjectionField.IDENTIFIER);
+
+  @Test
+  void testScorm2004HeadlineMatchesFullParse() throws Exception {
+    String path = MODULES + "scorm2004/SequencingSimpleRemediation_SCORM20043rdEdition";
+    Scorm2004Metadata full = new Scorm2004Parser(new LocalFileAccess(path)).parseOnly();
+    ParseMetrics metrics = new ParseMetrics();
+    Scorm2004Metadata projected = new Scorm2004Parser(new LocalFileAccess(path),
+        new ParserOptions()
+            .setProjection(HEADLINE)
+            .setCalculateModuleSize(true)
+            .setParseListener(metrics))
+        .parseOnly();
+
+    assertThat(projected.getTitle()).isEqualTo(full.getTitle());
+    assertThat(projected.getLaunchUrl()).isEqualTo(full.getLaunchUrl());
+    assertThat(projected.getIdentifier()).isEqualTo(full.getIdentifier());
+    assertThat(projected
+        .getManifest()
+        .getSequencingCollection()).isNull();
+    assertThat(full
+        .getManifest()
+        .getSequencingCollection()).isNotNull();
+    assertThat(projected.getSizeOnDisk()).isEqualTo(-1);
+    assertThat(metrics.getFilesOpened()).isEqualTo(1);
+  }
+
+  @Test
+  void testScorm2004SequencingLevelIsBoundWhenRequested() throws Exception {
+    String path = MODULES + "scorm2004/SequencingForcedSequential_SCORM20043rdEdition";
+    Scorm2004Metadata full = new Scorm2004Parser(new LocalFileAccess(path)).parseOnly();
+    Scorm2004Metadata projected = new Scorm2004Parser(new LocalFileAccess(path),
+        new ParserOptions().setProjection(EnumSet.of(ProjectionField.SEQUENCING_LEVEL)))
+        .parseOnly();
+
+    assertThat(projected.getSequencingLevel()).isEqualTo(full.getSequencingLevel());
+    assertThat(projected
+        .getManifest()
+        .getMetadata()).isNull();
+  }
+
+  @Test
+  void testExternalMetadataIsNotRead() throws Exception {
+    String path = MODULES + "scorm2004/ContentPackagingMetadata_SCORM20043rdEdition";
+    ParseMetrics full = new ParseMetrics();
+    new Scorm2004Parser(new LocalFileAccess(path), new ParserOptions().setParseListener(full))
+        .parseOnly();
+    ParseMetrics projected = new ParseMetrics();
+    Scorm2004Metadata metadata = new Scorm2004Parser(new LocalFileAccess(path),
+        new ParserOptions()
+            .setProjection(EnumSet.of(ProjectionField.LAUNCH_URL))
+            .setParseListener(projected))
+        .parseOnly();
+
+    assertThat(metadata.getLaunchUrl()).isNotBlank();
+    assertThat(projected.getFilesOpened()).isEqualTo(1);
+    assertThat(full.getFilesOpened()).isGreaterThan(1);
+  }
+
+  @Test
+  void testScorm12HeadlineMatchesFullParse() throws Exception {
+    String path = MODULES + "scorm12/ContentPackagingWithMetadata_SCORM12";
+    Scorm12Metadata full = new Scorm12Parser(new LocalFileAccess(path)).parseOnly();
+    ParseMetrics metrics = new ParseMetrics();
+    Scorm12Metadata projected = new Scorm12Parser(new LocalFileAccess(path),
+        new ParserOptions()
+            .setProjection(HEADLINE)
+            .setParseListener(metrics))
+        .parseOnly();
+
+    assertThat(projected.getTitle()).isEqualTo(full.getTitle());
+    assertThat(projected.getLaunchUrl()).isEqualTo(full.getLaunchUrl());
+    assertThat(projected.getIdentifier()).isEqualTo(full.getIdentifier());
+    assertThat(projected.getSizeOnDisk()).isEqualTo(-1);
+    assertThat(metrics.getFilesOpened()).isEqualTo(1);
+  }
+}
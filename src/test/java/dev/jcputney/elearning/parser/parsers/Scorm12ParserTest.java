@@ -16,6 +16,7 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import dev.jcputney.elearning.parser.api.ParseResult;
 import dev.jcputney.elearning.parser.api.ParserOptions;
 import dev.jcputney.elearning.parser.exception.ModuleException;
 import dev.jcputney.elearning.parser.impl.access.LocalFileAccess;
@@ -23,8 +24,17 @@ import dev.jcputney.elearning.parser.input.lom.LOM;
 import dev.jcputney.elearning.parser.input.lom.properties.YesNoType;
 import dev.jcputney.elearning.parser.input.scorm12.Scorm12Manifest;
 import dev.jcputney.elearning.parser.output.metadata.scorm12.Scorm12Metadata;
+import dev.jcputney.elearning.parser.validation.ValidationCodes;
+import dev.jcputney.elearning.parser.validation.ValidationIssue;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
 import org.apache.commons.lang3.StringUtils;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 /**
  * Tests for the SCORM 1.2 parser.
@@ -378,4 +388,50 @@ public class Scorm12ParserTest {
             .getHref()
             .isEmpty()));
   }
+
+  @Test
+  void testParseAndValidateReportsPrerequisiteCycles(@TempDir Path modulePath)
+      throws ModuleException, IOException {
+    Path fixture = Path.of("src/test/resources/modules/scorm12/PrerequisitesTest_SCORM12");
+    try (Stream<Path> files = Files.list(fixture)) {
+      for (Path file : files.toList()) {
+        Files.copy(file, modulePath.resolve(file.getFileName()));
+      }
+    }
+    assertTrue(new Scorm12Parser(new LocalFileAccess(fixture.toString()))
+        .parseAndValidate()
+        .validation()
+        .getWarnings()
+        .stream()
+        .noneMatch(issue -> issue
+            .code()
+            .equals(ValidationCodes.SCORM12_PREREQUISITE_CYCLE)));
+
+    // module2 already requires module1; make module1 require module2
+    Path manifest = modulePath.resolve("imsmanifest.xml");
+    Files.writeString(manifest, Files
+        .readString(manifest, StandardCharsets.UTF_8)
+        .replace("<adlcp:prerequisites type=\"aicc_script\"></adlcp:prerequisites>",
+            "<adlcp:prerequisites type=\"aicc_script\">module2</adlcp:prerequisites>"),
+        StandardCharsets.UTF_8);
+
+    ParseResult<Scorm12Manifest> result = new Scorm12Parser(
+        new LocalFileAccess(modulePath.toString())).parseAndValidate();
+
+    List<ValidationIssue> cycles = result
+        .validation()
+        .getWarnings()
+        .stream()
+        .filter(issue -> issue
+            .code()
+            .equals(ValidationCodes.SCORM12_PREREQUISITE_CYCLE))
+        .toList();
+    assertEquals(1, cycles.size());
+    assertThat(cycles
+        .get(0)
+        .message()).contains("module1, module2");
+    assertEquals(((Scorm12Metadata) result.metadata())
+        .getPrerequisiteGraph()
+        .getCycleIssues(), cycles);
+  }
 }
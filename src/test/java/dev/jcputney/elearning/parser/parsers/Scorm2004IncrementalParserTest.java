@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package dev.jcputney.elearning.parser.parsers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import dev.jcputney.elearning.parser.api.ParseResult;
+import dev.jcputney.elearning.parser.benchmark.SyntheticPackages;
+import dev.jcputney.elearning.parser.impl.access.LocalFileAccess;
+import dev.jcputney.elearning.parser.input.scorm2004.Scorm2004Manifest;
+import dev.jcputney.elearning.parser.input.scorm2004.Scorm2004ManifestDiff;
+import dev.jcputney.elearning.parser.input.scorm2004.ims.cp.Scorm2004Item;
+import dev.jcputney.elearning.parser.input.scorm2004.ims.ss.sequencing.Sequencing;
+import dev.jcputney.elearning.parser.output.metadata.scorm2004.Scorm2004Metadata;
+import dev.jcputney.elearning.parser.validation.ValidationResult;
+import dev.jcputney.elearning.parser.validators.Scorm2004ResourceValidator;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class Scorm2004IncrementalParserTest {
+
+  private static final String MODULE_PATH =
+      "src/test/resources/modules/scorm2004/SequencingSimpleRemediation_SCORM20043rdEdition";
+
+  private Scorm2004Parser parser;
+  private Scorm2004IncrementalParser incremental;
+
+  @BeforeEach
+  void setUp() {
+    parser = new Scorm2004Parser(new LocalFileAccess(MODULE_PATH));
+    incremental = new Scorm2004IncrementalParser(parser);
+  }
+
+  @Test
+  void initialParseMatchesFullParse() throws Exception {
+    ParseResult<Scorm2004Manifest> result = incremental.parseAndValidate();
+    ParseResult<Scorm2004Manifest> full = parser.parseAndValidate();
+
+    assertThat(result.validation().getAllIssues()).isEqualTo(full.validation().getAllIssues());
+    assertThat(result.metadata()).isEqualTo(full.metadata());
+  }
+
+  @Test
+  void unchangedManifestReturnsPreviousResult() throws Exception {
+    ParseResult<Scorm2004Manifest> previous = incremental.parseAndValidate();
+
+    assertThat(incremental.reparse(previous)).isSameAs(previous);
+  }
+
+  @Test
+  void itemTitleEditOnlyMarksThatItemChanged() throws Exception {
+    ParseResult<Scorm2004Manifest> previous = incremental.parseAndValidate();
+    Scorm2004Manifest edited = freshManifest();
+    findItem(edited, "playing_item").setTitle("Playing Golf");
+
+    Scorm2004ManifestDiff diff = Scorm2004ManifestDiff.compute(previous
+        .metadata()
+        .getManifest(), edited);
+    assertThat(diff.getChangedItems()).containsExactly("playing_item");
+    assertThat(diff.isResourcesChanged()).isFalse();
+    assertThat(diff.isOrganizationsChanged()).isFalse();
+
+    assertMatchesFullParse(incremental.reparse(previous, edited), edited);
+  }
+
+  @Test
+  void brokenResourceReferenceIsReportedIncrementally() throws Exception {
+    ParseResult<Scorm2004Manifest> previous = incremental.parseAndValidate();
+    Scorm2004Manifest edited = freshManifest();
+    findItem(edited, "test_2").setIdentifierRef("missing_resource");
+
+    ParseResult<Scorm2004Manifest> result = incremental.reparse(previous, edited);
+
+    assertThat(result.validation().getErrors())
+        .anyMatch(issue -> issue.code().equals("SCORM2004_MISSING_RESOURCE_REF"));
+    assertMatchesFullParse(result, edited);
+  }
+
+  @Test
+  void successiveEditsStayEquivalentToFullParse() throws Exception {
+    ParseResult<Scorm2004Manifest> result = incremental.parseAndValidate();
+
+    Scorm2004Manifest first = freshManifest();
+    findItem(first, "test_1").setDataFromLMS("edited");
+    findItem(first, "test_3").setSequencing(new Sequencing());
+    result = incremental.reparse(result, first);
+    assertMatchesFullParse(result, first);
+
+    Scorm2004Manifest second = freshManifest();
+    second
+        .getResources()
+        .getResourceList()
+        .get(0)
+        .setHref("../escape.html");
+    result = incremental.reparse(result, second);
+    assertMatchesFullParse(result, second);
+
+    Scorm2004Manifest third = freshManifest();
+    result = incremental.reparse(result, third);
+    assertMatchesFullParse(result, third);
+    assertThat(result.isValid()).isTrue();
+  }
+
+  @Test
+  void staleResultFallsBackToFullValidation() throws Exception {
+    ParseResult<Scorm2004Manifest> stale = incremental.parseAndValidate();
+    Scorm2004Manifest broken = freshManifest();
+    findItem(broken, "test_4").setIdentifierRef("missing_resource");
+    incremental.reparse(stale, broken);
+
+    Scorm2004Manifest edited = freshManifest();
+    findItem(edited, "havingfun_item").setTitle("Having Fun");
+
+    assertMatchesFullParse(incremental.reparse(stale, edited), edited);
+  }
+
+  @Test
+  void itemEditInLargeManifestMatchesFullParse(@TempDir Path tempDir) throws Exception {
+    SyntheticPackages.writeDirectory(SyntheticPackages.generate(SyntheticPackages.SCORM2004,
+        new SyntheticPackages.Shape(2_000, 200, 1, 3, 20, 0, 1)), tempDir);
+    Scorm2004Parser largeParser = new Scorm2004Parser(new LocalFileAccess(tempDir.toString()));
+    Scorm2004IncrementalParser largeIncremental = new Scorm2004IncrementalParser(largeParser);
+    ParseResult<Scorm2004Manifest> previous = largeIncremental.parseAndValidate();
+
+    Scorm2004Manifest edited = largeParser.parseManifest(Scorm2004Parser.MANIFEST_FILE);
+    findItem(edited, "i1000").setTitle("Edited item");
+    findItem(edited, "i1500").setIdentifierRef("missing_resource");
+
+    Scorm2004ManifestDiff diff = Scorm2004ManifestDiff.compute(previous
+        .metadata()
+        .getManifest(), edited);
+    assertThat(diff.getChangedItems()).containsExactlyInAnyOrder("i1000", "i1500");
+
+    ParseResult<Scorm2004Manifest> result = largeIncremental.reparse(previous, edited);
+    assertThat(result.validation().getErrors())
+        .anyMatch(issue -> issue.code().equals("SCORM2004_MISSING_RESOURCE_REF"));
+    assertMatchesFullParse(result, edited);
+  }
+
+  private Scorm2004Manifest freshManifest() throws Exception {
+    return parser.parseManifest(Scorm2004Parser.MANIFEST_FILE);
+  }
+
+  private static void assertMatchesFullParse(ParseResult<Scorm2004Manifest> result,
+      Scorm2004Manifest manifest) {
+    ValidationResult expectedValidation = new Scorm2004ResourceValidator().validate(manifest);
+    Scorm2004Metadata expected = Scorm2004Metadata.create(manifest, false);
+
+    assertThat(result.validation().getAllIssues()).isEqualTo(
+        expectedValidation.getAllIssues());
+    assertThat(result.metadata()).isInstanceOf(Scorm2004Metadata.class);
+    Scorm2004Metadata actual = (Scorm2004Metadata) result.metadata();
+    assertThat(actual).isEqualTo(expected);
+    assertThat(actual.getActivityDeliveryControls()).isEqualTo(
+        expected.getActivityDeliveryControls());
+    assertThat(actual.getDeliveryControlOverrides()).isEqualTo(
+        expected.getDeliveryControlOverrides());
+    assertThat(actual.getCompletionThresholds()).isEqualTo(expected.getCompletionThresholds());
+    assertThat(actual.getControlModes()).isEqualTo(expected.getControlModes());
+    assertThat(actual.getDataFromLms()).isEqualTo(expected.getDataFromLms());
+    assertThat(actual.getTimeLimitActions()).isEqualTo(expected.getTimeLimitActions());
+    assertThat(actual.getHideLmsUi()).isEqualTo(expected.getHideLmsUi());
+    assertThat(actual.getGlobalObjectiveIds()).isEqualTo(expected.getGlobalObjectiveIds());
+    assertThat(actual.getSequencingIndicators()).isEqualTo(expected.getSequencingIndicators());
+  }
+
+  private static Scorm2004Item findItem(Scorm2004Manifest manifest, String identifier) {
+    return manifest
+        .getOrganizations()
+        .getOrganizationList()
+        .stream()
+        .map(organization -> findItem(organization.getItems(), identifier))
+        .filter(item -> item != null)
+        .findFirst()
+        .orElseThrow();
+  }
+
+  private static Scorm2004Item findItem(List<Scorm2004Item> items, String identifier) {
+    if (items == null) {
+      return null;
+    }
+    for (Scorm2004Item item : items) {
+      if (identifier.equals(item.getIdentifier())) {
+        return item;
+      }
+      Scorm2004Item child = findItem(item.getItems(), identifier);
+      if (child != null) {
+        return child;
+      }
+    }
+    return null;
+  }
+}
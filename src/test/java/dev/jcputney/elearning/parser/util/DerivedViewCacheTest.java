@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for DerivedViewCache functionality.
+ */
+class DerivedViewCacheTest {
+
+  @Test
+  void testComputesEachViewOnce() {
+    DerivedViewCache cache = new DerivedViewCache();
+    AtomicInteger computations = new AtomicInteger();
+
+    assertEquals("value", cache.get("view", () -> {
+      computations.incrementAndGet();
+      return "value";
+    }));
+    assertEquals("value", cache.get("view", () -> "other"));
+    assertEquals(1, computations.get());
+  }
+
+  @Test
+  void testCachesNullValues() {
+    DerivedViewCache cache = new DerivedViewCache();
+    AtomicInteger computations = new AtomicInteger();
+
+    for (int i = 0; i < 3; i++) {
+      assertNull(cache.get("view", () -> {
+        computations.incrementAndGet();
+        return null;
+      }));
+    }
+    assertEquals(1, computations.get());
+  }
+
+  @Test
+  void testClearRecomputesViews() {
+    DerivedViewCache cache = new DerivedViewCache();
+    cache.get("view", () -> "first");
+
+    cache.clear();
+
+    assertEquals("second", cache.get("view", () -> "second"));
+  }
+
+  @Test
+  void testComputationRunningDuringClearDoesNotPublishStaleValue() {
+    DerivedViewCache cache = new DerivedViewCache();
+
+    String stale = cache.get("view", () -> {
+      cache.clear();
+      return "stale";
+    });
+
+    assertEquals("stale", stale);
+    assertEquals("fresh", cache.get("view", () -> "fresh"));
+  }
+
+  @Test
+  void testSupplierMayReadOtherViews() {
+    DerivedViewCache cache = new DerivedViewCache();
+
+    String combined = cache.get("outer", () -> cache.get("inner", () -> "inner") + "+outer");
+
+    assertEquals("inner+outer", combined);
+    assertEquals("inner", cache.get("inner", () -> "other"));
+  }
+}
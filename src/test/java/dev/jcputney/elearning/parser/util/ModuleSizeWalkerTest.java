@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import dev.jcputney.elearning.parser.benchmark.InMemoryS3;
+import dev.jcputney.elearning.parser.impl.access.InMemoryFileAccess;
+import dev.jcputney.elearning.parser.impl.access.LocalFileAccess;
+import dev.jcputney.elearning.parser.impl.access.LocalRangeReader;
+import dev.jcputney.elearning.parser.impl.access.RangedZipFileAccess;
+import dev.jcputney.elearning.parser.impl.access.S3FileAccessV2;
+import dev.jcputney.elearning.parser.impl.access.ZipFileAccess;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import software.amazon.awssdk.services.s3.S3Client;
+
+/**
+ * Tests for the {@link ModuleSizeWalker} class and the {@link ModuleSize} it returns.
+ */
+class ModuleSizeWalkerTest {
+
+  private static final String ZIPS = "src/test/resources/modules/zips/";
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void testWalksLocalDirectoryWithBreakdown() throws IOException {
+    writeTree(tempDir);
+
+    ModuleSize size = new ModuleSizeWalker().calculate(new LocalFileAccess(tempDir.toString()));
+
+    assertEquals(15, size.totalSize());
+    assertEquals(3, size.fileCount());
+    assertEquals(Map.of("", 15L, "dir", 12L, "dir/sub", 7L), size.directorySizes());
+    assertEquals(12, size.getDirectorySize("dir/"));
+    assertEquals(0, size.getDirectorySize("missing"));
+    assertEquals(15, new LocalFileAccess(tempDir.toString()).getTotalSize());
+  }
+
+  @Test
+  void testArchiveBackendsAgree() throws IOException {
+    Path zipPath = Path.of(ZIPS + "scorm2004.zip");
+    ModuleSizeWalker walker = new ModuleSizeWalker();
+
+    try (ZipFileAccess zip = new ZipFileAccess(zipPath.toString());
+        RangedZipFileAccess ranged = new RangedZipFileAccess(new LocalRangeReader(zipPath));
+        InMemoryFileAccess inMemory = new InMemoryFileAccess(Files.readAllBytes(zipPath))) {
+      ModuleSize expected = walker.calculate(zip);
+
+      assertTrue(expected.fileCount() > 0);
+      assertEquals(zip.getTotalSize(), expected.totalSize());
+      assertEquals(expected, walker.calculate(ranged));
+      assertEquals(expected, walker.calculate(inMemory));
+    }
+  }
+
+  @Test
+  void testS3SizesComeFromListing() throws Exception {
+    InMemoryS3 s3 = new InMemoryS3(Map.of(
+        "imsmanifest.xml", new byte[10],
+        "content/page.html", new byte[20],
+        "content/media/video.mp4", new byte[30]), "courses/module/");
+    AtomicInteger heads = new AtomicInteger();
+    S3Client client = countingHeads(s3.v2Client(), heads);
+
+    try (S3FileAccessV2 fileAccess = new S3FileAccessV2(client, "bucket", "courses/module")) {
+      int headsBefore = heads.get();
+      ModuleSize size = new ModuleSizeWalker().calculate(fileAccess);
+
+      assertEquals(60, size.totalSize());
+      assertEquals(Map.of("", 60L, "content", 50L, "content/media", 30L), size.directorySizes());
+      assertEquals(60, fileAccess.getTotalSize());
+      assertEquals(headsBefore, heads.get());
+    }
+  }
+
+  @Test
+  void testCancelledTotalSizeStopsCalculation() throws Exception {
+    writeTree(tempDir);
+    ForkJoinPool pool = new ForkJoinPool(1);
+    try {
+      CountDownLatch release = new CountDownLatch(1);
+      pool.execute(() -> {
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      });
+      ModuleSizeWalker walker = new ModuleSizeWalker(pool);
+      CompletableFuture<Long> total = walker.totalSizeAsync(
+          new LocalFileAccess(tempDir.toString()));
+
+      assertTrue(total.cancel(true));
+      release.countDown();
+
+      assertThrows(CancellationException.class, total::join);
+      assertTrue(pool.awaitQuiescence(10, TimeUnit.SECONDS));
+      assertEquals(15, walker
+          .totalSizeAsync(new LocalFileAccess(tempDir.toString()))
+          .get(10, TimeUnit.SECONDS));
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  @Test
+  void testLocalWalkStopsWhenCancelled() throws IOException {
+    writeTree(tempDir);
+    LocalFileAccess fileAccess = new LocalFileAccess(tempDir.toString());
+
+    assertThrows(CancellationException.class, () -> fileAccess.getFileSizes(() -> true));
+    assertEquals(3, fileAccess
+        .getFileSizes(() -> false)
+        .size());
+  }
+
+  @Test
+  void testAsyncFailureCompletesExceptionally() throws IOException {
+    Path root = Files.createDirectory(tempDir.resolve("module"));
+    LocalFileAccess fileAccess = new LocalFileAccess(root.toString());
+    Files.delete(root);
+
+    ExecutionException failure = assertThrows(ExecutionException.class,
+        () -> new ModuleSizeWalker()
+            .calculateAsync(fileAccess)
+            .get(10, TimeUnit.SECONDS));
+    assertInstanceOf(NoSuchFileException.class, failure.getCause());
+    assertThrows(NoSuchFileException.class, fileAccess::getTotalSize);
+  }
+
+  private static void writeTree(Path root) throws IOException {
+    Files.write(root.resolve("a.txt"), new byte[3]);
+    Path dir = Files.createDirectories(root.resolve("dir/sub"));
+    Files.write(root.resolve("dir/b.txt"), new byte[5]);
+    Files.write(dir.resolve("c.txt"), new byte[7]);
+    Files.createDirectories(root.resolve("empty"));
+  }
+
+  private static S3Client countingHeads(S3Client client, AtomicInteger heads) {
+    return (S3Client) Proxy.newProxyInstance(S3Client.class.getClassLoader(),
+        new Class<?>[]{S3Client.class}, (proxy, method, args) -> {
+          if (method
+              .getName()
+              .equals("headObject")) {
+            heads.incrementAndGet();
+          }
+          try {
+            return method.invoke(client, args);
+          } catch (InvocationTargetException e) {
+            throw e.getCause();
+          }
+        });
+  }
+}
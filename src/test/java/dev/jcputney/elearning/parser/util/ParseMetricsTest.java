@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2024-2026 Jonathan Putney
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at the project root LICENSE file
+ * or at http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package dev.jcputney.elearning.parser.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import dev.jcputney.elearning.parser.api.ModuleFileProvider;
+import dev.jcputney.elearning.parser.api.ParseListener;
+import dev.jcputney.elearning.parser.api.ParserOptions;
+import dev.jcputney.elearning.parser.enums.ParsePhase;
+import dev.jcputney.elearning.parser.impl.access.CachedFileAccess;
+import dev.jcputney.elearning.parser.impl.access.LocalFileAccess;
+import dev.jcputney.elearning.parser.impl.factory.DefaultModuleParserFactory;
+import dev.jcputney.elearning.parser.impl.provider.DefaultModuleFileProvider;
+import dev.jcputney.elearning.parser.util.ParseInstrumentation.Span;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for ParseMetrics, ParseInstrumentation and LongAdderHistogram functionality.
+ */
+class ParseMetricsTest {
+
+  private static final String MODULE_PATH =
+      "src/test/resources/modules/scorm2004/ContentPackagingMetadata_SCORM20043rdEdition";
+
+  @Test
+  void testParseReportsEveryPhaseAndFile() throws Exception {
+    ParseMetrics metrics = new ParseMetrics();
+    CachedFileAccess fileAccess = new CachedFileAccess(new LocalFileAccess(MODULE_PATH));
+    ParserOptions options = new ParserOptions()
+        .setCalculateModuleSize(true)
+        .setParseListener(metrics);
+
+    new DefaultModuleParserFactory(fileAccess, options)
+        .getParser()
+        .parseAndValidate();
+
+    for (ParsePhase phase : ParsePhase.values()) {
+      assertEquals(1, metrics
+          .getWallTimeNanos(phase)
+          .getCount(), phase::name);
+    }
+    // The manifest and the two external metadata files
+    assertEquals(3, metrics.getFilesOpened());
+    assertTrue(metrics.getBytesRead() > 0);
+    assertTrue(metrics.getCacheMisses() > 0);
+  }
+
+  @Test
+  void testCacheHitsAreReportedPerParse() throws Exception {
+    CachedFileAccess fileAccess = new CachedFileAccess(new LocalFileAccess(MODULE_PATH));
+    new DefaultModuleParserFactory(fileAccess)
+        .getParser()
+        .parseAndValidate();
+
+    ParseMetrics metrics = new ParseMetrics();
+    new DefaultModuleParserFactory(fileAccess, new ParserOptions().setParseListener(metrics))
+        .getParser()
+        .parseAndValidate();
+
+    assertTrue(metrics.getCacheHits() > 0);
+    assertEquals(0, metrics.getCacheMisses());
+  }
+
+  @Test
+  @SuppressWarnings("try") // Spans are opened for their close() only
+  void testNestedPhasesAreReportedExclusively() throws Exception {
+    List<String> events = new ArrayList<>();
+    ParseInstrumentation instrumentation = ParseInstrumentation.of(new ParseListener() {
+      @Override
+      public void onPhase(ParsePhase phase, long wallTimeNanos, long allocatedBytes) {
+        events.add(phase.name());
+      }
+
+      @Override
+      public void onFileRead(String path, long bytesRead) {
+        events.add(path + "=" + bytesRead);
+      }
+    }, null);
+    ModuleFileProvider provider = instrumentation.instrument(
+        new DefaultModuleFileProvider(new LocalFileAccess(MODULE_PATH)));
+
+    try (Span ignored = instrumentation.phase(ParsePhase.EXTERNAL_METADATA_LOADING)) {
+      try (Span ignoredBinding = instrumentation.phase(ParsePhase.XML_BINDING)) {
+        provider
+            .getFileContents("metadata_course.xml")
+            .close();
+      }
+    }
+
+    assertEquals(List.of("metadata_course.xml=0", "MANIFEST_READ", "XML_BINDING",
+        "EXTERNAL_METADATA_LOADING"), events);
+  }
+
+  @Test
+  void testNoOpListenerDisablesInstrumentation() {
+    ModuleFileProvider provider = new DefaultModuleFileProvider(new LocalFileAccess(MODULE_PATH));
+    ParseInstrumentation instrumentation = ParseInstrumentation.of(ParseListener.NO_OP, null);
+
+    assertFalse(instrumentation.isEnabled());
+    assertSame(provider, instrumentation.instrument(provider));
+  }
+
+  @Test
+  void testHistogramPercentilesAreBucketUpperBounds() {
+    LongAdderHistogram histogram = new LongAdderHistogram();
+    for (long value = 1; value <= 100; value++) {
+      histogram.record(value);
+    }
+
+    assertEquals(100, histogram.getCount());
+    assertEquals(5050, histogram.getSum());
+    assertEquals(100, histogram.getMax());
+    assertEquals(63, histogram.getPercentile(50));
+    assertEquals(100, histogram.getPercentile(99));
+    assertEquals(1, histogram.getPercentile(0));
+    assertThrows(IllegalArgumentException.class, () -> histogram.record(-1));
+
+    histogram.reset();
+    assertEquals(0, histogram.getCount());
+    assertEquals(0, histogram.getPercentile(50));
+  }
+}